@@ -10,6 +10,7 @@ package dev.adsa;
 import java.io.*;
 
 import dev.adsa.utils.ColoresConsola;
+import dev.adsa.utils.TecladoCrudo;
 
 /**
  * Controlador principal, el cual se comunica con el usuario y con el archivo txt
@@ -52,7 +53,24 @@ public class ControladorPrincipal {
             }
         } while (!quiereColores.equalsIgnoreCase("S") && !quiereColores.equalsIgnoreCase("N"));
 
-        System.out.println("Para salir escribe \"Salir\", presiona enter para comenzar");
+        String quiereTeclado;
+        System.out.println("¿Quieres usar el modo teclado? Cada tecla o flecha se envia sin pulsar enter (S o N)");
+        do {
+            quiereTeclado = br.readLine();
+        } while (!quiereTeclado.equalsIgnoreCase("S") && !quiereTeclado.equalsIgnoreCase("N"));
+
+        if (quiereTeclado.equalsIgnoreCase("S")) {
+            try (TecladoCrudo teclado = TecladoCrudo.activar()) {
+                modoTeclado(teclado, fr, colores);
+                br.close();
+                fr.close();
+                return;
+            } catch (IOException e) {
+                System.out.println("No se puede usar el modo teclado en esta consola, se usa el normal: " + e.getMessage());
+            }
+        }
+
+        System.out.println("Para guardar la partida escribe \"G\", para rebobinar en modo practica \"R\", para salir escribe \"Salir\", presiona enter para comenzar");
         br.readLine();
         if (colores) {
             do {
@@ -63,7 +81,7 @@ public class ControladorPrincipal {
                         + ColoresConsola.ANSI_CYAN() + "D" + ColoresConsola.ANSI_RESET() + "\": ");
                 instrucion = br.readLine();
                 // write escribe en el archivo
-                if(instrucion.length() == 1 && "wasd".contains(instrucion.toLowerCase()))
+                if(instrucion.length() == 1 && "wasdgr".contains(instrucion.toLowerCase()))
                     fr.write(instrucion + "\n");
                 // flush fuerza a escribir los fatos en el archivo
                 fr.flush();
@@ -76,7 +94,7 @@ public class ControladorPrincipal {
                 System.out.printf("Escribe \"" + "W" + "\",\"" + "A" + "\",\"" + "S" + "\",\"" + "D" + "\": ");
                 instrucion = br.readLine();
                 // write escribe en el archivo
-                if(instrucion.length() == 1 && "wasd".contains(instrucion.toLowerCase()))
+                if(instrucion.length() == 1 && "wasdgr".contains(instrucion.toLowerCase()))
                     fr.write(instrucion + "\n");
                 // flush fuerza a escribir los fatos en el archivo
                 fr.flush();
@@ -88,4 +106,27 @@ public class ControladorPrincipal {
         fr.close();
 
     }
+
+    /**
+     * Lee las teclas en cuanto se pulsan y escribe las direcciones en el archivo
+     * al momento, asi llegan al juego en el mismo tick. Se sale con Q o Escape.
+     * 
+     * @param teclado El teclado en modo no canonico.
+     * @param fr      El archivo de comandos.
+     * @param colores true si la consola admite colores.
+     * @throws IOException La excepcion de lectura o escritura
+     */
+    private static void modoTeclado(TecladoCrudo teclado, BufferedWriter fr, boolean colores) throws IOException {
+        String teclas = colores ? ColoresConsola.ANSI_CYAN() + "W A S D" + ColoresConsola.ANSI_RESET() : "W A S D";
+        System.out.println("Pulsa " + teclas + " o las flechas para moverte, G para guardar la partida, R para rebobinar, Q o Escape para salir");
+
+        char tecla;
+        do {
+            tecla = teclado.leerTecla();
+            if ("WASDGR".indexOf(tecla) != -1) {
+                fr.write(tecla + "\n");
+                fr.flush();
+            }
+        } while (tecla != 'Q' && tecla != 27 && tecla != TecladoCrudo.FIN);
+    }
 }
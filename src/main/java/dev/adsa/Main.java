@@ -10,8 +10,10 @@ package dev.adsa;
 import java.io.*;
 
 import dev.adsa.bbdd.GestionDB;
+import dev.adsa.clases.CacheJugadores;
 import dev.adsa.clases.Partida;
 import dev.adsa.clases.Player;
+import dev.adsa.clases.entrada.FuenteDirecciones;
 import dev.adsa.utils.Configuracion;
 import dev.adsa.utils.ControladorJuego;
 import dev.adsa.utils.Utilidades;
@@ -29,6 +31,20 @@ public class Main {
      * @throws InterruptedException si se interrumpe el thread principal
      */
     public static void main(String[] args) throws IOException, InterruptedException {
+        GestionDB.creacionTablas();
+        sesion(null);
+    }
+
+    /**
+     * Inicia sesion con un jugador y muestra el menu hasta que sale. Al salir o
+     * si se corta la entrada el jugador se guarda y se libera en la cache.
+     * 
+     * @param fuente La fuente de las direcciones de las partidas, si es null se
+     *               usa el content.txt del ControladorPrincipal.
+     * @throws IOException          si hay un error de lectura o escritura
+     * @throws InterruptedException si se interrumpe el thread de la sesion
+     */
+    public static void sesion(FuenteDirecciones fuente) throws IOException, InterruptedException {
 
         /* ----- Parte declarativa ----- */
 
@@ -69,56 +85,70 @@ public class Main {
                         "";
 
         /* ----- Parte principal ----- */
-        GestionDB.creacionTablas();
         Player player = new Player(Utilidades.iniciarJugador());
 
-        do {
-            System.out.println(mensajeMenu);
-            option = Utilidades.pedirNumeroEntero("Introduce una opcion entre", 1, 6);
-            switch (option) {
-                case 1 -> {
-                    /* ----- Esta zona hara que se reinicie el archivo txt ----- */ 
-                    // Estas lineas estan explicadas en
-                    // el ControladorPrincipal.java
-                    BufferedWriter fr = new BufferedWriter(new FileWriter("./content.txt", false));
-                    fr.close();
-                    /* ----- */
-                    Partida partida = new Partida();
-                    partida.actualizarFechaInicio();
-                    double scoreProvisional = ControladorJuego.iniciarJuego(player, partida);
-                    partida.anadirPartidaTerminada(scoreProvisional, player.getCongiguration()[2], player.getCongiguration()[0], player.getCongiguration()[1]);
-                    if (scoreProvisional > player.getMaxScore()) {
-                        player.setMaxScore(scoreProvisional);
-                        GestionDB.actualizarMaxScore(player);
+        try {
+            do {
+                System.out.println(mensajeMenu);
+                option = Utilidades.pedirNumeroEntero("Introduce una opcion entre", 1, 6);
+                switch (option) {
+                    case 1 -> {
+                        /* ----- Esta zona hara que se reinicie el archivo txt ----- */ 
+                        // Estas lineas estan explicadas en
+                        // el ControladorPrincipal.java
+                        if (fuente == null) {
+                            BufferedWriter fr = new BufferedWriter(new FileWriter("./content.txt", false));
+                            fr.close();
+                        }
+                        /* ----- */
+                        Partida partida = new Partida();
+                        partida.actualizarFechaInicio();
+                        double scoreProvisional = ControladorJuego.iniciarJuego(player, partida, fuente);
+                        partida.anadirPartidaTerminada(scoreProvisional, partida.getVelocidad(), partida.getFilasTablero(), partida.getColumnasTablero());
+                        if (scoreProvisional > player.getMaxScore()) {
+                            player.setMaxScore(scoreProvisional);
+                            GestionDB.actualizarMaxScore(player);
+                        }
+                        player.addPartida(partida);
+                        GestionDB.guardarPartidaDB(partida, player);
+                    }
+                    case 2 -> {
+                        player.setCongiguration(Configuracion.cambiarConfiguracion(player.getCongiguration()));
                     }
-                    player.addPartida(partida);
-                    GestionDB.guardarPartidaDB(partida, player);
-                }
-                case 2 -> {
-                    player.setCongiguration(Configuracion.cambiarConfiguracion(player.getCongiguration()));
-                }
 
-                case 3 -> {
-                    player.mostrarPerfil();
-                    System.out.println("Presiona enter para salir");
-                    Utilidades.presionarEnter();
-                }
+                    case 3 -> {
+                        player.mostrarPerfil();
+                        System.out.println("Presiona enter para salir");
+                        Utilidades.presionarEnter();
+                    }
 
-                case 4 -> {
-                    player = Utilidades.cerrarSesion(player);
-                }
+                    case 4 -> {
+                        Utilidades.cerrarSesion(player);
+                        // Ya esta guardado, si se corta al volver a entrar no se guarda otra vez
+                        player = null;
+                        player = Utilidades.iniciarJugador();
+                    }
 
-                case 5 -> {
-                    player = Utilidades.eliminarPerfil(player);
-                }
+                    case 5 -> {
+                        Utilidades.eliminarPerfil(player);
+                        // Si se corta al volver a entrar no se vuelve a guardar el perfil borrado
+                        player = null;
+                        player = Utilidades.iniciarJugador();
+                    }
 
-                default -> {
-                    if (option != 6)
-                        System.out.println("Opcion incorrecta");
+                    default -> {
+                        if (option != 6)
+                            System.out.println("Opcion incorrecta");
+                    }
                 }
+            } while (option != 6);
+        } finally {
+            // Es null si se ha cortado al volver a entrar despues de cerrar sesion o borrar el perfil
+            if (player != null) {
+                Player.guardarJugador(player);
+                CacheJugadores.liberar(player);
             }
-        } while (option != 6);    
-        Player.guardarJugador(player);
+        }
         System.out.println("Hasta otra");
     }
 }
\ No newline at end of file
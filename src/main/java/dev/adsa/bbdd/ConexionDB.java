@@ -20,13 +20,25 @@ public class ConexionDB {
     private static final String USER = "root";
     /** Contraseña con la que se conecta */
     private static final String PASSWORD = "Password1234";
+    /** Pool de conexiones que comparten todas las sesiones */
+    private static final PoolConexiones POOL = PoolConexiones.porDefecto();
 
     /**
-     * Metodo que devuelve la conexion a la base de datos
+     * Metodo que devuelve una conexion del pool, al cerrarla se devuelve al pool
      * @return Connection, la conexion a la base de datos
      * @throws SQLException si no se puede conectar a la base de datos
      */
     public static Connection getConnection() throws SQLException {
+        return POOL.obtener();
+    }
+
+    /**
+     * Abre una conexion nueva con la base de datos, la usa el pool cuando no le
+     * queda ninguna libre
+     * @return Connection, la conexion a la base de datos
+     * @throws SQLException si no se puede conectar a la base de datos
+     */
+    static Connection abrirConexion() throws SQLException {
         return DriverManager.getConnection(URL, USER, PASSWORD);
     }
 }
\ No newline at end of file
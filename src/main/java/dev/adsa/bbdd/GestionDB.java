@@ -14,14 +14,21 @@ import java.sql.Timestamp;
 
 import dev.adsa.clases.Partida;
 import dev.adsa.clases.Player;
+import dev.adsa.clases.metricas.EventoConsultaDB;
 
 import java.sql.SQLException;
 
 /**
- * Clase para la gestion de la base de datos
+ * Clase para la gestion de la base de datos. Cada sentencia se emite como un
+ * {@link EventoConsultaDB} de JFR con el SQL, las filas y lo que ha tardado.
+ * Las conexiones salen del pool de {@link ConexionDB} y se devuelven al
+ * terminar cada try aunque la sentencia falle.
  */
 public class GestionDB {
 
+    /** Valores del enum de la columna modoJuego, tienen que coincidir con Partida */
+    private static final String MODOS_JUEGO = "ENUM('MODO_NORMAL', 'MODO_ATRAVESAR_PAREDES', 'MODO_TABLERO_GIGANTE', 'MODO_MULTISERPIENTE', 'MODO_NIVELES')";
+
     /**
      * Crea las tablas necesarias en la base de datos si no existen.
      * Las tablas creadas son "Player" y "Partida".
@@ -46,33 +53,64 @@ public class GestionDB {
                 "    longitudSerpiente INT NOT NULL,\n" + //
                 "    velocidad INT NOT NULL,\n" + //
                 "    ganado BOOLEAN NOT NULL,\n" + //
-                "    modoJuego ENUM('MODO_NORMAL', 'MODO_ATRAVESAR_PAREDES') NOT NULL,\n" + //
+                "    modoJuego " + MODOS_JUEGO + " NOT NULL,\n" + //
                 "    filas INT NOT NULL,\n" + //
                 "    columnas INT NOT NULL,\n" + //
                 "    CONSTRAINT FK_idPlayer FOREIGN KEY (player_id) REFERENCES Player(id) ON DELETE CASCADE ON UPDATE CASCADE\n" + //
                 ");";
 
-        try {
-            Connection conexion = ConexionDB.getConnection();
+        // Las bases de datos creadas antes de añadir modos nuevos no tienen sus valores
+        String sqlTipoModos = "SELECT COLUMN_TYPE FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'Partida' AND COLUMN_NAME = 'modoJuego';";
+        String sqlActualizarModos = "ALTER TABLE Partida MODIFY modoJuego " + MODOS_JUEGO + " NOT NULL;";
+
+        EventoConsultaDB evento = new EventoConsultaDB("creacionTablas", sqlTablaPlayer);
+        try (Connection conexion = ConexionDB.getConnection()) {
             Statement sentencia = conexion.createStatement();
 
             // Crear la tabla Player
-            sentencia.executeUpdate(sqlTablaPlayer);
+            evento.terminar(sentencia.executeUpdate(sqlTablaPlayer), true);
 
             // Crear la tabla Partida
-            sentencia.executeUpdate(sqlTablaPartidas);
+            evento = new EventoConsultaDB("creacionTablas", sqlTablaPartidas);
+            evento.terminar(sentencia.executeUpdate(sqlTablaPartidas), true);
+
+            // Añadir los modos nuevos al enum, solo si la columna no los tiene ya
+            evento = new EventoConsultaDB("creacionTablas", sqlTipoModos);
+            String tipoModos = "";
+            try (ResultSet resultado = sentencia.executeQuery(sqlTipoModos)) {
+                if (resultado.next())
+                    tipoModos = resultado.getString(1);
+            }
+            evento.terminar(0, true);
+            if (!mismoEnum(tipoModos, MODOS_JUEGO)) {
+                evento = new EventoConsultaDB("creacionTablas", sqlActualizarModos);
+                evento.terminar(sentencia.executeUpdate(sqlActualizarModos), true);
+            }
 
             tablasCreadas = true;
 
             sentencia.close();
-            conexion.close();
         } catch (SQLException sqle) {
+            evento.terminar(0, false);
             System.out.println(sqle.getMessage());
         }
 
         return tablasCreadas;
     }
 
+    /**
+     * Compara dos tipos ENUM sin tener en cuenta los espacios ni las mayusculas,
+     * INFORMATION_SCHEMA los devuelve como enum('A','B').
+     * 
+     * @param tipo     El tipo que tiene la columna.
+     * @param esperado El tipo que deberia tener.
+     * @return true si son el mismo.
+     */
+    private static boolean mismoEnum(String tipo, String esperado) {
+        return tipo.replace(" ", "").equalsIgnoreCase(esperado.replace(" ", ""));
+    }
+
     /**
      * Guarda un nuevo jugador en la base de datos.
      * 
@@ -83,21 +121,22 @@ public class GestionDB {
         boolean datosCreados = false;
 
         String sqlNewPlayer = "INSERT INTO player(username, maxScore) VALUES (?, 0);";
-        try {
-            Connection conexion = ConexionDB.getConnection();
+        EventoConsultaDB evento = new EventoConsultaDB("guardarJugadorDB", sqlNewPlayer);
+        int filas = 0;
+        try (Connection conexion = ConexionDB.getConnection()) {
             PreparedStatement sentencia = conexion.prepareStatement(sqlNewPlayer);
 
             sentencia.setString(1, player.getName());
 
-            sentencia.executeUpdate();
+            filas = sentencia.executeUpdate();
 
             datosCreados = true;
 
             sentencia.close();
-            conexion.close();
         } catch (SQLException sqle) {
             System.out.println(sqle.getMessage());
         }
+        evento.terminar(filas, datosCreados);
 
         return datosCreados;
     }
@@ -115,8 +154,9 @@ public class GestionDB {
         String sqlNewPlayer = "INSERT INTO partida(player_id, fechaInicio, fechaFinal, puntuacion, longitudSerpiente, velocidad, ganado, modoJuego, filas, columnas) "
                 +
                 "VALUES ((SELECT p.id from player p where p.username = ?), ?, ?, ?, ?, ?, ?, ?, ?, ?);";
-        try {
-            Connection conexion = ConexionDB.getConnection();
+        EventoConsultaDB evento = new EventoConsultaDB("guardarPartidaDB", sqlNewPlayer);
+        int filas = 0;
+        try (Connection conexion = ConexionDB.getConnection()) {
             PreparedStatement sentencia = conexion.prepareStatement(sqlNewPlayer);
 
             sentencia.setString(1, player.getName());
@@ -130,15 +170,15 @@ public class GestionDB {
             sentencia.setInt(9, partida.getFilasTablero());
             sentencia.setInt(10, partida.getColumnasTablero());
 
-            sentencia.executeUpdate();
+            filas = sentencia.executeUpdate();
 
             datosCreados = true;
 
             sentencia.close();
-            conexion.close();
         } catch (SQLException sqle) {
             System.out.println(sqle.getMessage());
         }
+        evento.terminar(filas, datosCreados);
 
         return datosCreados;
     }
@@ -154,21 +194,24 @@ public class GestionDB {
         boolean datosModificados = false;
 
         String sqlUpdatePlayer = "UPDATE player SET maxScore = ? WHERE username = ?;";
+        EventoConsultaDB evento = new EventoConsultaDB("actualizarMaxScore", sqlUpdatePlayer);
+        int filas = 0;
+        boolean correcta = false;
 
-        try {
-            Connection conexion = ConexionDB.getConnection();
+        try (Connection conexion = ConexionDB.getConnection()) {
             PreparedStatement sentencia = conexion.prepareStatement(sqlUpdatePlayer);
 
             sentencia.setDouble(1, player.getMaxScore());
             sentencia.setString(2, player.getName());
 
-            sentencia.executeUpdate();
+            filas = sentencia.executeUpdate();
+            correcta = true;
 
             sentencia.close();
-            conexion.close();
         } catch (SQLException sqle) {
             System.out.println(sqle.getMessage());
         }
+        evento.terminar(filas, correcta);
 
         return datosModificados;
     }
@@ -183,9 +226,10 @@ public class GestionDB {
         boolean jugadorDetectado = false;
 
         String sqlDetectarJugador = "SELECT username FROM player WHERE username = ?;";
+        EventoConsultaDB evento = new EventoConsultaDB("detectarJugadorExistente", sqlDetectarJugador);
+        boolean correcta = false;
 
-        try {
-            Connection conexion = ConexionDB.getConnection();
+        try (Connection conexion = ConexionDB.getConnection()) {
             PreparedStatement sentencia = conexion.prepareStatement(sqlDetectarJugador);
 
             sentencia.setString(1, name);
@@ -193,13 +237,14 @@ public class GestionDB {
             ResultSet resultado = sentencia.executeQuery();
 
             jugadorDetectado = resultado.next();
+            correcta = true;
 
             sentencia.close();
             resultado.close();
-            conexion.close();
         } catch (SQLException sqle) {
             System.out.println(sqle.getMessage());
         }
+        evento.terminar(jugadorDetectado ? 1 : 0, correcta);
         return jugadorDetectado;
     }
 
@@ -219,8 +264,9 @@ public class GestionDB {
                 "\t(SELECT id \n" + //
                 "    FROM player WHERE username = ?);";
         Player player = null;
-        try {
-            Connection conexion = ConexionDB.getConnection();
+        EventoConsultaDB evento = new EventoConsultaDB("leerDatos", sqlPedirDatosJugador);
+        boolean correcta = false;
+        try (Connection conexion = ConexionDB.getConnection()) {
             PreparedStatement sentencia = conexion.prepareStatement(sqlPedirDatosJugador);
 
             sentencia.setString(1, name);
@@ -228,16 +274,19 @@ public class GestionDB {
             ResultSet resultado = sentencia.executeQuery();
             if (resultado.next())
                 player = new Player(resultado.getString("username"), resultado.getDouble("maxScore"));
+            correcta = true;
 
             sentencia.close();
             resultado.close();
-            conexion.close();
         } catch (SQLException sqle) {
             System.out.println(sqle.getMessage());
         }
+        evento.terminar(player != null ? 1 : 0, correcta);
 
-        try {
-            Connection conexion = ConexionDB.getConnection();
+        evento = new EventoConsultaDB("leerDatos", sqlPedirDatosPartidas);
+        int filas = 0;
+        correcta = false;
+        try (Connection conexion = ConexionDB.getConnection()) {
             PreparedStatement sentencia = conexion.prepareStatement(sqlPedirDatosPartidas);
 
             sentencia.setString(1, name);
@@ -254,14 +303,16 @@ public class GestionDB {
                         res.getInt("columnas"),
                         res.getBoolean("ganado"),
                         res.getString("modoJuego")));
+                filas++;
             }
+            correcta = true;
 
             sentencia.close();
             res.close();
-            conexion.close();
         } catch (SQLException sqle) {
             System.out.println(sqle.getMessage());
         }
+        evento.terminar(filas, correcta);
         return player;
     }
 
@@ -272,21 +323,24 @@ public class GestionDB {
      */
     public static void eliminarPerfil(Player player) {
         String sqlEliminarPerfil = "DELETE FROM player WHERE username = ?;";
+        EventoConsultaDB evento = new EventoConsultaDB("eliminarPerfil", sqlEliminarPerfil);
+        int filas = 0;
+        boolean correcta = false;
 
-        try {
-            Connection conexion = ConexionDB.getConnection();
+        try (Connection conexion = ConexionDB.getConnection()) {
             PreparedStatement sentencia = conexion.prepareStatement(sqlEliminarPerfil);
 
             sentencia.setString(1, player.getName());
 
-            sentencia.executeUpdate();
+            filas = sentencia.executeUpdate();
+            correcta = true;
 
             sentencia.close();
-            conexion.close();
 
             System.out.println("Cuenta eliminada en la base de datos");
         } catch (SQLException sqle) {
             System.out.println(sqle.getMessage());
         }
+        evento.terminar(filas, correcta);
     }
 }
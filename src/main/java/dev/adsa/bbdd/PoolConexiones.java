@@ -0,0 +1,190 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo tiene el pool de conexiones con la base de datos que comparten todas las sesiones
+ * 
+ */
+package dev.adsa.bbdd;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool de conexiones con la base de datos. Como maximo hay
+ * {@value #PROPIEDAD} conexiones prestadas a la vez, el resto de hilos
+ * esperan a que se devuelva una. Las conexiones que se prestan son un proxy
+ * en el que close() cierra las sentencias y devuelve la conexion al pool en
+ * vez de cerrarla, asi GestionDB no cambia.
+ */
+final class PoolConexiones {
+    /** Propiedad del sistema con el maximo de conexiones abiertas */
+    static final String PROPIEDAD = "snake.db.conexiones";
+    /** Una conexion que lleva mas de este tiempo libre se comprueba antes de prestarla */
+    private static final long MAXIMO_LIBRE = TimeUnit.SECONDS.toNanos(30);
+
+    /** Conexion libre y desde cuando lo esta */
+    private record Libre(Connection conexion, long desde) {
+    }
+
+    private final Semaphore permisos;
+    /** Conexiones libres, se presta la ultima que se ha devuelto */
+    private final ConcurrentLinkedDeque<Libre> libres = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Constructor del pool
+     * 
+     * @param maximo El maximo de conexiones abiertas a la vez.
+     */
+    PoolConexiones(int maximo) {
+        this.permisos = new Semaphore(maximo, true);
+    }
+
+    /**
+     * Crea el pool con el maximo de la propiedad {@value #PROPIEDAD}.
+     * 
+     * @return El pool, de 16 conexiones si no se ha indicado o no es valido.
+     */
+    static PoolConexiones porDefecto() {
+        int maximo = 16;
+        try {
+            maximo = Integer.parseInt(System.getProperty(PROPIEDAD, "16"));
+            if (maximo < 1)
+                throw new NumberFormatException("el maximo tiene que ser positivo");
+        } catch (NumberFormatException e) {
+            System.out.println("Maximo de conexiones no valido, se usan 16: " + e.getMessage());
+            maximo = 16;
+        }
+        return new PoolConexiones(maximo);
+    }
+
+    /**
+     * Presta una conexion, si no hay ninguna libre se abre otra.
+     * 
+     * @return La conexion, hay que cerrarla para devolverla.
+     * @throws SQLException si no se puede conectar a la base de datos o se
+     *                      interrumpe la espera
+     */
+    Connection obtener() throws SQLException {
+        try {
+            permisos.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Se ha interrumpido la espera de una conexion", e);
+        }
+        try {
+            Connection conexion = null;
+            Libre libre;
+            while (conexion == null && (libre = libres.pollFirst()) != null) {
+                conexion = libre.conexion();
+                if (System.nanoTime() - libre.desde() > MAXIMO_LIBRE && !conexion.isValid(1)) {
+                    cerrar(conexion);
+                    conexion = null;
+                }
+            }
+            if (conexion == null)
+                conexion = ConexionDB.abrirConexion();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, new Prestada(conexion));
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Cierra una conexion sin lanzar excepciones, se usa con las que ya no
+     * sirven.
+     * 
+     * @param conexion La conexion.
+     */
+    private static void cerrar(Connection conexion) {
+        try {
+            conexion.close();
+        } catch (SQLException e) {
+            // Si falla al cerrar es que ya estaba rota
+        }
+    }
+
+    /**
+     * Conexion prestada. Guarda las sentencias que se crean para cerrarlas al
+     * devolverla, si no se quedarian abiertas en la conexion.
+     */
+    private final class Prestada implements InvocationHandler {
+        private final Connection conexion;
+        private final List<Statement> sentencias = new ArrayList<>();
+        private boolean devuelta;
+
+        /**
+         * Constructor de la conexion prestada
+         * 
+         * @param conexion La conexion de verdad.
+         */
+        Prestada(Connection conexion) {
+            this.conexion = conexion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    devolver();
+                    return null;
+                case "isClosed":
+                    return devuelta || conexion.isClosed();
+                case "equals":
+                    return proxy == argumentos[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Conexion del pool " + conexion;
+                default:
+                    break;
+            }
+            if (devuelta)
+                throw new SQLException("La conexion ya se ha devuelto al pool");
+
+            Object resultado;
+            try {
+                resultado = metodo.invoke(conexion, argumentos);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (resultado instanceof Statement sentencia)
+                sentencias.add(sentencia);
+            return resultado;
+        }
+
+        /**
+         * Cierra las sentencias y deja la conexion libre. Si la conexion se ha
+         * roto se descarta y el pool abrira otra.
+         */
+        private void devolver() {
+            if (devuelta)
+                return;
+            devuelta = true;
+            try {
+                for (Statement sentencia : sentencias)
+                    sentencia.close();
+                if (!conexion.getAutoCommit()) {
+                    conexion.rollback();
+                    conexion.setAutoCommit(true);
+                }
+                libres.offerFirst(new Libre(conexion, System.nanoTime()));
+            } catch (SQLException e) {
+                cerrar(conexion);
+            } finally {
+                permisos.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Generador de numeros aleatorios de cada partida
+ * @see JuegoBase
+ */
+package dev.adsa.clases;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de numeros aleatorios SplitMix64. Cada partida tiene el suyo, asi
+ * las partidas del servidor no compiten por el de Math.random y el estado se
+ * puede leer y volver a poner para repetir la misma secuencia de frutas.
+ */
+public final class Aleatorio {
+   /** Incremento del estado en cada numero, la parte fraccionaria de la razon aurea */
+   private static final long INCREMENTO = 0x9E3779B97F4A7C15L;
+   /** Contador con el que se sacan las semillas de los generadores sin semilla */
+   private static final AtomicLong SEMILLAS = new AtomicLong(System.nanoTime());
+
+   private long estado;
+
+   /** Constructor con una semilla distinta para cada generador */
+   public Aleatorio() {
+      this(mezclar(SEMILLAS.addAndGet(INCREMENTO)));
+   }
+
+   /**
+    * Constructor con una semilla concreta
+    *
+    * @param semilla La semilla, dos generadores con la misma dan la misma
+    *                secuencia.
+    */
+   public Aleatorio(long semilla) {
+      this.estado = semilla;
+   }
+
+   /**
+    * Devuelve el siguiente numero de 64 bits.
+    *
+    * @return El numero.
+    */
+   public long siguienteLong() {
+      estado += INCREMENTO;
+      return mezclar(estado);
+   }
+
+   /**
+    * Devuelve un numero entre 0 (incluido) y 1 (sin incluir), como Math.random.
+    *
+    * @return El numero.
+    */
+   public double siguienteDouble() {
+      return (siguienteLong() >>> 11) * 0x1.0p-53;
+   }
+
+   /**
+    * Devuelve un numero entero entre 0 (incluido) y un limite (sin incluir).
+    *
+    * @param limite El limite, tiene que ser mayor que 0.
+    * @return El numero.
+    */
+   public int siguienteEntero(int limite) {
+      // 31 bits aleatorios por el limite caben en un long, los 31 de arriba son el resultado
+      return (int) (((siguienteLong() >>> 33) * limite) >>> 31);
+   }
+
+   /**
+    * Devuelve el estado del generador.
+    *
+    * @return El estado.
+    */
+   public long getEstado() {
+      return estado;
+   }
+
+   /**
+    * Cambia el estado del generador, con un estado leido con
+    * {@link #getEstado()} se repite la secuencia desde ese punto.
+    *
+    * @param estado El nuevo estado.
+    */
+   public void setEstado(long estado) {
+      this.estado = estado;
+   }
+
+   /**
+    * Vuelve el generador atras, como si no se hubieran sacado los ultimos
+    * numeros. Cada double, entero o long cuenta como un numero.
+    *
+    * @param numeros Los numeros que se deshacen.
+    */
+   public void retroceder(int numeros) {
+      estado -= numeros * INCREMENTO;
+   }
+
+   /**
+    * Funcion de mezcla de SplitMix64.
+    *
+    * @param z El valor a mezclar.
+    * @return El valor mezclado.
+    */
+   private static long mezclar(long z) {
+      z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+      z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+      return z ^ (z >>> 31);
+   }
+}
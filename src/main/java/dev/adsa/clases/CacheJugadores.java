@@ -0,0 +1,89 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo tiene la cache de jugadores que comparten las sesiones del servidor
+ *
+ */
+package dev.adsa.clases;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache de los jugadores cargados. Un jugador solo puede tener una sesion
+ * abierta a la vez: al iniciar sesion se reserva su nombre y al cerrarla se
+ * guarda aqui, asi si vuelve a entrar no hace falta leer su archivo ni la base
+ * de datos. Con una sola sesion (el Main normal) no cambia nada.
+ */
+public class CacheJugadores {
+    /** Maximo de jugadores guardados, al pasarlo se quita alguno sin sesion */
+    public static final int MAXIMO = 10_000;
+
+    /** Jugadores con la sesion cerrada, por nombre */
+    private static final Map<String, Player> JUGADORES = new ConcurrentHashMap<>();
+    /** Nombres de los jugadores con una sesion abierta */
+    private static final Set<String> EN_USO = ConcurrentHashMap.newKeySet();
+
+    /** Constructor privado, todos los metodos son estaticos */
+    private CacheJugadores() {
+    }
+
+    /**
+     * Reserva el nombre de un jugador para una sesion.
+     *
+     * @param nombre El nombre del jugador.
+     * @return true si se ha reservado, false si ya tiene otra sesion abierta.
+     */
+    public static boolean reservar(String nombre) {
+        return EN_USO.add(nombre);
+    }
+
+    /**
+     * Devuelve el jugador guardado de una sesion anterior.
+     *
+     * @param nombre El nombre del jugador, tiene que estar reservado.
+     * @return El jugador o null si no esta en la cache.
+     */
+    public static Player obtener(String nombre) {
+        return JUGADORES.get(nombre);
+    }
+
+    /**
+     * Guarda el jugador de una sesion que se cierra y libera su nombre.
+     *
+     * @param player El jugador.
+     */
+    public static void liberar(Player player) {
+        JUGADORES.put(player.getName(), player);
+        EN_USO.remove(player.getName());
+
+        if (JUGADORES.size() > MAXIMO) {
+            Iterator<String> nombres = JUGADORES.keySet().iterator();
+            while (JUGADORES.size() > MAXIMO && nombres.hasNext()) {
+                if (!EN_USO.contains(nombres.next()))
+                    nombres.remove();
+            }
+        }
+    }
+
+    /**
+     * Libera el nombre de un jugador que no se ha llegado a cargar.
+     *
+     * @param nombre El nombre del jugador.
+     */
+    public static void liberar(String nombre) {
+        EN_USO.remove(nombre);
+    }
+
+    /**
+     * Quita un jugador eliminado de la cache y libera su nombre.
+     *
+     * @param nombre El nombre del jugador.
+     */
+    public static void eliminar(String nombre) {
+        JUGADORES.remove(nombre);
+        EN_USO.remove(nombre);
+    }
+}
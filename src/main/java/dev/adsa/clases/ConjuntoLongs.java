@@ -0,0 +1,139 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Conjunto de long con direccionamiento abierto, para guardar hashes de estados
+ * @see HashZobrist
+ */
+package dev.adsa.clases;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de long en un solo array con direccionamiento abierto y sondeo
+ * lineal, sin crear un Long por cada valor como un HashSet. El array tiene un
+ * tamaño potencia de dos y se duplica cuando se llena por la mitad. El 0 marca
+ * los huecos vacios, asi que si se añade se apunta aparte.
+ *
+ * Sirve para guardar los hashes de los estados ya vistos, por ejemplo para
+ * detectar que la serpiente da vueltas sin comer o como tabla de
+ * transposiciones de un piloto que busque movimientos.
+ */
+public final class ConjuntoLongs {
+   /** Tamaño minimo del array */
+   private static final int CAPACIDAD_MINIMA = 16;
+
+   private long[] tabla;
+   /** Bits que se descartan del hash para quedarse con la posicion */
+   private int desplazamiento;
+   private int cantidad;
+   private boolean tieneCero;
+
+   /** Constructor del conjunto vacio */
+   public ConjuntoLongs() {
+      this(CAPACIDAD_MINIMA / 2);
+   }
+
+   /**
+    * Constructor del conjunto vacio con sitio para unos valores sin crecer.
+    *
+    * @param esperados Los valores que se espera guardar.
+    */
+   public ConjuntoLongs(int esperados) {
+      int capacidad = CAPACIDAD_MINIMA;
+      while (capacidad / 2 < esperados)
+         capacidad *= 2;
+      reservar(capacidad);
+   }
+
+   /**
+    * Añade un valor al conjunto.
+    *
+    * @param valor El valor.
+    * @return true si no estaba, false si ya estaba.
+    */
+   public boolean anadir(long valor) {
+      if (valor == 0) {
+         boolean nuevo = !tieneCero;
+         tieneCero = true;
+         if (nuevo)
+            cantidad++;
+         return nuevo;
+      }
+      int mascara = tabla.length - 1;
+      int posicion = posicion(valor);
+      while (tabla[posicion] != 0) {
+         if (tabla[posicion] == valor)
+            return false;
+         posicion = (posicion + 1) & mascara;
+      }
+      tabla[posicion] = valor;
+      cantidad++;
+      if (cantidad > tabla.length / 2)
+         crecer();
+      return true;
+   }
+
+   /**
+    * Indica si un valor esta en el conjunto.
+    *
+    * @param valor El valor.
+    * @return true si esta.
+    */
+   public boolean contiene(long valor) {
+      if (valor == 0)
+         return tieneCero;
+      int mascara = tabla.length - 1;
+      for (int posicion = posicion(valor); tabla[posicion] != 0; posicion = (posicion + 1) & mascara) {
+         if (tabla[posicion] == valor)
+            return true;
+      }
+      return false;
+   }
+
+   /**
+    * Devuelve el numero de valores del conjunto.
+    *
+    * @return Los valores.
+    */
+   public int getCantidad() {
+      return cantidad;
+   }
+
+   /** Quita todos los valores, el array se queda con su tamaño */
+   public void limpiar() {
+      if (cantidad > 0)
+         Arrays.fill(tabla, 0);
+      cantidad = 0;
+      tieneCero = false;
+   }
+
+   /**
+    * Calcula la posicion de un valor en el array con los bits altos de su
+    * producto por la razon aurea, asi tambien se reparten bien los valores
+    * seguidos.
+    */
+   private int posicion(long valor) {
+      return (int) ((valor * 0x9E3779B97F4A7C15L) >>> desplazamiento);
+   }
+
+   /** Crea un array vacio del tamaño indicado, potencia de dos */
+   private void reservar(int capacidad) {
+      tabla = new long[capacidad];
+      desplazamiento = Long.numberOfLeadingZeros(capacidad) + 1;
+   }
+
+   /** Duplica el array y vuelve a colocar los valores */
+   private void crecer() {
+      long[] anterior = tabla;
+      reservar(anterior.length * 2);
+      int mascara = tabla.length - 1;
+      for (long valor : anterior) {
+         if (valor != 0) {
+            int posicion = posicion(valor);
+            while (tabla[posicion] != 0)
+               posicion = (posicion + 1) & mascara;
+            tabla[posicion] = valor;
+         }
+      }
+   }
+}
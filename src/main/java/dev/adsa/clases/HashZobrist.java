@@ -0,0 +1,117 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Hash de Zobrist del estado de una partida que se actualiza con cada cambio
+ * @see JuegoBase
+ */
+package dev.adsa.clases;
+
+import dev.adsa.clases.tableros.Tablero;
+
+/**
+ * Hash de Zobrist de 64 bits del estado de una partida: las casillas de la
+ * serpiente, la cabeza, la cola y la fruta. Cada parte tiene una clave en cada
+ * casilla y el hash es el XOR de las claves de lo que hay en el tablero, asi
+ * al mover la cabeza, quitar la cola o poner la fruta se actualiza con un par
+ * de XOR sin recorrer el tablero.
+ *
+ * Las claves no se guardan en tablas, se calculan mezclando la casilla y la
+ * parte con el final de SplitMix64. Salen igual de repartidas que unas claves
+ * al azar y valen para tableros de cualquier tamaño.
+ */
+public final class HashZobrist {
+   /** Casilla ocupada por la serpiente, tambien la cabeza y la cola */
+   public static final int CUERPO = 0;
+   /** Casilla de la cabeza */
+   public static final int CABEZA = 1;
+   /** Casilla de la cola */
+   public static final int COLA = 2;
+   /** Casilla de la fruta */
+   public static final int FRUTA = 3;
+
+   private long valor;
+
+   /** Constructor con el hash del estado vacio */
+   public HashZobrist() {
+   }
+
+   /**
+    * Devuelve la clave de una parte en una casilla.
+    *
+    * @param casilla La casilla (fila * columnas + columna).
+    * @param parte   {@link #CUERPO}, {@link #CABEZA}, {@link #COLA} o
+    *                {@link #FRUTA}.
+    * @return La clave de 64 bits.
+    */
+   public static long clave(int casilla, int parte) {
+      long clave = ((long) casilla * 4 + parte + 1) * 0x9E3779B97F4A7C15L;
+      clave = (clave ^ (clave >>> 30)) * 0xBF58476D1CE4E5B9L;
+      clave = (clave ^ (clave >>> 27)) * 0x94D049BB133111EBL;
+      return clave ^ (clave >>> 31);
+   }
+
+   /**
+    * Pone o quita una parte de una casilla, las dos cosas son el mismo XOR.
+    *
+    * @param casilla La casilla.
+    * @param parte   La parte que se pone o se quita.
+    */
+   public void cambiar(int casilla, int parte) {
+      valor ^= clave(casilla, parte);
+   }
+
+   /**
+    * Mueve una parte de una casilla a otra.
+    *
+    * @param desde La casilla en la que estaba.
+    * @param hasta La casilla a la que va.
+    * @param parte {@link #CABEZA} o {@link #COLA}.
+    */
+   public void mover(int desde, int hasta, int parte) {
+      valor ^= clave(desde, parte) ^ clave(hasta, parte);
+   }
+
+   /**
+    * Devuelve el hash del estado.
+    *
+    * @return El hash de 64 bits.
+    */
+   public long getValor() {
+      return valor;
+   }
+
+   /**
+    * Vuelve a calcular el hash recorriendo el tablero, despues de crearlo o de
+    * cambiar muchas casillas de golpe.
+    *
+    * @param tablero El tablero.
+    * @param cabeza  La casilla de la cabeza.
+    * @param cola    La casilla de la cola.
+    */
+   public void recalcular(Tablero tablero, int cabeza, int cola) {
+      valor = calcular(tablero, cabeza, cola);
+   }
+
+   /**
+    * Calcula el hash de un estado recorriendo el tablero entero.
+    *
+    * @param tablero El tablero.
+    * @param cabeza  La casilla de la cabeza.
+    * @param cola    La casilla de la cola.
+    * @return El hash de 64 bits, el mismo que se obtiene actualizandolo.
+    */
+   public static long calcular(Tablero tablero, int cabeza, int cola) {
+      int columnas = tablero.getColumnas();
+      long hash = clave(cabeza, CABEZA) ^ clave(cola, COLA);
+      for (int fila = 0; fila < tablero.getFilas(); fila++) {
+         for (int columna = 0; columna < columnas; columna++) {
+            byte casilla = tablero.getCasilla(fila, columna);
+            if (casilla == Tablero.SERPIENTE)
+               hash ^= clave(fila * columnas + columna, CUERPO);
+            else if (casilla == Tablero.FRUTA)
+               hash ^= clave(fila * columnas + columna, FRUTA);
+         }
+      }
+      return hash;
+   }
+}
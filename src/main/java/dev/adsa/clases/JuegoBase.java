@@ -8,17 +8,95 @@
 package dev.adsa.clases;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
-import dev.adsa.utils.ColoresConsola;
+import dev.adsa.clases.entrada.EntradaArchivo;
+import dev.adsa.clases.entrada.FuenteDirecciones;
+import dev.adsa.clases.guardado.CapturaPartida;
+import dev.adsa.clases.guardado.EstadoPartida;
+import dev.adsa.clases.guardado.HistorialTicks;
+import dev.adsa.clases.guardado.HiloGuardado;
+import dev.adsa.clases.metricas.EventoDibujo;
+import dev.adsa.clases.metricas.MetricasPartida;
+import dev.adsa.clases.metricas.MetricasPartida.Fase;
+import dev.adsa.clases.metricas.MonitorJuego;
+import dev.adsa.clases.repeticion.Fantasma;
+import dev.adsa.clases.repeticion.GrabadorPartida;
+import dev.adsa.clases.salida.DibujoTablero;
+import dev.adsa.clases.salida.HiloDibujo;
+import dev.adsa.clases.salida.Mosaico;
+import dev.adsa.clases.salida.Retransmision;
+import dev.adsa.clases.salida.SalidaFotograma;
+import dev.adsa.clases.tableros.EscaneoTablero;
+import dev.adsa.clases.tableros.Tablero;
+import dev.adsa.clases.tableros.TableroTexto;
+import dev.adsa.clases.tableros.TipoTablero;
 
 /**
  * Clase plantilla del juego
  */
 public abstract class JuegoBase {
-   private StringBuilder[] coordenadas;
+   /** Simbolos de la fruta sin colores [0] y con colores [1] */
+   protected static final String[][] FRUTA = DibujoTablero.FRUTA;
+
+   /** Simbolos de la cola (0), el cuerpo (1) y la cabeza (2) sin colores [0] y con colores [1] */
+   protected static final String[][] SNAKE = DibujoTablero.SNAKE;
+
+   /** Recorridos de filas enteras, vectoriales si esta el modulo jdk.incubator.vector */
+   protected static final EscaneoTablero ESCANEO = EscaneoTablero.obtener();
+
+   private Tablero tablero;
+   private int columnas;
+   /** Tipo de tablero que se crea al inicializar */
+   private TipoTablero tipoTablero = TipoTablero.BYTES;
+   /** Codigos de una fila leida del tablero, se reutiliza en cada fila */
+   private byte[] codigosFila = new byte[0];
+   /** Dibujo de las filas desde el hilo del juego */
+   private final DibujoTablero dibujo = new DibujoTablero();
+   /** Fotograma que se esta preparando, se escribe entero de una vez */
+   protected final SalidaFotograma salida = new SalidaFotograma();
+   /** Si es true el tablero se dibuja en un hilo aparte con {@link HiloDibujo} */
+   private boolean dibujoEnHilo = HiloDibujo.activadoPorDefecto();
+   /** Generador de la posicion de las frutas, cada partida tiene el suyo */
+   private Aleatorio aleatorio = new Aleatorio();
 
    private int[] coordsCabeza = { 3, 0 };
    private int[] coordsCola = { 1, 0 };
+   private int[] coordsFruta = { -1, -1 };
+   /** Array que se rellena con la siguiente fruta, se intercambia con coordsFruta */
+   private int[] cordsComida = { 0, 0 };
+   /** Hash del estado, se actualiza al mover la cabeza y la cola y al poner la fruta */
+   private final HashZobrist hash = new HashZobrist();
+
+   /** Fuente de la que se leen las direcciones, si es null se usa el content.txt */
+   private FuenteDirecciones fuenteDirecciones;
+   /** Reglas de movimiento de la partida actual */
+   private ReglasMovimiento reglas;
+   /** Archivo en el que se guarda la partida a medias, si es null no se guarda */
+   private Path archivoGuardado;
+   /** Partida guardada desde la que sigue la siguiente partida, si no es null */
+   private EstadoPartida reanudacion;
+   /** Ticks entre guardados, 0 para guardar solo cuando lo pide el jugador */
+   private int ticksAutoguardado = HiloGuardado.ticksPorDefecto();
+   /** Lo pone la fuente de direcciones cuando el jugador pide guardar */
+   private volatile boolean guardadoPedido;
+   /** Segundos que se pueden rebobinar, 0 para jugar sin rebobinar */
+   private int segundosRebobinado = HistorialTicks.segundosPorDefecto();
+   /** Lo pone la fuente de direcciones cuando el jugador pide rebobinar */
+   private volatile boolean rebobinadoPedido;
+   /** Archivo en el que se graba la repeticion de la partida, si es null no se graba */
+   private Path archivoRepeticion;
+   /** Repeticion que se juega como fantasma, si es null se juega sin fantasma */
+   private Path archivoFantasma;
+   /** Mosaico en el que se dibuja la partida, si es null se dibuja sola */
+   private Mosaico mosaico;
+   /** Hueco de la partida en el mosaico */
+   private int huecoMosaico;
+
+   /** Estado de la serpiente despues de rebobinar */
+   private record Rebobinado(int ticks, boolean haComido) {
+   }
 
    /* ----- Metodos Constructores ----- */
    /** Constructor para el Juego base */
@@ -31,10 +109,93 @@ public abstract class JuegoBase {
     * Metodo que devuelve el array de coordenadas del tablero
     * 
     * @return Un array de StringBuilder que representa el tablero del juego. Cada
-    *         StringBuilder es una fila del tablero.
+    *         StringBuilder es una fila del tablero. Si el tablero no es de tipo
+    *         TEXTO devuelve null, en ese caso hay que usar {@link #getTablero()}.
     */
    public StringBuilder[] getCordenadas() {
-      return coordenadas;
+      return tablero instanceof TableroTexto texto ? texto.getCoordenadas() : null;
+   }
+
+   /**
+    * Metodo que devuelve el tablero de la partida
+    * 
+    * @return El tablero del juego, sea del tipo que sea.
+    */
+   public Tablero getTablero() {
+      return tablero;
+   }
+
+   /**
+    * Cambia el tablero de la partida, sirve para los modos que no usan el
+    * tablero normal.
+    * 
+    * @param tablero El nuevo tablero.
+    */
+   protected void setTablero(Tablero tablero) {
+      this.tablero = tablero;
+      this.columnas = tablero.getColumnas();
+      if (codigosFila.length < columnas)
+         codigosFila = new byte[columnas];
+   }
+
+   /**
+    * Metodo que devuelve el tipo de tablero que se crea al iniciar la partida
+    * 
+    * @return El tipo de tablero.
+    */
+   public TipoTablero getTipoTablero() {
+      return tipoTablero;
+   }
+
+   /**
+    * Establece el tipo de tablero que se crea al iniciar la partida.
+    * 
+    * @param tipoTablero BYTES para el normal, TEXTO para uno con un
+    *                    StringBuilder por fila, MEMORIA o ARCHIVO para
+    *                    guardarlo fuera del heap.
+    */
+   public void setTipoTablero(TipoTablero tipoTablero) {
+      this.tipoTablero = tipoTablero;
+   }
+
+   /**
+    * Indica si el tablero se dibuja en un hilo aparte.
+    * 
+    * @return true si se dibuja con {@link HiloDibujo}.
+    */
+   public boolean isDibujoEnHilo() {
+      return dibujoEnHilo;
+   }
+
+   /**
+    * Establece si el tablero se dibuja en un hilo aparte. Por defecto se lee de
+    * la propiedad {@value HiloDibujo#PROPIEDAD}.
+    * 
+    * @param dibujoEnHilo true para dibujar en otro hilo y descartar fotogramas
+    *                     si la consola va lenta, false para dibujar cada tick
+    *                     en el hilo del juego.
+    */
+   public void setDibujoEnHilo(boolean dibujoEnHilo) {
+      this.dibujoEnHilo = dibujoEnHilo;
+   }
+
+   /**
+    * Devuelve el generador de numeros aleatorios de la partida.
+    * 
+    * @return El generador.
+    */
+   public Aleatorio getAleatorio() {
+      return aleatorio;
+   }
+
+   /**
+    * Cambia el generador de numeros aleatorios, con uno con semilla las frutas
+    * salen siempre en el mismo orden.
+    * 
+    * @param aleatorio El nuevo generador.
+    */
+   public void setAleatorio(Aleatorio aleatorio) {
+      this.aleatorio = aleatorio;
    }
 
    /**
@@ -101,6 +262,129 @@ public abstract class JuegoBase {
       this.coordsCola = cordsCola;
    }
 
+   /**
+    * Metodo que devuelve las coordenadas de la ultima fruta generada
+    * 
+    * @return Un array con dos enteros que representan la fila y la columna de la
+    *         fruta en el tablero, o { -1, -1 } si todavia no se ha generado.
+    */
+   public int[] getCordsFruta() {
+      return coordsFruta;
+   }
+
+   /**
+    * Metodo que devuelve la fuente de la que se leen las direcciones
+    * 
+    * @return La fuente de direcciones, o null si se usa el archivo content.txt
+    */
+   public FuenteDirecciones getFuenteDirecciones() {
+      return fuenteDirecciones;
+   }
+
+   /**
+    * Establece la fuente de la que se leen las direcciones durante la partida.
+    * Sirve para sustituir el archivo content.txt por un piloto automatico.
+    * 
+    * @param fuenteDirecciones La nueva fuente de direcciones, si es null se usa
+    *                          el archivo content.txt
+    */
+   public void setFuenteDirecciones(FuenteDirecciones fuenteDirecciones) {
+      this.fuenteDirecciones = fuenteDirecciones;
+   }
+
+   /**
+    * Establece el archivo en el que se guarda la partida a medias. Solo se
+    * guardan las partidas sin obstaculos que usan {@link #jugarPartida}; al
+    * terminar la partida el archivo se borra.
+    * 
+    * @param archivoGuardado El archivo, si es null no se guarda.
+    */
+   public void setArchivoGuardado(Path archivoGuardado) {
+      this.archivoGuardado = archivoGuardado;
+   }
+
+   /**
+    * Hace que la siguiente partida siga desde un estado guardado en vez de
+    * empezar de cero. Solo se usa si las dimensiones coinciden.
+    * 
+    * @param reanudacion El estado guardado o null para empezar de cero.
+    */
+   public void setReanudacion(EstadoPartida reanudacion) {
+      this.reanudacion = reanudacion;
+   }
+
+   /**
+    * Establece cada cuantos ticks se guarda la partida.
+    * 
+    * @param ticksAutoguardado Los ticks, 0 para guardar solo cuando lo pide el
+    *                          jugador.
+    */
+   public void setTicksAutoguardado(int ticksAutoguardado) {
+      this.ticksAutoguardado = ticksAutoguardado;
+   }
+
+   /**
+    * Pide que se guarde la partida al terminar el tick actual. Lo llaman las
+    * fuentes de direcciones cuando el jugador envia "G".
+    */
+   public void pedirGuardado() {
+      guardadoPedido = true;
+   }
+
+   /**
+    * Establece cuantos segundos de la partida se pueden rebobinar. Por defecto
+    * se lee de la propiedad {@value HistorialTicks#PROPIEDAD}.
+    * 
+    * @param segundosRebobinado Los segundos, 0 para jugar sin rebobinar.
+    */
+   public void setSegundosRebobinado(int segundosRebobinado) {
+      this.segundosRebobinado = segundosRebobinado;
+   }
+
+   /**
+    * Establece el archivo en el que se graba la repeticion de la partida. No se
+    * graban las partidas con obstaculos, las que siguen una partida guardada
+    * ni las de practica, porque la repeticion no empezaria desde el principio
+    * o tendria ticks deshechos.
+    * 
+    * @param archivoRepeticion El archivo, si es null no se graba.
+    */
+   public void setArchivoRepeticion(Path archivoRepeticion) {
+      this.archivoRepeticion = archivoRepeticion;
+   }
+
+   /**
+    * Establece la repeticion que se juega como fantasma a la vez que la
+    * partida. Tiene que ser del mismo tamaño de tablero y del mismo modo.
+    * 
+    * @param archivoFantasma El archivo de la repeticion, si es null se juega
+    *                        sin fantasma.
+    */
+   public void setArchivoFantasma(Path archivoFantasma) {
+      this.archivoFantasma = archivoFantasma;
+   }
+
+   /**
+    * Hace que la partida se dibuje en un hueco de un mosaico con otras
+    * partidas en vez de sola. Con el mosaico la partida no escribe nada en la
+    * consola.
+    * 
+    * @param mosaico El mosaico, si es null la partida se dibuja sola.
+    * @param hueco   El numero de la partida en el mosaico.
+    */
+   public void setMosaico(Mosaico mosaico, int hueco) {
+      this.mosaico = mosaico;
+      this.huecoMosaico = hueco;
+   }
+
+   /**
+    * Pide que se rebobine la partida al terminar el tick actual. Lo llaman las
+    * fuentes de direcciones cuando el jugador envia "R".
+    */
+   public void pedirRebobinado() {
+      rebobinadoPedido = true;
+   }
+
    /* ----- Metodos abstractos ----- */
    /**
     * Inicia el juego de Snake.
@@ -118,13 +402,6 @@ public abstract class JuegoBase {
    public abstract double iniciarJuego(int[] configuracionSnake, Partida partida)
          throws IOException, InterruptedException;
 
-   /**
-    * Elimina la cola de la serpiente.
-    * 
-    * @param movs La lista de movimientos que se va a realizar.
-    */
-   public abstract void eliminarCola(String movs);
-
    /* ----- Metodos ----- */
 
    /**
@@ -140,7 +417,9 @@ public abstract class JuegoBase {
     *                      del tablero.
     */
    public void reemplazarCasilla(int fila, int inicioColumna, int finalColumna, String nuevoCaracter) {
-      coordenadas[fila].replace(inicioColumna, finalColumna, nuevoCaracter);
+      for (int columna = inicioColumna; columna < finalColumna; columna++) {
+         tablero.setCasilla(fila, columna, (byte) (nuevoCaracter.charAt(0) - '0'));
+      }
    }
 
    /**
@@ -151,18 +430,24 @@ public abstract class JuegoBase {
    public void inicializarTablero(int[] dimensiones) {
       coordsCola = new int[] { 1, 0 };
       coordsCabeza = new int[] { 3, 0 };
-      coordenadas = new StringBuilder[dimensiones[0]];
-
-      // Creacion del mapa segun las variables de dimensiones
-      for (int filas = 0; filas < dimensiones[0]; filas++) {
-         // Como comienza con el valor "null" tengo que crearlo vacio
-         coordenadas[filas] = new StringBuilder("");
-         for (int columnas = 0; columnas < dimensiones[1]; columnas++) {
-            coordenadas[filas].append("0");
-         }
+      coordsFruta = new int[] { -1, -1 };
+
+      // Creacion del mapa segun las variables de dimensiones, si habia uno fuera
+      // del heap de otra partida se libera
+      if (tablero != null)
+         tablero.close();
+      setTablero(tipoTablero.crear(dimensiones[0], dimensiones[1]));
+
+      // Los obstaculos del nivel se pintan una vez, despues solo los ve la tabla de vecinos
+      if (reglas != null) {
+         for (int casilla = reglas.siguienteObstaculo(0); casilla != -1; casilla = reglas
+               .siguienteObstaculo(casilla + 1))
+            tablero.setCasilla(casilla / columnas, casilla % columnas, Tablero.OBSTACULO);
       }
-      // Remplazo de la primera linAea las 3 primeras letras para hacer la serpiente
-      coordenadas[0].replace(0, 3, "111");
+
+      // Remplazo de la primera linea las 3 primeras letras para hacer la serpiente
+      reemplazarCasilla(0, 0, 3, "1");
+      hash.recalcular(tablero, getCasillaCabeza(), getCasillaCola());
    }
 
    /**
@@ -173,26 +458,56 @@ public abstract class JuegoBase {
     * @param dimensiones Un array que contiene las dimensiones del tablero.
     */
    public void generarFruta(int[] dimensiones) {
-      int[] cordsComida = { 0, 0 };
+      // Se reutiliza el array, con el tablero lleno se queda el de la fruta anterior
+      int[] cordsComida = this.cordsComida;
 
-      cordsComida[0] = (int) (Math.random() * (dimensiones[0] - 1));
-      cordsComida[1] = (int) (Math.random() * (dimensiones[1] - 1));
+      cordsComida[0] = (int) (aleatorio.siguienteDouble() * (dimensiones[0] - 1));
+      cordsComida[1] = (int) (aleatorio.siguienteDouble() * (dimensiones[1] - 1));
 
-      Character comprobarPosicionTablero = coordenadas[cordsComida[0]].charAt(cordsComida[1]);
-      while (comprobarPosicionTablero.equals('1')) {
-         if (cordsComida[1] == coordenadas[0].length() - 1) {
+      // Se busca la siguiente casilla libre fila a fila desde la posicion
+      // aleatoria, la ultima vuelta repasa el principio de la primera fila
+      int libre = -1;
+      for (int vuelta = 0; vuelta <= tablero.getFilas() && libre == -1; vuelta++) {
+         tablero.leerFila(cordsComida[0], cordsComida[1], columnas - cordsComida[1], codigosFila, 0);
+         libre = ESCANEO.siguienteLibre(codigosFila, 0, columnas - cordsComida[1]);
+         if (libre == -1) {
             cordsComida[1] = 0;
-            if (cordsComida[0] == coordenadas.length - 1) {
-               cordsComida[0] = 0;
-            } else {
-               cordsComida[0] += 1;
-            }
-         } else {
-            cordsComida[1] += 1;
+            cordsComida[0] = (cordsComida[0] + 1) % tablero.getFilas();
          }
-         comprobarPosicionTablero = coordenadas[cordsComida[0]].charAt(cordsComida[1]);
       }
-      coordenadas[cordsComida[0]].replace(cordsComida[1], cordsComida[1] + 1, "2");
+      if (libre == -1)
+         return;
+
+      cordsComida[1] += libre;
+      tablero.setCasilla(cordsComida[0], cordsComida[1], Tablero.FRUTA);
+      hash.cambiar(cordsComida[0] * columnas + cordsComida[1], HashZobrist.FRUTA);
+      this.cordsComida = coordsFruta;
+      coordsFruta = cordsComida;
+   }
+
+   /**
+    * Cuenta las casillas del tablero que ocupa la serpiente.
+    * 
+    * @return El numero de casillas con el codigo {@link Tablero#SERPIENTE}.
+    */
+   public int contarCasillasSerpiente() {
+      int total = 0;
+      for (int fila = 0; fila < tablero.getFilas(); fila++) {
+         tablero.leerFila(fila, 0, columnas, codigosFila, 0);
+         total += ESCANEO.contar(codigosFila, 0, columnas, Tablero.SERPIENTE);
+      }
+      return total;
+   }
+
+   /**
+    * Abre la fuente de direcciones de la partida. Si no se ha establecido ninguna
+    * se lee del archivo content.txt como siempre.
+    * 
+    * @return La fuente de la que se van a leer las direcciones
+    * @throws IOException Si no se puede abrir el archivo de comandos
+    */
+   protected FuenteDirecciones abrirFuenteDirecciones() throws IOException {
+      return fuenteDirecciones != null ? fuenteDirecciones : new EntradaArchivo("./content.txt");
    }
 
    /**
@@ -203,166 +518,465 @@ public abstract class JuegoBase {
     * @return La fila generada como un String.
     */
    public String generarFila(int numFila, int admiteColores) {
-      // Utilizo un StringBuilder para trabajar mejor con la frase
-      StringBuilder fila = new StringBuilder();
-      final String[][] FRUTA = {
-            { "@", "l" },
-            { ColoresConsola.ANSI_RED() + "@" + ColoresConsola.ANSI_RESET(),
-                  ColoresConsola.ANSI_YELLOW() + "l" + ColoresConsola.ANSI_RESET() },
-      };
-
-      final String[][] SNAKE = {
-            { "*", "#", "O" },
-            { ColoresConsola.ANSI_RGB(116, 198, 157) + "*" + ColoresConsola.ANSI_RESET(),
-                  ColoresConsola.ANSI_GREEN() + "#" + ColoresConsola.ANSI_RESET(),
-                  ColoresConsola.ANSI_RGB(45, 106, 79) + "O" + ColoresConsola.ANSI_RESET() },
-
-      };
-
-      // Borde izquierdo
-      fila.append("=");
-
-      for (int columnas = 0; columnas < coordenadas[numFila].length(); columnas++) {
-
-         Character character = coordenadas[numFila].charAt(columnas);
-         switch (character) {
-            case '1':
-               // Seleciono el simbolo correspondiente: cabeza (2), cola (0) o cuerpo (1)
-               int parteSnake = (numFila == coordsCabeza[1] && columnas == coordsCabeza[0] - 1) ? 2
-                     : (numFila == coordsCola[1] && columnas == coordsCola[0] - 1) ? 0 : 1;
-               fila.append(SNAKE[admiteColores][parteSnake]);
-               break;
-
-            case '2':
-               fila.append(FRUTA[admiteColores][0]);
-               break;
-
-            case '0':
-               fila.append(" ");
-               break;
-            default:
-               break;
-         }
-      }
-      // Borde derecho
-      fila.append("=");
-
-      return fila.toString();
+      return dibujo.generarFila(tablero, coordsCabeza, coordsCola, numFila, admiteColores);
    }
 
    /**
     * Muestra el tablero del juego en la consola. La funcion genera
-    * cada fila del tablero y la imprime en la consola.
+    * cada fila del tablero y escribe el fotograma entero de una vez, junto con
+    * lo que ya se hubiera añadido a {@link #salida}.
     * 
     * @param admiteColores Es un boolean que indica si la consola admite colores
+    * @throws IOException Si no se puede escribir en la consola
     */
-   public void mostrarTablero(int admiteColores) {
-      for (int fila = 0; fila < coordenadas.length; fila++) {
-         System.out.println(generarFila(fila, admiteColores));
-      }
+   public void mostrarTablero(int admiteColores) throws IOException {
+      EventoDibujo evento = EventoDibujo.empezar();
+      dibujo.anadirTablero(tablero, coordsCabeza, coordsCola, admiteColores, salida);
+      salida.escribir();
+      evento.terminar(tablero.getFilas(), columnas, admiteColores != 0);
    }
 
    /**
-    * Detecta si la serpiente ha comido una fruta. Segun la direccion en la que
-    * se esta moviendo la serpiente, se evalua la casilla que esta en la pared
-    * opuesta
-    * para ver si es una fruta. Si es una fruta se marca que ha comido y se
-    * incrementa la longitud de la serpiente en 1.
+    * Detecta si en la casilla a la que se va a mover la cabeza hay una fruta.
     * 
-    * @param direcion La direccion en la que se esta moviendo la serpiente
+    * @param casilla La casilla de destino de la cabeza (fila * columnas +
+    *                columna).
     * @return Un boolean que indica si la serpiente ha comido una fruta
     */
-   public boolean detectarFruta(String direcion) {
-      boolean frutaDetectada = false;
-      switch (direcion) {
-         case "W":
-            if ('2' == coordenadas[coordsCabeza[1] - 1].charAt(coordsCabeza[0] - 1)) {
-               frutaDetectada = true;
-            }
-            break;
+   public boolean detectarFruta(int casilla) {
+      return Tablero.FRUTA == tablero.getCasilla(casilla / columnas, casilla % columnas);
+   }
 
-         case "A":
-            if ('2' == coordenadas[coordsCabeza[1]].charAt(coordsCabeza[0] - 2)) {
-               frutaDetectada = true;
-            }
-            break;
+   /**
+    * Crea la cabeza de la serpiente en la casilla de destino. Actualiza la
+    * posición de la cabeza y verifica si la serpiente ha colisionado consigo
+    * misma.
+    *
+    * @param alive   Un booleano que indica si la serpiente está viva antes del
+    *                movimiento.
+    * @param casilla La casilla de destino de la cabeza (fila * columnas +
+    *                columna).
+    * @return Un booleano que indica si la serpiente sigue viva después del
+    *         movimiento.
+    */
+   public boolean crearCabeza(boolean alive, int casilla) {
+      int fila = casilla / columnas;
+      int columna = casilla % columnas;
+      byte anterior = tablero.getCasilla(fila, columna);
+      if (Tablero.SERPIENTE == anterior) {
+         alive = false;
+      } else {
+         // La fruta que se come sale del hash y la casilla pasa a ser de la serpiente
+         if (Tablero.FRUTA == anterior)
+            hash.cambiar(casilla, HashZobrist.FRUTA);
+         hash.cambiar(casilla, HashZobrist.CUERPO);
+      }
 
-         case "S":
-            if ('2' == coordenadas[coordsCabeza[1] + 1].charAt(coordsCabeza[0] - 1)) {
-               frutaDetectada = true;
-            }
-            break;
+      /* ----- Parte de la cabeza ----- */
+      hash.mover(getCasillaCabeza(), casilla, HashZobrist.CABEZA);
+      tablero.setCasilla(fila, columna, Tablero.SERPIENTE);
+      setCordsCabeza(columna + 1, fila);
+      return alive;
+   }
 
-         case "D":
-            if ('2' == coordenadas[coordsCabeza[1]].charAt(coordsCabeza[0])) {
-               frutaDetectada = true;
-            }
-            break;
-         default:
-            break;
+   /**
+    * Elimina la cola de la serpiente en el tablero y la mueve a la siguiente
+    * casilla segun el primer movimiento pendiente.
+    *
+    * @param direccion El primer movimiento pendiente, la dirección en la que se
+    *                  mueve la cola ('W', 'A', 'S', 'D').
+    */
+   public void eliminarCola(char direccion) {
+      // Elimino la cola
+      reemplazarCasilla(coordsCola[1], coordsCola[0] - 1, coordsCola[0], "0");
+
+      int cola = getCasillaCola();
+      int siguiente = reglas.vecino(cola, ReglasMovimiento.indiceDireccion(direccion));
+      hash.cambiar(cola, HashZobrist.CUERPO);
+      hash.mover(cola, siguiente, HashZobrist.COLA);
+      setCordsCola(siguiente % columnas + 1, siguiente / columnas);
+   }
+
+   /**
+    * Vuelve a poner el tablero, la serpiente, la fruta y el generador
+    * aleatorio de una partida guardada, recorriendo los movimientos desde la
+    * cola.
+    * 
+    * @param estado      El estado guardado.
+    * @param dimensiones Las dimensiones del tablero.
+    * @throws IOException Si la serpiente guardada se sale del tablero o se
+    *                     cruza consigo misma.
+    */
+   private void restaurarTablero(EstadoPartida estado, int[] dimensiones) throws IOException {
+      if (tablero != null)
+         tablero.close();
+      setTablero(tipoTablero.crear(dimensiones[0], dimensiones[1]));
+
+      int casilla = estado.getCola();
+      coordsCola = new int[] { casilla % columnas + 1, casilla / columnas };
+      tablero.setCasilla(casilla / columnas, casilla % columnas, Tablero.SERPIENTE);
+      String movimientos = estado.getMovimientos();
+      for (int i = 0; i < movimientos.length(); i++) {
+         casilla = reglas.vecino(casilla, ReglasMovimiento.indiceDireccion(movimientos.charAt(i)));
+         if (casilla == ReglasMovimiento.PARED
+               || tablero.getCasilla(casilla / columnas, casilla % columnas) != Tablero.VACIA)
+            throw new IOException("La partida guardada no es valida");
+         tablero.setCasilla(casilla / columnas, casilla % columnas, Tablero.SERPIENTE);
       }
-      return frutaDetectada;
+      coordsCabeza = new int[] { casilla % columnas + 1, casilla / columnas };
+
+      coordsFruta = new int[] { -1, -1 };
+      int fruta = estado.getFruta();
+      if (fruta != -1) {
+         if (tablero.getCasilla(fruta / columnas, fruta % columnas) != Tablero.VACIA)
+            throw new IOException("La partida guardada no es valida");
+         tablero.setCasilla(fruta / columnas, fruta % columnas, Tablero.FRUTA);
+         coordsFruta = new int[] { fruta / columnas, fruta % columnas };
+      }
+      aleatorio.setEstado(estado.getEstadoAleatorio());
+      hash.recalcular(tablero, getCasillaCabeza(), getCasillaCola());
    }
 
    /**
-    * Crea la cabeza de la serpiente en el tablero según la dirección de
-    * movimiento.
-    * Actualiza la posición de la cabeza y verifica si la serpiente ha colisionado
-    * consigo misma.
-    *
-    * @param alive    Un booleano que indica si la serpiente está viva antes del
-    *                 movimiento.
-    * @param direcion La dirección en la que se está moviendo la serpiente: "W",
-    *                 "A", "S", o "D".
-    * @return Un booleano que indica si la serpiente sigue viva después del
-    *         movimiento.
+    * Devuelve el hash de Zobrist del estado de la partida (las casillas de la
+    * serpiente, la cabeza, la cola y la fruta). Dos estados iguales tienen el
+    * mismo hash, asi se pueden buscar estados repetidos sin comparar tableros.
+    * Solo lo mantiene el bucle de {@link #jugarPartida}, los modos con su
+    * propio bucle no lo actualizan.
+    * 
+    * @return El hash de 64 bits.
     */
+   public long getHashEstado() {
+      return hash.getValor();
+   }
 
-   public boolean crearCabeza(boolean alive, String direcion) {
-      switch (direcion) {
-         case "W":
-            if ('1' == coordenadas[coordsCabeza[1] - 1].charAt(coordsCabeza[0] - 1))
-               alive = false;
+   /**
+    * Devuelve la casilla en la que esta la cabeza de la serpiente.
+    * 
+    * @return La casilla de la cabeza (fila * columnas + columna).
+    */
+   public int getCasillaCabeza() {
+      return coordsCabeza[1] * columnas + coordsCabeza[0] - 1;
+   }
 
-            /* ----- Parte de la cabeza ----- */
-            coordenadas[coordsCabeza[1] - 1].replace(coordsCabeza[0] - 1, coordsCabeza[0], "1");
+   /**
+    * Devuelve la casilla en la que esta la cola de la serpiente.
+    * 
+    * @return La casilla de la cola (fila * columnas + columna).
+    */
+   public int getCasillaCola() {
+      return coordsCola[1] * columnas + coordsCola[0] - 1;
+   }
 
-            coordsCabeza[1] -= 1;
-            break;
+   /**
+    * Devuelve el numero de la casilla de la fruta.
+    * 
+    * @return La casilla de la fruta (fila * columnas + columna), o -1 si no hay
+    *         fruta en el tablero.
+    */
+   public int getCasillaFruta() {
+      if (coordsFruta[0] < 0 || tablero.getCasilla(coordsFruta[0], coordsFruta[1]) != Tablero.FRUTA)
+         return -1;
+      return coordsFruta[0] * columnas + coordsFruta[1];
+   }
 
-         case "A":
-            if ('1' == coordenadas[coordsCabeza[1]].charAt(coordsCabeza[0] - 2))
-               alive = false;
+   /**
+    * Ejecuta el ciclo principal del juego con las reglas de movimiento del modo.
+    * Cada movimiento es una consulta a la tabla de vecinos: si devuelve
+    * {@link ReglasMovimiento#PARED} la serpiente se ha chocado con el borde.
+    * 
+    * @param configuracionSnake Un array que contiene la configuración inicial del
+    *                           juego: [ancho, alto, tiempo de espera en
+    *                           milisegundos, admite colores].
+    * @param partida            La partida que se va a jugar.
+    * @param reglas             Las reglas de movimiento del modo de juego.
+    * @return El puntaje final calculado al final del juego.
+    * @throws IOException          Si ocurre un error durante la lectura del
+    *                              archivo de comandos.
+    * @throws InterruptedException Si el hilo de ejecución es interrumpido durante
+    *                              el tiempo de espera.
+    */
+   protected double jugarPartida(int[] configuracionSnake, Partida partida, ReglasMovimiento reglas)
+         throws IOException, InterruptedException {
+      final int[] DIMENSIONES = { configuracionSnake[0], configuracionSnake[1] };
+      final int TIEMPOMILISEGUNDOS = configuracionSnake[2];
+      final int ADMITECOLORES = configuracionSnake[3];
 
-            /* ----- Parte de la cabeza ----- */
-            coordenadas[coordsCabeza[1]].replace(coordsCabeza[0] - 2, coordsCabeza[0] - 1, "1");
+      String nuevaDireccion;
+      int snakeLongitud = 3;
+      boolean win = false;
+      boolean alive = true;
+      boolean haComido = true;
+      String direcion = "D";
+      // Secuencia de movimientos para saber la continuacion de la cola, cabe la serpiente que llena el tablero
+      MovimientosSerpiente movs = new MovimientosSerpiente("DD", DIMENSIONES[0] * DIMENSIONES[1]);
+      int tick = 0;
+      boolean terminada = false;
 
-            coordsCabeza[0] -= 1;
-            break;
+      FuenteDirecciones fr = abrirFuenteDirecciones();
+      MetricasPartida metricas = MonitorJuego.empezarPartida(TIEMPOMILISEGUNDOS);
+      HiloDibujo hiloDibujo = dibujoEnHilo && mosaico == null ? HiloDibujo.porDefecto(ADMITECOLORES) : null;
+      // Con el servidor la partida se puede ver en directo, el titulo es el de la sesion
+      Retransmision directo = Retransmision.isActivada()
+            ? Retransmision.abrir(Thread.currentThread().getName(), DIMENSIONES[0], DIMENSIONES[1])
+            : null;
 
-         case "S":
-            if ('1' == coordenadas[coordsCabeza[1] + 1].charAt(coordsCabeza[0] - 1))
-               alive = false;
+      this.reglas = reglas;
+      EstadoPartida reanudar = reanudacion;
+      reanudacion = null;
+      boolean reanudada = false;
+      if (reanudar != null && reanudar.getFilas() == DIMENSIONES[0] && reanudar.getColumnas() == DIMENSIONES[1]) {
+         try {
+            restaurarTablero(reanudar, DIMENSIONES);
+            reanudada = true;
+            snakeLongitud = reanudar.getLongitud();
+            direcion = String.valueOf(reanudar.getDireccion());
+            movs.reemplazar(reanudar.getMovimientos());
+            haComido = reanudar.isHaComido();
+            tick = reanudar.getTick();
+         } catch (IOException e) {
+            System.out.println(e.getMessage() + ", se empieza una partida nueva");
+            inicializarTablero(DIMENSIONES);
+         }
+      } else {
+         inicializarTablero(DIMENSIONES);
+      }
+      // Las partidas con obstaculos no se guardan, al seguirlas no se sabria de que nivel son
+      boolean sinObstaculos = reglas.getCasillasLibres() == DIMENSIONES[0] * DIMENSIONES[1];
+      HiloGuardado guardado = archivoGuardado != null && sinObstaculos ? HiloGuardado.iniciar(archivoGuardado, DIMENSIONES[0] * DIMENSIONES[1]) : null;
+      guardadoPedido = false;
+      // En modo practica se guarda un byte por tick para poder volver atras
+      HistorialTicks historial = HistorialTicks.deSegundos(segundosRebobinado, TIEMPOMILISEGUNDOS);
+      rebobinadoPedido = false;
+      GrabadorPartida grabador = archivoRepeticion != null && sinObstaculos && !reanudada && historial == null
+            ? GrabadorPartida.abrir(archivoRepeticion, DIMENSIONES[0], DIMENSIONES[1], reglas.atraviesaParedes())
+            : null;
+      // El fantasma sale a la vez que la serpiente y se mueve un tick por cada tick
+      Fantasma fantasma = archivoFantasma != null ? Fantasma.abrir(archivoFantasma, reglas) : null;
+      byte[] casillasFantasma = fantasma != null ? fantasma.getCasillas() : null;
+      dibujo.setFantasma(casillasFantasma);
+      RitmoJuego ritmo = new RitmoJuego(TIEMPOMILISEGUNDOS);
 
-            /* ----- Parte de la cabeza ----- */
-            coordenadas[coordsCabeza[1] + 1].replace(coordsCabeza[0] - 1, coordsCabeza[0], "1");
+      try {
+         do {
+            metricas.empezarTick();
 
-            coordsCabeza[1] += 1;
-            break;
+            boolean frutaNueva = haComido;
+            if (haComido) {
+               generarFruta(DIMENSIONES);
+               haComido = false;
+            }
+            metricas.terminarFase(Fase.FRUTA);
 
-         case "D":
-            if ('1' == coordenadas[coordsCabeza[1]].charAt(coordsCabeza[0]))
+            // En alta velocidad solo se dibujan los ticks que le da tiempo a la consola
+            boolean dibujado = ritmo.tocaDibujar();
+            if (dibujado) {
+               if (mosaico != null) {
+                  mosaico.publicar(huecoMosaico, tablero, coordsCabeza, coordsCola, snakeLongitud);
+               } else if (hiloDibujo != null) {
+                  // Se copia el tick y el otro hilo lo dibuja cuando pueda
+                  hiloDibujo.publicar(tablero, coordsCabeza, coordsCola, snakeLongitud, casillasFantasma);
+               } else {
+                  DibujoTablero.anadirLongitud(snakeLongitud, salida);
+                  mostrarTablero(ADMITECOLORES);
+               }
+               ritmo.terminarDibujo();
+            }
+            if (directo != null)
+               directo.publicar(tablero, getCasillaCabeza(), getCasillaCola(), getCasillaFruta(), snakeLongitud);
+            // Los ticks sin dibujar no cuentan en el dibujo, lo poco que tarda la retransmision va a la espera
+            if (dibujado)
+               metricas.terminarFase(Fase.DIBUJO);
+
+            // Tiempo de espera con hilos
+            ritmo.esperar();
+            if (dibujado && hiloDibujo == null && mosaico == null)
+               separacion(salida);
+            metricas.terminarFase(Fase.ESPERA);
+
+            // Si la direccion no es W, A, S o D se sigue con la anterior
+            nuevaDireccion = fr.siguienteDireccion(this, direcion);
+            if (ReglasMovimiento.indiceDireccion(nuevaDireccion.charAt(0)) != ReglasMovimiento.NINGUNA)
+               direcion = nuevaDireccion;
+            metricas.terminarFase(Fase.ENTRADA);
+
+            int destino = reglas.vecino(getCasillaCabeza(), ReglasMovimiento.indiceDireccion(direcion.charAt(0)));
+            if (destino == ReglasMovimiento.PARED) {
+               // Se ha chocado con el borde del tablero
                alive = false;
+            } else {
+               if (detectarFruta(destino)) {
+                  haComido = true;
+                  snakeLongitud++;
+               }
+
+               movs.anadirUltimo(direcion.charAt(0));
+               int direccionCola = ReglasMovimiento.indiceDireccion(movs.getPrimero());
+
+               if (!haComido) {
+                  // Se quita el primer movimiento ya que deberia ya haberse ejecutado
+                  eliminarCola(movs.quitarPrimero());
+               }
+
+               alive = crearCabeza(alive, destino);
+               if (historial != null && alive)
+                  historial.anadir(direccionCola, haComido, frutaNueva);
+               if (grabador != null && alive)
+                  grabador.grabar(ReglasMovimiento.indiceDireccion(direcion.charAt(0)), haComido);
+            }
+            if (fantasma != null)
+               fantasma.avanzar();
+
+            if (snakeLongitud == reglas.getCasillasLibres())
+               win = true;
+
+            if (rebobinadoPedido && historial != null && historial.getCantidad() > 0 && alive && !win) {
+               Rebobinado rebobinado = rebobinar(historial, movs);
+               snakeLongitud = movs.getLongitud() + 1;
+               direcion = String.valueOf(movs.getUltimo());
+               haComido = rebobinado.haComido();
+               tick -= rebobinado.ticks();
+               // Los espectadores no pueden seguir el rebobinado con los cambios de cada tick
+               if (directo != null)
+                  directo.forzarClave();
+            }
+            rebobinadoPedido = false;
+
+            // El estado se copia en una captura que se reutiliza, el otro hilo lo pasa a bytes y lo escribe
+            tick++;
+            if (guardado != null && alive && !win
+                  && (guardadoPedido || ticksAutoguardado > 0 && tick % ticksAutoguardado == 0)) {
+               guardadoPedido = false;
+               capturarEstado(guardado, DIMENSIONES, TIEMPOMILISEGUNDOS, tick, snakeLongitud, direcion, haComido,
+                     movs);
+            }
+            metricas.terminarFase(Fase.REGLAS);
+            metricas.terminarTick(snakeLongitud);
 
-            /* ----- Parte de la cabeza ----- */
-            coordenadas[coordsCabeza[1]].replace(coordsCabeza[0], coordsCabeza[0] + 1, "1");
-            coordsCabeza[0] += 1;
-            break;
+         } while (alive && !win);
+         terminada = true;
+      } finally {
+         // Si la partida se corta (por ejemplo se desconecta el cliente del
+         // servidor) el hilo de dibujo no se queda esperando fotogramas
+         if (hiloDibujo != null)
+            hiloDibujo.close();
+         if (directo != null)
+            directo.terminar();
+         if (guardado != null) {
+            // Si la partida se corta (se desconecta el cliente) se guarda como esta
+            if (!terminada && alive)
+               capturarEstado(guardado, DIMENSIONES, TIEMPOMILISEGUNDOS, tick, snakeLongitud, direcion, haComido,
+                     movs);
+            guardado.close();
+            // Una partida terminada ya no se puede seguir
+            if (terminada)
+               Files.deleteIfExists(archivoGuardado);
+         }
+         if (grabador != null)
+            grabador.close();
+         if (fantasma != null)
+            fantasma.close();
+         dibujo.setFantasma(null);
+      }
+
+      if (mosaico == null)
+         System.out.println(alive ? "Enhorabuena, has ganado" : "Has perdido");
+      if (hiloDibujo != null && hiloDibujo.getDescartados() > 0)
+         System.out.println("La consola no ha dado abasto, se han descartado " + hiloDibujo.getDescartados()
+               + " fotogramas de " + (hiloDibujo.getDibujados() + hiloDibujo.getDescartados()));
+      fr.close();
+      // Los tableros fuera del heap solo viven lo que dura la partida
+      tablero.close();
+      partida.setGanado(win);
+      partida.setLongitudSerpiente(snakeLongitud);
+      guardarTiempos(metricas, partida);
+      return calcularPuntaje(snakeLongitud, DIMENSIONES[0], DIMENSIONES[1], ritmo.getMilisegundosPorTick());
+   }
+
+   /**
+    * Deshace todos los ticks del historial, del ultimo al primero. En cada uno
+    * la cabeza vuelve por su ultimo movimiento (si comio se vuelve a poner la
+    * fruta debajo), la cola vuelve por la direccion guardada y, si salio una
+    * fruta nueva, se quita y el generador aleatorio vuelve atras, asi al
+    * seguir sale la misma fruta.
+    * 
+    * @param historial El historial de los ultimos ticks, se queda vacio.
+    * @param movs      Los movimientos de la cola a la cabeza, se cambian por los
+    *                  que habia antes de los ticks deshechos.
+    * @return Los ticks deshechos y si hay que generar una fruta en el
+    *         siguiente tick.
+    */
+   private Rebobinado rebobinar(HistorialTicks historial, MovimientosSerpiente movs) {
+      int ticks = 0;
+      boolean haComido = false;
 
-         default:
-            break;
+      int deshecho;
+      while ((deshecho = historial.quitar()) != -1) {
+         int cabeza = getCasillaCabeza();
+         boolean comio = HistorialTicks.haComido(deshecho);
+         tablero.setCasilla(cabeza / columnas, cabeza % columnas, comio ? Tablero.FRUTA : Tablero.VACIA);
+         if (comio)
+            coordsFruta = new int[] { cabeza / columnas, cabeza % columnas };
+         int anterior = reglas.vecino(cabeza,
+               ReglasMovimiento.opuesta(ReglasMovimiento.indiceDireccion(movs.quitarUltimo())));
+         setCordsCabeza(anterior % columnas + 1, anterior / columnas);
+
+         if (!comio) {
+            int direccion = HistorialTicks.direccionCola(deshecho);
+            int cola = reglas.vecino(getCasillaCola(), ReglasMovimiento.opuesta(direccion));
+            tablero.setCasilla(cola / columnas, cola % columnas, Tablero.SERPIENTE);
+            setCordsCola(cola % columnas + 1, cola / columnas);
+            movs.anadirPrimero(ReglasMovimiento.letraDireccion(direccion));
+         }
+
+         haComido = HistorialTicks.frutaNueva(deshecho);
+         if (haComido) {
+            // La fruta de este tick sale otra vez al seguir
+            int fruta = getCasillaFruta();
+            if (fruta != -1)
+               tablero.setCasilla(fruta / columnas, fruta % columnas, Tablero.VACIA);
+            coordsFruta = new int[] { -1, -1 };
+            aleatorio.retroceder(2);
+         }
+         ticks++;
       }
-      return alive;
+      // Se han cambiado muchas casillas de golpe, el hash se calcula otra vez
+      hash.recalcular(tablero, getCasillaCabeza(), getCasillaCola());
+      return new Rebobinado(ticks, haComido);
+   }
+
+   /**
+    * Copia el estado de la partida en una captura del hilo de guardado y se la
+    * deja para que lo guarde, sin crear objetos.
+    * 
+    * @param guardado    El hilo de guardado.
+    * @param dimensiones Las dimensiones del tablero.
+    * @param tiempo      Los milisegundos por tick.
+    * @param tick        El numero de ticks jugados.
+    * @param longitud    La longitud de la serpiente.
+    * @param direccion   La direccion de la serpiente.
+    * @param haComido    true si hay que generar una fruta en el siguiente tick.
+    * @param movs        Los movimientos de la cola a la cabeza, se copian.
+    */
+   private void capturarEstado(HiloGuardado guardado, int[] dimensiones, int tiempo, int tick, int longitud,
+         String direccion, boolean haComido, MovimientosSerpiente movs) {
+      CapturaPartida captura = guardado.empezarCaptura();
+      captura.rellenar(dimensiones[0], dimensiones[1], reglas.atraviesaParedes(), tiempo, tick, longitud,
+            direccion.charAt(0), haComido, getCasillaCola(), getCasillaFruta(), aleatorio.getEstado(), movs);
+      guardado.publicar(captura);
+   }
+
+   /**
+    * Guarda en la partida el resumen de los tiempos de los ticks y los suma a
+    * los acumulados del monitor JMX.
+    * 
+    * @param metricas Las metricas de la partida terminada.
+    * @param partida  La partida en la que se guarda el resumen.
+    */
+   protected static void guardarTiempos(MetricasPartida metricas, Partida partida) {
+      MonitorJuego.terminarPartida(metricas);
+      partida.setTiemposTick(metricas.getCoste().percentil(50) / 1000, metricas.getCoste().percentil(99) / 1000,
+            metricas.getCoste().getMaximo() / 1000, metricas.resumen());
    }
 
    /**
@@ -374,13 +988,15 @@ public abstract class JuegoBase {
     * @param filasTablero      La cantidad de filas del tablero del juego.
     * @param columnasTablero   La cantidad de columnas del tablero del juego.
     * @param velocidad         La velocidad de actualización del juego en
-    *                          milisegundos.
+    *                          milisegundos, la que se ha conseguido de verdad
+    *                          de media y no la configurada.
     * 
     * @return El puntaje calculado en base a la longitud de la serpiente, las
     *         dimensiones del tablero y la velocidad del juego.
     * 
     */
-   public static double calcularPuntaje(int longitudSerpiente, int filasTablero, int columnasTablero, int velocidad) {
+   public static double calcularPuntaje(int longitudSerpiente, int filasTablero, int columnasTablero,
+         double velocidad) {
       // Normalizar las dimensiones del tablero: cuantas más celdas tenga el tablero,
       // más puntos se pueden ganar
       int totalCeldas = filasTablero * columnasTablero;
@@ -402,11 +1018,16 @@ public abstract class JuegoBase {
     * todas las consolas
     */
    public static void separacion() {
-      for (int i = 0; i < 30; i++) {
-         System.out.println("\n");
-      }
-      // Esto hace que se borre, pero no funciona en todas las consolas
-      // System.out.print("\033[H\033[2J");
-      // System.out.flush();
+      System.out.print(DibujoTablero.SEPARACION);
+   }
+
+   /**
+    * Escribe las lineas de separacion con una unica escritura.
+    * 
+    * @param salida La salida por la que se escribe.
+    * @throws IOException Si no se puede escribir en la consola
+    */
+   protected static void separacion(SalidaFotograma salida) throws IOException {
+      salida.anadir(DibujoTablero.SEPARACION).escribir();
    }
 }
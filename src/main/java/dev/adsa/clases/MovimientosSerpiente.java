@@ -0,0 +1,166 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Movimientos de la serpiente de la cola a la cabeza en un buffer circular
+ * @see JuegoBase
+ */
+package dev.adsa.clases;
+
+/**
+ * Movimientos de la serpiente ('W', 'A', 'S' o 'D'), de la cola a la cabeza, en
+ * un buffer circular. Sustituye al String que se concatenaba y recortaba en
+ * cada tick: añadir el de la cabeza y quitar el de la cola no crean objetos y
+ * si no cabe el buffer se duplica. Para guardar la partida se copian con
+ * {@link #copiar(char[])} en un array que se reutiliza.
+ */
+public final class MovimientosSerpiente {
+   /** Capacidad maxima que se reserva al crearlo, si se pasa se duplica */
+   private static final int CAPACIDAD_MAXIMA = 1 << 16;
+
+   private char[] movimientos;
+   private int inicio;
+   private int longitud;
+
+   /**
+    * Constructor con los movimientos iniciales
+    *
+    * @param movimientos Los movimientos de la cola a la cabeza.
+    */
+   public MovimientosSerpiente(CharSequence movimientos) {
+      this(movimientos, 16);
+   }
+
+   /**
+    * Constructor con los movimientos iniciales y la capacidad que se reserva,
+    * para no tener que duplicar el buffer mientras crece la serpiente.
+    *
+    * @param movimientos Los movimientos de la cola a la cabeza.
+    * @param capacidad   Los movimientos que caben sin duplicar, como mucho
+    *                    {@value #CAPACIDAD_MAXIMA}.
+    */
+   public MovimientosSerpiente(CharSequence movimientos, int capacidad) {
+      this.movimientos = new char[Math.max(1, Math.min(capacidad, CAPACIDAD_MAXIMA))];
+      reemplazar(movimientos);
+   }
+
+   /**
+    * Cambia todos los movimientos por otros.
+    *
+    * @param nuevos Los movimientos de la cola a la cabeza.
+    */
+   public void reemplazar(CharSequence nuevos) {
+      inicio = 0;
+      longitud = 0;
+      for (int i = 0; i < nuevos.length(); i++)
+         anadirUltimo(nuevos.charAt(i));
+   }
+
+   /**
+    * Añade un movimiento por el lado de la cabeza.
+    *
+    * @param movimiento La letra del movimiento.
+    */
+   public void anadirUltimo(char movimiento) {
+      asegurar();
+      movimientos[(inicio + longitud) % movimientos.length] = movimiento;
+      longitud++;
+   }
+
+   /**
+    * Añade un movimiento por el lado de la cola.
+    *
+    * @param movimiento La letra del movimiento.
+    */
+   public void anadirPrimero(char movimiento) {
+      asegurar();
+      inicio = (inicio + movimientos.length - 1) % movimientos.length;
+      movimientos[inicio] = movimiento;
+      longitud++;
+   }
+
+   /**
+    * Quita el movimiento de la cola.
+    *
+    * @return El movimiento quitado.
+    */
+   public char quitarPrimero() {
+      char primero = movimientos[inicio];
+      inicio = (inicio + 1) % movimientos.length;
+      longitud--;
+      return primero;
+   }
+
+   /**
+    * Quita el movimiento de la cabeza.
+    *
+    * @return El movimiento quitado.
+    */
+   public char quitarUltimo() {
+      longitud--;
+      return movimientos[(inicio + longitud) % movimientos.length];
+   }
+
+   /**
+    * Devuelve el movimiento de la cola, el siguiente que hace la cola.
+    *
+    * @return La letra del movimiento.
+    */
+   public char getPrimero() {
+      return movimientos[inicio];
+   }
+
+   /**
+    * Devuelve el movimiento de la cabeza, la direccion actual.
+    *
+    * @return La letra del movimiento.
+    */
+   public char getUltimo() {
+      return movimientos[(inicio + longitud - 1) % movimientos.length];
+   }
+
+   /**
+    * Devuelve el numero de movimientos, uno menos que la longitud de la
+    * serpiente.
+    *
+    * @return El numero de movimientos.
+    */
+   public int getLongitud() {
+      return longitud;
+   }
+
+   /**
+    * Copia los movimientos de la cola a la cabeza al principio de un array, sin
+    * crear objetos.
+    *
+    * @param destino El array, con sitio para {@link #getLongitud()}
+    *                movimientos.
+    */
+   public void copiar(char[] destino) {
+      int hastaElFinal = Math.min(longitud, movimientos.length - inicio);
+      System.arraycopy(movimientos, inicio, destino, 0, hastaElFinal);
+      System.arraycopy(movimientos, 0, destino, hastaElFinal, longitud - hastaElFinal);
+   }
+
+   /**
+    * Devuelve los movimientos en un String nuevo.
+    *
+    * @return Los movimientos de la cola a la cabeza.
+    */
+   @Override
+   public String toString() {
+      char[] copia = new char[longitud];
+      copiar(copia);
+      return new String(copia);
+   }
+
+   /** Si el buffer esta lleno se duplica */
+   private void asegurar() {
+      if (longitud == movimientos.length) {
+         char[] nuevo = new char[movimientos.length * 2];
+         for (int i = 0; i < longitud; i++)
+            nuevo[i] = movimientos[(inicio + i) % movimientos.length];
+         movimientos = nuevo;
+         inicio = 0;
+      }
+   }
+}
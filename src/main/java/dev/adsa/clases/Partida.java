@@ -16,13 +16,16 @@ import dev.adsa.utils.Utilidades;
 /**
  * Clase de cada partida, en esta se almacena toda la informacion de cada partida
  */
-public class Partida implements Serializable {
+public final class Partida implements Serializable {
     /** Constante para la Serializacion */
     private static final long serialVersionUID = 1L;
 
     private enum ModoDeJuego {
         MODO_NORMAL("Modo Normal"),
-        MODO_ATRAVESAR_PAREDES("Modo Atravesar Paredes");
+        MODO_ATRAVESAR_PAREDES("Modo Atravesar Paredes"),
+        MODO_TABLERO_GIGANTE("Modo Tablero Gigante"),
+        MODO_MULTISERPIENTE("Modo Multiserpiente"),
+        MODO_NIVELES("Modo Niveles");
 
         private final String descripcion;
 
@@ -51,6 +54,10 @@ public class Partida implements Serializable {
     private boolean ganado;
     /** Modo de juego */
     private ModoDeJuego modoDeJuego;
+    /** Mediana, percentil 99 y maximo del coste de los ticks en microsegundos */
+    private long[] tiemposTick = new long[3];
+    /** Resumen de los tiempos de cada fase de los ticks */
+    private String resumenTiempos;
 
     /* ----- Metodos constructores ----- */
     /**
@@ -157,6 +164,19 @@ public class Partida implements Serializable {
         this.ganado = ganado;
     }
 
+    /**
+     * Establece los tiempos de los ticks de la partida.
+     * 
+     * @param p50     La mediana del coste de los ticks en microsegundos.
+     * @param p99     El percentil 99 del coste de los ticks en microsegundos.
+     * @param maximo  El mayor coste de un tick en microsegundos.
+     * @param resumen El resumen de los tiempos de cada fase.
+     */
+    public void setTiemposTick(long p50, long p99, long maximo, String resumen) {
+        this.tiemposTick = new long[] { p50, p99, maximo };
+        this.resumenTiempos = resumen;
+    }
+
     /**
      * Establece el modo de juego en la partida.
      * 
@@ -171,6 +191,18 @@ public class Partida implements Serializable {
             case 2:
                 modoDeJuego = ModoDeJuego.MODO_ATRAVESAR_PAREDES;
                 break;
+
+            case 3:
+                modoDeJuego = ModoDeJuego.MODO_TABLERO_GIGANTE;
+                break;
+
+            case 4:
+                modoDeJuego = ModoDeJuego.MODO_MULTISERPIENTE;
+                break;
+
+            case 5:
+                modoDeJuego = ModoDeJuego.MODO_NIVELES;
+                break;
             default:
 
                 break;
@@ -187,6 +219,12 @@ public class Partida implements Serializable {
             modoDeJuego = ModoDeJuego.MODO_NORMAL;
         else if (strModoJuego.equals("MODO_ATRAVESAR_PAREDES"))
             modoDeJuego = ModoDeJuego.MODO_ATRAVESAR_PAREDES;
+        else if (strModoJuego.equals("MODO_TABLERO_GIGANTE"))
+            modoDeJuego = ModoDeJuego.MODO_TABLERO_GIGANTE;
+        else if (strModoJuego.equals("MODO_MULTISERPIENTE"))
+            modoDeJuego = ModoDeJuego.MODO_MULTISERPIENTE;
+        else if (strModoJuego.equals("MODO_NIVELES"))
+            modoDeJuego = ModoDeJuego.MODO_NIVELES;
         else
             modoDeJuego = ModoDeJuego.MODO_NORMAL;
 
@@ -279,6 +317,26 @@ public class Partida implements Serializable {
         return ganado;
     }
 
+    /**
+     * Obtiene los tiempos de los ticks de la partida.
+     * 
+     * @return La mediana, el percentil 99 y el maximo del coste de los ticks en
+     *         microsegundos, todo a 0 si no se midieron.
+     */
+    public long[] getTiemposTick() {
+        // Las partidas guardadas antes de medir los tiempos no lo tienen
+        return tiemposTick != null ? tiemposTick.clone() : new long[3];
+    }
+
+    /**
+     * Obtiene el resumen de los tiempos de cada fase de los ticks.
+     * 
+     * @return El resumen, o null si no se midieron.
+     */
+    public String getResumenTiempos() {
+        return resumenTiempos;
+    }
+
     /**
      * Obtiene el modo de juego de la partida.
      * 
@@ -361,6 +419,14 @@ public class Partida implements Serializable {
                     .append(ColoresConsola.ANSI_RESET())
                     .append(modoDeJuego.getDescripcion())
                     .append("\n");
+
+            // Coste de los ticks
+            if (resumenTiempos != null)
+                info.append(ColoresConsola.ANSI_BROWN())
+                        .append("Coste por tick (p50/p99/max): ")
+                        .append(ColoresConsola.ANSI_RESET())
+                        .append(formatearTiempos())
+                        .append("\n");
         } else {
             // Sin colores, formato simple
             info.append("=== Información de la Partida ===\n");
@@ -373,11 +439,22 @@ public class Partida implements Serializable {
             info.append("Dimensiones del tablero: ").append(Arrays.toString(dimensionesTablero)).append("\n");
             info.append("Ganado: ").append(ganado ? "Sí" : "No").append("\n");
             info.append("Modo de juego: ").append(modoDeJuego.getDescripcion()).append("\n");
+            if (resumenTiempos != null)
+                info.append("Coste por tick (p50/p99/max): ").append(formatearTiempos()).append("\n");
         }
 
         return info.toString();
     }
 
+    /**
+     * Da formato a los tiempos de los ticks.
+     * 
+     * @return Los tiempos en microsegundos separados por barras.
+     */
+    private String formatearTiempos() {
+        return tiemposTick[0] + " / " + tiemposTick[1] + " / " + tiemposTick[2] + " µs";
+    }
+
     /**
      * Convierte la partida en una cadena que describe su informacion.
      * 
@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import dev.adsa.clases.metricas.EventoArchivoJugador;
 import dev.adsa.utils.ColoresConsola;
 
 import java.io.ObjectOutputStream;
@@ -41,7 +42,8 @@ public class Player implements Serializable {
     private int[] configuration = new int[4];
     /** Score maximo del jugador */
     private double maxScore = 0;
-    /** La lista de todas la partidas */
+    /** La lista de todas la partidas, siempre es un ArrayList */
+    @SuppressWarnings("serial")
     private List<Partida> partidas = new ArrayList<Partida>();
 
     /* ----- Metodos constructores ----- */
@@ -164,6 +166,31 @@ public class Player implements Serializable {
         this.partidas.add(partida);
     }
 
+    /**
+     * Busca la partida con mas puntuacion del historial con el mismo modo y
+     * tamaño de tablero. Si alguna llega a la puntuacion maxima del jugador ya
+     * no puede haber otra mejor.
+     * 
+     * @param modo     El modo de juego, como lo devuelve
+     *                 {@link Partida#getModoDeJuego()}.
+     * @param filas    El numero de filas del tablero.
+     * @param columnas El numero de columnas del tablero.
+     * @return La mejor partida o null si no hay ninguna.
+     */
+    public Partida mejorPartida(String modo, int filas, int columnas) {
+        Partida mejor = null;
+        for (Partida partida : partidas) {
+            if (partida.getModoDeJuego().equals(modo) && partida.getFilasTablero() == filas
+                    && partida.getColumnasTablero() == columnas
+                    && (mejor == null || partida.getPuntuacion() > mejor.getPuntuacion())) {
+                mejor = partida;
+                if (mejor.getPuntuacion() >= getMaxScore())
+                    break;
+            }
+        }
+        return mejor;
+    }
+
     /**
      * Guarda un objeto Player en un archivo especificado.
      * 
@@ -171,6 +198,8 @@ public class Player implements Serializable {
      */
 
     public static void guardarJugador(Player player) {
+        EventoArchivoJugador evento = new EventoArchivoJugador("guardar", player.getName());
+        boolean guardado = false;
         File file = new File("./Players");
         if (!file.exists()) {
             file.mkdirs();
@@ -179,10 +208,11 @@ public class Player implements Serializable {
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream("./Players/" + player.getName() + ".dat"))) {
             oos.writeObject(player);
             System.out.println("Jugador guardado correctamente");
-            oos.close();
+            guardado = true;
         } catch (IOException e) {
             e.printStackTrace();
         }
+        evento.terminar(new File("./Players/" + player.getName() + ".dat").length(), guardado);
     }
 
     /**
@@ -194,19 +224,20 @@ public class Player implements Serializable {
      */
 
     public static Player cargarJugador(String nombreJugador) {
+        EventoArchivoJugador evento = new EventoArchivoJugador("cargar", nombreJugador);
         File file = new File("./Players/" + nombreJugador + ".dat");
         Player jugador = null;
         if(file.exists()) {
             try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
                 jugador = (Player) ois.readObject();
                 System.out.println("Jugador cargado correctamente");
-                ois.close();
             } catch (IOException e) {
                 e.printStackTrace();
             } catch (ClassNotFoundException e) {
                 e.printStackTrace();
             }
         }
+        evento.terminar(file.length(), jugador != null);
 
         return jugador;
     }
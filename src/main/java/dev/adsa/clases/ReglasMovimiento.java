@@ -0,0 +1,229 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Tablas de vecinos precalculadas con las reglas de movimiento de cada modo
+ * @see JuegoBase
+ */
+package dev.adsa.clases;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reglas de movimiento de un tablero. Para cada casilla se precalculan sus
+ * cuatro vecinas en un unico array de casillas * 4 posiciones, asi cada
+ * movimiento es una consulta al array en vez de comprobar los bordes.
+ *
+ * Las casillas se numeran como fila * columnas + columna. Si el movimiento se
+ * sale del tablero la tabla guarda {@link #PARED}, y en el modo atravesar
+ * paredes guarda la casilla del lado opuesto. Los obstaculos de los niveles
+ * tambien se guardan como {@link #PARED}, asi chocar con ellos no cuesta nada
+ * mas en cada tick.
+ */
+public final class ReglasMovimiento {
+   /** Valor de la tabla cuando el movimiento choca con la pared */
+   public static final int PARED = -1;
+   /** Valor que devuelve {@link #indiceDireccion(char)} si no es W, A, S o D */
+   public static final int NINGUNA = -1;
+
+   /** Indice de la direccion "W" */
+   public static final int ARRIBA = 0;
+   /** Indice de la direccion "A" */
+   public static final int IZQUIERDA = 1;
+   /** Indice de la direccion "S" */
+   public static final int ABAJO = 2;
+   /** Indice de la direccion "D" */
+   public static final int DERECHA = 3;
+
+   /** Tablas ya calculadas, la clave es "filasxcolumnas" y el modo */
+   private static final Map<String, ReglasMovimiento> REGLAS = new ConcurrentHashMap<>();
+
+   private final int filas;
+   private final int columnas;
+   private final boolean atraviesaParedes;
+   /** Casillas con obstaculo, vacio si no hay ninguno */
+   private final BitSet obstaculos;
+   /** Casillas sin obstaculo */
+   private final int casillasLibres;
+   /** Vecinas de cada casilla: vecinos[casilla * 4 + direccion] */
+   private final int[] vecinos;
+
+   /**
+    * Constructor que calcula la tabla de vecinos
+    *
+    * @param filas            El numero de filas del tablero.
+    * @param columnas         El numero de columnas del tablero.
+    * @param atraviesaParedes true si al salir por un borde se entra por el
+    *                         opuesto.
+    * @param obstaculos       Las casillas con obstaculo.
+    */
+   private ReglasMovimiento(int filas, int columnas, boolean atraviesaParedes, BitSet obstaculos) {
+      this.filas = filas;
+      this.columnas = columnas;
+      this.atraviesaParedes = atraviesaParedes;
+      this.obstaculos = obstaculos;
+      this.casillasLibres = filas * columnas - obstaculos.cardinality();
+      this.vecinos = new int[filas * columnas * 4];
+
+      for (int fila = 0; fila < filas; fila++) {
+         for (int columna = 0; columna < columnas; columna++) {
+            int base = (fila * columnas + columna) * 4;
+            vecinos[base + ARRIBA] = casilla(fila - 1, columna);
+            vecinos[base + IZQUIERDA] = casilla(fila, columna - 1);
+            vecinos[base + ABAJO] = casilla(fila + 1, columna);
+            vecinos[base + DERECHA] = casilla(fila, columna + 1);
+         }
+      }
+   }
+
+   /**
+    * Devuelve las reglas de un tablero y modo, calculandolas la primera vez.
+    *
+    * @param filas            El numero de filas del tablero.
+    * @param columnas         El numero de columnas del tablero.
+    * @param atraviesaParedes true para el modo atravesar paredes, false para el
+    *                         modo normal.
+    * @return Las reglas de movimiento del tablero.
+    */
+   public static ReglasMovimiento obtener(int filas, int columnas, boolean atraviesaParedes) {
+      return REGLAS.computeIfAbsent(filas + "x" + columnas + (atraviesaParedes ? "A" : "N"),
+            clave -> new ReglasMovimiento(filas, columnas, atraviesaParedes, new BitSet()));
+   }
+
+   /**
+    * Calcula las reglas de un tablero con obstaculos. No se guardan con las
+    * demas, las guarda el nivel que las usa.
+    *
+    * @param filas            El numero de filas del tablero.
+    * @param columnas         El numero de columnas del tablero.
+    * @param atraviesaParedes true si al salir por un borde se entra por el
+    *                         opuesto.
+    * @param obstaculos       Las casillas con obstaculo (fila * columnas +
+    *                         columna), no se modifican.
+    * @return Las reglas de movimiento del tablero.
+    */
+   public static ReglasMovimiento conObstaculos(int filas, int columnas, boolean atraviesaParedes,
+         BitSet obstaculos) {
+      return new ReglasMovimiento(filas, columnas, atraviesaParedes, (BitSet) obstaculos.clone());
+   }
+
+   /**
+    * Devuelve la casilla a la que se llega moviendose desde una casilla.
+    *
+    * @param casilla   La casilla de origen.
+    * @param direccion El indice de la direccion ({@link #ARRIBA},
+    *                  {@link #IZQUIERDA}, {@link #ABAJO} o {@link #DERECHA}).
+    * @return La casilla de destino o {@link #PARED} si se choca con el borde.
+    */
+   public int vecino(int casilla, int direccion) {
+      return vecinos[(casilla << 2) + direccion];
+   }
+
+   /**
+    * Convierte una letra de direccion en su indice de la tabla.
+    *
+    * @param direccion La letra de la direccion en mayusculas.
+    * @return El indice de la direccion o {@link #NINGUNA} si no es W, A, S o D.
+    */
+   public static int indiceDireccion(char direccion) {
+      switch (direccion) {
+         case 'W':
+            return ARRIBA;
+         case 'A':
+            return IZQUIERDA;
+         case 'S':
+            return ABAJO;
+         case 'D':
+            return DERECHA;
+         default:
+            return NINGUNA;
+      }
+   }
+
+   /**
+    * Convierte un indice de direccion en su letra.
+    *
+    * @param direccion El indice de la direccion (0 a 3).
+    * @return La letra de la direccion, 'W', 'A', 'S' o 'D'.
+    */
+   public static char letraDireccion(int direccion) {
+      return "WASD".charAt(direccion);
+   }
+
+   /**
+    * Devuelve la direccion contraria, la que deshace un movimiento.
+    *
+    * @param direccion El indice de la direccion (0 a 3).
+    * @return El indice de la direccion contraria.
+    */
+   public static int opuesta(int direccion) {
+      return (direccion + 2) & 3;
+   }
+
+   /**
+    * Devuelve el numero de filas del tablero.
+    *
+    * @return El numero de filas.
+    */
+   public int getFilas() {
+      return filas;
+   }
+
+   /**
+    * Devuelve el numero de columnas del tablero.
+    *
+    * @return El numero de columnas.
+    */
+   public int getColumnas() {
+      return columnas;
+   }
+
+   /**
+    * Indica si las reglas son las del modo atravesar paredes.
+    *
+    * @return true si se atraviesan las paredes.
+    */
+   public boolean atraviesaParedes() {
+      return atraviesaParedes;
+   }
+
+   /**
+    * Devuelve la siguiente casilla con obstaculo.
+    *
+    * @param desde La primera casilla que se mira.
+    * @return La casilla o -1 si no hay mas obstaculos.
+    */
+   public int siguienteObstaculo(int desde) {
+      return obstaculos.nextSetBit(desde);
+   }
+
+   /**
+    * Devuelve el numero de casillas sin obstaculo, las que puede llegar a
+    * ocupar la serpiente.
+    *
+    * @return El numero de casillas libres.
+    */
+   public int getCasillasLibres() {
+      return casillasLibres;
+   }
+
+   /**
+    * Calcula el numero de una casilla aplicando las reglas de los bordes y los
+    * obstaculos.
+    *
+    * @param fila    La fila, puede estar fuera del tablero.
+    * @param columna La columna, puede estar fuera del tablero.
+    * @return El numero de la casilla o {@link #PARED}.
+    */
+   private int casilla(int fila, int columna) {
+      if (atraviesaParedes) {
+         fila = Math.floorMod(fila, filas);
+         columna = Math.floorMod(columna, columnas);
+      } else if (fila < 0 || fila >= filas || columna < 0 || columna >= columnas) {
+         return PARED;
+      }
+      int casilla = fila * columnas + columna;
+      return obstaculos.get(casilla) ? PARED : casilla;
+   }
+}
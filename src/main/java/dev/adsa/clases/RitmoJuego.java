@@ -0,0 +1,140 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Marca el ritmo de los ticks de una partida y cuando se dibuja
+ * @see JuegoBase
+ */
+package dev.adsa.clases;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ritmo de una partida. Los ticks se esperan hasta una hora fija (el inicio mas
+ * el numero de ticks por el tiempo de cada uno), asi lo que tarda la
+ * simulacion y el dibujo no se suma a la espera y el juego va a la velocidad
+ * configurada. Si un tick se retrasa se recupera en los siguientes, salvo que
+ * el retraso pase de {@value #RETRASO_MAXIMO_MILISEGUNDOS} ms, entonces se
+ * sigue desde ahi.
+ *
+ * Se dibuja como mucho {@value #FOTOGRAMAS_POR_SEGUNDO} veces por segundo y,
+ * si dibujar un fotograma tarda mas que eso, se espera el doble de lo que
+ * tardo, asi al menos la mitad del tiempo es para la simulacion. Por debajo de
+ * {@value #TIEMPO_ALTA_VELOCIDAD} ms por tick (alta velocidad) eso hace que no
+ * se dibujen todos los ticks; con ticks mas lentos solo se salta alguno si la
+ * consola es tan lenta que un fotograma tarda mas de medio tick. Los ticks que
+ * no se dibujan se juegan igual.
+ */
+public final class RitmoJuego {
+   /** Tiempo minimo por tick en milisegundos */
+   public static final int TIEMPO_MINIMO = 1;
+   /** Tiempo maximo por tick en milisegundos */
+   public static final int TIEMPO_MAXIMO = 5000;
+   /** Por debajo de este tiempo por tick la partida es de alta velocidad */
+   public static final int TIEMPO_ALTA_VELOCIDAD = 375;
+   /** Fotogramas por segundo que se dibujan como mucho */
+   public static final int FOTOGRAMAS_POR_SEGUNDO = 60;
+   /** Retraso a partir del cual no se intenta recuperar */
+   private static final int RETRASO_MAXIMO_MILISEGUNDOS = 100;
+
+   private final int milisegundosTick;
+   private final long nanosTick;
+   private final long nanosFotograma = 1_000_000_000L / FOTOGRAMAS_POR_SEGUNDO;
+   private final long inicio;
+   private long siguienteTick;
+   private long ultimoTick;
+   private long ticks;
+   private long siguienteFotograma;
+   private long inicioFotograma;
+   private long fotogramas;
+
+   /**
+    * Constructor que empieza a contar el tiempo de la partida
+    *
+    * @param milisegundosTick Los milisegundos por tick configurados.
+    */
+   public RitmoJuego(int milisegundosTick) {
+      this.milisegundosTick = milisegundosTick;
+      this.nanosTick = TimeUnit.MILLISECONDS.toNanos(milisegundosTick);
+      this.inicio = System.nanoTime();
+      this.siguienteTick = inicio;
+      this.ultimoTick = inicio;
+      this.siguienteFotograma = inicio;
+   }
+
+   /**
+    * Indica si un tiempo por tick es de alta velocidad.
+    *
+    * @param milisegundosTick Los milisegundos por tick.
+    * @return true si es menor que {@value #TIEMPO_ALTA_VELOCIDAD}.
+    */
+   public static boolean esAltaVelocidad(int milisegundosTick) {
+      return milisegundosTick < TIEMPO_ALTA_VELOCIDAD;
+   }
+
+   /**
+    * Indica si hay que dibujar este tick. Si devuelve true hay que llamar a
+    * {@link #terminarDibujo()} despues de dibujar.
+    *
+    * @return true si ya ha pasado la hora del siguiente fotograma.
+    */
+   public boolean tocaDibujar() {
+      long ahora = System.nanoTime();
+      if (ahora - siguienteFotograma < 0)
+         return false;
+      inicioFotograma = ahora;
+      return true;
+   }
+
+   /** Apunta lo que ha tardado el fotograma para saber cuando toca el siguiente */
+   public void terminarDibujo() {
+      long tardado = System.nanoTime() - inicioFotograma;
+      siguienteFotograma = inicioFotograma + Math.max(nanosFotograma, 2 * tardado);
+      fotogramas++;
+   }
+
+   /**
+    * Espera hasta la hora del siguiente tick.
+    *
+    * @throws InterruptedException Si se interrumpe la espera.
+    */
+   public void esperar() throws InterruptedException {
+      siguienteTick += nanosTick;
+      long espera = siguienteTick - System.nanoTime();
+      if (espera > 0)
+         TimeUnit.NANOSECONDS.sleep(espera);
+      else if (-espera > TimeUnit.MILLISECONDS.toNanos(RETRASO_MAXIMO_MILISEGUNDOS))
+         siguienteTick = System.nanoTime();
+      ultimoTick = System.nanoTime();
+      ticks++;
+   }
+
+   /**
+    * Devuelve los milisegundos que ha durado de verdad cada tick de media.
+    *
+    * @return Los milisegundos por tick, los configurados si todavia no ha
+    *         pasado ninguno.
+    */
+   public double getMilisegundosPorTick() {
+      if (ticks == 0)
+         return milisegundosTick;
+      return (ultimoTick - inicio) / 1e6 / ticks;
+   }
+
+   /**
+    * Devuelve los ticks esperados.
+    *
+    * @return Los ticks.
+    */
+   public long getTicks() {
+      return ticks;
+   }
+
+   /**
+    * Devuelve los fotogramas dibujados.
+    *
+    * @return Los fotogramas.
+    */
+   public long getFotogramas() {
+      return fotogramas;
+   }
+}
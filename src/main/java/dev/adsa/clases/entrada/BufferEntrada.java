@@ -0,0 +1,164 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Buffer acotado de las direcciones pulsadas entre dos ticks
+ * @see EntradaArchivo
+ */
+package dev.adsa.clases.entrada;
+
+import dev.adsa.clases.ReglasMovimiento;
+
+/**
+ * Guarda las direcciones que llegan entre dos ticks para que no se acumulen ni
+ * se apliquen tarde. Segun la politica se queda solo con la ultima o con las N
+ * primeras, y siempre descarta las que no cambian el rumbo y las que dan la
+ * vuelta sobre el cuerpo de la serpiente.
+ *
+ * La politica se elige con las propiedades {@value #PROPIEDAD_POLITICA} (ULTIMA
+ * o COLA) y {@value #PROPIEDAD_CAPACIDAD} (tamaño de la cola).
+ */
+public class BufferEntrada {
+   /** Politicas del buffer */
+   public enum Politica {
+      /** Solo cuenta la ultima direccion pulsada antes del tick */
+      ULTIMA,
+      /** Se aplican en orden, una por tick, hasta llenar la cola */
+      COLA
+   }
+
+   /** Propiedad del sistema con la politica */
+   public static final String PROPIEDAD_POLITICA = "snake.entrada.politica";
+   /** Propiedad del sistema con el tamaño de la cola */
+   public static final String PROPIEDAD_CAPACIDAD = "snake.entrada.cola";
+
+   /** Las direcciones como String por indice, para no crear uno en cada tick */
+   private static final String[] DIRECCIONES = { "W", "A", "S", "D" };
+
+   private final Politica politica;
+   private final char[] cola;
+   private int inicio;
+   private int cantidad;
+   private long rechazadas;
+   private long descartadas;
+
+   /**
+    * Constructor que crea el buffer vacio
+    * 
+    * @param politica  La politica del buffer.
+    * @param capacidad El numero maximo de direcciones en cola, con ULTIMA se usa
+    *                  siempre 1.
+    */
+   public BufferEntrada(Politica politica, int capacidad) {
+      this.politica = politica;
+      this.cola = new char[politica == Politica.ULTIMA ? 1 : Math.max(1, capacidad)];
+   }
+
+   /**
+    * Crea el buffer con la politica de las propiedades del sistema, por defecto
+    * una cola de 2 para poder girar dos veces seguidas.
+    * 
+    * @return El buffer.
+    */
+   public static BufferEntrada porDefecto() {
+      Politica politica = Politica.COLA;
+      int capacidad = 2;
+      try {
+         politica = Politica.valueOf(System.getProperty(PROPIEDAD_POLITICA, "COLA").toUpperCase());
+         capacidad = Integer.parseInt(System.getProperty(PROPIEDAD_CAPACIDAD, "2"));
+      } catch (IllegalArgumentException e) {
+         System.out.println("Configuracion de la entrada no valida, se usa una cola de 2");
+      }
+      return new BufferEntrada(politica, capacidad);
+   }
+
+   /**
+    * Añade una direccion pulsada.
+    * 
+    * @param direccion La letra de la direccion en mayusculas.
+    * @param rumbo     La direccion en la que se mueve ahora la serpiente.
+    * @return true si se ha guardado, false si se ha descartado.
+    */
+   public boolean ofrecer(char direccion, char rumbo) {
+      if (ReglasMovimiento.indiceDireccion(direccion) == ReglasMovimiento.NINGUNA)
+         return false;
+
+      // En la cola se compara con la ultima guardada, que sera el rumbo cuando
+      // le toque; con ULTIMA se sustituye, asi que se compara con el rumbo actual
+      char referencia = (politica == Politica.COLA && cantidad > 0) ? cola[(inicio + cantidad - 1) % cola.length]
+            : rumbo;
+      if (direccion == referencia) {
+         // Con ULTIMA volver a pulsar el rumbo anula el giro pendiente
+         if (politica == Politica.ULTIMA && cantidad == 1) {
+            descartadas++;
+            cantidad = 0;
+         }
+         return false;
+      }
+      if (sonContrarias(direccion, referencia)) {
+         rechazadas++;
+         return false;
+      }
+
+      if (politica == Politica.ULTIMA) {
+         if (cantidad == 1)
+            descartadas++;
+         cola[0] = direccion;
+         cantidad = 1;
+      } else if (cantidad == cola.length) {
+         descartadas++;
+         return false;
+      } else {
+         cola[(inicio + cantidad) % cola.length] = direccion;
+         cantidad++;
+      }
+      return true;
+   }
+
+   /**
+    * Saca la direccion que toca en este tick.
+    * 
+    * @param rumbo La direccion en la que se mueve ahora la serpiente.
+    * @return La siguiente direccion guardada o el rumbo si no hay ninguna.
+    */
+   public String siguiente(String rumbo) {
+      if (cantidad == 0)
+         return rumbo;
+      char direccion = cola[inicio];
+      inicio = (inicio + 1) % cola.length;
+      cantidad--;
+      return DIRECCIONES[ReglasMovimiento.indiceDireccion(direccion)];
+   }
+
+   /**
+    * Devuelve cuantas direcciones se han rechazado por dar la vuelta sobre el
+    * cuerpo.
+    * 
+    * @return Las direcciones rechazadas.
+    */
+   public long getRechazadas() {
+      return rechazadas;
+   }
+
+   /**
+    * Devuelve cuantas direcciones se han descartado por no caber en el buffer o
+    * por pulsar otra antes del tick.
+    * 
+    * @return Las direcciones descartadas.
+    */
+   public long getDescartadas() {
+      return descartadas;
+   }
+
+   /**
+    * Indica si dos direcciones son contrarias. Los indices de W, A, S y D son 0,
+    * 1, 2 y 3, asi que la contraria es la que esta dos posiciones despues.
+    * 
+    * @param primera La primera direccion.
+    * @param segunda La segunda direccion.
+    * @return true si son contrarias.
+    */
+   public static boolean sonContrarias(char primera, char segunda) {
+      int indice = ReglasMovimiento.indiceDireccion(primera);
+      return indice != ReglasMovimiento.NINGUNA && (indice ^ 2) == ReglasMovimiento.indiceDireccion(segunda);
+   }
+}
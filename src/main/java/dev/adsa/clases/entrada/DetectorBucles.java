@@ -0,0 +1,73 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Fuente de direcciones que corta la partida si la serpiente da vueltas sin comer
+ * @see FuenteDirecciones
+ * @see dev.adsa.clases.HashZobrist
+ */
+package dev.adsa.clases.entrada;
+
+import java.io.IOException;
+
+import dev.adsa.clases.ConjuntoLongs;
+import dev.adsa.clases.JuegoBase;
+
+/**
+ * Fuente de direcciones que envuelve a otra y corta la partida si la serpiente
+ * vuelve a un estado en el que ya habia estado sin comer entre medias. Con un
+ * piloto automatico que solo mira el tablero eso es un bucle infinito, asi que
+ * las pruebas largas no se quedan colgadas.
+ *
+ * En cada tick solo se añade el hash del estado del juego
+ * ({@link JuegoBase#getHashEstado()}) a un {@link ConjuntoLongs}. El conjunto
+ * se vacia cada vez que sale una fruta nueva, porque despues de comer la
+ * serpiente es mas larga y ya no puede repetir ningun estado anterior. En el
+ * modo practica rebobinar vuelve a estados ya vistos, no se debe usar con el.
+ */
+public class DetectorBucles implements FuenteDirecciones {
+   private final FuenteDirecciones fuente;
+   private final ConjuntoLongs vistos = new ConjuntoLongs();
+   /** Casilla de la fruta del tick anterior */
+   private int fruta = -1;
+
+   /**
+    * Constructor que envuelve a una fuente
+    *
+    * @param fuente La fuente que da las direcciones.
+    */
+   public DetectorBucles(FuenteDirecciones fuente) {
+      this.fuente = fuente;
+   }
+
+   /**
+    * Comprueba que el estado no se haya repetido y pide la direccion a la
+    * fuente.
+    *
+    * @param juego           El juego que esta pidiendo la direccion.
+    * @param direccionActual La direccion en la que se esta moviendo la serpiente.
+    * @return La direccion de la fuente.
+    * @throws IOException Si la serpiente esta en un bucle o falla la fuente.
+    */
+   @Override
+   public String siguienteDireccion(JuegoBase juego, String direccionActual) throws IOException {
+      int frutaActual = juego.getCasillaFruta();
+      if (frutaActual != fruta) {
+         vistos.limpiar();
+         fruta = frutaActual;
+      }
+      if (!vistos.anadir(juego.getHashEstado()))
+         throw new IOException("La serpiente ha vuelto a un estado en el que ya estaba despues de "
+               + vistos.getCantidad() + " ticks sin comer");
+      return fuente.siguienteDireccion(juego, direccionActual);
+   }
+
+   /**
+    * Cierra la fuente envuelta.
+    *
+    * @throws IOException Si falla al cerrarla.
+    */
+   @Override
+   public void close() throws IOException {
+      fuente.close();
+   }
+}
@@ -0,0 +1,129 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Fuente de direcciones que lee el archivo que escribe el ControladorPrincipal
+ * @see dev.adsa.ControladorPrincipal
+ */
+package dev.adsa.clases.entrada;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import dev.adsa.clases.JuegoBase;
+
+/**
+ * Fuente de direcciones que lee el archivo de comandos en cada actualizacion
+ * del tablero. Se leen todas las lineas nuevas y pasan por un
+ * {@link BufferEntrada}, asi las pulsaciones no se acumulan de un tick a otro.
+ *
+ * Los comandos son de una letra, asi que no se crean Strings con las lineas:
+ * los bytes se leen en un array que se reutiliza y de cada linea solo se
+ * guarda el primer byte y cuantos tiene. Como con readLine, si el archivo se
+ * acaba a mitad de linea lo leido cuenta como una linea.
+ */
+public class EntradaArchivo implements FuenteDirecciones {
+   /** Linea con la que el jugador pide guardar la partida */
+   public static final String GUARDAR = "G";
+   /** Linea con la que el jugador pide rebobinar la partida */
+   public static final String REBOBINAR = "R";
+
+   private final FileInputStream fr;
+   private final BufferEntrada buffer;
+   private final byte[] bloque = new byte[512];
+   /** Primer byte de la linea que se esta leyendo */
+   private byte primero;
+   /** Bytes de la linea que se esta leyendo */
+   private int longitudLinea;
+
+   /**
+    * Constructor que abre el archivo de comandos
+    * 
+    * @param ruta La ruta del archivo de comandos, normalmente ./content.txt
+    * @throws IOException Si no se puede abrir el archivo
+    */
+   public EntradaArchivo(String ruta) throws IOException {
+      this(ruta, BufferEntrada.porDefecto());
+   }
+
+   /**
+    * Constructor que abre el archivo de comandos con un buffer concreto
+    * 
+    * @param ruta   La ruta del archivo de comandos, normalmente ./content.txt
+    * @param buffer El buffer con la politica de las direcciones.
+    * @throws IOException Si no se puede abrir el archivo
+    */
+   public EntradaArchivo(String ruta, BufferEntrada buffer) throws IOException {
+      fr = new FileInputStream(ruta);
+      this.buffer = buffer;
+   }
+
+   /**
+    * Lee todas las lineas nuevas del archivo y devuelve la direccion que toca en
+    * este tick segun el buffer. Las lineas que no tienen un solo caracter se
+    * ignoran.
+    * 
+    * @param juego           El juego que esta pidiendo la direccion.
+    * @param direccionActual La direccion en la que se esta moviendo la serpiente.
+    * @return La direccion leida en mayusculas o la direccion actual.
+    * @throws IOException Si ocurre un error al leer el archivo.
+    */
+   @Override
+   public String siguienteDireccion(JuegoBase juego, String direccionActual) throws IOException {
+      String rumbo = direccionActual.toUpperCase();
+      int leidos;
+      while ((leidos = fr.read(bloque)) > 0) {
+         for (int i = 0; i < leidos; i++) {
+            byte caracter = bloque[i];
+            if (caracter == '\n' || caracter == '\r') {
+               terminarLinea(juego, rumbo);
+            } else {
+               if (longitudLinea == 0)
+                  primero = caracter;
+               longitudLinea++;
+            }
+         }
+      }
+      // Lo que queda al final del archivo es una linea aunque no tenga salto
+      terminarLinea(juego, rumbo);
+      return buffer.siguiente(rumbo);
+   }
+
+   /**
+    * Aplica la linea que se acaba de leer, las que no tienen un solo caracter
+    * se ignoran.
+    * 
+    * @param juego El juego que esta pidiendo la direccion.
+    * @param rumbo La direccion en la que se esta moviendo la serpiente.
+    */
+   private void terminarLinea(JuegoBase juego, String rumbo) {
+      if (longitudLinea == 1) {
+         char comando = Character.toUpperCase((char) (primero & 0xFF));
+         if (comando == GUARDAR.charAt(0))
+            juego.pedirGuardado();
+         else if (comando == REBOBINAR.charAt(0))
+            juego.pedirRebobinado();
+         else
+            buffer.ofrecer(comando, rumbo.charAt(0));
+      }
+      longitudLinea = 0;
+   }
+
+   /**
+    * Devuelve el buffer de las direcciones.
+    * 
+    * @return El buffer.
+    */
+   public BufferEntrada getBuffer() {
+      return buffer;
+   }
+
+   /**
+    * Cierra el archivo de comandos
+    * 
+    * @throws IOException Si ocurre un error al cerrar el archivo
+    */
+   @Override
+   public void close() throws IOException {
+      fr.close();
+   }
+}
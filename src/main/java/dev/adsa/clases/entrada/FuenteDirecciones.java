@@ -0,0 +1,31 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Interfaz de las fuentes de las que el juego lee las direcciones
+ * @see EntradaArchivo
+ */
+package dev.adsa.clases.entrada;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import dev.adsa.clases.JuegoBase;
+
+/**
+ * Interfaz de las fuentes de las que el juego lee las direcciones en cada
+ * actualizacion del tablero
+ */
+public interface FuenteDirecciones extends Closeable {
+
+   /**
+    * Devuelve la direccion en la que se tiene que mover la serpiente en esta
+    * actualizacion.
+    * 
+    * @param juego           El juego que esta pidiendo la direccion.
+    * @param direccionActual La direccion en la que se esta moviendo la serpiente
+    *                        ("W", "A", "S" o "D").
+    * @return La nueva direccion, o la actual si no hay ninguna nueva.
+    * @throws IOException Si ocurre un error al leer la direccion.
+    */
+   String siguienteDireccion(JuegoBase juego, String direccionActual) throws IOException;
+}
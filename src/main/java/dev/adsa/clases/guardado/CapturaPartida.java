@@ -0,0 +1,90 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Copia del estado de una partida que rellena el juego sin crear objetos
+ * @see HiloGuardado
+ * @see EstadoPartida
+ */
+package dev.adsa.clases.guardado;
+
+import dev.adsa.clases.MovimientosSerpiente;
+
+/**
+ * Copia del estado de una partida a medias que se reutiliza. El hilo del juego
+ * la rellena en el tick en el que toca guardar, copiando los movimientos en un
+ * array que ya tiene sitio para la serpiente que llena el tablero, asi guardar
+ * no reserva memoria en el hilo del juego. El hilo de guardado crea despues el
+ * {@link EstadoPartida} a partir de ella y lo escribe.
+ */
+public final class CapturaPartida {
+   private int filas;
+   private int columnas;
+   private boolean atraviesaParedes;
+   private int tiempo;
+   private int tick;
+   private int longitud;
+   private char direccion;
+   private boolean haComido;
+   private int cola;
+   private int fruta;
+   private long estadoAleatorio;
+   private char[] movimientos;
+   private int cantidad;
+
+   /**
+    * Constructor de la captura vacia
+    *
+    * @param capacidad Los movimientos que caben sin crecer, normalmente las
+    *                  casillas del tablero.
+    */
+   public CapturaPartida(int capacidad) {
+      this.movimientos = new char[Math.max(1, capacidad)];
+   }
+
+   /**
+    * Copia el estado de la partida. Lo llama el hilo del juego.
+    *
+    * @param filas            El numero de filas del tablero.
+    * @param columnas         El numero de columnas del tablero.
+    * @param atraviesaParedes true si es el modo atravesar paredes.
+    * @param tiempo           Los milisegundos por tick.
+    * @param tick             El numero de ticks jugados.
+    * @param longitud         La longitud de la serpiente.
+    * @param direccion        La direccion de la serpiente ('W', 'A', 'S' o 'D').
+    * @param haComido         true si hay que generar una fruta en el siguiente
+    *                         tick.
+    * @param cola             La casilla de la cola (fila * columnas + columna).
+    * @param fruta            La casilla de la fruta o -1 si no hay.
+    * @param estadoAleatorio  El estado del generador aleatorio.
+    * @param movs             Los movimientos de la cola a la cabeza, se copian.
+    */
+   public void rellenar(int filas, int columnas, boolean atraviesaParedes, int tiempo, int tick, int longitud,
+         char direccion, boolean haComido, int cola, int fruta, long estadoAleatorio, MovimientosSerpiente movs) {
+      this.filas = filas;
+      this.columnas = columnas;
+      this.atraviesaParedes = atraviesaParedes;
+      this.tiempo = tiempo;
+      this.tick = tick;
+      this.longitud = longitud;
+      this.direccion = direccion;
+      this.haComido = haComido;
+      this.cola = cola;
+      this.fruta = fruta;
+      this.estadoAleatorio = estadoAleatorio;
+      if (movs.getLongitud() > movimientos.length)
+         movimientos = new char[movs.getLongitud()];
+      movs.copiar(movimientos);
+      cantidad = movs.getLongitud();
+   }
+
+   /**
+    * Crea el estado de la partida con lo copiado. Lo llama el hilo de
+    * guardado.
+    *
+    * @return El estado.
+    */
+   public EstadoPartida crearEstado() {
+      return new EstadoPartida(filas, columnas, atraviesaParedes, tiempo, tick, longitud, direccion, haComido, cola,
+            fruta, estadoAleatorio, new String(movimientos, 0, cantidad));
+   }
+}
@@ -0,0 +1,304 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Estado de una partida a medias en un formato binario compacto
+ * @see HiloGuardado
+ */
+package dev.adsa.clases.guardado;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Estado de una partida a medias del modo normal o del modo atravesar paredes,
+ * con todo lo necesario para seguirla en el mismo punto.
+ *
+ * El tablero no se guarda: la serpiente se guarda como la casilla de la cola y
+ * los movimientos de la cola a la cabeza (2 bits cada uno), y con la fruta ya
+ * se puede volver a pintar. Asi una partida de 40x80 ocupa
+ * {@value #CABECERA} bytes mas uno por cada 4 casillas de serpiente.
+ *
+ * El formato (big endian) es: el numero magico, la version, las banderas (bit
+ * 0 atravesar paredes, bit 1 hay que generar fruta), las filas, las columnas,
+ * los milisegundos por tick, el numero de tick, la longitud, el estado del
+ * generador aleatorio, la casilla de la cola, la casilla de la fruta (-1 si no
+ * hay), la direccion y los movimientos.
+ */
+public final class EstadoPartida {
+   /** Numero magico de la cabecera, "SNKP" */
+   public static final int MAGIA = 0x534E4B50;
+   /** Tamaño de la cabecera en bytes */
+   public static final int CABECERA = 45;
+   /** Extension de los archivos de partida */
+   public static final String EXTENSION = ".partida";
+   private static final short VERSION = 1;
+   private static final short ATRAVIESA_PAREDES = 1;
+   private static final short HA_COMIDO = 2;
+   /** Las direcciones por su indice de 2 bits */
+   private static final String DIRECCIONES = "WASD";
+
+   private final int filas;
+   private final int columnas;
+   private final boolean atraviesaParedes;
+   private final int tiempo;
+   private final int tick;
+   private final int longitud;
+   private final char direccion;
+   private final boolean haComido;
+   private final int cola;
+   private final int fruta;
+   private final long estadoAleatorio;
+   private final String movimientos;
+
+   /**
+    * Constructor con todo el estado. El juego no lo crea al guardar: copia su
+    * estado en una {@link CapturaPartida} y el hilo de guardado crea el estado
+    * a partir de ella.
+    *
+    * @param filas            El numero de filas del tablero.
+    * @param columnas         El numero de columnas del tablero.
+    * @param atraviesaParedes true si es el modo atravesar paredes.
+    * @param tiempo           Los milisegundos por tick.
+    * @param tick             El numero de ticks jugados.
+    * @param longitud         La longitud de la serpiente.
+    * @param direccion        La direccion de la serpiente ('W', 'A', 'S' o 'D').
+    * @param haComido         true si hay que generar una fruta en el siguiente
+    *                         tick.
+    * @param cola             La casilla de la cola (fila * columnas + columna).
+    * @param fruta            La casilla de la fruta o -1 si no hay.
+    * @param estadoAleatorio  El estado del generador aleatorio.
+    * @param movimientos      Los movimientos de la cola a la cabeza, uno menos
+    *                         que la longitud.
+    */
+   public EstadoPartida(int filas, int columnas, boolean atraviesaParedes, int tiempo, int tick, int longitud,
+         char direccion, boolean haComido, int cola, int fruta, long estadoAleatorio, String movimientos) {
+      this.filas = filas;
+      this.columnas = columnas;
+      this.atraviesaParedes = atraviesaParedes;
+      this.tiempo = tiempo;
+      this.tick = tick;
+      this.longitud = longitud;
+      this.direccion = direccion;
+      this.haComido = haComido;
+      this.cola = cola;
+      this.fruta = fruta;
+      this.estadoAleatorio = estadoAleatorio;
+      this.movimientos = movimientos;
+   }
+
+   /**
+    * Pasa el estado al formato binario.
+    *
+    * @return Los bytes del estado.
+    */
+   public byte[] codificar() {
+      ByteBuffer datos = ByteBuffer.allocate(CABECERA + (movimientos.length() + 3) / 4);
+      datos.putInt(MAGIA);
+      datos.putShort(VERSION);
+      datos.putShort((short) ((atraviesaParedes ? ATRAVIESA_PAREDES : 0) | (haComido ? HA_COMIDO : 0)));
+      datos.putInt(filas);
+      datos.putInt(columnas);
+      datos.putInt(tiempo);
+      datos.putInt(tick);
+      datos.putInt(longitud);
+      datos.putLong(estadoAleatorio);
+      datos.putInt(cola);
+      datos.putInt(fruta);
+      datos.put((byte) DIRECCIONES.indexOf(direccion));
+
+      // 4 movimientos por byte, el primero en los 2 bits de abajo
+      byte[] bytes = datos.array();
+      for (int i = 0; i < movimientos.length(); i++)
+         bytes[CABECERA + i / 4] |= (byte) (DIRECCIONES.indexOf(movimientos.charAt(i)) << (i % 4 * 2));
+      return bytes;
+   }
+
+   /**
+    * Lee un estado del formato binario.
+    *
+    * @param bytes Los bytes del estado.
+    * @return El estado.
+    * @throws IOException Si los bytes no son un estado valido.
+    */
+   public static EstadoPartida decodificar(byte[] bytes) throws IOException {
+      try {
+         ByteBuffer datos = ByteBuffer.wrap(bytes);
+         if (datos.getInt() != MAGIA)
+            throw new IOException("No es una partida guardada");
+         if (datos.getShort() != VERSION)
+            throw new IOException("La partida guardada es de otra version");
+         short banderas = datos.getShort();
+         int filas = datos.getInt();
+         int columnas = datos.getInt();
+         int tiempo = datos.getInt();
+         int tick = datos.getInt();
+         int longitud = datos.getInt();
+         long estadoAleatorio = datos.getLong();
+         int cola = datos.getInt();
+         int fruta = datos.getInt();
+         int direccion = datos.get();
+
+         long casillas = (long) filas * columnas;
+         if (filas < 3 || columnas < 3 || casillas > Integer.MAX_VALUE || tiempo <= 0 || tick < 0 || longitud < 1
+               || longitud > casillas || cola < 0 || cola >= casillas || fruta < -1 || fruta >= casillas
+               || direccion < 0 || direccion > 3 || bytes.length < CABECERA + (longitud - 1 + 3) / 4)
+            throw new IOException("La partida guardada no es valida");
+
+         char[] movimientos = new char[longitud - 1];
+         for (int i = 0; i < movimientos.length; i++)
+            movimientos[i] = DIRECCIONES.charAt(bytes[CABECERA + i / 4] >> (i % 4 * 2) & 3);
+         return new EstadoPartida(filas, columnas, (banderas & ATRAVIESA_PAREDES) != 0, tiempo, tick, longitud,
+               DIRECCIONES.charAt(direccion), (banderas & HA_COMIDO) != 0, cola, fruta, estadoAleatorio,
+               new String(movimientos));
+      } catch (BufferUnderflowException e) {
+         throw new IOException("La partida guardada esta incompleta", e);
+      }
+   }
+
+   /**
+    * Guarda el estado en un archivo. Se escribe en uno temporal y se cambia de
+    * nombre, asi si el programa se cierra a mitad se queda el anterior entero.
+    *
+    * @param archivo El archivo de la partida.
+    * @throws IOException Si no se puede escribir el archivo.
+    */
+   public void guardar(Path archivo) throws IOException {
+      Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+      Files.write(temporal, codificar());
+      Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+   }
+
+   /**
+    * Lee un estado de un archivo.
+    *
+    * @param archivo El archivo de la partida.
+    * @return El estado.
+    * @throws IOException Si no se puede leer el archivo o no es valido.
+    */
+   public static EstadoPartida leer(Path archivo) throws IOException {
+      return decodificar(Files.readAllBytes(archivo));
+   }
+
+   /**
+    * Devuelve el archivo de la partida guardada de un jugador, al lado de su
+    * archivo de jugador.
+    *
+    * @param nombreJugador El nombre del jugador.
+    * @return El archivo.
+    */
+   public static Path archivoJugador(String nombreJugador) {
+      return Path.of("Players", nombreJugador + EXTENSION);
+   }
+
+   /**
+    * Devuelve el numero de filas del tablero.
+    *
+    * @return El numero de filas.
+    */
+   public int getFilas() {
+      return filas;
+   }
+
+   /**
+    * Devuelve el numero de columnas del tablero.
+    *
+    * @return El numero de columnas.
+    */
+   public int getColumnas() {
+      return columnas;
+   }
+
+   /**
+    * Indica si la partida es del modo atravesar paredes.
+    *
+    * @return true si se atraviesan las paredes.
+    */
+   public boolean isAtraviesaParedes() {
+      return atraviesaParedes;
+   }
+
+   /**
+    * Devuelve los milisegundos por tick.
+    *
+    * @return Los milisegundos.
+    */
+   public int getTiempo() {
+      return tiempo;
+   }
+
+   /**
+    * Devuelve el numero de ticks jugados.
+    *
+    * @return Los ticks.
+    */
+   public int getTick() {
+      return tick;
+   }
+
+   /**
+    * Devuelve la longitud de la serpiente.
+    *
+    * @return La longitud.
+    */
+   public int getLongitud() {
+      return longitud;
+   }
+
+   /**
+    * Devuelve la direccion de la serpiente.
+    *
+    * @return 'W', 'A', 'S' o 'D'.
+    */
+   public char getDireccion() {
+      return direccion;
+   }
+
+   /**
+    * Indica si hay que generar una fruta en el siguiente tick.
+    *
+    * @return true si la serpiente acaba de comer.
+    */
+   public boolean isHaComido() {
+      return haComido;
+   }
+
+   /**
+    * Devuelve la casilla de la cola.
+    *
+    * @return La casilla (fila * columnas + columna).
+    */
+   public int getCola() {
+      return cola;
+   }
+
+   /**
+    * Devuelve la casilla de la fruta.
+    *
+    * @return La casilla (fila * columnas + columna) o -1 si no hay.
+    */
+   public int getFruta() {
+      return fruta;
+   }
+
+   /**
+    * Devuelve el estado del generador aleatorio.
+    *
+    * @return El estado.
+    */
+   public long getEstadoAleatorio() {
+      return estadoAleatorio;
+   }
+
+   /**
+    * Devuelve los movimientos de la cola a la cabeza.
+    *
+    * @return Los movimientos, uno menos que la longitud.
+    */
+   public String getMovimientos() {
+      return movimientos;
+   }
+}
@@ -0,0 +1,157 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Hilo que guarda el estado de la partida sin parar el juego
+ * @see EstadoPartida
+ */
+package dev.adsa.clases.guardado;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hilo virtual que guarda el estado de la partida. El hilo del juego solo
+ * copia su estado en una {@link CapturaPartida} y la deja aqui; el hilo crea el
+ * {@link EstadoPartida}, lo pasa a bytes y lo escribe. Si llegan dos capturas
+ * antes de escribir la primera solo se escribe la ultima, que es la unica que
+ * importa.
+ *
+ * Las capturas se reutilizan como las instantaneas del mosaico: hay como mucho
+ * la que rellena el juego, la pendiente y la que se esta escribiendo, asi el
+ * hilo del juego no reserva memoria al guardar.
+ *
+ * Cada cuantos ticks se guarda se elige con la propiedad {@value #PROPIEDAD}
+ * al ejecutar, 0 para guardar solo cuando lo pide el jugador.
+ */
+public class HiloGuardado implements AutoCloseable {
+   /** Propiedad del sistema con los ticks entre guardados */
+   public static final String PROPIEDAD = "snake.autoguardado";
+
+   private final Path archivo;
+   /** Movimientos que caben en cada captura, las casillas del tablero */
+   private final int casillas;
+   private final AtomicReference<CapturaPartida> pendiente = new AtomicReference<>();
+   private final AtomicReference<CapturaPartida> libre = new AtomicReference<>();
+   private final AtomicLong guardados = new AtomicLong();
+   private Thread hilo;
+   private volatile boolean cerrado;
+
+   /**
+    * Constructor privado, se crea con {@link #iniciar(Path, int)}
+    *
+    * @param archivo  El archivo en el que se guarda la partida.
+    * @param casillas Las casillas del tablero.
+    */
+   private HiloGuardado(Path archivo, int casillas) {
+      this.archivo = archivo;
+      this.casillas = casillas;
+   }
+
+   /**
+    * Crea el hilo de guardado y lo arranca. El hilo se arranca aqui y no en el
+    * constructor para que no vea el objeto a medio construir.
+    *
+    * @param archivo  El archivo en el que se guarda la partida.
+    * @param casillas Las casillas del tablero, para que las capturas tengan
+    *                 sitio para la serpiente mas larga.
+    * @return El hilo de guardado.
+    */
+   public static HiloGuardado iniciar(Path archivo, int casillas) {
+      HiloGuardado guardado = new HiloGuardado(archivo, casillas);
+      guardado.hilo = Thread.ofVirtual().name("guardado").start(guardado::guardar);
+      return guardado;
+   }
+
+   /**
+    * Devuelve los ticks entre guardados de la propiedad {@value #PROPIEDAD},
+    * por defecto 50.
+    *
+    * @return Los ticks, 0 si no se guarda solo.
+    */
+   public static int ticksPorDefecto() {
+      try {
+         return Math.max(0, Integer.parseInt(System.getProperty(PROPIEDAD, "50")));
+      } catch (NumberFormatException e) {
+         System.out.println("Ticks de autoguardado no validos, se guarda cada 50");
+         return 50;
+      }
+   }
+
+   /**
+    * Devuelve una captura libre para que el juego copie su estado. Solo se
+    * crea una nueva si todas estan ocupadas.
+    *
+    * @return La captura, hay que dejarla con {@link #publicar(CapturaPartida)}.
+    */
+   public CapturaPartida empezarCaptura() {
+      CapturaPartida captura = libre.getAndSet(null);
+      return captura != null ? captura : new CapturaPartida(casillas);
+   }
+
+   /**
+    * Deja una captura para que el hilo la guarde. Si habia otra sin guardar se
+    * descarta y se reutiliza.
+    *
+    * @param captura La captura con el estado de la partida.
+    */
+   public void publicar(CapturaPartida captura) {
+      CapturaPartida anterior = pendiente.getAndSet(captura);
+      if (anterior != null)
+         libre.compareAndSet(null, anterior);
+      LockSupport.unpark(hilo);
+   }
+
+   /**
+    * Devuelve cuantos estados se han escrito.
+    *
+    * @return Los estados escritos.
+    */
+   public long getGuardados() {
+      return guardados.get();
+   }
+
+   /**
+    * Escribe el ultimo estado que quede y para el hilo. Si se interrumpe la
+    * espera se deja de esperar y se vuelve a marcar la interrupcion para que la
+    * vea quien ha llamado.
+    */
+   @Override
+   public void close() {
+      cerrado = true;
+      LockSupport.unpark(hilo);
+      try {
+         hilo.join();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   /**
+    * Bucle del hilo: escribe los estados que llegan hasta que se cierra y no
+    * queda ninguno.
+    */
+   private void guardar() {
+      boolean terminar = false;
+      while (!terminar) {
+         boolean cerradoAntes = cerrado;
+         CapturaPartida captura = pendiente.getAndSet(null);
+         if (captura != null) {
+            EstadoPartida estado = captura.crearEstado();
+            libre.compareAndSet(null, captura);
+            try {
+               estado.guardar(archivo);
+               guardados.incrementAndGet();
+            } catch (IOException e) {
+               System.out.println("No se ha podido guardar la partida: " + e.getMessage());
+            }
+         } else if (cerradoAntes) {
+            terminar = true;
+         } else {
+            LockSupport.park(this);
+         }
+      }
+   }
+}
@@ -0,0 +1,152 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Historial de los ultimos ticks de una partida para poder rebobinarla
+ * @see dev.adsa.clases.JuegoBase
+ */
+package dev.adsa.clases.guardado;
+
+/**
+ * Historial circular con lo que ha cambiado en cada uno de los ultimos ticks de
+ * una partida, con un byte por tick. No se copia nunca el tablero: para
+ * deshacer un tick basta con saber hacia donde se movio la cola y si la
+ * serpiente comio o salio una fruta nueva. La casilla de la cabeza sale del
+ * ultimo movimiento de la serpiente, la fruta comida esta debajo de la cabeza
+ * y la fruta nueva se quita volviendo atras el generador aleatorio.
+ *
+ * Cuando esta lleno cada tick nuevo pisa al mas antiguo.
+ *
+ * El numero de segundos que se guardan se elige con la propiedad
+ * {@value #PROPIEDAD} al ejecutar, 0 para jugar sin rebobinar.
+ */
+public final class HistorialTicks {
+   /** Propiedad del sistema con los segundos que se pueden rebobinar */
+   public static final String PROPIEDAD = "snake.rebobinado";
+   /** Maximo de ticks guardados, 1 MiB */
+   public static final int MAXIMO = 1 << 20;
+   /** Bits del byte de un tick con la direccion en la que se movio la cola */
+   private static final int DIRECCION_COLA = 3;
+   /** Bit del byte de un tick que indica que la serpiente ha comido */
+   private static final int HA_COMIDO = 4;
+   /** Bit del byte de un tick que indica que ha salido una fruta nueva */
+   private static final int FRUTA_NUEVA = 8;
+
+   private final byte[] ticks;
+   /** Posicion en la que se escribe el siguiente tick */
+   private int siguiente;
+   private int cantidad;
+
+   /**
+    * Constructor con el numero de ticks que se guardan
+    *
+    * @param capacidad El numero de ticks, entre 1 y {@value #MAXIMO}.
+    */
+   public HistorialTicks(int capacidad) {
+      this.ticks = new byte[Math.max(1, Math.min(MAXIMO, capacidad))];
+   }
+
+   /**
+    * Devuelve los segundos que se pueden rebobinar de la propiedad
+    * {@value #PROPIEDAD}, por defecto 0.
+    *
+    * @return Los segundos, 0 si no se puede rebobinar.
+    */
+   public static int segundosPorDefecto() {
+      try {
+         return Math.max(0, Integer.parseInt(System.getProperty(PROPIEDAD, "0")));
+      } catch (NumberFormatException e) {
+         System.out.println("Segundos de rebobinado no validos, se juega sin rebobinar");
+         return 0;
+      }
+   }
+
+   /**
+    * Crea el historial para rebobinar unos segundos de una partida.
+    *
+    * @param segundos Los segundos que se pueden rebobinar.
+    * @param tiempo   Los milisegundos por tick.
+    * @return El historial o null si los segundos son 0.
+    */
+   public static HistorialTicks deSegundos(int segundos, int tiempo) {
+      if (segundos <= 0)
+         return null;
+      return new HistorialTicks((int) Math.min(MAXIMO, segundos * 1000L / Math.max(1, tiempo)));
+   }
+
+   /**
+    * Añade un tick al historial, pisando el mas antiguo si esta lleno.
+    *
+    * @param direccionCola El indice de la direccion en la que se movio la cola
+    *                      (0 a 3), no se usa si la serpiente ha comido.
+    * @param haComido      true si la serpiente ha comido en este tick.
+    * @param frutaNueva    true si al empezar el tick ha salido una fruta nueva.
+    */
+   public void anadir(int direccionCola, boolean haComido, boolean frutaNueva) {
+      ticks[siguiente] = (byte) ((direccionCola & DIRECCION_COLA) | (haComido ? HA_COMIDO : 0)
+            | (frutaNueva ? FRUTA_NUEVA : 0));
+      siguiente = siguiente + 1 == ticks.length ? 0 : siguiente + 1;
+      if (cantidad < ticks.length)
+         cantidad++;
+   }
+
+   /**
+    * Quita el ultimo tick del historial.
+    *
+    * @return El byte del tick o -1 si el historial esta vacio.
+    */
+   public int quitar() {
+      if (cantidad == 0)
+         return -1;
+      siguiente = siguiente == 0 ? ticks.length - 1 : siguiente - 1;
+      cantidad--;
+      return ticks[siguiente];
+   }
+
+   /**
+    * Devuelve cuantos ticks se pueden deshacer.
+    *
+    * @return Los ticks guardados.
+    */
+   public int getCantidad() {
+      return cantidad;
+   }
+
+   /**
+    * Devuelve el maximo de ticks que se guardan.
+    *
+    * @return La capacidad.
+    */
+   public int getCapacidad() {
+      return ticks.length;
+   }
+
+   /**
+    * Devuelve la direccion en la que se movio la cola en un tick.
+    *
+    * @param tick El byte del tick.
+    * @return El indice de la direccion (0 a 3).
+    */
+   public static int direccionCola(int tick) {
+      return tick & DIRECCION_COLA;
+   }
+
+   /**
+    * Indica si la serpiente comio en un tick.
+    *
+    * @param tick El byte del tick.
+    * @return true si comio, entonces la cola no se movio.
+    */
+   public static boolean haComido(int tick) {
+      return (tick & HA_COMIDO) != 0;
+   }
+
+   /**
+    * Indica si salio una fruta nueva al empezar un tick.
+    *
+    * @param tick El byte del tick.
+    * @return true si salio una fruta.
+    */
+   public static boolean frutaNueva(int tick) {
+      return (tick & FRUTA_NUEVA) != 0;
+   }
+}
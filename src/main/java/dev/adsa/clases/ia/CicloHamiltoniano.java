@@ -0,0 +1,169 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Clase que construye y guarda los ciclos hamiltonianos de cada tamaño de tablero
+ * @see PilotoHamiltoniano
+ */
+package dev.adsa.clases.ia;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Clase que construye un ciclo hamiltoniano (un recorrido que pasa por todas
+ * las casillas una sola vez y vuelve al inicio) para un tablero de filas x
+ * columnas. Los ciclos se guardan en memoria y en la carpeta ./Ciclos para no
+ * tener que calcularlos en cada partida.
+ *
+ * Las casillas se numeran como fila * columnas + columna.
+ */
+public class CicloHamiltoniano {
+   /** Carpeta donde se guardan los ciclos calculados */
+   private static final String CARPETA = "./Ciclos";
+   /** Ciclos ya calculados en esta ejecucion, la clave es "filasxcolumnas" */
+   private static final Map<String, int[]> CICLOS = new ConcurrentHashMap<>();
+
+   /** Constructor privado, la clase solo tiene metodos estaticos */
+   private CicloHamiltoniano() {
+   }
+
+   /**
+    * Devuelve el ciclo hamiltoniano del tablero indicado. Primero lo busca en
+    * memoria, despues en disco y si no esta lo calcula y lo guarda en los dos.
+    *
+    * El ciclo empieza en la casilla (0, 0) y sigue por la primera fila hacia la
+    * derecha, igual que la serpiente al inicializar el tablero.
+    *
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    * @return Un array con las casillas en el orden del ciclo, o null si el
+    *         tablero no tiene ciclo (filas y columnas impares).
+    */
+   public static int[] obtener(int filas, int columnas) {
+      if (!tieneCiclo(filas, columnas))
+         return null;
+
+      return CICLOS.computeIfAbsent(filas + "x" + columnas, clave -> {
+         int[] ciclo = cargar(filas, columnas);
+         if (ciclo == null) {
+            ciclo = construir(filas, columnas);
+            guardar(filas, columnas, ciclo);
+         }
+         return ciclo;
+      });
+   }
+
+   /**
+    * Indica si un tablero tiene ciclo hamiltoniano. Una cuadricula solo lo tiene
+    * si alguna de sus dimensiones es par.
+    *
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    * @return true si existe un ciclo, false en caso contrario.
+    */
+   public static boolean tieneCiclo(int filas, int columnas) {
+      return filas >= 2 && columnas >= 2 && (filas % 2 == 0 || columnas % 2 == 0);
+   }
+
+   /**
+    * Construye el ciclo. Si las filas son pares se recorre la primera fila, se
+    * hace zigzag por las filas desde la columna 1 y se vuelve por la columna 0.
+    * Si solo las columnas son pares se hace lo mismo pero en vertical.
+    *
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    * @return Un array con las casillas en el orden del ciclo.
+    */
+   private static int[] construir(int filas, int columnas) {
+      int[] ciclo = new int[filas * columnas];
+      int pos = 0;
+
+      // Primera fila de izquierda a derecha
+      for (int c = 0; c < columnas; c++)
+         ciclo[pos++] = c;
+
+      if (filas % 2 == 0) {
+         // Zigzag por las filas 1..filas-1 sin tocar la columna 0
+         for (int f = 1; f < filas; f++) {
+            if (f % 2 == 1)
+               for (int c = columnas - 1; c >= 1; c--)
+                  ciclo[pos++] = f * columnas + c;
+            else
+               for (int c = 1; c < columnas; c++)
+                  ciclo[pos++] = f * columnas + c;
+         }
+         // Vuelta por la columna 0 hacia arriba
+         for (int f = filas - 1; f >= 1; f--)
+            ciclo[pos++] = f * columnas;
+      } else {
+         // Zigzag por las columnas de derecha a izquierda sin tocar la fila 0
+         for (int c = columnas - 1; c >= 0; c--) {
+            if ((columnas - 1 - c) % 2 == 0)
+               for (int f = 1; f < filas; f++)
+                  ciclo[pos++] = f * columnas + c;
+            else
+               for (int f = filas - 1; f >= 1; f--)
+                  ciclo[pos++] = f * columnas + c;
+         }
+      }
+      return ciclo;
+   }
+
+   /**
+    * Carga un ciclo guardado en disco.
+    *
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    * @return El ciclo guardado, o null si no existe o no es valido.
+    */
+   private static int[] cargar(int filas, int columnas) {
+      File file = archivo(filas, columnas);
+      int[] ciclo = null;
+      if (file.exists()) {
+         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
+            ciclo = (int[]) ois.readObject();
+         } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            ciclo = null;
+         }
+      }
+      return (ciclo != null && ciclo.length == filas * columnas) ? ciclo : null;
+   }
+
+   /**
+    * Guarda un ciclo en disco. Si no se puede guardar se sigue usando el de
+    * memoria.
+    *
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    * @param ciclo    El ciclo que se va a guardar.
+    */
+   private static void guardar(int filas, int columnas, int[] ciclo) {
+      File carpeta = new File(CARPETA);
+      if (!carpeta.exists()) {
+         carpeta.mkdirs();
+      }
+
+      try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(archivo(filas, columnas)))) {
+         oos.writeObject(ciclo);
+      } catch (IOException e) {
+         System.out.println("No se ha podido guardar el ciclo: " + e.getMessage());
+      }
+   }
+
+   /**
+    * Devuelve el archivo donde se guarda el ciclo de un tamaño de tablero.
+    *
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    * @return El archivo del ciclo.
+    */
+   private static File archivo(int filas, int columnas) {
+      return new File(CARPETA, "ciclo_" + filas + "x" + columnas + ".dat");
+   }
+}
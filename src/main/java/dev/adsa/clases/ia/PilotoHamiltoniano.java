@@ -0,0 +1,125 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Piloto automatico que sigue un ciclo hamiltoniano para llenar el tablero
+ * @see CicloHamiltoniano
+ */
+package dev.adsa.clases.ia;
+
+import dev.adsa.clases.JuegoBase;
+import dev.adsa.clases.entrada.FuenteDirecciones;
+import dev.adsa.clases.tableros.Tablero;
+
+/**
+ * Piloto automatico que juega siguiendo un ciclo hamiltoniano del tablero, por
+ * lo que siempre llega a llenar el tablero (condicion de victoria).
+ *
+ * Mientras sea seguro coge atajos hacia la fruta: puede saltarse parte del
+ * ciclo siempre que la nueva casilla siga estando entre la cabeza y la cola en
+ * el orden del ciclo y no se pase de la fruta. Asi el cuerpo queda siempre
+ * ordenado en el ciclo y la cabeza nunca se puede encerrar.
+ */
+public class PilotoHamiltoniano implements FuenteDirecciones {
+   private static final String[] DIRECCIONES = { "W", "A", "S", "D" };
+   private static final int[] DESPLAZAMIENTO_FILA = { -1, 0, 1, 0 };
+   private static final int[] DESPLAZAMIENTO_COLUMNA = { 0, -1, 0, 1 };
+
+   private final int filas;
+   private final int columnas;
+   private final boolean atajos;
+   /** Posicion de cada casilla dentro del ciclo */
+   private final int[] orden;
+
+   /**
+    * Constructor del piloto con atajos activados
+    *
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    */
+   public PilotoHamiltoniano(int filas, int columnas) {
+      this(filas, columnas, true);
+   }
+
+   /**
+    * Constructor del piloto
+    *
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    * @param atajos   true para permitir atajos seguros hacia la fruta, false
+    *                 para seguir siempre el ciclo.
+    * @throws IllegalArgumentException Si el tablero no tiene ciclo hamiltoniano
+    *                                  (filas y columnas impares).
+    */
+   public PilotoHamiltoniano(int filas, int columnas, boolean atajos) {
+      int[] ciclo = CicloHamiltoniano.obtener(filas, columnas);
+      if (ciclo == null)
+         throw new IllegalArgumentException(
+               "El tablero " + filas + "x" + columnas + " no tiene ciclo hamiltoniano");
+
+      this.filas = filas;
+      this.columnas = columnas;
+      this.atajos = atajos;
+      this.orden = new int[ciclo.length];
+      for (int pos = 0; pos < ciclo.length; pos++)
+         orden[ciclo[pos]] = pos;
+   }
+
+   /**
+    * Calcula la siguiente direccion de la serpiente.
+    *
+    * @param juego           El juego que esta pidiendo la direccion.
+    * @param direccionActual La direccion en la que se esta moviendo la serpiente.
+    * @return La direccion que sigue el ciclo o el atajo elegido.
+    */
+   @Override
+   public String siguienteDireccion(JuegoBase juego, String direccionActual) {
+      int filaCabeza = juego.getCordsCabeza()[1];
+      int columnaCabeza = juego.getCordsCabeza()[0] - 1;
+      int cabeza = filaCabeza * columnas + columnaCabeza;
+      int cola = juego.getCordsCola()[1] * columnas + juego.getCordsCola()[0] - 1;
+
+      int distanciaCola = distancia(cabeza, cola);
+      int distanciaFruta = juego.getCordsFruta()[0] < 0 ? distanciaCola
+            : distancia(cabeza, juego.getCordsFruta()[0] * columnas + juego.getCordsFruta()[1]);
+
+      int siguienteCiclo = -1;
+      int mejorAtajo = -1;
+      int mejorDistancia = 1;
+      for (int dir = 0; dir < DIRECCIONES.length; dir++) {
+         int fila = filaCabeza + DESPLAZAMIENTO_FILA[dir];
+         int columna = columnaCabeza + DESPLAZAMIENTO_COLUMNA[dir];
+         if (fila < 0 || fila >= filas || columna < 0 || columna >= columnas)
+            continue;
+
+         int d = distancia(cabeza, fila * columnas + columna);
+         if (d == 1) {
+            siguienteCiclo = dir;
+         } else if (atajos && d > mejorDistancia && d < distanciaCola && d <= distanciaFruta
+               && juego.getTablero().getCasilla(fila, columna) != Tablero.SERPIENTE) {
+            // El atajo no adelanta a la cola ni se salta la fruta
+            mejorAtajo = dir;
+            mejorDistancia = d;
+         }
+      }
+
+      if (mejorAtajo != -1)
+         return DIRECCIONES[mejorAtajo];
+      return siguienteCiclo != -1 ? DIRECCIONES[siguienteCiclo] : direccionActual;
+   }
+
+   /**
+    * Distancia hacia delante entre dos casillas siguiendo el ciclo.
+    *
+    * @param desde La casilla de origen.
+    * @param hasta La casilla de destino.
+    * @return El numero de pasos en el ciclo para llegar de una a otra.
+    */
+   private int distancia(int desde, int hasta) {
+      return Math.floorMod(orden[hasta] - orden[desde], orden.length);
+   }
+
+   /** El piloto no tiene nada que cerrar */
+   @Override
+   public void close() {
+   }
+}
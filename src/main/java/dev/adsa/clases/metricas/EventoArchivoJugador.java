@@ -0,0 +1,63 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Evento de JFR de cada vez que se guarda o se carga un jugador
+ * @see dev.adsa.clases.Player
+ */
+package dev.adsa.clases.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de JFR de la lectura o escritura del archivo .dat de un jugador.
+ */
+@Name("dev.adsa.ArchivoJugador")
+@Label("Archivo del jugador")
+@Description("Guardado o carga del archivo serializado de un jugador")
+@Category({ "Snake", "Persistencia" })
+public final class EventoArchivoJugador extends Event {
+   @Label("Operacion")
+   String operacion;
+
+   @Label("Jugador")
+   String jugador;
+
+   @Label("Bytes")
+   @DataAmount(DataAmount.BYTES)
+   long bytes;
+
+   @Label("Correcta")
+   boolean correcta;
+
+   /**
+    * Constructor que crea el evento y empieza a medir
+    * 
+    * @param operacion "guardar" o "cargar".
+    * @param jugador   El nombre del jugador.
+    */
+   public EventoArchivoJugador(String operacion, String jugador) {
+      this.operacion = operacion;
+      this.jugador = jugador;
+      begin();
+   }
+
+   /**
+    * Termina el evento y lo guarda si se esta grabando.
+    * 
+    * @param bytes    El tamaño del archivo.
+    * @param correcta false si ha habido un error.
+    */
+   public void terminar(long bytes, boolean correcta) {
+      end();
+      if (shouldCommit()) {
+         this.bytes = bytes;
+         this.correcta = correcta;
+         commit();
+      }
+   }
+}
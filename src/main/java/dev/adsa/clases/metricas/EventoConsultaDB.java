@@ -0,0 +1,62 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Evento de JFR de cada sentencia que se manda a la base de datos
+ * @see dev.adsa.bbdd.GestionDB
+ */
+package dev.adsa.clases.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de JFR de una sentencia SQL de GestionDB, desde que se pide la
+ * conexion hasta que se cierra, con las filas afectadas o leidas.
+ */
+@Name("dev.adsa.ConsultaDB")
+@Label("Consulta a la base de datos")
+@Description("Sentencia SQL de GestionDB con las filas afectadas o leidas")
+@Category({ "Snake", "Persistencia" })
+public final class EventoConsultaDB extends Event {
+   @Label("Metodo")
+   String metodo;
+
+   @Label("SQL")
+   String sql;
+
+   @Label("Filas")
+   int filas;
+
+   @Label("Correcta")
+   boolean correcta;
+
+   /**
+    * Constructor que crea el evento y empieza a medir
+    * 
+    * @param metodo El metodo de GestionDB que manda la sentencia.
+    * @param sql    La sentencia SQL.
+    */
+   public EventoConsultaDB(String metodo, String sql) {
+      this.metodo = metodo;
+      this.sql = sql;
+      begin();
+   }
+
+   /**
+    * Termina el evento y lo guarda si se esta grabando.
+    * 
+    * @param filas    Las filas afectadas o leidas.
+    * @param correcta false si la sentencia ha dado un error.
+    */
+   public void terminar(int filas, boolean correcta) {
+      end();
+      if (shouldCommit()) {
+         this.filas = filas;
+         this.correcta = correcta;
+         commit();
+      }
+   }
+}
@@ -0,0 +1,74 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Evento de JFR de cada vez que se dibuja el tablero
+ * @see dev.adsa.clases.JuegoBase
+ */
+package dev.adsa.clases.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JFR que dura lo que tarda en dibujarse el tablero por consola.
+ */
+@Name("dev.adsa.Dibujo")
+@Label("Dibujo del tablero")
+@Description("Escritura del tablero por la salida estandar")
+@Category({ "Snake", "Juego" })
+@StackTrace(false)
+public class EventoDibujo extends Event {
+   @Label("Filas dibujadas")
+   int filas;
+
+   @Label("Columnas dibujadas")
+   int columnas;
+
+   @Label("Con colores")
+   boolean colores;
+
+   /** Evento que se devuelve mientras no se graba, nunca se emite */
+   private static final EventoDibujo SIN_GRABAR = new EventoDibujo();
+
+   /**
+    * Constructor que crea el evento y empieza a medir
+    */
+   private EventoDibujo() {
+      begin();
+   }
+
+   /**
+    * Empieza a medir un dibujo. Si JFR no esta grabando el evento no se crea,
+    * se devuelve siempre el mismo y no se emite, asi dibujar no reserva
+    * memoria.
+    * 
+    * @return El evento.
+    */
+   public static EventoDibujo empezar() {
+      return SIN_GRABAR.isEnabled() ? new EventoDibujo() : SIN_GRABAR;
+   }
+
+   /**
+    * Termina el evento y lo guarda si se esta grabando.
+    * 
+    * @param filas    Las filas que se han dibujado.
+    * @param columnas Las columnas que se han dibujado.
+    * @param colores  true si se ha dibujado con colores.
+    */
+   public void terminar(int filas, int columnas, boolean colores) {
+      // El compartido lo usan varios hilos a la vez, no se puede emitir
+      if (this == SIN_GRABAR)
+         return;
+      end();
+      if (shouldCommit()) {
+         this.filas = filas;
+         this.columnas = columnas;
+         this.colores = colores;
+         commit();
+      }
+   }
+}
@@ -0,0 +1,57 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Evento de JFR de cada tick del bucle del juego
+ * @see MetricasPartida
+ */
+package dev.adsa.clases.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de JFR que dura lo mismo que un tick y lleva el tiempo de cada fase,
+ * para poder ver en una grabacion los ticks lentos junto a las pausas del GC o
+ * de la entrada/salida.
+ */
+@Name("dev.adsa.Tick")
+@Label("Tick del juego")
+@Description("Un tick del bucle del juego con el tiempo de cada fase")
+@Category({ "Snake", "Juego" })
+@StackTrace(false)
+public class EventoTick extends Event {
+   @Label("Numero de tick")
+   long tick;
+
+   @Label("Longitud de la serpiente")
+   int longitud;
+
+   @Label("Entrada")
+   @Timespan(Timespan.NANOSECONDS)
+   long entrada;
+
+   @Label("Reglas")
+   @Timespan(Timespan.NANOSECONDS)
+   long reglas;
+
+   @Label("Fruta")
+   @Timespan(Timespan.NANOSECONDS)
+   long fruta;
+
+   @Label("Dibujo")
+   @Timespan(Timespan.NANOSECONDS)
+   long dibujo;
+
+   @Label("Espera")
+   @Timespan(Timespan.NANOSECONDS)
+   long espera;
+
+   /** Constructor que crea el evento sin empezarlo */
+   EventoTick() {
+   }
+}
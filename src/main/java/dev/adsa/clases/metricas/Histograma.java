@@ -0,0 +1,141 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Histograma de tiempos con cubetas logaritmicas
+ * @see HistogramaPartida
+ * @see HistogramaAtomico
+ */
+package dev.adsa.clases.metricas;
+
+/**
+ * Histograma de duraciones en nanosegundos al estilo HDR: cada potencia de dos
+ * se divide en {@value #MITAD} cubetas, asi el error de cada percentil es menor
+ * del 1% sea cual sea el valor.
+ *
+ * Hay dos formas de guardar las cuentas: {@link HistogramaPartida}, con un
+ * array normal y un rango limitado para los tiempos de una partida, que solo
+ * escribe el hilo del juego, y {@link HistogramaAtomico}, que cubre todos los
+ * valores y se suma con incrementos atomicos, para los totales de todas las
+ * partidas. Las dos usan las mismas cubetas, asi se pueden sumar entre ellas.
+ */
+public abstract class Histograma {
+   /** Bits de precision de cada cubeta */
+   static final int BITS = 8;
+   /** Cubetas en las que se divide cada potencia de dos */
+   static final int MITAD = 1 << (BITS - 1);
+   /** Numero de cubetas para cubrir todos los long positivos */
+   static final int CUBETAS = MITAD * (64 - BITS) + 2 * MITAD;
+
+   /** Constructor para las subclases */
+   protected Histograma() {
+   }
+
+   /**
+    * Registra una duracion.
+    *
+    * @param nanos La duracion en nanosegundos, los negativos cuentan como 0.
+    */
+   public abstract void registrar(long nanos);
+
+   /**
+    * Suma al histograma todos los valores de otro.
+    *
+    * @param otro El histograma que se suma.
+    */
+   public abstract void sumar(Histograma otro);
+
+   /**
+    * Devuelve el numero de duraciones registradas.
+    *
+    * @return El numero de registros.
+    */
+   public abstract long getTotal();
+
+   /**
+    * Devuelve la mayor duracion registrada.
+    *
+    * @return La duracion maxima en nanosegundos.
+    */
+   public abstract long getMaximo();
+
+   /**
+    * Borra todos los registros.
+    */
+   public abstract void reiniciar();
+
+   /**
+    * Devuelve el numero de cubetas que guarda el histograma.
+    *
+    * @return Las cubetas.
+    */
+   protected abstract int getCubetas();
+
+   /**
+    * Devuelve los registros de una cubeta.
+    *
+    * @param cubeta El indice de la cubeta, menor que {@link #getCubetas()}.
+    * @return Los registros que han caido en ella.
+    */
+   protected abstract long getCuenta(int cubeta);
+
+   /**
+    * Devuelve el valor por debajo del cual esta un porcentaje de los registros.
+    *
+    * @param percentil El percentil entre 0 y 100.
+    * @return El limite superior de la cubeta del percentil en nanosegundos, o 0
+    *         si no hay registros.
+    */
+   public long percentil(double percentil) {
+      long registros = getTotal();
+      if (registros == 0)
+         return 0;
+
+      long objetivo = Math.max(1, (long) Math.ceil(registros * percentil / 100));
+      long acumulado = 0;
+      int cubetas = getCubetas();
+      for (int i = 0; i < cubetas; i++) {
+         acumulado += getCuenta(i);
+         if (acumulado >= objetivo)
+            return Math.min(limiteSuperior(i), getMaximo());
+      }
+      return getMaximo();
+   }
+
+   /**
+    * Devuelve la ultima cubeta de otro histograma que puede tener registros,
+    * por encima de la cubeta del maximo estan todas vacias.
+    *
+    * @param otro El histograma.
+    * @return El indice de la ultima cubeta que hay que recorrer.
+    */
+   static int ultimaCubeta(Histograma otro) {
+      return Math.min(cubeta(otro.getMaximo()), otro.getCubetas() - 1);
+   }
+
+   /**
+    * Calcula la cubeta de un valor. Los valores menores de 2 * {@value #MITAD}
+    * tienen una cubeta cada uno; a partir de ahi se quitan los bits de menos
+    * peso para quedarse con {@value #BITS} bits.
+    *
+    * @param valor El valor positivo.
+    * @return El indice de la cubeta.
+    */
+   static int cubeta(long valor) {
+      int desplazamiento = Math.max(0, 64 - Long.numberOfLeadingZeros(valor) - BITS);
+      return desplazamiento * MITAD + (int) (valor >>> desplazamiento);
+   }
+
+   /**
+    * Calcula el mayor valor que cae en una cubeta.
+    *
+    * @param cubeta El indice de la cubeta.
+    * @return El limite superior de la cubeta.
+    */
+   static long limiteSuperior(int cubeta) {
+      if (cubeta < 2 * MITAD)
+         return cubeta;
+      int desplazamiento = cubeta / MITAD - 1;
+      long base = cubeta - (long) desplazamiento * MITAD;
+      return ((base + 1) << desplazamiento) - 1;
+   }
+}
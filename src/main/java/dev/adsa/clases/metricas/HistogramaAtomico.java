@@ -0,0 +1,74 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Histograma de tiempos sin bloqueos para los totales de todas las partidas
+ * @see MonitorJuego
+ */
+package dev.adsa.clases.metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma que cubre todos los long positivos y se actualiza con
+ * incrementos atomicos, por lo que se puede leer desde otro hilo (JMX)
+ * mientras se suma. Ocupa unos 58 KB, asi que solo se usa para los totales
+ * del {@link MonitorJuego}, que se crean una vez.
+ */
+public class HistogramaAtomico extends Histograma {
+   private final AtomicLongArray cuentas = new AtomicLongArray(CUBETAS);
+   private final AtomicLong total = new AtomicLong();
+   private final AtomicLong maximo = new AtomicLong();
+
+   /** Constructor que crea el histograma vacio */
+   public HistogramaAtomico() {
+   }
+
+   @Override
+   public void registrar(long nanos) {
+      long valor = Math.max(0, nanos);
+      cuentas.incrementAndGet(cubeta(valor));
+      total.incrementAndGet();
+      maximo.accumulateAndGet(valor, Math::max);
+   }
+
+   @Override
+   public void sumar(Histograma otro) {
+      int ultima = ultimaCubeta(otro);
+      for (int i = 0; i <= ultima; i++) {
+         long cuenta = otro.getCuenta(i);
+         if (cuenta != 0)
+            cuentas.addAndGet(i, cuenta);
+      }
+      total.addAndGet(otro.getTotal());
+      maximo.accumulateAndGet(otro.getMaximo(), Math::max);
+   }
+
+   @Override
+   public long getTotal() {
+      return total.get();
+   }
+
+   @Override
+   public long getMaximo() {
+      return maximo.get();
+   }
+
+   @Override
+   public void reiniciar() {
+      for (int i = 0; i < CUBETAS; i++)
+         cuentas.set(i, 0);
+      total.set(0);
+      maximo.set(0);
+   }
+
+   @Override
+   protected int getCubetas() {
+      return CUBETAS;
+   }
+
+   @Override
+   protected long getCuenta(int cubeta) {
+      return cuentas.get(cubeta);
+   }
+}
@@ -0,0 +1,81 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Histograma de tiempos de una partida con un array normal y rango limitado
+ * @see MetricasPartida
+ */
+package dev.adsa.clases.metricas;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de una sola partida. Solo lo escribe el hilo del juego, asi que
+ * las cuentas van en un long[] sin atomicos. El rango llega hasta
+ * {@value #LIMITE} ns (unos 137 segundos, ningun tick dura tanto); lo que pase
+ * de ahi cuenta en la ultima cubeta, aunque el maximo se guarda exacto. Con
+ * eso son 3968 cubetas, unos 31 KB, en lugar de los 58 KB de cubrir todos los
+ * long.
+ *
+ * JMX lo lee desde otro hilo mientras se juega. Sin sincronizar puede ver una
+ * cuenta de un tick de retraso, que para unos percentiles da igual. Al terminar
+ * la partida se suma a los totales atomicos del {@link MonitorJuego}.
+ */
+public class HistogramaPartida extends Histograma {
+   /** Mayor duracion con cubeta propia, 2^37 - 1 ns */
+   public static final long LIMITE = (1L << 37) - 1;
+   /** Numero de cubetas hasta el limite */
+   private static final int CUBETAS_PARTIDA = cubeta(LIMITE) + 1;
+
+   private final long[] cuentas = new long[CUBETAS_PARTIDA];
+   private long total;
+   private long maximo;
+
+   /** Constructor que crea el histograma vacio */
+   public HistogramaPartida() {
+   }
+
+   @Override
+   public void registrar(long nanos) {
+      long valor = Math.max(0, nanos);
+      cuentas[cubeta(Math.min(valor, LIMITE))]++;
+      total++;
+      if (valor > maximo)
+         maximo = valor;
+   }
+
+   @Override
+   public void sumar(Histograma otro) {
+      int ultima = ultimaCubeta(otro);
+      for (int i = 0; i <= ultima; i++)
+         cuentas[Math.min(i, CUBETAS_PARTIDA - 1)] += otro.getCuenta(i);
+      total += otro.getTotal();
+      maximo = Math.max(maximo, otro.getMaximo());
+   }
+
+   @Override
+   public long getTotal() {
+      return total;
+   }
+
+   @Override
+   public long getMaximo() {
+      return maximo;
+   }
+
+   @Override
+   public void reiniciar() {
+      Arrays.fill(cuentas, 0);
+      total = 0;
+      maximo = 0;
+   }
+
+   @Override
+   protected int getCubetas() {
+      return CUBETAS_PARTIDA;
+   }
+
+   @Override
+   protected long getCuenta(int cubeta) {
+      return cuentas[cubeta];
+   }
+}
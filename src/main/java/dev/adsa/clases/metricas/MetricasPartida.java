@@ -0,0 +1,253 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Tiempos de cada fase de los ticks de una partida
+ * @see Histograma
+ * @see MonitorJuego
+ */
+package dev.adsa.clases.metricas;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Tiempos de los ticks de una partida. Cada tick se divide en fases y cada
+ * fase tiene su histograma; ademas se guarda el coste del tick sin la espera,
+ * cuanto se ha pasado el tick del tiempo configurado y cuanto tarda en verse
+ * en pantalla una direccion desde que se lee.
+ *
+ * Se usa desde el hilo del juego con {@link #empezarTick()},
+ * {@link #terminarFase(Fase)} y {@link #terminarTick(int)}. Cada tick tambien
+ * se emite como un {@link EventoTick} de JFR. En alta velocidad no se dibujan
+ * todos los ticks: en esos la fase de dibujo no se termina, no cuenta en su
+ * histograma y en el evento vale 0.
+ *
+ * Los histogramas de una partida son {@link HistogramaPartida}, que solo
+ * escribe el hilo del juego. Los totales de todas las partidas se crean con
+ * {@link #acumuladas()} y usan {@link HistogramaAtomico}.
+ */
+public class MetricasPartida {
+   /** Fases de un tick del bucle del juego */
+   public enum Fase {
+      /** Leer la siguiente direccion */
+      ENTRADA,
+      /** Mover la serpiente y comprobar choques */
+      REGLAS,
+      /** Generar la fruta */
+      FRUTA,
+      /** Dibujar el tablero */
+      DIBUJO,
+      /** Esperar el tiempo del tick */
+      ESPERA
+   }
+
+   private final Map<Fase, Histograma> fases = new EnumMap<>(Fase.class);
+   /** Coste del tick sin contar la espera */
+   private final Histograma coste;
+   /** Lo que dura el tick por encima del tiempo configurado */
+   private final Histograma retraso;
+   /** Desde que se lee una direccion hasta que se termina de dibujar */
+   private final Histograma entradaDibujo;
+
+   private final long periodo;
+   private long inicioTick;
+   private long inicioFase;
+   private long costeTick;
+   private long ultimaEntrada = -1;
+   private long numeroTick;
+   private final long[] duracionFases = new long[Fase.values().length];
+   private EventoTick evento;
+   /** Evento que se reutiliza mientras no se graba, nunca se emite */
+   private final EventoTick sinGrabar = new EventoTick();
+
+   /**
+    * Constructor que crea los histogramas vacios de una partida
+    * 
+    * @param milisegundosTick El tiempo configurado de cada tick.
+    */
+   public MetricasPartida(int milisegundosTick) {
+      this(milisegundosTick, HistogramaPartida::new);
+   }
+
+   /**
+    * Constructor con el tipo de histograma
+    * 
+    * @param milisegundosTick El tiempo configurado de cada tick.
+    * @param histogramas      Crea cada histograma vacio.
+    */
+   private MetricasPartida(int milisegundosTick, Supplier<Histograma> histogramas) {
+      this.periodo = milisegundosTick * 1_000_000L;
+      for (Fase fase : Fase.values())
+         fases.put(fase, histogramas.get());
+      coste = histogramas.get();
+      retraso = histogramas.get();
+      entradaDibujo = histogramas.get();
+   }
+
+   /**
+    * Crea unas metricas vacias para ir sumando las de todas las partidas, con
+    * histogramas que se pueden leer desde otro hilo mientras se suman.
+    * 
+    * @return Las metricas acumuladas.
+    */
+   public static MetricasPartida acumuladas() {
+      return new MetricasPartida(0, HistogramaAtomico::new);
+   }
+
+   /**
+    * Marca el inicio de un tick y de su primera fase.
+    */
+   public void empezarTick() {
+      // Solo se crea un evento por tick si JFR lo esta grabando
+      evento = sinGrabar.isEnabled() ? new EventoTick() : sinGrabar;
+      evento.begin();
+      inicioTick = System.nanoTime();
+      inicioFase = inicioTick;
+      costeTick = 0;
+      Arrays.fill(duracionFases, 0);
+   }
+
+   /**
+    * Registra el tiempo de la fase que acaba de terminar y empieza la siguiente.
+    * 
+    * @param fase La fase que ha terminado.
+    */
+   public void terminarFase(Fase fase) {
+      long ahora = System.nanoTime();
+      long duracion = ahora - inicioFase;
+      fases.get(fase).registrar(duracion);
+      duracionFases[fase.ordinal()] = duracion;
+      if (fase != Fase.ESPERA)
+         costeTick += duracion;
+
+      if (fase == Fase.ENTRADA) {
+         // Si no se dibuja se mide desde la primera direccion que espera a verse
+         if (ultimaEntrada == -1)
+            ultimaEntrada = ahora;
+      } else if (fase == Fase.DIBUJO && ultimaEntrada != -1) {
+         entradaDibujo.registrar(ahora - ultimaEntrada);
+         ultimaEntrada = -1;
+      }
+      inicioFase = ahora;
+   }
+
+   /**
+    * Marca el final del tick, registra su coste y su retraso y emite el evento
+    * de JFR si se esta grabando.
+    * 
+    * @param longitud La longitud de la serpiente al final del tick.
+    */
+   public void terminarTick(int longitud) {
+      coste.registrar(costeTick);
+      retraso.registrar(System.nanoTime() - inicioTick - periodo);
+
+      evento.end();
+      if (evento.shouldCommit()) {
+         evento.tick = numeroTick;
+         evento.longitud = longitud;
+         evento.entrada = duracionFases[Fase.ENTRADA.ordinal()];
+         evento.reglas = duracionFases[Fase.REGLAS.ordinal()];
+         evento.fruta = duracionFases[Fase.FRUTA.ordinal()];
+         evento.dibujo = duracionFases[Fase.DIBUJO.ordinal()];
+         evento.espera = duracionFases[Fase.ESPERA.ordinal()];
+         evento.commit();
+      }
+      evento = null;
+      numeroTick++;
+   }
+
+   /**
+    * Devuelve el histograma de una fase.
+    * 
+    * @param fase La fase.
+    * @return El histograma de la fase.
+    */
+   public Histograma getFase(Fase fase) {
+      return fases.get(fase);
+   }
+
+   /**
+    * Devuelve el histograma del coste de los ticks sin la espera.
+    * 
+    * @return El histograma del coste.
+    */
+   public Histograma getCoste() {
+      return coste;
+   }
+
+   /**
+    * Devuelve el histograma de lo que se pasan los ticks del tiempo configurado.
+    * 
+    * @return El histograma del retraso.
+    */
+   public Histograma getRetraso() {
+      return retraso;
+   }
+
+   /**
+    * Devuelve el histograma del tiempo desde que se lee una direccion hasta que
+    * se dibuja.
+    * 
+    * @return El histograma de entrada a dibujo.
+    */
+   public Histograma getEntradaDibujo() {
+      return entradaDibujo;
+   }
+
+   /**
+    * Suma a estas metricas las de otra partida.
+    * 
+    * @param otra Las metricas que se suman.
+    */
+   public void sumar(MetricasPartida otra) {
+      for (Fase fase : Fase.values())
+         fases.get(fase).sumar(otra.fases.get(fase));
+      coste.sumar(otra.coste);
+      retraso.sumar(otra.retraso);
+      entradaDibujo.sumar(otra.entradaDibujo);
+   }
+
+   /**
+    * Borra todos los registros.
+    */
+   public void reiniciar() {
+      for (Histograma histograma : fases.values())
+         histograma.reiniciar();
+      coste.reiniciar();
+      retraso.reiniciar();
+      entradaDibujo.reiniciar();
+   }
+
+   /**
+    * Devuelve un resumen en una linea con el p50, p99 y maximo de cada
+    * histograma en microsegundos.
+    * 
+    * @return El resumen de los tiempos.
+    */
+   public String resumen() {
+      StringBuilder resumen = new StringBuilder();
+      resumen.append("ticks=").append(coste.getTotal());
+      anadir(resumen, "coste", coste);
+      for (Fase fase : Fase.values())
+         anadir(resumen, fase.name().toLowerCase(), fases.get(fase));
+      anadir(resumen, "retraso", retraso);
+      anadir(resumen, "entrada-dibujo", entradaDibujo);
+      return resumen.toString();
+   }
+
+   /**
+    * Añade al resumen los percentiles de un histograma.
+    * 
+    * @param resumen    El resumen.
+    * @param nombre     El nombre del histograma.
+    * @param histograma El histograma.
+    */
+   private static void anadir(StringBuilder resumen, String nombre, Histograma histograma) {
+      resumen.append(' ').append(nombre).append("=")
+            .append(histograma.percentil(50) / 1000).append('/')
+            .append(histograma.percentil(99) / 1000).append('/')
+            .append(histograma.getMaximo() / 1000);
+   }
+}
@@ -0,0 +1,171 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: MBean que publica por JMX los tiempos de los ticks del juego
+ * @see MonitorJuegoMBean
+ * @see MetricasPartida
+ */
+package dev.adsa.clases.metricas;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * MBean con los tiempos de la partida en curso (o la ultima) y los acumulados
+ * de todas las partidas terminadas. Se registra la primera vez que se empieza
+ * una partida.
+ */
+public class MonitorJuego implements MonitorJuegoMBean {
+   /** Nombre con el que se registra el MBean */
+   public static final String NOMBRE = "dev.adsa:type=MonitorJuego";
+
+   private static final MonitorJuego INSTANCIA = registrar();
+
+   private final MetricasPartida acumuladas = MetricasPartida.acumuladas();
+   private volatile MetricasPartida actual = new MetricasPartida(0);
+   private volatile long partidasTerminadas;
+   private final AtomicLong fotogramasDibujados = new AtomicLong();
+   private final AtomicLong fotogramasDescartados = new AtomicLong();
+   private final AtomicLong nanosBloqueadoDibujo = new AtomicLong();
+
+   /** Constructor privado, se usa la instancia registrada */
+   private MonitorJuego() {
+   }
+
+   /**
+    * Crea el monitor y lo registra en el servidor de MBeans de la plataforma. Si
+    * no se puede registrar el juego sigue funcionando sin JMX.
+    * 
+    * @return El monitor.
+    */
+   private static MonitorJuego registrar() {
+      MonitorJuego monitor = new MonitorJuego();
+      try {
+         ManagementFactory.getPlatformMBeanServer().registerMBean(monitor, new ObjectName(NOMBRE));
+      } catch (JMException e) {
+         System.out.println("No se ha podido registrar el monitor JMX: " + e.getMessage());
+      }
+      return monitor;
+   }
+
+   /**
+    * Empieza a medir una partida nueva, que pasa a ser la que se ve por JMX.
+    * 
+    * @param milisegundosTick El tiempo configurado de cada tick.
+    * @return Las metricas de la partida.
+    */
+   public static MetricasPartida empezarPartida(int milisegundosTick) {
+      MetricasPartida metricas = new MetricasPartida(milisegundosTick);
+      INSTANCIA.actual = metricas;
+      return metricas;
+   }
+
+   /**
+    * Suma las metricas de una partida terminada a las acumuladas.
+    * 
+    * @param metricas Las metricas de la partida.
+    */
+   public static void terminarPartida(MetricasPartida metricas) {
+      synchronized (INSTANCIA) {
+         INSTANCIA.acumuladas.sumar(metricas);
+         INSTANCIA.partidasTerminadas++;
+      }
+   }
+
+   /** Cuenta un fotograma dibujado por el hilo de dibujo */
+   public static void contarFotogramaDibujado() {
+      INSTANCIA.fotogramasDibujados.incrementAndGet();
+   }
+
+   /** Cuenta un fotograma que el hilo de dibujo no ha llegado a dibujar */
+   public static void contarFotogramaDescartado() {
+      INSTANCIA.fotogramasDescartados.incrementAndGet();
+   }
+
+   /**
+    * Suma lo que ha esperado el juego a que hubiera hueco en la cola de
+    * fotogramas.
+    * 
+    * @param nanos Los nanosegundos que ha esperado.
+    */
+   public static void contarBloqueoDibujo(long nanos) {
+      INSTANCIA.nanosBloqueadoDibujo.addAndGet(nanos);
+   }
+
+   @Override
+   public long getTicks() {
+      return actual.getCoste().getTotal();
+   }
+
+   @Override
+   public long getCosteTickP50() {
+      return actual.getCoste().percentil(50) / 1000;
+   }
+
+   @Override
+   public long getCosteTickP99() {
+      return actual.getCoste().percentil(99) / 1000;
+   }
+
+   @Override
+   public long getCosteTickMaximo() {
+      return actual.getCoste().getMaximo() / 1000;
+   }
+
+   @Override
+   public long getRetrasoP99() {
+      return actual.getRetraso().percentil(99) / 1000;
+   }
+
+   @Override
+   public long getEntradaDibujoP99() {
+      return actual.getEntradaDibujo().percentil(99) / 1000;
+   }
+
+   @Override
+   public long getPartidasTerminadas() {
+      return partidasTerminadas;
+   }
+
+   @Override
+   public long getFotogramasDibujados() {
+      return fotogramasDibujados.get();
+   }
+
+   @Override
+   public long getFotogramasDescartados() {
+      return fotogramasDescartados.get();
+   }
+
+   @Override
+   public long getMilisegundosBloqueadoDibujo() {
+      return nanosBloqueadoDibujo.get() / 1_000_000;
+   }
+
+   @Override
+   public String getResumenPartida() {
+      return actual.resumen();
+   }
+
+   @Override
+   public String getResumenTotal() {
+      return acumuladas.resumen();
+   }
+
+   @Override
+   public long percentilFase(String fase, double percentil) {
+      return actual.getFase(MetricasPartida.Fase.valueOf(fase.toUpperCase())).percentil(percentil) / 1000;
+   }
+
+   @Override
+   public synchronized void reiniciar() {
+      acumuladas.reiniciar();
+      partidasTerminadas = 0;
+      fotogramasDibujados.set(0);
+      fotogramasDescartados.set(0);
+      nanosBloqueadoDibujo.set(0);
+   }
+}
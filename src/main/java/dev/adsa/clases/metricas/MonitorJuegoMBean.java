@@ -0,0 +1,117 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Interfaz JMX con los tiempos de los ticks del juego
+ * @see MonitorJuego
+ */
+package dev.adsa.clases.metricas;
+
+/**
+ * Atributos y operaciones que se ven por JMX (jconsole, VisualVM...) con el
+ * nombre {@value MonitorJuego#NOMBRE}. Los tiempos son en microsegundos.
+ */
+public interface MonitorJuegoMBean {
+   /**
+    * Devuelve los ticks de la partida en curso o de la ultima.
+    * 
+    * @return El numero de ticks.
+    */
+   long getTicks();
+
+   /**
+    * Devuelve la mediana del coste del tick sin la espera.
+    * 
+    * @return El p50 del coste en microsegundos.
+    */
+   long getCosteTickP50();
+
+   /**
+    * Devuelve el percentil 99 del coste del tick sin la espera.
+    * 
+    * @return El p99 del coste en microsegundos.
+    */
+   long getCosteTickP99();
+
+   /**
+    * Devuelve el mayor coste de un tick sin la espera.
+    * 
+    * @return El maximo del coste en microsegundos.
+    */
+   long getCosteTickMaximo();
+
+   /**
+    * Devuelve el percentil 99 de lo que se pasan los ticks del tiempo
+    * configurado.
+    * 
+    * @return El p99 del retraso en microsegundos.
+    */
+   long getRetrasoP99();
+
+   /**
+    * Devuelve el percentil 99 del tiempo desde que se lee una direccion hasta que
+    * se dibuja.
+    * 
+    * @return El p99 de entrada a dibujo en microsegundos.
+    */
+   long getEntradaDibujoP99();
+
+   /**
+    * Devuelve el numero de partidas terminadas desde que se inicio el programa.
+    * 
+    * @return El numero de partidas.
+    */
+   long getPartidasTerminadas();
+
+   /**
+    * Devuelve los fotogramas que ha dibujado el hilo de dibujo desde que se
+    * inicio el programa.
+    * 
+    * @return El numero de fotogramas.
+    */
+   long getFotogramasDibujados();
+
+   /**
+    * Devuelve los fotogramas que se han descartado porque la consola no daba
+    * abasto, desde que se inicio el programa.
+    * 
+    * @return El numero de fotogramas.
+    */
+   long getFotogramasDescartados();
+
+   /**
+    * Devuelve cuanto ha esperado el juego a la consola con la politica de
+    * dibujo BLOQUEAR.
+    * 
+    * @return Los milisegundos bloqueado.
+    */
+   long getMilisegundosBloqueadoDibujo();
+
+   /**
+    * Devuelve el resumen de la partida en curso o de la ultima.
+    * 
+    * @return El p50/p99/maximo de cada fase.
+    */
+   String getResumenPartida();
+
+   /**
+    * Devuelve el resumen de todas las partidas terminadas.
+    * 
+    * @return El p50/p99/maximo de cada fase.
+    */
+   String getResumenTotal();
+
+   /**
+    * Devuelve un percentil de una fase de la partida en curso o de la ultima.
+    * 
+    * @param fase      El nombre de la fase (ENTRADA, REGLAS, FRUTA, DIBUJO o
+    *                  ESPERA).
+    * @param percentil El percentil entre 0 y 100.
+    * @return El percentil en microsegundos.
+    */
+   long percentilFase(String fase, double percentil);
+
+   /**
+    * Borra los tiempos y los fotogramas acumulados de todas las partidas.
+    */
+   void reiniciar();
+}
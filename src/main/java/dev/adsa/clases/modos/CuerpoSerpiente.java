@@ -0,0 +1,97 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Casillas del cuerpo de una serpiente en un buffer circular
+ * @see ModoTableroGigante
+ * @see ModoMultiserpiente
+ */
+package dev.adsa.clases.modos;
+
+/**
+ * Casillas del cuerpo de una serpiente, de la cola a la cabeza, en un buffer
+ * circular. Añadir la cabeza y quitar la cola no mueven el resto del cuerpo y
+ * si no cabe el buffer se duplica.
+ */
+public class CuerpoSerpiente {
+   private int[] casillas = new int[16];
+   private int inicio;
+   private int longitud;
+
+   /** Constructor que crea el cuerpo vacio */
+   public CuerpoSerpiente() {
+   }
+
+   /**
+    * Añade una casilla al final del cuerpo, si no cabe se duplica el buffer.
+    *
+    * @param casilla La casilla de la nueva cabeza (fila * columnas + columna).
+    */
+   public void anadirCabeza(int casilla) {
+      if (longitud == casillas.length) {
+         int[] nuevo = new int[casillas.length * 2];
+         for (int i = 0; i < longitud; i++)
+            nuevo[i] = casillas[(inicio + i) % casillas.length];
+         casillas = nuevo;
+         inicio = 0;
+      }
+      casillas[(inicio + longitud) % casillas.length] = casilla;
+      longitud++;
+   }
+
+   /**
+    * Quita la casilla de la cola.
+    *
+    * @return La casilla que se ha quitado.
+    */
+   public int quitarCola() {
+      int cola = casillas[inicio];
+      inicio = (inicio + 1) % casillas.length;
+      longitud--;
+      return cola;
+   }
+
+   /**
+    * Devuelve la casilla de la cola.
+    *
+    * @return La casilla de la cola.
+    */
+   public int getCola() {
+      return casillas[inicio];
+   }
+
+   /**
+    * Devuelve la casilla de la cabeza.
+    *
+    * @return La casilla de la cabeza.
+    */
+   public int getCabeza() {
+      return casillas[(inicio + longitud - 1) % casillas.length];
+   }
+
+   /**
+    * Devuelve una casilla del cuerpo.
+    *
+    * @param posicion La posicion desde la cola, 0 es la cola.
+    * @return La casilla.
+    */
+   public int getCasilla(int posicion) {
+      return casillas[(inicio + posicion) % casillas.length];
+   }
+
+   /**
+    * Devuelve el numero de casillas del cuerpo.
+    *
+    * @return La longitud.
+    */
+   public int getLongitud() {
+      return longitud;
+   }
+
+   /**
+    * Vacia el cuerpo.
+    */
+   public void vaciar() {
+      inicio = 0;
+      longitud = 0;
+   }
+}
@@ -0,0 +1,444 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Clase para iniciar el juego con varias serpientes en el mismo tablero
+ * @see JuegoBase
+ * @see CuerpoSerpiente
+ */
+package dev.adsa.clases.modos;
+
+import java.io.IOException;
+
+import dev.adsa.clases.JuegoBase;
+import dev.adsa.clases.Partida;
+import dev.adsa.clases.ReglasMovimiento;
+import dev.adsa.clases.RitmoJuego;
+import dev.adsa.clases.entrada.BufferEntrada;
+import dev.adsa.clases.entrada.FuenteDirecciones;
+import dev.adsa.clases.metricas.EventoDibujo;
+import dev.adsa.clases.metricas.MetricasPartida;
+import dev.adsa.clases.metricas.MetricasPartida.Fase;
+import dev.adsa.clases.metricas.MonitorJuego;
+import dev.adsa.clases.tableros.IndiceLibres;
+import dev.adsa.clases.tableros.Tablero;
+import dev.adsa.utils.ColoresConsola;
+
+/**
+ * Clase para iniciar el juego con varias serpientes en el mismo tablero. La
+ * primera es la del jugador y el resto las mueve la maquina hacia la fruta mas
+ * cercana. Todas las cabezas se mueven a la vez y los choques se resuelven
+ * siempre igual, sin importar el orden de las serpientes:
+ * <ul>
+ * <li>Si dos o mas cabezas entran en la misma casilla mueren todas.</li>
+ * <li>Las colas de las serpientes que no comen se van antes de mover las
+ * cabezas, asi que se puede entrar en la casilla que deja una cola.</li>
+ * <li>Si una cabeza entra en cualquier otra casilla de una serpiente (tambien
+ * en la cabeza de otra, que pasa a ser su cuello) muere.</li>
+ * </ul>
+ * Las serpientes que mueren desaparecen del tablero. El jugador pierde si muere
+ * y gana si es la ultima que queda. Cada tick solo se tocan las casillas de las
+ * cabezas, las colas y las frutas, que salen de un {@link IndiceLibres}.
+ */
+public class ModoMultiserpiente extends JuegoBase {
+   /** Maximo de serpientes, cada una empieza en una fila distinta */
+   public static final int MAXIMO_SERPIENTES = 16;
+   /** Colores de las serpientes de la maquina */
+   private static final String[] COLORES = {
+         ColoresConsola.ANSI_BLUE(), ColoresConsola.ANSI_PURPLE(), ColoresConsola.ANSI_CYAN(),
+         ColoresConsola.ANSI_YELLOW(), ColoresConsola.ANSI_BROWN(), ColoresConsola.ANSI_WHITE(),
+   };
+   /** Direcciones en el orden en el que la maquina las prueba */
+   private static final String[] DIRECCIONES = { "W", "A", "S", "D" };
+
+   private final int numSerpientes;
+
+   private ReglasMovimiento reglas;
+   private int columnas;
+   private CuerpoSerpiente[] cuerpos;
+   private String[] rumbos;
+   private boolean[] vivas;
+   private int serpientesVivas;
+   /** Longitud de la serpiente del jugador, se guarda porque al morir se borra */
+   private int longitudJugador;
+   /** Simbolos de la cola (0), el cuerpo (1) y la cabeza (2) de cada serpiente */
+   private String[][] simbolos;
+
+   /* ----- Estado de un tick ----- */
+   private int[] destinos;
+   private boolean[] comen;
+   private boolean[] mueren;
+   /** Serpiente a la que pertenece cada casilla, solo vale en las casillas con serpiente */
+   private int[] duenos;
+   /** Tick en el que alguna cabeza ha elegido cada casilla */
+   private int[] llegadas;
+   /** Primera serpiente que ha elegido cada casilla en ese tick */
+   private int[] primeras;
+   private int tick;
+
+   private IndiceLibres libres;
+   private int[] frutas;
+   private int numFrutas;
+   private final StringBuilder fila = new StringBuilder();
+
+   /* ----- Metodo constructor ----- */
+   /**
+    * Metodo constructor para este modo
+    *
+    * @param numSerpientes El numero de serpientes, contando la del jugador,
+    *                      entre 2 y {@value #MAXIMO_SERPIENTES}.
+    */
+   public ModoMultiserpiente(int numSerpientes) {
+      this.numSerpientes = Math.max(2, Math.min(MAXIMO_SERPIENTES, numSerpientes));
+   }
+
+   /**
+    * Inicia el juego con varias serpientes. Las reglas de los bordes son las
+    * del modo normal.
+    *
+    * @param configuracionSnake Un array que contiene la configuración inicial del
+    *                           juego: [ancho, alto, tiempo de espera en
+    *                           milisegundos, admite colores].
+    * @param partida            La partida que se va a jugar.
+    * @return El puntaje final calculado al final del juego.
+    * @throws IOException          Si ocurre un error durante la lectura del
+    *                              archivo de comandos.
+    * @throws InterruptedException Si el hilo de ejecución es interrumpido durante
+    *                              el tiempo de espera.
+    */
+   @Override
+   public double iniciarJuego(int[] configuracionSnake, Partida partida) throws IOException, InterruptedException {
+      final int[] DIMENSIONES = { configuracionSnake[0], configuracionSnake[1] };
+      final int TIEMPOMILISEGUNDOS = configuracionSnake[2];
+      final int ADMITECOLORES = configuracionSnake[3];
+
+      boolean win = false;
+      String nuevaDireccion;
+
+      FuenteDirecciones fr = abrirFuenteDirecciones();
+      MetricasPartida metricas = MonitorJuego.empezarPartida(TIEMPOMILISEGUNDOS);
+
+      inicializarSerpientes(DIMENSIONES, ADMITECOLORES);
+
+      RitmoJuego ritmo = new RitmoJuego(TIEMPOMILISEGUNDOS);
+      do {
+         metricas.empezarTick();
+
+         colocarFrutas();
+         metricas.terminarFase(Fase.FRUTA);
+
+         boolean dibujado = ritmo.tocaDibujar();
+         if (dibujado) {
+            salida.anadir("Longitud de la serpiente: ").anadirNumero(longitudJugador).anadir(" | Serpientes vivas: ")
+                  .anadirNumero(serpientesVivas).anadir(" de ").anadirNumero(numSerpientes).saltoLinea();
+            mostrarTablero(ADMITECOLORES);
+            ritmo.terminarDibujo();
+            metricas.terminarFase(Fase.DIBUJO);
+         }
+
+         // Tiempo de espera con hilos
+         ritmo.esperar();
+         if (dibujado)
+            separacion(salida);
+         metricas.terminarFase(Fase.ESPERA);
+
+         nuevaDireccion = fr.siguienteDireccion(this, rumbos[0]);
+         if (ReglasMovimiento.indiceDireccion(nuevaDireccion.charAt(0)) != ReglasMovimiento.NINGUNA)
+            rumbos[0] = nuevaDireccion;
+         for (int i = 1; i < numSerpientes; i++) {
+            if (vivas[i])
+               rumbos[i] = elegirRumbo(i);
+         }
+         metricas.terminarFase(Fase.ENTRADA);
+
+         moverSerpientes();
+         win = vivas[0] && serpientesVivas == 1;
+         metricas.terminarFase(Fase.REGLAS);
+         metricas.terminarTick(longitudJugador);
+
+      } while (vivas[0] && !win);
+
+      System.out.println(win ? "Enhorabuena, has ganado" : "Has perdido");
+      fr.close();
+      getTablero().close();
+      partida.setGanado(win);
+      partida.setLongitudSerpiente(longitudJugador);
+      guardarTiempos(metricas, partida);
+      return calcularPuntaje(longitudJugador, DIMENSIONES[0], DIMENSIONES[1], ritmo.getMilisegundosPorTick());
+   }
+
+   /**
+    * Crea el tablero y coloca las serpientes en filas repartidas por el
+    * tablero, las pares en la izquierda hacia la derecha y las impares en la
+    * derecha hacia la izquierda. La del jugador empieza donde en el resto de
+    * modos.
+    *
+    * @param dimensiones   Las dimensiones del tablero.
+    * @param admiteColores 1 si la consola admite colores, 0 si no.
+    */
+   private void inicializarSerpientes(int[] dimensiones, int admiteColores) {
+      int filas = dimensiones[0];
+      columnas = dimensiones[1];
+      int casillas = filas * columnas;
+      reglas = ReglasMovimiento.obtener(filas, columnas, false);
+      setTablero(getTipoTablero().crear(filas, columnas));
+
+      cuerpos = new CuerpoSerpiente[numSerpientes];
+      rumbos = new String[numSerpientes];
+      vivas = new boolean[numSerpientes];
+      destinos = new int[numSerpientes];
+      comen = new boolean[numSerpientes];
+      mueren = new boolean[numSerpientes];
+      duenos = new int[casillas];
+      llegadas = new int[casillas];
+      primeras = new int[casillas];
+      libres = new IndiceLibres(casillas);
+      frutas = new int[Math.max(1, numSerpientes / 2)];
+      numFrutas = 0;
+      tick = 0;
+
+      serpientesVivas = Math.min(numSerpientes, filas);
+      for (int i = 0; i < numSerpientes; i++) {
+         cuerpos[i] = new CuerpoSerpiente();
+         // Si hay mas serpientes que filas las que sobran no llegan a jugar
+         vivas[i] = i < serpientesVivas;
+         if (!vivas[i])
+            continue;
+         int fila = i * filas / serpientesVivas;
+         boolean izquierda = i % 2 == 0;
+         rumbos[i] = izquierda ? "D" : "A";
+         for (int paso = 0; paso < 3; paso++)
+            ocupar(fila * columnas + (izquierda ? paso : columnas - 1 - paso), i);
+      }
+      longitudJugador = cuerpos[0].getLongitud();
+      actualizarCoordenadas();
+      simbolos = crearSimbolos(admiteColores);
+   }
+
+   /**
+    * Crea los simbolos de cada serpiente. La del jugador usa los de siempre y
+    * las de la maquina una letra, mayuscula en la cabeza.
+    *
+    * @param admiteColores 1 si la consola admite colores, 0 si no.
+    * @return Los simbolos de la cola, el cuerpo y la cabeza de cada serpiente.
+    */
+   private String[][] crearSimbolos(int admiteColores) {
+      String[][] nuevos = new String[numSerpientes][];
+      nuevos[0] = SNAKE[admiteColores];
+      for (int i = 1; i < numSerpientes; i++) {
+         String letra = String.valueOf((char) ('a' + i - 1));
+         String[] partes = { letra, letra, letra.toUpperCase() };
+         if (admiteColores == 1) {
+            for (int parte = 0; parte < partes.length; parte++)
+               partes[parte] = COLORES[(i - 1) % COLORES.length] + partes[parte] + ColoresConsola.ANSI_RESET();
+         }
+         nuevos[i] = partes;
+      }
+      return nuevos;
+   }
+
+   /**
+    * Pone frutas en casillas libres al azar hasta que hay una por cada dos
+    * serpientes.
+    */
+   private void colocarFrutas() {
+      while (numFrutas < frutas.length) {
+         int casilla = libres.aleatoria(getAleatorio());
+         if (casilla == -1)
+            return;
+         libres.ocupar(casilla);
+         getTablero().setCasilla(casilla / columnas, casilla % columnas, Tablero.FRUTA);
+         frutas[numFrutas++] = casilla;
+      }
+   }
+
+   /**
+    * Elige la direccion de una serpiente de la maquina: de las casillas a las
+    * que puede ir sin chocar, la mas cercana a alguna fruta. Si no hay ninguna
+    * sigue recta.
+    *
+    * @param serpiente El numero de la serpiente.
+    * @return La direccion elegida.
+    */
+   private String elegirRumbo(int serpiente) {
+      int cabeza = cuerpos[serpiente].getCabeza();
+      char actual = rumbos[serpiente].charAt(0);
+      String mejor = rumbos[serpiente];
+      int mejorDistancia = Integer.MAX_VALUE;
+
+      for (String direccion : DIRECCIONES) {
+         if (BufferEntrada.sonContrarias(direccion.charAt(0), actual))
+            continue;
+         int destino = reglas.vecino(cabeza, ReglasMovimiento.indiceDireccion(direccion.charAt(0)));
+         if (destino == ReglasMovimiento.PARED || codigo(destino) == Tablero.SERPIENTE)
+            continue;
+         int distancia = Integer.MAX_VALUE - 1;
+         for (int f = 0; f < numFrutas; f++)
+            distancia = Math.min(distancia, Math.abs(destino / columnas - frutas[f] / columnas)
+                  + Math.abs(destino % columnas - frutas[f] % columnas));
+         if (distancia < mejorDistancia) {
+            mejorDistancia = distancia;
+            mejor = direccion;
+         }
+      }
+      return mejor;
+   }
+
+   /**
+    * Mueve todas las serpientes vivas a la vez. Primero se decide a donde va
+    * cada cabeza y quien muere sin tocar el tablero, y despues se quitan las
+    * colas, se quitan las serpientes muertas y se ponen las cabezas.
+    */
+   private void moverSerpientes() {
+      tick++;
+      longitudJugador = cuerpos[0].getLongitud();
+
+      // Destinos y choques de cabezas
+      for (int i = 0; i < numSerpientes; i++) {
+         if (!vivas[i])
+            continue;
+         int destino = reglas.vecino(cuerpos[i].getCabeza(), ReglasMovimiento.indiceDireccion(rumbos[i].charAt(0)));
+         destinos[i] = destino;
+         mueren[i] = destino == ReglasMovimiento.PARED;
+         comen[i] = !mueren[i] && codigo(destino) == Tablero.FRUTA;
+         if (mueren[i])
+            continue;
+         if (llegadas[destino] == tick) {
+            mueren[i] = true;
+            mueren[primeras[destino]] = true;
+         } else {
+            llegadas[destino] = tick;
+            primeras[destino] = i;
+         }
+      }
+
+      // Choques con los cuerpos, que siguen ahi salvo las colas que se van
+      for (int i = 0; i < numSerpientes; i++) {
+         if (!vivas[i] || mueren[i] || codigo(destinos[i]) != Tablero.SERPIENTE)
+            continue;
+         int dueno = duenos[destinos[i]];
+         if (cuerpos[dueno].getCola() != destinos[i] || comen[dueno])
+            mueren[i] = true;
+      }
+
+      for (int i = 0; i < numSerpientes; i++) {
+         if (vivas[i] && !comen[i])
+            vaciar(cuerpos[i].quitarCola());
+      }
+      for (int i = 0; i < numSerpientes; i++) {
+         if (!vivas[i])
+            continue;
+         if (mueren[i]) {
+            while (cuerpos[i].getLongitud() > 0)
+               vaciar(cuerpos[i].quitarCola());
+            vivas[i] = false;
+            serpientesVivas--;
+         } else {
+            if (comen[i])
+               quitarFruta(destinos[i]);
+            ocupar(destinos[i], i);
+         }
+      }
+      if (vivas[0])
+         longitudJugador = cuerpos[0].getLongitud();
+      actualizarCoordenadas();
+   }
+
+   /**
+    * Pone la cabeza de una serpiente en una casilla.
+    *
+    * @param casilla   La casilla.
+    * @param serpiente El numero de la serpiente.
+    */
+   private void ocupar(int casilla, int serpiente) {
+      getTablero().setCasilla(casilla / columnas, casilla % columnas, Tablero.SERPIENTE);
+      libres.ocupar(casilla);
+      duenos[casilla] = serpiente;
+      cuerpos[serpiente].anadirCabeza(casilla);
+   }
+
+   /**
+    * Deja una casilla vacia y libre para las frutas.
+    *
+    * @param casilla La casilla.
+    */
+   private void vaciar(int casilla) {
+      getTablero().setCasilla(casilla / columnas, casilla % columnas, Tablero.VACIA);
+      libres.liberar(casilla);
+   }
+
+   /**
+    * Quita una fruta comida de la lista de frutas.
+    *
+    * @param casilla La casilla de la fruta.
+    */
+   private void quitarFruta(int casilla) {
+      for (int f = 0; f < numFrutas; f++) {
+         if (frutas[f] == casilla) {
+            frutas[f] = frutas[--numFrutas];
+            return;
+         }
+      }
+   }
+
+   /**
+    * Devuelve el codigo de una casilla del tablero.
+    *
+    * @param casilla La casilla.
+    * @return El codigo de la casilla.
+    */
+   private int codigo(int casilla) {
+      return getTablero().getCasilla(casilla / columnas, casilla % columnas);
+   }
+
+   /**
+    * Copia la cabeza y la cola de la serpiente del jugador en las coordenadas
+    * de JuegoBase, que son las que leen las fuentes de direcciones.
+    */
+   private void actualizarCoordenadas() {
+      if (cuerpos[0].getLongitud() == 0)
+         return;
+      setCordsCabeza(cuerpos[0].getCabeza() % columnas + 1, cuerpos[0].getCabeza() / columnas);
+      setCordsCola(cuerpos[0].getCola() % columnas + 1, cuerpos[0].getCola() / columnas);
+   }
+
+   /**
+    * Muestra el tablero con el simbolo de cada serpiente.
+    *
+    * @param admiteColores 1 si la consola admite colores, 0 si no.
+    * @throws IOException Si no se puede escribir en la consola
+    */
+   @Override
+   public void mostrarTablero(int admiteColores) throws IOException {
+      EventoDibujo evento = EventoDibujo.empezar();
+      Tablero tablero = getTablero();
+      for (int f = 0; f < tablero.getFilas(); f++) {
+         fila.setLength(0);
+         fila.append('=');
+         for (int c = 0; c < columnas; c++) {
+            int casilla = f * columnas + c;
+            switch (tablero.getCasilla(f, c)) {
+               case Tablero.SERPIENTE -> {
+                  CuerpoSerpiente cuerpo = cuerpos[duenos[casilla]];
+                  int parte = casilla == cuerpo.getCabeza() ? 2 : casilla == cuerpo.getCola() ? 0 : 1;
+                  fila.append(simbolos[duenos[casilla]][parte]);
+               }
+               case Tablero.FRUTA -> fila.append(FRUTA[admiteColores][0]);
+               default -> fila.append(' ');
+            }
+         }
+         fila.append('=');
+         salida.anadirLinea(fila);
+      }
+      salida.escribir();
+      evento.terminar(tablero.getFilas(), columnas, admiteColores != 0);
+   }
+
+   /**
+    * Devuelve cuantas serpientes siguen vivas.
+    *
+    * @return Las serpientes vivas, contando la del jugador.
+    */
+   public int getSerpientesVivas() {
+      return serpientesVivas;
+   }
+}
@@ -0,0 +1,64 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Clase para iniciar el juego en un nivel con obstaculos
+ * @see JuegoBase
+ * @see Nivel
+ */
+package dev.adsa.clases.modos;
+
+import java.io.IOException;
+
+import dev.adsa.clases.JuegoBase;
+import dev.adsa.clases.Partida;
+import dev.adsa.clases.niveles.Nivel;
+
+/**
+ * Clase para iniciar el juego en un nivel con obstaculos. Los obstaculos estan
+ * en la tabla de vecinos del nivel como paredes, asi que el ciclo del juego es
+ * el mismo que el del modo normal.
+ */
+public class ModoNiveles extends JuegoBase {
+   private final Nivel nivel;
+
+   /* ----- Metodo constructor ----- */
+   /**
+    * Metodo constructor para este modo
+    *
+    * @param nivel El nivel que se va a jugar.
+    */
+   public ModoNiveles(Nivel nivel) {
+      this.nivel = nivel;
+   }
+
+   /**
+    * Inicia el juego en el nivel. Las dimensiones del tablero son siempre las
+    * del nivel.
+    *
+    * @param configuracionSnake Un array que contiene la configuración inicial del
+    *                           juego: [ancho, alto, tiempo de espera en
+    *                           milisegundos, admite colores].
+    * @param partida            La partida que se va a jugar.
+    * @return El puntaje final calculado al final del juego.
+    * @throws IOException          Si ocurre un error durante la lectura del
+    *                              archivo de comandos.
+    * @throws InterruptedException Si el hilo de ejecución es interrumpido durante
+    *                              el tiempo de espera.
+    */
+   @Override
+   public double iniciarJuego(int[] configuracionSnake, Partida partida) throws IOException, InterruptedException {
+      int[] configuracion = configuracionSnake.clone();
+      configuracion[0] = nivel.getFilas();
+      configuracion[1] = nivel.getColumnas();
+      return jugarPartida(configuracion, partida, nivel.getReglas());
+   }
+
+   /**
+    * Devuelve el nivel que se juega en este modo.
+    *
+    * @return El nivel.
+    */
+   public Nivel getNivel() {
+      return nivel;
+   }
+}
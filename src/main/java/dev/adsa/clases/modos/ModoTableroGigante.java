@@ -0,0 +1,258 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Clase para iniciar el juego en tableros gigantes con una camara que sigue a la cabeza
+ * @see JuegoBase
+ * @see TableroDisperso
+ */
+package dev.adsa.clases.modos;
+
+import java.io.IOException;
+
+import dev.adsa.clases.JuegoBase;
+import dev.adsa.clases.Partida;
+import dev.adsa.clases.ReglasMovimiento;
+import dev.adsa.clases.RitmoJuego;
+import dev.adsa.clases.entrada.FuenteDirecciones;
+import dev.adsa.clases.metricas.EventoDibujo;
+import dev.adsa.clases.metricas.MetricasPartida;
+import dev.adsa.clases.metricas.MetricasPartida.Fase;
+import dev.adsa.clases.metricas.MonitorJuego;
+import dev.adsa.clases.tableros.Tablero;
+import dev.adsa.clases.tableros.TableroDisperso;
+
+/**
+ * Clase para iniciar el juego en tableros de hasta 10.000 x 10.000 casillas.
+ * Las reglas son las del modo normal, pero el tablero solo guarda los bloques
+ * ocupados y por pantalla solo se dibuja una ventana que sigue a la cabeza.
+ */
+public class ModoTableroGigante extends JuegoBase {
+   /** Filas maximas de la ventana que se dibuja */
+   public static final int VISTA_FILAS = 20;
+   /** Columnas maximas de la ventana que se dibuja */
+   public static final int VISTA_COLUMNAS = 60;
+
+   /** Casillas del cuerpo de la serpiente, de la cola a la cabeza */
+   private CuerpoSerpiente cuerpo;
+   private final StringBuilder fila = new StringBuilder();
+
+   /* ----- Metodo constructor ----- */
+   /** Metodo constructor para este modo */
+   public ModoTableroGigante() {
+   }
+
+   /**
+    * Inicia el juego de Snake en un tablero gigante. Tiene las reglas del modo
+    * normal, pero los vecinos se calculan al momento porque una tabla de
+    * 10.000 x 10.000 casillas no cabe en memoria.
+    *
+    * @param configuracionSnake Un array que contiene la configuración inicial del
+    *                           juego: [ancho, alto, tiempo de espera en
+    *                           milisegundos, admite colores].
+    * @param partida            La partida que se va a jugar.
+    * @return El puntaje final calculado al final del juego.
+    * @throws IOException          Si ocurre un error durante la lectura del
+    *                              archivo de comandos.
+    * @throws InterruptedException Si el hilo de ejecución es interrumpido durante
+    *                              el tiempo de espera.
+    */
+   @Override
+   public double iniciarJuego(int[] configuracionSnake, Partida partida) throws IOException, InterruptedException {
+      final int[] DIMENSIONES = { configuracionSnake[0], configuracionSnake[1] };
+      final int TIEMPOMILISEGUNDOS = configuracionSnake[2];
+      final int ADMITECOLORES = configuracionSnake[3];
+
+      String nuevaDireccion;
+      int snakeLongitud = 3;
+      boolean win = false;
+      boolean alive = true;
+      boolean haComido = true;
+      String direcion = "D";
+
+      FuenteDirecciones fr = abrirFuenteDirecciones();
+      MetricasPartida metricas = MonitorJuego.empezarPartida(TIEMPOMILISEGUNDOS);
+
+      inicializarTableroGigante(DIMENSIONES);
+
+      RitmoJuego ritmo = new RitmoJuego(TIEMPOMILISEGUNDOS);
+      do {
+         metricas.empezarTick();
+
+         if (haComido) {
+            generarFrutaGigante();
+            haComido = false;
+         }
+         metricas.terminarFase(Fase.FRUTA);
+
+         boolean dibujado = ritmo.tocaDibujar();
+         if (dibujado) {
+            salida.anadir("Longitud de la serpiente: ").anadirNumero(snakeLongitud).anadir(" | Cabeza en fila ")
+                  .anadirNumero(getCordsCabeza()[1]).anadir(", columna ").anadirNumero(getCordsCabeza()[0] - 1)
+                  .saltoLinea();
+            mostrarVista(ADMITECOLORES);
+            ritmo.terminarDibujo();
+            metricas.terminarFase(Fase.DIBUJO);
+         }
+
+         // Tiempo de espera con hilos
+         ritmo.esperar();
+         if (dibujado)
+            separacion(salida);
+         metricas.terminarFase(Fase.ESPERA);
+
+         nuevaDireccion = fr.siguienteDireccion(this, direcion);
+         if (ReglasMovimiento.indiceDireccion(nuevaDireccion.charAt(0)) != ReglasMovimiento.NINGUNA)
+            direcion = nuevaDireccion;
+         metricas.terminarFase(Fase.ENTRADA);
+
+         int fila = getCordsCabeza()[1];
+         int columna = getCordsCabeza()[0] - 1;
+         switch (direcion.charAt(0)) {
+            case 'W' -> fila--;
+            case 'A' -> columna--;
+            case 'S' -> fila++;
+            default -> columna++;
+         }
+
+         if (fila < 0 || fila >= DIMENSIONES[0] || columna < 0 || columna >= DIMENSIONES[1]) {
+            // Se ha chocado con el borde del tablero
+            alive = false;
+         } else {
+            if (getTablero().getCasilla(fila, columna) == Tablero.FRUTA) {
+               haComido = true;
+               snakeLongitud++;
+            }
+
+            if (!haComido)
+               eliminarColaGigante();
+
+            if (getTablero().getCasilla(fila, columna) == Tablero.SERPIENTE)
+               alive = false;
+            getTablero().setCasilla(fila, columna, Tablero.SERPIENTE);
+            cuerpo.anadirCabeza(fila * DIMENSIONES[1] + columna);
+            setCordsCabeza(columna + 1, fila);
+         }
+
+         if (snakeLongitud == (long) DIMENSIONES[0] * DIMENSIONES[1])
+            win = true;
+         metricas.terminarFase(Fase.REGLAS);
+         metricas.terminarTick(snakeLongitud);
+
+      } while (alive && !win);
+
+      System.out.println(alive ? "Enhorabuena, has ganado" : "Has perdido");
+      fr.close();
+      partida.setGanado(win);
+      partida.setLongitudSerpiente(snakeLongitud);
+      guardarTiempos(metricas, partida);
+      return calcularPuntaje(snakeLongitud, DIMENSIONES[0], DIMENSIONES[1], ritmo.getMilisegundosPorTick());
+   }
+
+   /**
+    * Crea el tablero disperso y coloca la serpiente en la esquina superior
+    * izquierda, igual que en el resto de modos.
+    *
+    * @param dimensiones Son las dimensiones que debe tener el tablero
+    */
+   private void inicializarTableroGigante(int[] dimensiones) {
+      setTablero(new TableroDisperso(dimensiones[0], dimensiones[1]));
+      Tablero tablero = getTablero();
+      cuerpo = new CuerpoSerpiente();
+      for (int columna = 0; columna < 3; columna++) {
+         tablero.setCasilla(0, columna, Tablero.SERPIENTE);
+         cuerpo.anadirCabeza(columna);
+      }
+      setCordsCabeza(new int[] { 3, 0 });
+      setCordsCola(new int[] { 1, 0 });
+   }
+
+   /**
+    * Genera una fruta en una casilla libre. Como el tablero casi siempre esta
+    * vacio se prueban casillas al azar y solo si fallan todas se busca la
+    * siguiente libre.
+    */
+   private void generarFrutaGigante() {
+      Tablero tablero = getTablero();
+      int filas = tablero.getFilas();
+      int columnas = tablero.getColumnas();
+      int fila = getAleatorio().siguienteEntero(filas);
+      int columna = getAleatorio().siguienteEntero(columnas);
+
+      for (int intento = 0; intento < 64 && tablero.getCasilla(fila, columna) != Tablero.VACIA; intento++) {
+         fila = getAleatorio().siguienteEntero(filas);
+         columna = getAleatorio().siguienteEntero(columnas);
+      }
+      while (tablero.getCasilla(fila, columna) != Tablero.VACIA) {
+         if (++columna == columnas) {
+            columna = 0;
+            fila = (fila + 1) % filas;
+         }
+      }
+      tablero.setCasilla(fila, columna, Tablero.FRUTA);
+   }
+
+   /**
+    * Elimina la cola de la serpiente y mueve las coordenadas de la cola a la
+    * siguiente casilla del cuerpo.
+    */
+   private void eliminarColaGigante() {
+      Tablero tablero = getTablero();
+      int columnas = tablero.getColumnas();
+      int cola = cuerpo.quitarCola();
+      tablero.setCasilla(cola / columnas, cola % columnas, Tablero.VACIA);
+
+      int nuevaCola = cuerpo.getCola();
+      setCordsCola(nuevaCola % columnas + 1, nuevaCola / columnas);
+   }
+
+   /**
+    * Muestra por consola la ventana del tablero centrada en la cabeza. La camara
+    * no se sale del tablero, asi que en los bordes la cabeza deja de estar en el
+    * centro.
+    *
+    * @param admiteColores Es un boolean que indica si la consola admite colores
+    * @throws IOException Si no se puede escribir en la consola
+    */
+   private void mostrarVista(int admiteColores) throws IOException {
+      EventoDibujo evento = EventoDibujo.empezar();
+      Tablero tablero = getTablero();
+      int altoVista = Math.min(VISTA_FILAS, tablero.getFilas());
+      int anchoVista = Math.min(VISTA_COLUMNAS, tablero.getColumnas());
+      int primeraFila = camara(getCordsCabeza()[1], altoVista, tablero.getFilas());
+      int primeraColumna = camara(getCordsCabeza()[0] - 1, anchoVista, tablero.getColumnas());
+
+      for (int f = primeraFila; f < primeraFila + altoVista; f++) {
+         fila.setLength(0);
+         // Los bordes solo se dibujan si son los del tablero de verdad
+         fila.append(primeraColumna == 0 ? "=" : " ");
+         for (int c = primeraColumna; c < primeraColumna + anchoVista; c++) {
+            switch (tablero.getCasilla(f, c)) {
+               case Tablero.SERPIENTE -> {
+                  int parteSnake = (f == getCordsCabeza()[1] && c == getCordsCabeza()[0] - 1) ? 2
+                        : (f == getCordsCola()[1] && c == getCordsCola()[0] - 1) ? 0 : 1;
+                  fila.append(SNAKE[admiteColores][parteSnake]);
+               }
+               case Tablero.FRUTA -> fila.append(FRUTA[admiteColores][0]);
+               default -> fila.append(" ");
+            }
+         }
+         fila.append(primeraColumna + anchoVista == tablero.getColumnas() ? "=" : " ");
+         salida.anadirLinea(fila);
+      }
+      salida.escribir();
+      evento.terminar(altoVista, anchoVista, admiteColores != 0);
+   }
+
+   /**
+    * Calcula la primera fila o columna de la ventana para que la cabeza quede en
+    * el centro sin salirse del tablero.
+    *
+    * @param posicion      La fila o columna de la cabeza.
+    * @param tamanoVista   El alto o ancho de la ventana.
+    * @param tamanoTablero El alto o ancho del tablero.
+    * @return La primera fila o columna que se dibuja.
+    */
+   private static int camara(int posicion, int tamanoVista, int tamanoTablero) {
+      return Math.max(0, Math.min(posicion - tamanoVista / 2, tamanoTablero - tamanoVista));
+   }
+}
@@ -0,0 +1,89 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Cache de los niveles leidos, los que menos se usan se descartan
+ * @see Nivel
+ */
+package dev.adsa.clases.niveles;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache de los niveles leidos. Cada nivel se guarda con la fecha de
+ * modificacion de su archivo: mientras no cambie, volver a jugarlo no lee el
+ * archivo ni calcula las reglas. Como mucho se guardan {@value #MAXIMO}
+ * niveles y al pasarse se quita el que hace mas tiempo que no se usa.
+ */
+public final class CacheNiveles {
+   /** Carpeta de los niveles */
+   public static final Path CARPETA = Path.of("Niveles");
+   /** Maximo de niveles guardados */
+   public static final int MAXIMO = 16;
+
+   /** Nivel leido con la fecha de modificacion que tenia su archivo */
+   private record Leido(long modificado, Nivel nivel) {
+   }
+
+   /** Niveles por archivo, en orden de uso */
+   private static final Map<Path, Leido> NIVELES = new LinkedHashMap<>(MAXIMO, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Path, Leido> mayor) {
+         return size() > MAXIMO;
+      }
+   };
+
+   /** Constructor privado, todos los metodos son estaticos */
+   private CacheNiveles() {
+   }
+
+   /**
+    * Devuelve un nivel, leyendolo si no esta en la cache o si su archivo ha
+    * cambiado.
+    *
+    * @param archivo El archivo del nivel.
+    * @return El nivel.
+    * @throws IOException Si no se puede leer el archivo o no es un nivel valido.
+    */
+   public static Nivel obtener(Path archivo) throws IOException {
+      Path ruta = archivo.toAbsolutePath().normalize();
+      long modificado = Files.getLastModifiedTime(ruta).toMillis();
+      synchronized (NIVELES) {
+         Leido leido = NIVELES.get(ruta);
+         if (leido != null && leido.modificado() == modificado)
+            return leido.nivel();
+      }
+
+      // Se lee fuera del bloqueo para no frenar a las sesiones que juegan otros niveles
+      Nivel nivel = Nivel.leer(ruta);
+      synchronized (NIVELES) {
+         NIVELES.put(ruta, new Leido(modificado, nivel));
+      }
+      return nivel;
+   }
+
+   /**
+    * Devuelve los archivos de nivel de la carpeta {@link #CARPETA} ordenados
+    * por nombre.
+    *
+    * @return Los archivos, vacio si no existe la carpeta.
+    * @throws IOException Si no se puede leer la carpeta.
+    */
+   public static List<Path> listar() throws IOException {
+      List<Path> archivos = new ArrayList<>();
+      if (!Files.isDirectory(CARPETA))
+         return archivos;
+      try (DirectoryStream<Path> carpeta = Files.newDirectoryStream(CARPETA, "*" + Nivel.EXTENSION)) {
+         for (Path archivo : carpeta)
+            archivos.add(archivo);
+      }
+      archivos.sort(null);
+      return archivos;
+   }
+}
@@ -0,0 +1,240 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Generador de niveles aleatorios con todas las casillas libres conectadas
+ * @see Nivel
+ */
+package dev.adsa.clases.niveles;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import dev.adsa.clases.Aleatorio;
+
+/**
+ * Generador de niveles aleatorios. Cada candidato pone tramos de pared en
+ * horizontal o vertical hasta llegar a la densidad pedida (como los tramos no
+ * se tocan no pasa de un 27% mas o menos) y se comprueba con un relleno desde
+ * la casilla de la cabeza inicial que se puede llegar a todas las casillas
+ * libres; si no, se descarta.
+ *
+ * Los candidatos se generan en paralelo, cada uno con su propio
+ * {@link Aleatorio} sacado de la semilla y su numero, asi con la misma semilla
+ * siempre sale el mismo nivel aunque cambie el numero de nucleos. Los niveles
+ * generados se guardan por semilla.
+ */
+public final class GeneradorNiveles {
+   /** Densidad de obstaculos de los niveles aleatorios del menu */
+   public static final double DENSIDAD_POR_DEFECTO = 0.12;
+   /** Maximo de candidatos que se prueban para un nivel */
+   public static final int INTENTOS = 1024;
+   /** Maximo de niveles guardados */
+   public static final int MAXIMO = 64;
+   /** Longitud maxima de un tramo de pared */
+   private static final int TRAMO = 6;
+   /** Casillas de la salida de la serpiente, se dejan siempre libres */
+   private static final int SALIDA = 4;
+   /** Incremento entre las semillas de los candidatos */
+   private static final long INCREMENTO = 0x9E3779B97F4A7C15L;
+
+   /** Niveles generados por dimensiones, densidad y semilla, en orden de uso */
+   private static final Map<String, Nivel> NIVELES = new LinkedHashMap<>(MAXIMO, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Nivel> mayor) {
+         return size() > MAXIMO;
+      }
+   };
+
+   /** Constructor privado, todos los metodos son estaticos */
+   private GeneradorNiveles() {
+   }
+
+   /**
+    * Devuelve el nivel de una semilla, generandolo si no esta guardado.
+    *
+    * @param filas    El numero de filas.
+    * @param columnas El numero de columnas.
+    * @param densidad La parte de las casillas con obstaculo, entre 0 y 0.5.
+    * @param semilla  La semilla del nivel.
+    * @return El nivel o null si ningun candidato tiene todas las casillas
+    *         conectadas.
+    */
+   public static Nivel obtener(int filas, int columnas, double densidad, long semilla) {
+      String clave = filas + "x" + columnas + ":" + densidad + ":" + semilla;
+      synchronized (NIVELES) {
+         Nivel nivel = NIVELES.get(clave);
+         if (nivel != null)
+            return nivel;
+      }
+
+      Nivel nivel = generar(filas, columnas, densidad, semilla);
+      if (nivel != null) {
+         synchronized (NIVELES) {
+            NIVELES.put(clave, nivel);
+         }
+      }
+      return nivel;
+   }
+
+   /**
+    * Genera el nivel de una semilla sin mirar los guardados. Los candidatos se
+    * prueban en paralelo y se queda el primero valido por orden, no el primero
+    * que termina.
+    *
+    * @param filas    El numero de filas.
+    * @param columnas El numero de columnas.
+    * @param densidad La parte de las casillas con obstaculo, entre 0 y 0.5.
+    * @param semilla  La semilla del nivel.
+    * @return El nivel o null si ningun candidato tiene todas las casillas
+    *         conectadas.
+    */
+   public static Nivel generar(int filas, int columnas, double densidad, long semilla) {
+      Optional<BitSet> valido = IntStream.range(0, INTENTOS).parallel()
+            .mapToObj(intento -> candidato(filas, columnas, densidad, semilla + intento * INCREMENTO))
+            .filter(obstaculos -> estaConectado(filas, columnas, obstaculos))
+            .findFirst();
+      return valido.map(obstaculos -> new Nivel("aleatorio_" + semilla, filas, columnas, false, obstaculos))
+            .orElse(null);
+   }
+
+   /**
+    * Genera varios niveles en paralelo, uno por semilla desde la primera.
+    *
+    * @param filas    El numero de filas.
+    * @param columnas El numero de columnas.
+    * @param densidad La parte de las casillas con obstaculo, entre 0 y 0.5.
+    * @param primera  La semilla del primer nivel.
+    * @param cantidad El numero de niveles.
+    * @return Los niveles en orden de semilla, sin los que no se han podido
+    *         generar.
+    */
+   public static List<Nivel> generarVarios(int filas, int columnas, double densidad, long primera, int cantidad) {
+      return IntStream.range(0, cantidad).parallel()
+            .mapToObj(i -> obtener(filas, columnas, densidad, primera + i))
+            .filter(nivel -> nivel != null)
+            .toList();
+   }
+
+   /**
+    * Pone tramos de pared al azar hasta llegar a la densidad. Un tramo solo se
+    * pone si no toca a otro ni en diagonal, asi casi nunca cierran un hueco y
+    * casi todos los candidatos son validos. La salida de la serpiente se deja
+    * libre.
+    *
+    * @param filas    El numero de filas.
+    * @param columnas El numero de columnas.
+    * @param densidad La parte de las casillas con obstaculo.
+    * @param semilla  La semilla del candidato.
+    * @return Las casillas con obstaculo.
+    */
+   private static BitSet candidato(int filas, int columnas, double densidad, long semilla) {
+      Aleatorio aleatorio = new Aleatorio(semilla);
+      int casillas = filas * columnas;
+      int objetivo = (int) (casillas * Math.max(0, Math.min(0.5, densidad)));
+      BitSet obstaculos = new BitSet(casillas);
+      int puestos = 0;
+
+      // Si la densidad es demasiado alta para tramos separados se para antes
+      for (int intento = 0; puestos < objetivo && intento < casillas * 4; intento++) {
+         int fila = aleatorio.siguienteEntero(filas);
+         int columna = aleatorio.siguienteEntero(columnas);
+         boolean horizontal = aleatorio.siguienteEntero(2) == 0;
+         int longitud = Math.min(1 + aleatorio.siguienteEntero(TRAMO),
+               horizontal ? columnas - columna : filas - fila);
+         int ultimaFila = horizontal ? fila : fila + longitud - 1;
+         int ultimaColumna = horizontal ? columna + longitud - 1 : columna;
+         if (fila * columnas + columna < SALIDA || tocaObstaculo(obstaculos, filas, columnas, fila, columna,
+               ultimaFila, ultimaColumna))
+            continue;
+
+         for (int f = fila; f <= ultimaFila; f++)
+            obstaculos.set(f * columnas + columna, f * columnas + ultimaColumna + 1);
+         puestos += longitud;
+      }
+      return obstaculos;
+   }
+
+   /**
+    * Comprueba si un rectangulo o las casillas de alrededor tienen algun
+    * obstaculo.
+    *
+    * @param obstaculos    Las casillas con obstaculo.
+    * @param filas         El numero de filas.
+    * @param columnas      El numero de columnas.
+    * @param fila          La primera fila del rectangulo.
+    * @param columna       La primera columna del rectangulo.
+    * @param ultimaFila    La ultima fila del rectangulo.
+    * @param ultimaColumna La ultima columna del rectangulo.
+    * @return true si hay algun obstaculo.
+    */
+   private static boolean tocaObstaculo(BitSet obstaculos, int filas, int columnas, int fila, int columna,
+         int ultimaFila, int ultimaColumna) {
+      int desdeColumna = Math.max(0, columna - 1);
+      int hastaColumna = Math.min(columnas - 1, ultimaColumna + 1);
+      for (int f = Math.max(0, fila - 1); f <= Math.min(filas - 1, ultimaFila + 1); f++) {
+         int siguiente = obstaculos.nextSetBit(f * columnas + desdeColumna);
+         if (siguiente != -1 && siguiente <= f * columnas + hastaColumna)
+            return true;
+      }
+      return false;
+   }
+
+   /**
+    * Comprueba con un relleno desde la cabeza inicial que se puede llegar a
+    * todas las casillas libres.
+    *
+    * @param filas      El numero de filas.
+    * @param columnas   El numero de columnas.
+    * @param obstaculos Las casillas con obstaculo.
+    * @return true si todas las casillas libres estan conectadas.
+    */
+   static boolean estaConectado(int filas, int columnas, BitSet obstaculos) {
+      int casillas = filas * columnas;
+      int libres = casillas - obstaculos.cardinality();
+      BitSet visitadas = new BitSet(casillas);
+      int[] pendientes = new int[libres];
+      int inicio = 0;
+      int fin = 0;
+
+      // La cabeza empieza en la columna 2 de la primera fila
+      pendientes[fin++] = 2;
+      visitadas.set(2);
+      while (inicio < fin) {
+         int casilla = pendientes[inicio++];
+         int fila = casilla / columnas;
+         int columna = casilla % columnas;
+         if (fila > 0)
+            fin = visitar(casilla - columnas, obstaculos, visitadas, pendientes, fin);
+         if (fila < filas - 1)
+            fin = visitar(casilla + columnas, obstaculos, visitadas, pendientes, fin);
+         if (columna > 0)
+            fin = visitar(casilla - 1, obstaculos, visitadas, pendientes, fin);
+         if (columna < columnas - 1)
+            fin = visitar(casilla + 1, obstaculos, visitadas, pendientes, fin);
+      }
+      return fin == libres;
+   }
+
+   /**
+    * Añade una casilla a las pendientes del relleno si esta libre y no se ha
+    * visitado.
+    *
+    * @param casilla    La casilla.
+    * @param obstaculos Las casillas con obstaculo.
+    * @param visitadas  Las casillas ya visitadas.
+    * @param pendientes La cola del relleno.
+    * @param fin        El final de la cola.
+    * @return El nuevo final de la cola.
+    */
+   private static int visitar(int casilla, BitSet obstaculos, BitSet visitadas, int[] pendientes, int fin) {
+      if (obstaculos.get(casilla) || visitadas.get(casilla))
+         return fin;
+      visitadas.set(casilla);
+      pendientes[fin] = casilla;
+      return fin + 1;
+   }
+}
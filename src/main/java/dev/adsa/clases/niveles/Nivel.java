@@ -0,0 +1,212 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Nivel con obstaculos leido de un archivo mapeado en memoria
+ * @see CacheNiveles
+ */
+package dev.adsa.clases.niveles;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+import dev.adsa.clases.ReglasMovimiento;
+
+/**
+ * Nivel con obstaculos. El archivo empieza con una cabecera de
+ * {@value #CABECERA} bytes: el numero magico, la version, las banderas (bit 0
+ * atravesar paredes), las filas y las columnas, en big endian para que el
+ * mismo archivo sirva en cualquier maquina. Despues va un bit por casilla
+ * (fila * columnas + columna), el bit 0 de cada byte primero, a 1 si la
+ * casilla tiene obstaculo.
+ *
+ * Al crear el nivel se calculan sus reglas de movimiento con los obstaculos
+ * como paredes, asi volver a jugarlo no tiene que calcular nada.
+ */
+public final class Nivel {
+   /** Numero magico de la cabecera, "SNKN" */
+   public static final int MAGIA = 0x534E4B4E;
+   /** Tamaño de la cabecera en bytes */
+   public static final int CABECERA = 16;
+   /** Maximo de filas y de columnas de un nivel */
+   public static final int MAXIMO_LADO = 1000;
+   /** Extension de los archivos de nivel */
+   public static final String EXTENSION = ".nivel";
+   private static final short VERSION = 1;
+   /** Bandera de los niveles en los que se atraviesan las paredes */
+   private static final short ATRAVIESA_PAREDES = 1;
+
+   private final String nombre;
+   private final int filas;
+   private final int columnas;
+   private final boolean atraviesaParedes;
+   private final BitSet obstaculos;
+   private final ReglasMovimiento reglas;
+
+   /**
+    * Constructor que comprueba el nivel y calcula sus reglas
+    *
+    * @param nombre           El nombre del nivel.
+    * @param filas            El numero de filas, entre 3 y
+    *                         {@value #MAXIMO_LADO}.
+    * @param columnas         El numero de columnas, entre 3 y
+    *                         {@value #MAXIMO_LADO}.
+    * @param atraviesaParedes true si al salir por un borde se entra por el
+    *                         opuesto.
+    * @param obstaculos       Las casillas con obstaculo, se copian.
+    * @throws IllegalArgumentException Si las dimensiones no son validas o los
+    *                                  obstaculos tapan la salida de la
+    *                                  serpiente.
+    */
+   public Nivel(String nombre, int filas, int columnas, boolean atraviesaParedes, BitSet obstaculos) {
+      if (filas < 3 || columnas < 3 || filas > MAXIMO_LADO || columnas > MAXIMO_LADO)
+         throw new IllegalArgumentException("El nivel " + nombre + " tiene unas dimensiones no validas");
+      // La serpiente empieza en las 3 primeras casillas y se mueve a la derecha
+      int salida = Math.min(4, columnas);
+      if (obstaculos.nextSetBit(0) != -1 && obstaculos.nextSetBit(0) < salida)
+         throw new IllegalArgumentException("El nivel " + nombre + " tapa la salida de la serpiente");
+
+      this.nombre = nombre;
+      this.filas = filas;
+      this.columnas = columnas;
+      this.atraviesaParedes = atraviesaParedes;
+      this.obstaculos = obstaculos.get(0, filas * columnas);
+      this.reglas = ReglasMovimiento.conObstaculos(filas, columnas, atraviesaParedes, this.obstaculos);
+   }
+
+   /**
+    * Lee un nivel mapeando su archivo en memoria.
+    *
+    * @param archivo El archivo del nivel.
+    * @return El nivel.
+    * @throws IOException Si no se puede leer el archivo o no es un nivel valido.
+    */
+   public static Nivel leer(Path archivo) throws IOException {
+      try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+         if (canal.size() < CABECERA)
+            throw new IOException("El archivo " + archivo + " no es un nivel");
+         MappedByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+         if (datos.getInt(0) != MAGIA)
+            throw new IOException("El archivo " + archivo + " no es un nivel");
+         if (datos.getShort(4) != VERSION)
+            throw new IOException("El nivel " + archivo + " es de otra version");
+
+         boolean atraviesaParedes = (datos.getShort(6) & ATRAVIESA_PAREDES) != 0;
+         int filas = datos.getInt(8);
+         int columnas = datos.getInt(12);
+         if (filas < 3 || columnas < 3 || filas > MAXIMO_LADO || columnas > MAXIMO_LADO)
+            throw new IOException("El nivel " + archivo + " tiene unas dimensiones no validas");
+         int bytes = bytesObstaculos(filas, columnas);
+         if (canal.size() < CABECERA + (long) bytes)
+            throw new IOException("El nivel " + archivo + " esta incompleto");
+
+         // BitSet lee los bytes con el bit 0 primero, igual que el archivo
+         BitSet obstaculos = BitSet.valueOf(datos.slice(CABECERA, bytes));
+         return new Nivel(nombreArchivo(archivo), filas, columnas, atraviesaParedes, obstaculos);
+      } catch (IllegalArgumentException e) {
+         throw new IOException(e.getMessage(), e);
+      }
+   }
+
+   /**
+    * Guarda el nivel en un archivo, si existe se sobreescribe.
+    *
+    * @param archivo El archivo del nivel.
+    * @throws IOException Si no se puede escribir el archivo.
+    */
+   public void guardar(Path archivo) throws IOException {
+      ByteBuffer datos = ByteBuffer.allocate(CABECERA + bytesObstaculos(filas, columnas));
+      datos.putInt(MAGIA);
+      datos.putShort(VERSION);
+      datos.putShort(atraviesaParedes ? ATRAVIESA_PAREDES : 0);
+      datos.putInt(filas);
+      datos.putInt(columnas);
+      // toByteArray no incluye los ultimos bytes a 0, el resto del buffer ya lo esta
+      datos.put(obstaculos.toByteArray());
+      Files.write(archivo, datos.array());
+   }
+
+   /**
+    * Devuelve los bytes que ocupan los obstaculos de un tablero.
+    *
+    * @param filas    El numero de filas.
+    * @param columnas El numero de columnas.
+    * @return Un byte por cada 8 casillas, redondeado hacia arriba.
+    */
+   private static int bytesObstaculos(int filas, int columnas) {
+      return (filas * columnas + 7) / 8;
+   }
+
+   /**
+    * Devuelve el nombre de un nivel a partir de su archivo.
+    *
+    * @param archivo El archivo del nivel.
+    * @return El nombre del archivo sin la extension.
+    */
+   public static String nombreArchivo(Path archivo) {
+      String nombre = archivo.getFileName().toString();
+      return nombre.endsWith(EXTENSION) ? nombre.substring(0, nombre.length() - EXTENSION.length()) : nombre;
+   }
+
+   /**
+    * Devuelve el nombre del nivel.
+    *
+    * @return El nombre.
+    */
+   public String getNombre() {
+      return nombre;
+   }
+
+   /**
+    * Devuelve el numero de filas del nivel.
+    *
+    * @return El numero de filas.
+    */
+   public int getFilas() {
+      return filas;
+   }
+
+   /**
+    * Devuelve el numero de columnas del nivel.
+    *
+    * @return El numero de columnas.
+    */
+   public int getColumnas() {
+      return columnas;
+   }
+
+   /**
+    * Indica si en el nivel se atraviesan las paredes.
+    *
+    * @return true si se atraviesan las paredes.
+    */
+   public boolean atraviesaParedes() {
+      return atraviesaParedes;
+   }
+
+   /**
+    * Indica si una casilla tiene obstaculo.
+    *
+    * @param fila    La fila de la casilla.
+    * @param columna La columna de la casilla.
+    * @return true si tiene obstaculo.
+    */
+   public boolean esObstaculo(int fila, int columna) {
+      return obstaculos.get(fila * columnas + columna);
+   }
+
+   /**
+    * Devuelve las reglas de movimiento del nivel, con los obstaculos como
+    * paredes.
+    *
+    * @return Las reglas de movimiento.
+    */
+   public ReglasMovimiento getReglas() {
+      return reglas;
+   }
+}
@@ -0,0 +1,158 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Serpiente fantasma que repite una partida grabada tick a tick
+ * @see Repeticiones
+ */
+package dev.adsa.clases.repeticion;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import dev.adsa.clases.ReglasMovimiento;
+import dev.adsa.clases.modos.CuerpoSerpiente;
+
+/**
+ * Serpiente fantasma que repite una partida grabada a la vez que la partida en
+ * juego. La repeticion no se carga entera: en cada tick se lee el byte
+ * siguiente del archivo y se mueve la cabeza y, si no comio, la cola, asi cada
+ * tick cuesta lo mismo sea larga o corta la partida.
+ *
+ * Las casillas del fantasma se marcan en un array aparte del tablero, el
+ * fantasma no choca con nada ni cambia la partida, solo se dibuja. Cuando se
+ * acaba la repeticion desaparece.
+ */
+public class Fantasma implements AutoCloseable {
+   private final DataInputStream entrada;
+   private final ReglasMovimiento reglas;
+   /** 1 en las casillas que ocupa el fantasma */
+   private final byte[] casillas;
+   private final CuerpoSerpiente cuerpo = new CuerpoSerpiente();
+   private boolean terminado;
+
+   /**
+    * Constructor que lee la cabecera y pone el fantasma en la salida, en la
+    * primera fila con la cabeza en la columna 2.
+    *
+    * @param archivo El archivo de la repeticion.
+    * @param reglas  Las reglas de movimiento de la partida en juego.
+    * @throws IOException Si no se puede leer el archivo o no es de este
+    *                     tablero.
+    */
+   public Fantasma(Path archivo, ReglasMovimiento reglas) throws IOException {
+      this.entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo)));
+      this.reglas = reglas;
+      try {
+         if (entrada.readInt() != Repeticiones.MAGIA)
+            throw new IOException("No es una repeticion");
+         if (entrada.readShort() != Repeticiones.VERSION)
+            throw new IOException("La repeticion es de otra version");
+         boolean atraviesaParedes = (entrada.readShort() & Repeticiones.ATRAVIESA_PAREDES) != 0;
+         if (entrada.readInt() != reglas.getFilas() || entrada.readInt() != reglas.getColumnas()
+               || atraviesaParedes != reglas.atraviesaParedes())
+            throw new IOException("La repeticion es de otro tablero");
+      } catch (IOException e) {
+         entrada.close();
+         throw e instanceof EOFException ? new IOException("La repeticion esta incompleta", e) : e;
+      }
+
+      casillas = new byte[reglas.getFilas() * reglas.getColumnas()];
+      for (int casilla = 0; casilla < 3; casilla++) {
+         cuerpo.anadirCabeza(casilla);
+         casillas[casilla] = 1;
+      }
+   }
+
+   /**
+    * Abre el fantasma de una repeticion, si no se puede se juega sin fantasma.
+    *
+    * @param archivo El archivo de la repeticion.
+    * @param reglas  Las reglas de movimiento de la partida en juego.
+    * @return El fantasma o null si no se puede leer la repeticion.
+    */
+   public static Fantasma abrir(Path archivo, ReglasMovimiento reglas) {
+      try {
+         return new Fantasma(archivo, reglas);
+      } catch (IOException e) {
+         System.out.println(e.getMessage() + ", se juega sin fantasma");
+         return null;
+      }
+   }
+
+   /**
+    * Mueve el fantasma un tick con el siguiente byte de la repeticion. Si se
+    * ha acabado o esta mal, el fantasma desaparece.
+    */
+   public void avanzar() {
+      if (terminado)
+         return;
+      int tick;
+      try {
+         tick = entrada.read();
+      } catch (IOException e) {
+         System.out.println("No se ha podido leer la repeticion: " + e.getMessage());
+         tick = -1;
+      }
+      int cabeza = tick == -1 ? ReglasMovimiento.PARED : reglas.vecino(cuerpo.getCabeza(), tick & 3);
+      if (cabeza == ReglasMovimiento.PARED) {
+         terminar();
+         return;
+      }
+
+      // La cola se quita antes por si la cabeza entra en la casilla que deja
+      if ((tick & Repeticiones.HA_COMIDO) == 0)
+         casillas[cuerpo.quitarCola()] = 0;
+      cuerpo.anadirCabeza(cabeza);
+      casillas[cabeza] = 1;
+   }
+
+   /**
+    * Devuelve las casillas que ocupa el fantasma, el array es siempre el mismo
+    * y cambia en cada tick.
+    *
+    * @return 1 en las casillas del fantasma (fila * columnas + columna), 0 en
+    *         el resto.
+    */
+   public byte[] getCasillas() {
+      return casillas;
+   }
+
+   /**
+    * Devuelve la longitud del fantasma.
+    *
+    * @return La longitud, 0 si ya ha desaparecido.
+    */
+   public int getLongitud() {
+      return cuerpo.getLongitud();
+   }
+
+   /**
+    * Indica si se ha acabado la repeticion.
+    *
+    * @return true si el fantasma ya ha desaparecido.
+    */
+   public boolean isTerminado() {
+      return terminado;
+   }
+
+   /**
+    * Cierra el archivo de la repeticion.
+    *
+    * @throws IOException Si no se puede cerrar el archivo.
+    */
+   @Override
+   public void close() throws IOException {
+      entrada.close();
+   }
+
+   /** Quita el fantasma del tablero y deja de leer la repeticion */
+   private void terminar() {
+      terminado = true;
+      while (cuerpo.getLongitud() > 0)
+         casillas[cuerpo.quitarCola()] = 0;
+   }
+}
@@ -0,0 +1,89 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Graba los movimientos de una partida tick a tick en su archivo de repeticion
+ * @see Repeticiones
+ */
+package dev.adsa.clases.repeticion;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Graba una partida en su archivo de repeticion con un byte por tick. Los
+ * bytes se juntan en un buffer y se escriben de 8 KiB en 8 KiB, asi grabar un
+ * tick no escribe en el disco. Si falla la escritura se deja de grabar y la
+ * partida sigue.
+ */
+public class GrabadorPartida implements AutoCloseable {
+   private final DataOutputStream salida;
+   private boolean fallido;
+
+   /**
+    * Constructor que crea el archivo y escribe la cabecera
+    *
+    * @param archivo          El archivo de la repeticion.
+    * @param filas            El numero de filas del tablero.
+    * @param columnas         El numero de columnas del tablero.
+    * @param atraviesaParedes true si es el modo atravesar paredes.
+    * @throws IOException Si no se puede crear el archivo.
+    */
+   public GrabadorPartida(Path archivo, int filas, int columnas, boolean atraviesaParedes) throws IOException {
+      Files.createDirectories(archivo.getParent());
+      salida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(archivo)));
+      salida.writeInt(Repeticiones.MAGIA);
+      salida.writeShort(Repeticiones.VERSION);
+      salida.writeShort(atraviesaParedes ? Repeticiones.ATRAVIESA_PAREDES : 0);
+      salida.writeInt(filas);
+      salida.writeInt(columnas);
+   }
+
+   /**
+    * Crea el grabador de una partida, si no se puede crear el archivo se juega
+    * sin grabar.
+    *
+    * @param archivo          El archivo de la repeticion.
+    * @param filas            El numero de filas del tablero.
+    * @param columnas         El numero de columnas del tablero.
+    * @param atraviesaParedes true si es el modo atravesar paredes.
+    * @return El grabador o null si no se puede grabar.
+    */
+   public static GrabadorPartida abrir(Path archivo, int filas, int columnas, boolean atraviesaParedes) {
+      try {
+         return new GrabadorPartida(archivo, filas, columnas, atraviesaParedes);
+      } catch (IOException e) {
+         System.out.println("No se ha podido grabar la partida: " + e.getMessage());
+         return null;
+      }
+   }
+
+   /**
+    * Graba el movimiento de un tick.
+    *
+    * @param direccion El indice de la direccion de la cabeza (0 a 3).
+    * @param haComido  true si la serpiente ha comido en este tick.
+    */
+   public void grabar(int direccion, boolean haComido) {
+      if (fallido)
+         return;
+      try {
+         salida.write(direccion | (haComido ? Repeticiones.HA_COMIDO : 0));
+      } catch (IOException e) {
+         System.out.println("No se ha podido grabar la partida: " + e.getMessage());
+         fallido = true;
+      }
+   }
+
+   /**
+    * Escribe lo que quede en el buffer y cierra el archivo.
+    *
+    * @throws IOException Si no se puede escribir el archivo.
+    */
+   @Override
+   public void close() throws IOException {
+      salida.close();
+   }
+}
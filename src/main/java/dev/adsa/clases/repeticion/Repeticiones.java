@@ -0,0 +1,122 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Archivos de las repeticiones de las mejores partidas de cada jugador
+ * @see GrabadorPartida
+ * @see Fantasma
+ */
+package dev.adsa.clases.repeticion;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import dev.adsa.clases.Partida;
+import dev.adsa.clases.Player;
+
+/**
+ * Archivos de las repeticiones. Cada partida del modo normal o del modo
+ * atravesar paredes se graba en un archivo con el nombre del jugador y la fecha
+ * de inicio, asi se encuentra desde el historial de partidas aunque el jugador
+ * se haya cargado de la base de datos. Al terminar solo se deja la repeticion
+ * de la mejor partida de cada modo y tamaño de tablero.
+ *
+ * El formato (big endian) es: el numero magico, la version, las banderas (bit
+ * 0 atravesar paredes), las filas, las columnas y un byte por tick con la
+ * direccion de la cabeza en los 2 bits de abajo y en el bit 2 si comio.
+ */
+public final class Repeticiones {
+   /** Numero magico de la cabecera, "SNKR" */
+   public static final int MAGIA = 0x534E4B52;
+   /** Version del formato */
+   public static final short VERSION = 1;
+   /** Bandera de la cabecera de las partidas del modo atravesar paredes */
+   public static final short ATRAVIESA_PAREDES = 1;
+   /** Bit del byte de un tick que indica que la serpiente ha comido */
+   public static final int HA_COMIDO = 4;
+   /** Carpeta de las repeticiones */
+   public static final Path CARPETA = Path.of("Players", "Repeticiones");
+   /** Extension de los archivos de repeticion */
+   public static final String EXTENSION = ".rep";
+   /** La fecha se guarda en la base de datos sin fracciones de segundo */
+   private static final DateTimeFormatter FECHA = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+   /** Constructor privado, todos los metodos son estaticos */
+   private Repeticiones() {
+   }
+
+   /**
+    * Devuelve el archivo de la repeticion de una partida.
+    *
+    * @param nombreJugador El nombre del jugador.
+    * @param fechaInicio   La fecha de inicio de la partida.
+    * @return El archivo.
+    */
+   public static Path archivo(String nombreJugador, LocalDateTime fechaInicio) {
+      return CARPETA.resolve(nombreJugador + "_" + fechaInicio.format(FECHA) + EXTENSION);
+   }
+
+   /**
+    * Busca la repeticion de la mejor partida del jugador con el mismo modo y
+    * tamaño de tablero.
+    *
+    * @param player   El jugador.
+    * @param modo     El modo de juego de la partida.
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    * @return El archivo de la repeticion o null si la mejor partida no tiene.
+    */
+   public static Path mejor(Player player, String modo, int filas, int columnas) {
+      Partida mejor = player.mejorPartida(modo, filas, columnas);
+      if (mejor == null || mejor.getFechaInicio() == null)
+         return null;
+      Path archivo = archivo(player.getName(), mejor.getFechaInicio());
+      return Files.exists(archivo) ? archivo : null;
+   }
+
+   /**
+    * Deja solo la repeticion de la mejor partida. Si la partida nueva supera a
+    * la mejor del historial se borra la repeticion de la anterior, si no se
+    * borra la de la nueva. Se llama antes de añadir la partida al historial.
+    *
+    * @param player     El jugador.
+    * @param partida    La partida que acaba de terminar.
+    * @param puntuacion La puntuacion de la partida.
+    * @param archivo    El archivo de la repeticion de la partida.
+    */
+   public static void conservarMejor(Player player, Partida partida, double puntuacion, Path archivo) {
+      if (!Files.exists(archivo))
+         return;
+      Partida anterior = player.mejorPartida(partida.getModoDeJuego(), partida.getFilasTablero(),
+            partida.getColumnasTablero());
+      try {
+         if (anterior != null && anterior.getPuntuacion() >= puntuacion)
+            Files.deleteIfExists(archivo);
+         else if (anterior != null && anterior.getFechaInicio() != null)
+            Files.deleteIfExists(archivo(player.getName(), anterior.getFechaInicio()));
+      } catch (IOException e) {
+         System.out.println("No se ha podido borrar la repeticion: " + e.getMessage());
+      }
+   }
+
+   /**
+    * Borra todas las repeticiones de un jugador.
+    *
+    * @param nombreJugador El nombre del jugador.
+    */
+   public static void borrar(String nombreJugador) {
+      if (!Files.isDirectory(CARPETA))
+         return;
+      // Con la fecha en el patron no se borran las de otro jugador que empiece igual
+      try (DirectoryStream<Path> repeticiones = Files.newDirectoryStream(CARPETA,
+            nombreJugador + "_????????_??????" + EXTENSION)) {
+         for (Path archivo : repeticiones)
+            Files.deleteIfExists(archivo);
+      } catch (IOException e) {
+         System.out.println("No se han podido borrar las repeticiones: " + e.getMessage());
+      }
+   }
+}
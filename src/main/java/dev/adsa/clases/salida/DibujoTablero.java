@@ -0,0 +1,240 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Pasa las filas de un tablero a los simbolos que se ven por consola
+ * @see SalidaFotograma
+ * @see HiloDibujo
+ */
+package dev.adsa.clases.salida;
+
+import java.nio.charset.StandardCharsets;
+
+import dev.adsa.clases.tableros.EscaneoTablero;
+import dev.adsa.clases.tableros.Tablero;
+import dev.adsa.utils.ColoresConsola;
+
+/**
+ * Dibuja las filas de un tablero con sus simbolos. Guarda los arrays de cada
+ * fila para reutilizarlos, asi que cada hilo que dibuja necesita el suyo.
+ */
+public class DibujoTablero {
+   /** Simbolos de la fruta sin colores [0] y con colores [1] */
+   public static final String[][] FRUTA = {
+         { "@", "l" },
+         { ColoresConsola.ANSI_RED() + "@" + ColoresConsola.ANSI_RESET(),
+               ColoresConsola.ANSI_YELLOW() + "l" + ColoresConsola.ANSI_RESET() },
+   };
+
+   /** Simbolos de la cola (0), el cuerpo (1) y la cabeza (2) sin colores [0] y con colores [1] */
+   public static final String[][] SNAKE = {
+         { "*", "#", "O" },
+         { ColoresConsola.ANSI_RGB(116, 198, 157) + "*" + ColoresConsola.ANSI_RESET(),
+               ColoresConsola.ANSI_GREEN() + "#" + ColoresConsola.ANSI_RESET(),
+               ColoresConsola.ANSI_RGB(45, 106, 79) + "O" + ColoresConsola.ANSI_RESET() },
+   };
+
+   /** Simbolo de los obstaculos de los niveles sin colores [0] y con colores [1] */
+   public static final String[] OBSTACULO = { "=", ColoresConsola.ANSI_BROWN() + "=" + ColoresConsola.ANSI_RESET() };
+
+   /** Simbolo del fantasma de la mejor partida sin colores [0] y con colores [1] */
+   public static final String[] FANTASMA = { "+", ColoresConsola.ANSI_PURPLE() + "#" + ColoresConsola.ANSI_RESET() };
+
+   /** Las 30 lineas que separan un fotograma del siguiente, cada una con dos saltos */
+   public static final String SEPARACION = crearSeparacion();
+
+   private static final EscaneoTablero ESCANEO = EscaneoTablero.obtener();
+
+   /** Codigos de una fila leida del tablero */
+   private byte[] codigosFila = new byte[0];
+   /** Fila sin colores con los bordes */
+   private byte[] simbolosFila = new byte[0];
+   /** Casillas del fantasma que se dibujan en las vacias, null si no hay */
+   private byte[] fantasma;
+
+   /** Constructor que crea el dibujo sin arrays, se crean con la primera fila */
+   public DibujoTablero() {
+   }
+
+   /**
+    * Establece las casillas del fantasma que se dibujan encima del tablero. El
+    * fantasma solo se ve en las casillas vacias.
+    * 
+    * @param fantasma 1 en las casillas del fantasma (fila * columnas +
+    *                 columna), null para dibujar sin fantasma.
+    */
+   public void setFantasma(byte[] fantasma) {
+      this.fantasma = fantasma;
+   }
+
+   /**
+    * Añade la linea con la longitud de la serpiente que va encima del tablero,
+    * sin crear el String del numero. La usan el dibujo en el hilo del juego y el
+    * hilo de dibujo, asi los dos escriben lo mismo de la misma forma.
+    * 
+    * @param longitud La longitud de la serpiente.
+    * @param salida   El fotograma al que se añade la linea.
+    */
+   public static void anadirLongitud(int longitud, SalidaFotograma salida) {
+      salida.anadir("Longitud de la serpiente: ").anadirNumero(longitud).saltoLinea();
+   }
+
+   /**
+    * Añade todas las filas de un tablero a un fotograma, sin escribirlo.
+    * 
+    * @param tablero       El tablero que se dibuja.
+    * @param cabeza        Las coordenadas de la cabeza (columna + 1, fila).
+    * @param cola          Las coordenadas de la cola (columna + 1, fila).
+    * @param admiteColores 1 si la consola admite colores, 0 si no.
+    * @param salida        El fotograma al que se añaden las filas.
+    */
+   public void anadirTablero(Tablero tablero, int[] cabeza, int[] cola, int admiteColores, SalidaFotograma salida) {
+      for (int fila = 0; fila < tablero.getFilas(); fila++) {
+         anadirFila(tablero, cabeza, cola, fila, admiteColores, salida);
+         salida.saltoLinea();
+      }
+   }
+
+   /**
+    * Añade una fila del tablero con sus bordes a un fotograma, sin salto de
+    * linea y sin crear el String de la fila. Sirve para poner varios tableros
+    * uno al lado del otro.
+    * 
+    * @param tablero       El tablero que se dibuja.
+    * @param cabeza        Las coordenadas de la cabeza (columna + 1, fila).
+    * @param cola          Las coordenadas de la cola (columna + 1, fila).
+    * @param numFila       El numero de la fila.
+    * @param admiteColores 1 si la consola admite colores, 0 si no.
+    * @param salida        El fotograma al que se añade la fila.
+    */
+   public void anadirFila(Tablero tablero, int[] cabeza, int[] cola, int numFila, int admiteColores,
+         SalidaFotograma salida) {
+      if (admiteColores == 0) {
+         // Sin colores la fila ya esta en bytes
+         rellenarFilaSinColores(tablero, cabeza, cola, numFila);
+         salida.anadir(simbolosFila, 0, tablero.getColumnas() + 2);
+         return;
+      }
+
+      salida.anadir("=");
+      for (int columna = 0; columna < tablero.getColumnas(); columna++)
+         salida.anadir(simbolo(tablero, cabeza, cola, numFila, columna, admiteColores));
+      salida.anadir("=");
+   }
+
+   /**
+    * Genera una fila del tablero para mostrar por pantalla.
+    * 
+    * @param tablero       El tablero que se dibuja.
+    * @param cabeza        Las coordenadas de la cabeza (columna + 1, fila).
+    * @param cola          Las coordenadas de la cola (columna + 1, fila).
+    * @param numFila       El numero de la fila que se va a generar.
+    * @param admiteColores 1 si la consola admite colores, 0 si no.
+    * @return La fila generada como un String.
+    */
+   public String generarFila(Tablero tablero, int[] cabeza, int[] cola, int numFila, int admiteColores) {
+      if (admiteColores == 0) {
+         rellenarFilaSinColores(tablero, cabeza, cola, numFila);
+         return new String(simbolosFila, 0, tablero.getColumnas() + 2, StandardCharsets.ISO_8859_1);
+      }
+
+      // Utilizo un StringBuilder para trabajar mejor con la frase
+      StringBuilder fila = new StringBuilder();
+      // Borde izquierdo
+      fila.append("=");
+
+      for (int columna = 0; columna < tablero.getColumnas(); columna++) {
+         fila.append(simbolo(tablero, cabeza, cola, numFila, columna, admiteColores));
+      }
+      // Borde derecho
+      fila.append("=");
+
+      return fila.toString();
+   }
+
+   /**
+    * Devuelve el simbolo con colores de una casilla.
+    * 
+    * @param tablero       El tablero que se dibuja.
+    * @param cabeza        Las coordenadas de la cabeza (columna + 1, fila).
+    * @param cola          Las coordenadas de la cola (columna + 1, fila).
+    * @param numFila       El numero de la fila.
+    * @param columna       El numero de la columna.
+    * @param admiteColores 1 si la consola admite colores, 0 si no.
+    * @return El simbolo de la casilla.
+    */
+   private String simbolo(Tablero tablero, int[] cabeza, int[] cola, int numFila, int columna, int admiteColores) {
+      switch (tablero.getCasilla(numFila, columna)) {
+         case Tablero.SERPIENTE:
+            // Seleciono el simbolo correspondiente: cabeza (2), cola (0) o cuerpo (1)
+            int parteSnake = (numFila == cabeza[1] && columna == cabeza[0] - 1) ? 2
+                  : (numFila == cola[1] && columna == cola[0] - 1) ? 0 : 1;
+            return SNAKE[admiteColores][parteSnake];
+
+         case Tablero.FRUTA:
+            return FRUTA[admiteColores][0];
+
+         case Tablero.OBSTACULO:
+            return OBSTACULO[admiteColores];
+
+         case Tablero.VACIA:
+            if (fantasma != null && fantasma[numFila * tablero.getColumnas() + columna] != 0)
+               return FANTASMA[admiteColores];
+            return " ";
+         default:
+            return "";
+      }
+   }
+
+   /**
+    * Deja en {@link #simbolosFila} los simbolos sin colores de una fila con sus
+    * bordes. Todos los simbolos ocupan un byte, asi que la fila se copia entera
+    * del tablero y se pasa a simbolos de una vez; despues solo se cambian el
+    * fantasma, la cabeza y la cola.
+    * 
+    * @param tablero El tablero que se dibuja.
+    * @param cabeza  Las coordenadas de la cabeza (columna + 1, fila).
+    * @param cola    Las coordenadas de la cola (columna + 1, fila).
+    * @param numFila El numero de la fila.
+    */
+   private void rellenarFilaSinColores(Tablero tablero, int[] cabeza, int[] cola, int numFila) {
+      int columnas = tablero.getColumnas();
+      if (codigosFila.length < columnas) {
+         codigosFila = new byte[columnas];
+         simbolosFila = new byte[columnas + 2];
+      }
+
+      tablero.leerFila(numFila, 0, columnas, codigosFila, 0);
+      simbolosFila[0] = '=';
+      ESCANEO.mapearFila(codigosFila, 0, columnas, simbolosFila, 1);
+      simbolosFila[columnas + 1] = '=';
+
+      if (fantasma != null) {
+         int inicioFila = numFila * columnas;
+         for (int columna = 0; columna < columnas; columna++) {
+            if (fantasma[inicioFila + columna] != 0 && codigosFila[columna] == Tablero.VACIA)
+               simbolosFila[columna + 1] = (byte) FANTASMA[0].charAt(0);
+         }
+      }
+
+      // La cabeza va despues para que se vea si esta encima de la cola
+      if (numFila == cola[1])
+         simbolosFila[cola[0]] = (byte) SNAKE[0][0].charAt(0);
+      if (numFila == cabeza[1])
+         simbolosFila[cabeza[0]] = (byte) SNAKE[0][2].charAt(0);
+   }
+
+   /**
+    * Crea el texto de la separacion.
+    * 
+    * @return 60 saltos de linea.
+    */
+   private static String crearSeparacion() {
+      StringBuilder separacion = new StringBuilder();
+      for (int i = 0; i < 30; i++) {
+         separacion.append("\n").append(System.lineSeparator());
+      }
+      // Esto hace que se borre, pero no funciona en todas las consolas
+      // separacion.append("\033[H\033[2J");
+      return separacion.toString();
+   }
+}
@@ -0,0 +1,334 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Hilo virtual que dibuja el ultimo tick publicado por el juego
+ * @see Instantanea
+ * @see dev.adsa.clases.JuegoBase
+ */
+package dev.adsa.clases.salida;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import dev.adsa.clases.metricas.EventoDibujo;
+import dev.adsa.clases.metricas.MonitorJuego;
+import dev.adsa.clases.tableros.Tablero;
+
+/**
+ * Separa la simulacion del dibujo. El hilo del juego publica una
+ * {@link Instantanea} de cada tick en una cola acotada y sigue; este hilo
+ * virtual las dibuja en orden. Si la consola va lenta (una conexion SSH, un
+ * tee, un archivo en un disco lento) la cola se llena y la politica decide que
+ * pasa:
+ * <ul>
+ * <li>DESCARTAR_ANTIGUO: se quita el fotograma mas antiguo de la cola, se ve
+ * siempre el ultimo tick. Es la politica por defecto, con una cola de 1.</li>
+ * <li>DESCARTAR_NUEVO: se descarta el tick nuevo sin copiarlo, se ven los
+ * ticks de la cola aunque sean viejos.</li>
+ * <li>BLOQUEAR: el juego espera a que haya hueco, no se pierde ningun
+ * fotograma pero la partida va al ritmo de la consola. Solo tiene sentido
+ * para grabar la partida entera en un archivo.</li>
+ * </ul>
+ * Con las dos primeras el juego nunca espera a la consola.
+ *
+ * La politica se elige con las propiedades {@value #PROPIEDAD_POLITICA} y
+ * {@value #PROPIEDAD_CAPACIDAD} (tamaño de la cola). Los fotogramas dibujados,
+ * los descartados y el tiempo bloqueado se cuentan aqui y en
+ * {@link MonitorJuego}.
+ *
+ * Las instantaneas se reutilizan: hay como mucho las de la cola, una
+ * dibujandose y una que esta rellenando el juego.
+ */
+public class HiloDibujo implements AutoCloseable {
+   /** Politicas cuando la cola de fotogramas esta llena */
+   public enum Politica {
+      /** Se descarta el fotograma mas antiguo de la cola */
+      DESCARTAR_ANTIGUO,
+      /** Se descarta el fotograma nuevo */
+      DESCARTAR_NUEVO,
+      /** El juego espera a que se dibuje uno */
+      BLOQUEAR
+   }
+
+   /** Propiedad del sistema para elegir donde se dibuja: HILO o DIRECTO */
+   public static final String PROPIEDAD = "snake.dibujo";
+   /** Propiedad del sistema con la politica de la cola de fotogramas */
+   public static final String PROPIEDAD_POLITICA = "snake.dibujo.politica";
+   /** Propiedad del sistema con el tamaño de la cola de fotogramas */
+   public static final String PROPIEDAD_CAPACIDAD = "snake.dibujo.cola";
+
+   private final Politica politica;
+   /** Cola circular de los fotogramas pendientes, protegida por el cerrojo */
+   private final Instantanea[] cola;
+   private int inicio;
+   private int cantidad;
+   private final ArrayDeque<Instantanea> libres = new ArrayDeque<>();
+   private boolean cerrado;
+   private final ReentrantLock cerrojo = new ReentrantLock();
+   private final Condition hayFotogramas = cerrojo.newCondition();
+   private final Condition hayHueco = cerrojo.newCondition();
+
+   private final AtomicLong dibujados = new AtomicLong();
+   private final AtomicLong descartados = new AtomicLong();
+   private final AtomicLong nanosBloqueado = new AtomicLong();
+
+   private final DibujoTablero dibujo = new DibujoTablero();
+   private final SalidaFotograma salida = new SalidaFotograma();
+   private final int admiteColores;
+   private Thread hilo;
+
+   /**
+    * Constructor privado, se crea con
+    * {@link #iniciar(int, Politica, int)} o {@link #porDefecto(int)}
+    * 
+    * @param admiteColores 1 si la consola admite colores, 0 si no.
+    * @param politica      Lo que se hace cuando la cola esta llena.
+    * @param capacidad     El numero maximo de fotogramas pendientes, al menos 1.
+    */
+   private HiloDibujo(int admiteColores, Politica politica, int capacidad) {
+      this.admiteColores = admiteColores;
+      this.politica = politica;
+      this.cola = new Instantanea[Math.max(1, capacidad)];
+   }
+
+   /**
+    * Crea el hilo de dibujo y lo arranca. El hilo se arranca aqui y no en el
+    * constructor para que no vea el objeto a medio construir.
+    * 
+    * @param admiteColores 1 si la consola admite colores, 0 si no.
+    * @param politica      Lo que se hace cuando la cola esta llena.
+    * @param capacidad     El numero maximo de fotogramas pendientes, al menos 1.
+    * @return El hilo de dibujo.
+    */
+   public static HiloDibujo iniciar(int admiteColores, Politica politica, int capacidad) {
+      HiloDibujo hiloDibujo = new HiloDibujo(admiteColores, politica, capacidad);
+      hiloDibujo.hilo = Thread.ofVirtual().name("dibujo").start(hiloDibujo::dibujar);
+      return hiloDibujo;
+   }
+
+   /**
+    * Crea el hilo de dibujo con la politica de las propiedades del sistema, por
+    * defecto una cola de 1 que descarta el fotograma antiguo.
+    * 
+    * @param admiteColores 1 si la consola admite colores, 0 si no.
+    * @return El hilo de dibujo.
+    */
+   public static HiloDibujo porDefecto(int admiteColores) {
+      Politica politica = Politica.DESCARTAR_ANTIGUO;
+      int capacidad = 1;
+      try {
+         politica = Politica.valueOf(System.getProperty(PROPIEDAD_POLITICA, "DESCARTAR_ANTIGUO").toUpperCase());
+         capacidad = Integer.parseInt(System.getProperty(PROPIEDAD_CAPACIDAD, "1"));
+      } catch (IllegalArgumentException e) {
+         System.out.println("Configuracion del dibujo no valida, se usa una cola de 1 que descarta el antiguo");
+         politica = Politica.DESCARTAR_ANTIGUO;
+         capacidad = 1;
+      }
+      return iniciar(admiteColores, politica, capacidad);
+   }
+
+   /**
+    * Indica si por defecto se dibuja en un hilo aparte, segun la propiedad
+    * {@value #PROPIEDAD}.
+    * 
+    * @return false si la propiedad vale DIRECTO, true en cualquier otro caso.
+    */
+   public static boolean activadoPorDefecto() {
+      return !"DIRECTO".equalsIgnoreCase(System.getProperty(PROPIEDAD));
+   }
+
+   /**
+    * Copia el estado de un tick y lo deja para dibujar.
+    * 
+    * @param tablero  El tablero de la partida.
+    * @param cabeza   Las coordenadas de la cabeza (columna + 1, fila).
+    * @param cola     Las coordenadas de la cola (columna + 1, fila).
+    * @param longitud La longitud de la serpiente.
+    * @throws InterruptedException Si se interrumpe la espera con la politica
+    *                              BLOQUEAR.
+    */
+   public void publicar(Tablero tablero, int[] cabeza, int[] cola, int longitud) throws InterruptedException {
+      publicar(tablero, cabeza, cola, longitud, null);
+   }
+
+   /**
+    * Copia el estado de un tick con el fantasma y lo deja para dibujar. Si la
+    * cola esta llena se aplica la politica.
+    * 
+    * @param tablero  El tablero de la partida.
+    * @param cabeza   Las coordenadas de la cabeza (columna + 1, fila).
+    * @param cola     Las coordenadas de la cola (columna + 1, fila).
+    * @param longitud La longitud de la serpiente.
+    * @param fantasma Las casillas del fantasma o null si no hay.
+    * @throws InterruptedException Si se interrumpe la espera con la politica
+    *                              BLOQUEAR.
+    */
+   public void publicar(Tablero tablero, int[] cabeza, int[] cola, int longitud, byte[] fantasma)
+         throws InterruptedException {
+      Instantanea instantanea;
+      cerrojo.lock();
+      try {
+         if (this.cantidad == this.cola.length && politica == Politica.DESCARTAR_NUEVO) {
+            // No se llega a copiar
+            descartar();
+            return;
+         }
+         if (this.cantidad == this.cola.length && politica == Politica.BLOQUEAR) {
+            long inicioEspera = System.nanoTime();
+            while (this.cantidad == this.cola.length)
+               hayHueco.await();
+            long bloqueado = System.nanoTime() - inicioEspera;
+            nanosBloqueado.addAndGet(bloqueado);
+            MonitorJuego.contarBloqueoDibujo(bloqueado);
+         }
+         instantanea = libres.poll();
+      } finally {
+         cerrojo.unlock();
+      }
+
+      // La copia se hace fuera del cerrojo, la instantanea solo la tiene este hilo
+      if (instantanea == null)
+         instantanea = new Instantanea();
+      instantanea.copiar(tablero, cabeza, cola, longitud);
+      instantanea.copiarFantasma(fantasma);
+
+      cerrojo.lock();
+      try {
+         if (this.cantidad == this.cola.length) {
+            // Solo con DESCARTAR_ANTIGUO, el hilo de dibujo no ha vaciado nada mientras se copiaba
+            libres.add(sacar());
+            descartar();
+         }
+         this.cola[(inicio + this.cantidad) % this.cola.length] = instantanea;
+         this.cantidad++;
+         hayFotogramas.signal();
+      } finally {
+         cerrojo.unlock();
+      }
+   }
+
+   /**
+    * Devuelve el numero de fotogramas dibujados.
+    * 
+    * @return Los fotogramas dibujados.
+    */
+   public long getDibujados() {
+      return dibujados.get();
+   }
+
+   /**
+    * Devuelve el numero de fotogramas que no se han llegado a dibujar.
+    * 
+    * @return Los fotogramas descartados.
+    */
+   public long getDescartados() {
+      return descartados.get();
+   }
+
+   /**
+    * Devuelve cuanto ha esperado el juego a la consola con la politica
+    * BLOQUEAR.
+    * 
+    * @return Los nanosegundos bloqueado.
+    */
+   public long getNanosBloqueado() {
+      return nanosBloqueado.get();
+   }
+
+   /**
+    * Dibuja los fotogramas que queden en la cola y para el hilo. Si se
+    * interrumpe la espera se deja de esperar y se vuelve a marcar la
+    * interrupcion para que la vea quien ha llamado.
+    */
+   @Override
+   public void close() {
+      cerrojo.lock();
+      try {
+         cerrado = true;
+         hayFotogramas.signal();
+      } finally {
+         cerrojo.unlock();
+      }
+      try {
+         hilo.join();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   /**
+    * Bucle del hilo de dibujo. Al cerrar se terminan de dibujar los que quedan
+    * en la cola.
+    */
+   private void dibujar() {
+      while (true) {
+         Instantanea instantanea;
+         cerrojo.lock();
+         try {
+            while (cantidad == 0 && !cerrado)
+               hayFotogramas.awaitUninterruptibly();
+            if (cantidad == 0)
+               return;
+            instantanea = sacar();
+            hayHueco.signal();
+         } finally {
+            cerrojo.unlock();
+         }
+
+         dibujar(instantanea);
+
+         cerrojo.lock();
+         try {
+            libres.add(instantanea);
+         } finally {
+            cerrojo.unlock();
+         }
+      }
+   }
+
+   /**
+    * Saca el fotograma mas antiguo de la cola, con el cerrojo cogido.
+    * 
+    * @return El fotograma.
+    */
+   private Instantanea sacar() {
+      Instantanea instantanea = cola[inicio];
+      cola[inicio] = null;
+      inicio = (inicio + 1) % cola.length;
+      cantidad--;
+      return instantanea;
+   }
+
+   /** Cuenta un fotograma descartado */
+   private void descartar() {
+      descartados.incrementAndGet();
+      MonitorJuego.contarFotogramaDescartado();
+   }
+
+   /**
+    * Escribe un fotograma con la separacion con el anterior, la longitud y el
+    * tablero. La separacion va delante para que el ultimo tablero se siga viendo
+    * hasta que llegue el siguiente fotograma.
+    * 
+    * @param instantanea La instantanea que se dibuja.
+    */
+   private void dibujar(Instantanea instantanea) {
+      EventoDibujo evento = EventoDibujo.empezar();
+      Tablero tablero = instantanea.getTablero();
+      salida.anadir(DibujoTablero.SEPARACION);
+      DibujoTablero.anadirLongitud(instantanea.getLongitud(), salida);
+      dibujo.setFantasma(instantanea.getFantasma());
+      dibujo.anadirTablero(tablero, instantanea.getCabeza(), instantanea.getCola(), admiteColores, salida);
+      try {
+         salida.escribir();
+         dibujados.incrementAndGet();
+         MonitorJuego.contarFotogramaDibujado();
+      } catch (IOException e) {
+         System.out.println("No se ha podido dibujar el tablero: " + e.getMessage());
+      }
+      evento.terminar(tablero.getFilas(), tablero.getColumnas(), admiteColores != 0);
+   }
+}
@@ -0,0 +1,113 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Copia del tablero y de la serpiente en un tick para dibujarla en otro hilo
+ * @see HiloDibujo
+ */
+package dev.adsa.clases.salida;
+
+import dev.adsa.clases.tableros.Tablero;
+import dev.adsa.clases.tableros.TableroBytes;
+
+/**
+ * Copia del estado que hace falta para dibujar un tick. El hilo del juego la
+ * rellena y el hilo de dibujo la lee, nunca a la vez; despues se reutiliza para
+ * otro tick.
+ */
+public class Instantanea {
+   private TableroBytes tablero;
+   private final int[] cabeza = new int[2];
+   private final int[] cola = new int[2];
+   private int longitud;
+   /** Copia de las casillas del fantasma, null si la partida no tiene */
+   private byte[] fantasma;
+   private boolean conFantasma;
+
+   /** Constructor que crea la instantanea vacia */
+   Instantanea() {
+   }
+
+   /**
+    * Copia el tablero y las coordenadas. El tablero se copia fila a fila, de una
+    * vez si el origen tiene las casillas seguidas.
+    * 
+    * @param origen   El tablero de la partida.
+    * @param cabeza   Las coordenadas de la cabeza (columna + 1, fila).
+    * @param cola     Las coordenadas de la cola (columna + 1, fila).
+    * @param longitud La longitud de la serpiente.
+    */
+   void copiar(Tablero origen, int[] cabeza, int[] cola, int longitud) {
+      int filas = origen.getFilas();
+      int columnas = origen.getColumnas();
+      if (tablero == null || tablero.getFilas() != filas || tablero.getColumnas() != columnas)
+         tablero = new TableroBytes(filas, columnas);
+
+      byte[] casillas = tablero.getCasillas();
+      for (int fila = 0; fila < filas; fila++)
+         origen.leerFila(fila, 0, columnas, casillas, fila * columnas);
+      this.cabeza[0] = cabeza[0];
+      this.cabeza[1] = cabeza[1];
+      this.cola[0] = cola[0];
+      this.cola[1] = cola[1];
+      this.longitud = longitud;
+   }
+
+   /**
+    * Copia las casillas del fantasma junto con el tablero.
+    * 
+    * @param origen Las casillas del fantasma o null si no hay.
+    */
+   void copiarFantasma(byte[] origen) {
+      conFantasma = origen != null;
+      if (origen == null)
+         return;
+      if (fantasma == null || fantasma.length != origen.length)
+         fantasma = new byte[origen.length];
+      System.arraycopy(origen, 0, fantasma, 0, origen.length);
+   }
+
+   /**
+    * Devuelve la copia del tablero.
+    * 
+    * @return El tablero copiado.
+    */
+   public Tablero getTablero() {
+      return tablero;
+   }
+
+   /**
+    * Devuelve las coordenadas de la cabeza.
+    * 
+    * @return Las coordenadas (columna + 1, fila).
+    */
+   public int[] getCabeza() {
+      return cabeza;
+   }
+
+   /**
+    * Devuelve las coordenadas de la cola.
+    * 
+    * @return Las coordenadas (columna + 1, fila).
+    */
+   public int[] getCola() {
+      return cola;
+   }
+
+   /**
+    * Devuelve la longitud de la serpiente.
+    * 
+    * @return La longitud.
+    */
+   public int getLongitud() {
+      return longitud;
+   }
+
+   /**
+    * Devuelve la copia de las casillas del fantasma.
+    * 
+    * @return Las casillas o null si no hay fantasma.
+    */
+   public byte[] getFantasma() {
+      return conFantasma ? fantasma : null;
+   }
+}
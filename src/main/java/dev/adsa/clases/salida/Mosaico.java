@@ -0,0 +1,274 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Dibuja varias partidas a la vez en la misma consola, cada una en su hueco
+ * @see HiloDibujo
+ * @see DibujoTablero
+ */
+package dev.adsa.clases.salida;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import dev.adsa.clases.tableros.Tablero;
+
+/**
+ * Mosaico de partidas que se juegan a la vez, para demostraciones y pruebas de
+ * carga. Cada partida publica sus ticks en su hueco igual que con
+ * {@link HiloDibujo}: se copia el tablero y, si el mosaico todavia no habia
+ * dibujado el anterior, se descarta. Un hilo aparte junta el ultimo tick de
+ * cada hueco en un solo fotograma, con los tableros en filas de varios, y lo
+ * escribe de una vez {@value #REFRESCOS_POR_SEGUNDO} veces por segundo.
+ *
+ * Con colores cada fotograma vuelve el cursor al principio de la consola, sin
+ * colores se separa con {@link DibujoTablero#SEPARACION} como el juego.
+ */
+public class Mosaico implements AutoCloseable {
+   /** Fotogramas por segundo del mosaico */
+   public static final int REFRESCOS_POR_SEGUNDO = 60;
+   /** Borra la consola, se escribe antes del primer fotograma */
+   private static final String BORRAR = "\033[2J";
+   /** Vuelve el cursor al principio de la consola */
+   private static final String INICIO = "\033[H";
+
+   /** Ultimo tick publicado de una partida y el que se esta dibujando */
+   private static class Hueco {
+      private final AtomicReference<Instantanea> pendiente = new AtomicReference<>();
+      private final AtomicReference<Instantanea> libre = new AtomicReference<>();
+      /** Solo lo usa el hilo del mosaico */
+      private Instantanea actual;
+   }
+
+   private final Hueco[] huecos;
+   private final int filas;
+   private final int porFila;
+   private final int admiteColores;
+   private final DibujoTablero dibujo = new DibujoTablero();
+   private final SalidaFotograma salida = new SalidaFotograma();
+   /** Titulo de un hueco, se reutiliza */
+   private final StringBuilder titulo = new StringBuilder();
+   /** Espacios para rellenar un hueco vacio o un titulo */
+   private final byte[] espacios;
+   private Thread hilo;
+   private volatile boolean cerrado;
+
+   private volatile long refrescos;
+   private volatile long nanosTotal;
+   private volatile long nanosMaximo;
+   private volatile int bytesFotograma;
+
+   /**
+    * Constructor privado, se crea con
+    * {@link #iniciar(int, int, int, int, int)}
+    *
+    * @param cantidad      El numero de partidas.
+    * @param filas         El numero de filas de los tableros.
+    * @param columnas      El numero de columnas de los tableros.
+    * @param porFila       Cuantos tableros se ponen uno al lado del otro.
+    * @param admiteColores 1 si la consola admite colores, 0 si no.
+    */
+   private Mosaico(int cantidad, int filas, int columnas, int porFila, int admiteColores) {
+      this.huecos = new Hueco[cantidad];
+      for (int i = 0; i < cantidad; i++)
+         huecos[i] = new Hueco();
+      this.filas = filas;
+      this.porFila = Math.max(1, porFila);
+      this.admiteColores = admiteColores;
+      this.espacios = new byte[columnas + 2];
+      Arrays.fill(espacios, (byte) ' ');
+   }
+
+   /**
+    * Crea el mosaico y arranca su hilo. El hilo se arranca aqui y no en el
+    * constructor para que no vea el objeto a medio construir.
+    *
+    * @param cantidad      El numero de partidas.
+    * @param filas         El numero de filas de los tableros.
+    * @param columnas      El numero de columnas de los tableros.
+    * @param porFila       Cuantos tableros se ponen uno al lado del otro.
+    * @param admiteColores 1 si la consola admite colores, 0 si no.
+    * @return El mosaico.
+    */
+   public static Mosaico iniciar(int cantidad, int filas, int columnas, int porFila, int admiteColores) {
+      Mosaico mosaico = new Mosaico(cantidad, filas, columnas, porFila, admiteColores);
+      // Un hilo de plataforma para que el ritmo no dependa de los hilos de las partidas
+      mosaico.hilo = Thread.ofPlatform().name("mosaico").daemon().start(mosaico::refrescar);
+      return mosaico;
+   }
+
+   /**
+    * Devuelve cuantos tableros caben en una fila de una consola.
+    *
+    * @param anchoConsola El ancho de la consola en caracteres.
+    * @param columnas     El numero de columnas de los tableros.
+    * @return Los tableros por fila, al menos 1.
+    */
+   public static int tablerosPorFila(int anchoConsola, int columnas) {
+      return Math.max(1, (anchoConsola + 1) / (columnas + 3));
+   }
+
+   /**
+    * Copia el estado de un tick de una partida y lo deja para el siguiente
+    * fotograma. Lo llama el hilo de la partida.
+    *
+    * @param hueco    El numero de la partida en el mosaico.
+    * @param tablero  El tablero de la partida.
+    * @param cabeza   Las coordenadas de la cabeza (columna + 1, fila).
+    * @param cola     Las coordenadas de la cola (columna + 1, fila).
+    * @param longitud La longitud de la serpiente.
+    */
+   public void publicar(int hueco, Tablero tablero, int[] cabeza, int[] cola, int longitud) {
+      Hueco destino = huecos[hueco];
+      Instantanea instantanea = destino.libre.getAndSet(null);
+      if (instantanea == null)
+         instantanea = new Instantanea();
+      instantanea.copiar(tablero, cabeza, cola, longitud);
+
+      Instantanea anterior = destino.pendiente.getAndSet(instantanea);
+      if (anterior != null)
+         destino.libre.compareAndSet(null, anterior);
+   }
+
+   /**
+    * Devuelve el numero de partidas del mosaico.
+    *
+    * @return Las partidas.
+    */
+   public int getCantidad() {
+      return huecos.length;
+   }
+
+   /**
+    * Devuelve cuantos fotogramas se han escrito.
+    *
+    * @return Los fotogramas.
+    */
+   public long getRefrescos() {
+      return refrescos;
+   }
+
+   /**
+    * Devuelve lo que tarda de media en componer y escribir un fotograma.
+    *
+    * @return Los nanosegundos, 0 si todavia no hay ninguno.
+    */
+   public long getNanosMedia() {
+      long total = refrescos;
+      return total == 0 ? 0 : nanosTotal / total;
+   }
+
+   /**
+    * Devuelve lo que mas ha tardado un fotograma en componerse y escribirse.
+    *
+    * @return Los nanosegundos.
+    */
+   public long getNanosMaximo() {
+      return nanosMaximo;
+   }
+
+   /**
+    * Devuelve el tamaño del ultimo fotograma.
+    *
+    * @return Los bytes escritos de una vez.
+    */
+   public int getBytesFotograma() {
+      return bytesFotograma;
+   }
+
+   /**
+    * Dibuja el ultimo fotograma y para el hilo. Si se interrumpe la espera se
+    * deja de esperar y se vuelve a marcar la interrupcion para que la vea quien
+    * ha llamado.
+    */
+   @Override
+   public void close() {
+      cerrado = true;
+      LockSupport.unpark(hilo);
+      try {
+         hilo.join();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   /**
+    * Bucle del hilo: compone y escribe un fotograma cada periodo. Si uno tarda
+    * mas de la cuenta no se intenta recuperar el retraso, se sigue desde ahi.
+    */
+   private void refrescar() {
+      long periodo = 1_000_000_000L / REFRESCOS_POR_SEGUNDO;
+      long siguiente = System.nanoTime();
+      if (admiteColores != 0)
+         salida.anadir(BORRAR);
+      boolean terminar = false;
+      while (!terminar) {
+         // Se lee antes de dibujar para que el ultimo fotograma tenga los ultimos ticks
+         terminar = cerrado;
+         long inicio = System.nanoTime();
+         try {
+            componer();
+            bytesFotograma = salida.getPendientes();
+            salida.escribir();
+         } catch (IOException e) {
+            System.out.println("No se ha podido dibujar el mosaico: " + e.getMessage());
+         }
+         long tardado = System.nanoTime() - inicio;
+         nanosTotal += tardado;
+         nanosMaximo = Math.max(nanosMaximo, tardado);
+         refrescos++;
+
+         siguiente += periodo;
+         long espera = siguiente - System.nanoTime();
+         if (espera > 0 && !terminar)
+            LockSupport.parkNanos(this, espera);
+         else if (espera <= 0)
+            siguiente = System.nanoTime();
+      }
+   }
+
+   /** Junta el ultimo tick de cada hueco en el fotograma */
+   private void componer() {
+      if (admiteColores != 0)
+         salida.anadir(INICIO);
+      else
+         salida.anadir(DibujoTablero.SEPARACION);
+
+      for (Hueco hueco : huecos) {
+         Instantanea nueva = hueco.pendiente.getAndSet(null);
+         if (nueva != null) {
+            if (hueco.actual != null)
+               hueco.libre.compareAndSet(null, hueco.actual);
+            hueco.actual = nueva;
+         }
+      }
+
+      for (int primero = 0; primero < huecos.length; primero += porFila) {
+         int ultimo = Math.min(huecos.length, primero + porFila);
+         for (int i = primero; i < ultimo; i++) {
+            Instantanea actual = huecos[i].actual;
+            titulo.setLength(0);
+            titulo.append('#').append(i + 1);
+            if (actual != null)
+               titulo.append(" longitud ").append(actual.getLongitud());
+            titulo.setLength(Math.min(titulo.length(), espacios.length));
+            salida.anadir(titulo).anadir(espacios, 0, espacios.length - titulo.length() + 1);
+         }
+         salida.saltoLinea();
+
+         for (int fila = 0; fila < filas; fila++) {
+            for (int i = primero; i < ultimo; i++) {
+               Instantanea actual = huecos[i].actual;
+               if (actual != null)
+                  dibujo.anadirFila(actual.getTablero(), actual.getCabeza(), actual.getCola(), fila, admiteColores,
+                        salida);
+               else
+                  salida.anadir(espacios, 0, espacios.length);
+               salida.anadir(espacios, 0, 1);
+            }
+            salida.saltoLinea();
+         }
+      }
+   }
+}
@@ -0,0 +1,436 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Buffer circular con los ticks de una partida para los espectadores
+ * @see dev.adsa.clases.JuegoBase
+ */
+package dev.adsa.clases.salida;
+
+import java.lang.invoke.VarHandle;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import dev.adsa.clases.tableros.Tablero;
+import dev.adsa.clases.tableros.TableroBytes;
+
+/**
+ * Retransmision en directo de una partida. El juego publica cada tick en un
+ * buffer circular y cada espectador lo lee con su {@link Lector} a su ritmo,
+ * sin bloqueos: el juego no sabe cuantos espectadores hay y cada tick le
+ * cuesta lo mismo.
+ *
+ * Cada tick solo guarda la cabeza, la cola, la fruta y la longitud, porque en
+ * el motor de JuegoBase la cabeza avanza una casilla y la cola como mucho
+ * otra; el espectador saca de ahi las casillas que cambian. Cada
+ * {@value #CADA_CLAVE} ticks se copia ademas el tablero entero, y un
+ * espectador que empieza o se ha quedado tan atras que el buffer ya ha dado
+ * la vuelta salta a esa copia.
+ *
+ * Si el juego cambia muchas casillas de golpe, como al rebobinar en el modo
+ * practica, los cambios de la cabeza y la cola ya no bastan. El juego llama a
+ * {@link #forzarClave()} y el siguiente tick lleva una copia del tablero
+ * entero, que los espectadores cargan en lugar de aplicar el tick.
+ */
+public class Retransmision {
+   /** Ticks que caben en el buffer circular, potencia de 2 */
+   public static final int CAPACIDAD = 256;
+   /** Cada cuantos ticks se copia el tablero entero */
+   public static final int CADA_CLAVE = 64;
+
+   /** Enteros de cada tick: longitud, cabeza, cola, fruta y si hay que cargar la copia */
+   private static final int ANCHO = 5;
+   private static final int LONGITUD = 0;
+   private static final int CABEZA = 1;
+   private static final int COLA = 2;
+   private static final int FRUTA = 3;
+   private static final int RECARGAR = 4;
+
+   /** Partidas que se estan retransmitiendo, por numero */
+   private static final Map<Integer, Retransmision> EN_DIRECTO = new ConcurrentHashMap<>();
+   private static final AtomicInteger NUMEROS = new AtomicInteger();
+   private static volatile boolean activada;
+
+   private final int numero;
+   private final String titulo;
+   private final int filas;
+   private final int columnas;
+
+   /** Numero del tick guardado en cada hueco, -1 mientras se escribe */
+   private final AtomicLongArray secuencias = new AtomicLongArray(CAPACIDAD);
+   private final int[] ticks = new int[CAPACIDAD * ANCHO];
+   /** Ultimo tick publicado */
+   private final AtomicLong publicado = new AtomicLong(-1);
+
+   /** Version de la copia del tablero, impar mientras se escribe */
+   private final AtomicLong versionClave = new AtomicLong();
+   private final byte[] clave;
+   private final int[] datosClave = new int[ANCHO];
+   private long secuenciaClave = -1;
+
+   private volatile boolean terminada;
+   /** Numero del siguiente tick que se publica */
+   private long proximoTick;
+   /** El siguiente tick lleva una copia del tablero que hay que cargar */
+   private boolean clavePedida;
+
+   /**
+    * Constructor de la retransmision
+    * 
+    * @param titulo   El titulo con el que se ve en la lista de partidas.
+    * @param filas    Las filas del tablero.
+    * @param columnas Las columnas del tablero.
+    */
+   public Retransmision(String titulo, int filas, int columnas) {
+      this.numero = NUMEROS.incrementAndGet();
+      this.titulo = titulo;
+      this.filas = filas;
+      this.columnas = columnas;
+      this.clave = new byte[filas * columnas];
+      for (int i = 0; i < CAPACIDAD; i++)
+         secuencias.set(i, -1);
+   }
+
+   /**
+    * Activa las retransmisiones, a partir de ahora las partidas se publican
+    * para los espectadores.
+    */
+   public static void activar() {
+      activada = true;
+   }
+
+   /**
+    * Indica si las partidas se retransmiten.
+    * 
+    * @return true si se ha llamado a {@link #activar()}.
+    */
+   public static boolean isActivada() {
+      return activada;
+   }
+
+   /**
+    * Crea la retransmision de una partida y la pone en la lista de partidas en
+    * directo.
+    * 
+    * @param titulo   El titulo de la partida.
+    * @param filas    Las filas del tablero.
+    * @param columnas Las columnas del tablero.
+    * @return La retransmision.
+    */
+   public static Retransmision abrir(String titulo, int filas, int columnas) {
+      Retransmision retransmision = new Retransmision(titulo, filas, columnas);
+      EN_DIRECTO.put(retransmision.numero, retransmision);
+      return retransmision;
+   }
+
+   /**
+    * Devuelve las partidas que se estan retransmitiendo.
+    * 
+    * @return Las retransmisiones, no se puede modificar.
+    */
+   public static Collection<Retransmision> enDirecto() {
+      return Collections.unmodifiableCollection(EN_DIRECTO.values());
+   }
+
+   /**
+    * Busca una partida en directo por su numero.
+    * 
+    * @param numero El numero de la partida.
+    * @return La retransmision o null si no existe o ya ha terminado.
+    */
+   public static Retransmision buscar(int numero) {
+      return EN_DIRECTO.get(numero);
+   }
+
+   /**
+    * Publica un tick. Solo lo puede llamar el hilo del juego.
+    * 
+    * @param tablero  El tablero de la partida.
+    * @param cabeza   La casilla de la cabeza (fila * columnas + columna).
+    * @param cola     La casilla de la cola.
+    * @param fruta    La casilla de la fruta, -1 si no hay.
+    * @param longitud La longitud de la serpiente.
+    */
+   public void publicar(Tablero tablero, int cabeza, int cola, int fruta, int longitud) {
+      long secuencia = proximoTick++;
+      boolean recargar = clavePedida;
+      clavePedida = false;
+      // La copia se escribe antes que el tick, quien lea el tick ya la encuentra
+      if (recargar || secuencia % CADA_CLAVE == 0)
+         copiarClave(tablero, secuencia, cabeza, cola, fruta, longitud);
+
+      int hueco = (int) (secuencia & (CAPACIDAD - 1));
+      int base = hueco * ANCHO;
+      // Mientras se escribe el hueco no tiene numero, asi nadie lo lee a medias
+      secuencias.set(hueco, -1);
+      VarHandle.storeStoreFence();
+      ticks[base + LONGITUD] = longitud;
+      ticks[base + CABEZA] = cabeza;
+      ticks[base + COLA] = cola;
+      ticks[base + FRUTA] = fruta;
+      ticks[base + RECARGAR] = recargar ? 1 : 0;
+      secuencias.setRelease(hueco, secuencia);
+      publicado.setRelease(secuencia);
+   }
+
+   /**
+    * Hace que el siguiente tick que se publique lleve una copia del tablero
+    * entero y que los espectadores la carguen en lugar de aplicar el tick. Se
+    * llama despues de cambiar casillas que no son la cabeza, la cola o la
+    * fruta, por ejemplo al rebobinar. Solo lo puede llamar el hilo del juego.
+    */
+   public void forzarClave() {
+      clavePedida = true;
+   }
+
+   /**
+    * Copia el tablero entero para los espectadores que empiezan o se han
+    * quedado atras.
+    */
+   private void copiarClave(Tablero tablero, long secuencia, int cabeza, int cola, int fruta, int longitud) {
+      long version = versionClave.get();
+      versionClave.set(version + 1);
+      VarHandle.storeStoreFence();
+      for (int fila = 0; fila < filas; fila++)
+         tablero.leerFila(fila, 0, columnas, clave, fila * columnas);
+      datosClave[LONGITUD] = longitud;
+      datosClave[CABEZA] = cabeza;
+      datosClave[COLA] = cola;
+      datosClave[FRUTA] = fruta;
+      secuenciaClave = secuencia;
+      versionClave.setRelease(version + 2);
+   }
+
+   /**
+    * Termina la retransmision y la quita de la lista de partidas en directo.
+    * Los espectadores terminan cuando han leido el ultimo tick.
+    */
+   public void terminar() {
+      terminada = true;
+      EN_DIRECTO.remove(numero);
+   }
+
+   /**
+    * Crea un lector para un espectador nuevo.
+    * 
+    * @return El lector.
+    */
+   public Lector lector() {
+      return new Lector();
+   }
+
+   /**
+    * Devuelve el numero de la partida.
+    * 
+    * @return El numero.
+    */
+   public int getNumero() {
+      return numero;
+   }
+
+   /**
+    * Devuelve el titulo de la partida.
+    * 
+    * @return El titulo.
+    */
+   public String getTitulo() {
+      return titulo;
+   }
+
+   /**
+    * Devuelve las filas del tablero.
+    * 
+    * @return Las filas.
+    */
+   public int getFilas() {
+      return filas;
+   }
+
+   /**
+    * Devuelve las columnas del tablero.
+    * 
+    * @return Las columnas.
+    */
+   public int getColumnas() {
+      return columnas;
+   }
+
+   /**
+    * Devuelve el numero de ticks publicados.
+    * 
+    * @return Los ticks.
+    */
+   public long getTicks() {
+      return publicado.get() + 1;
+   }
+
+   /**
+    * Lector de un espectador. Tiene su propia copia del tablero y la pone al
+    * dia con los ticks nuevos cada vez que se llama a {@link #leer()}.
+    */
+   public class Lector {
+      private final TableroBytes espejo = new TableroBytes(filas, columnas);
+      private final int[] datos = new int[ANCHO];
+      /** Siguiente tick que hay que aplicar, -1 si hay que copiar el tablero */
+      private long siguiente = -1;
+      private long saltos;
+
+      /** Constructor, el lector empieza sin tablero */
+      Lector() {
+      }
+
+      /**
+       * Aplica los ticks publicados desde la ultima lectura. Si alguno ya se ha
+       * sobrescrito se salta a la ultima copia del tablero.
+       * 
+       * @return true si el tablero ha cambiado.
+       */
+      public boolean leer() {
+         long ultimo = publicado.getAcquire();
+         if (ultimo < 0 || (siguiente >= 0 && siguiente > ultimo))
+            return false;
+         if (siguiente < 0 || ultimo - siguiente >= CAPACIDAD) {
+            if (siguiente >= 0)
+               saltos++;
+            if (!copiarClave())
+               return false;
+            if (siguiente > ultimo)
+               return true;
+         }
+
+         while (siguiente <= ultimo) {
+            if (!aplicar(siguiente)) {
+               // El juego ha dado la vuelta al buffer mientras se leia
+               saltos++;
+               copiarClave();
+               return true;
+            }
+         }
+         return true;
+      }
+
+      /**
+       * Aplica un tick al tablero del espectador y pasa al siguiente. Si el
+       * tick lleva una copia del tablero se carga la copia, que es de ese tick
+       * o de uno posterior.
+       * 
+       * @param secuencia El numero del tick.
+       * @return false si el hueco ya tiene otro tick.
+       */
+      private boolean aplicar(long secuencia) {
+         int hueco = (int) (secuencia & (CAPACIDAD - 1));
+         int base = hueco * ANCHO;
+         if (secuencias.getAcquire(hueco) != secuencia)
+            return false;
+         int longitud = ticks[base + LONGITUD];
+         int cabeza = ticks[base + CABEZA];
+         int cola = ticks[base + COLA];
+         int fruta = ticks[base + FRUTA];
+         boolean recargar = ticks[base + RECARGAR] != 0;
+         VarHandle.loadLoadFence();
+         if (secuencias.getAcquire(hueco) != secuencia)
+            return false;
+         if (recargar)
+            return copiarClave();
+
+         // La casilla que deja la cola se vacia antes de mover la cabeza, que
+         // puede entrar justo en ella
+         byte[] casillas = espejo.getCasillas();
+         if (cola != datos[COLA])
+            casillas[datos[COLA]] = Tablero.VACIA;
+         if (fruta >= 0)
+            casillas[fruta] = Tablero.FRUTA;
+         casillas[cabeza] = Tablero.SERPIENTE;
+         datos[LONGITUD] = longitud;
+         datos[CABEZA] = cabeza;
+         datos[COLA] = cola;
+         datos[FRUTA] = fruta;
+         siguiente = secuencia + 1;
+         return true;
+      }
+
+      /**
+       * Copia la ultima copia entera del tablero.
+       * 
+       * @return false si todavia no hay ninguna.
+       */
+      private boolean copiarClave() {
+         long version;
+         do {
+            version = versionClave.getAcquire();
+            while ((version & 1) != 0) {
+               Thread.onSpinWait();
+               version = versionClave.getAcquire();
+            }
+            System.arraycopy(clave, 0, espejo.getCasillas(), 0, clave.length);
+            System.arraycopy(datosClave, 0, datos, 0, ANCHO);
+            siguiente = secuenciaClave < 0 ? -1 : secuenciaClave + 1;
+            VarHandle.loadLoadFence();
+         } while (versionClave.getAcquire() != version);
+         return siguiente >= 0;
+      }
+
+      /**
+       * Indica si la partida ha terminado y ya se han leido todos sus ticks.
+       * 
+       * @return true si no va a haber mas ticks.
+       */
+      public boolean haTerminado() {
+         return terminada && (siguiente > publicado.getAcquire() || publicado.getAcquire() < 0);
+      }
+
+      /**
+       * Devuelve el tablero del espectador.
+       * 
+       * @return El tablero.
+       */
+      public Tablero getTablero() {
+         return espejo;
+      }
+
+      /**
+       * Devuelve las coordenadas de la cabeza como las de JuegoBase.
+       * 
+       * @param destino Array de dos posiciones en el que se guardan (columna +
+       *                1, fila).
+       */
+      public void getCabeza(int[] destino) {
+         destino[0] = datos[CABEZA] % columnas + 1;
+         destino[1] = datos[CABEZA] / columnas;
+      }
+
+      /**
+       * Devuelve las coordenadas de la cola como las de JuegoBase.
+       * 
+       * @param destino Array de dos posiciones en el que se guardan (columna +
+       *                1, fila).
+       */
+      public void getCola(int[] destino) {
+         destino[0] = datos[COLA] % columnas + 1;
+         destino[1] = datos[COLA] / columnas;
+      }
+
+      /**
+       * Devuelve la longitud de la serpiente en el ultimo tick leido.
+       * 
+       * @return La longitud.
+       */
+      public int getLongitud() {
+         return datos[LONGITUD];
+      }
+
+      /**
+       * Devuelve cuantas veces el lector se ha quedado atras y ha saltado a la
+       * copia del tablero.
+       * 
+       * @return Los saltos.
+       */
+      public long getSaltos() {
+         return saltos;
+      }
+   }
+}
@@ -0,0 +1,224 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Salida por consola de un fotograma entero con una unica escritura
+ * @see dev.adsa.clases.JuegoBase
+ */
+package dev.adsa.clases.salida;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Junta todas las lineas de un fotograma en un ByteBuffer directo que se
+ * reutiliza y lo escribe en la salida estandar con un unico
+ * {@link FileChannel#write(ByteBuffer)}. Asi no se bloquea y se codifica
+ * System.out en cada fila y el fotograma no se ve a medio dibujar.
+ *
+ * Si System.out se ha cambiado (System.setOut) se escribe en el nuevo
+ * System.out para respetar la redireccion. Tambien se puede escribir en otro
+ * canal, por ejemplo el socket de un espectador.
+ */
+public class SalidaFotograma {
+   /** System.out original, el que escribe en el descriptor de la salida estandar */
+   private static final PrintStream CONSOLA = System.out;
+   /** Canal de la salida estandar, no se cierra nunca */
+   private static final FileChannel CANAL = new FileOutputStream(FileDescriptor.out).getChannel();
+   /** Salto de linea del sistema, el mismo que usa println */
+   private static final byte[] SALTO = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+   private ByteBuffer buffer;
+   /** Copia del fotograma para escribirlo en un System.out cambiado, se reutiliza */
+   private byte[] copia = new byte[0];
+   /** Canal en el que se escribe, si es null se usa la salida estandar */
+   private final WritableByteChannel destino;
+
+   /** Constructor con un buffer inicial de 16 KB */
+   public SalidaFotograma() {
+      this(16 * 1024);
+   }
+
+   /**
+    * Constructor que escribe los fotogramas en un canal en vez de en la salida
+    * estandar.
+    * 
+    * @param destino El canal en el que se escriben los fotogramas.
+    */
+   public SalidaFotograma(WritableByteChannel destino) {
+      this(16 * 1024, destino);
+   }
+
+   /**
+    * Constructor con un tamaño inicial del buffer, crece si no cabe el
+    * fotograma.
+    * 
+    * @param capacidad El tamaño inicial del buffer en bytes.
+    */
+   public SalidaFotograma(int capacidad) {
+      this(capacidad, null);
+   }
+
+   /**
+    * Constructor con un tamaño inicial del buffer y el canal de destino.
+    * 
+    * @param capacidad El tamaño inicial del buffer en bytes.
+    * @param destino   El canal en el que se escriben los fotogramas, null para
+    *                  la salida estandar.
+    */
+   private SalidaFotograma(int capacidad, WritableByteChannel destino) {
+      this.buffer = ByteBuffer.allocateDirect(capacidad);
+      this.destino = destino;
+   }
+
+   /**
+    * Devuelve el System.out original, el que habia al cargar esta clase. Si
+    * alguien cambia System.out tiene que llamar antes a este metodo para que
+    * los fotogramas no se salten su redireccion.
+    * 
+    * @return El System.out original.
+    */
+   public static PrintStream getConsola() {
+      return CONSOLA;
+   }
+
+   /**
+    * Añade un texto al fotograma. Los caracteres ASCII se copian directamente y
+    * si hay alguno que no lo es el resto se codifica en UTF-8.
+    * 
+    * @param texto El texto que se añade.
+    * @return Esta salida, para encadenar llamadas.
+    */
+   public SalidaFotograma anadir(CharSequence texto) {
+      int longitud = texto.length();
+      asegurar(longitud);
+      for (int i = 0; i < longitud; i++) {
+         char caracter = texto.charAt(i);
+         if (caracter >= 0x80) {
+            byte[] resto = texto.subSequence(i, longitud).toString().getBytes(StandardCharsets.UTF_8);
+            return anadir(resto, 0, resto.length);
+         }
+         buffer.put((byte) caracter);
+      }
+      return this;
+   }
+
+   /**
+    * Añade bytes ya codificados al fotograma.
+    * 
+    * @param bytes    El array con los bytes.
+    * @param desde    La posicion del primer byte.
+    * @param cantidad El numero de bytes.
+    * @return Esta salida, para encadenar llamadas.
+    */
+   public SalidaFotograma anadir(byte[] bytes, int desde, int cantidad) {
+      asegurar(cantidad);
+      buffer.put(bytes, desde, cantidad);
+      return this;
+   }
+
+   /**
+    * Añade un numero en decimal al fotograma sin crear un String.
+    * 
+    * @param numero El numero que se añade.
+    * @return Esta salida, para encadenar llamadas.
+    */
+   public SalidaFotograma anadirNumero(int numero) {
+      asegurar(11);
+      long resto = numero;
+      if (resto < 0) {
+         buffer.put((byte) '-');
+         resto = -resto;
+      }
+      // Se escriben las cifras de la ultima a la primera y luego se dan la vuelta
+      int inicio = buffer.position();
+      do {
+         buffer.put((byte) ('0' + resto % 10));
+         resto /= 10;
+      } while (resto > 0);
+      for (int i = inicio, j = buffer.position() - 1; i < j; i++, j--) {
+         byte cifra = buffer.get(i);
+         buffer.put(i, buffer.get(j));
+         buffer.put(j, cifra);
+      }
+      return this;
+   }
+
+   /**
+    * Añade un texto y un salto de linea al fotograma.
+    * 
+    * @param texto El texto que se añade.
+    * @return Esta salida, para encadenar llamadas.
+    */
+   public SalidaFotograma anadirLinea(CharSequence texto) {
+      anadir(texto);
+      return saltoLinea();
+   }
+
+   /**
+    * Añade un salto de linea al fotograma.
+    * 
+    * @return Esta salida, para encadenar llamadas.
+    */
+   public SalidaFotograma saltoLinea() {
+      return anadir(SALTO, 0, SALTO.length);
+   }
+
+   /**
+    * Devuelve cuantos bytes tiene el fotograma que se esta preparando.
+    * 
+    * @return El numero de bytes pendientes de escribir.
+    */
+   public int getPendientes() {
+      return buffer.position();
+   }
+
+   /**
+    * Escribe el fotograma y deja el buffer vacio para el siguiente.
+    * 
+    * @throws IOException Si no se puede escribir en la salida estandar o el canal.
+    */
+   public void escribir() throws IOException {
+      buffer.flip();
+      try {
+         if (destino != null) {
+            while (buffer.hasRemaining())
+               destino.write(buffer);
+         } else if (System.out == CONSOLA) {
+            // Lo que se haya escrito con println tiene que salir antes
+            CONSOLA.flush();
+            while (buffer.hasRemaining())
+               CANAL.write(buffer);
+         } else {
+            if (copia.length < buffer.remaining())
+               copia = new byte[buffer.capacity()];
+            int cantidad = buffer.remaining();
+            buffer.get(copia, 0, cantidad);
+            System.out.write(copia, 0, cantidad);
+            System.out.flush();
+         }
+      } finally {
+         buffer.clear();
+      }
+   }
+
+   /**
+    * Hace sitio en el buffer, si no caben los bytes se cambia por otro del doble
+    * de tamaño con lo que ya habia.
+    * 
+    * @param bytes Los bytes que se van a añadir.
+    */
+   private void asegurar(int bytes) {
+      if (buffer.remaining() < bytes) {
+         ByteBuffer nuevo = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+         buffer.flip();
+         nuevo.put(buffer);
+         buffer = nuevo;
+      }
+   }
+}
@@ -0,0 +1,116 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Recorridos de filas enteras del tablero, con version vectorial y escalar
+ * @see EscaneoVectorial
+ */
+package dev.adsa.clases.tableros;
+
+/**
+ * Recorridos de muchas casillas seguidas del tablero: pasar una fila a los
+ * simbolos que se dibujan, contar casillas y buscar la siguiente libre.
+ *
+ * Esta clase es la version escalar. Si al ejecutar se añade el modulo
+ * jdk.incubator.vector (--add-modules jdk.incubator.vector)
+ * {@link #obtener()} devuelve {@link EscaneoVectorial}, que hace lo mismo con
+ * instrucciones SIMD.
+ */
+public class EscaneoTablero {
+   /** Simbolo sin colores de cada codigo de casilla */
+   protected static final byte[] SIMBOLOS = { ' ', '#', '@', '=' };
+
+   private static final EscaneoTablero INSTANCIA = crear();
+
+   /** Constructor protegido, se obtiene con {@link #obtener()} */
+   protected EscaneoTablero() {
+   }
+
+   /**
+    * Devuelve el escaneo mas rapido disponible.
+    * 
+    * @return El escaneo vectorial si esta el modulo jdk.incubator.vector, si no
+    *         el escalar.
+    */
+   public static EscaneoTablero obtener() {
+      return INSTANCIA;
+   }
+
+   /**
+    * Crea el escaneo vectorial si el modulo esta cargado. Se carga por nombre
+    * para que sin el modulo no se intente cargar la clase.
+    * 
+    * @return El escaneo que se va a usar.
+    */
+   private static EscaneoTablero crear() {
+      EscaneoTablero escaneo = new EscaneoTablero();
+      if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+         try {
+            escaneo = (EscaneoTablero) Class.forName("dev.adsa.clases.tableros.EscaneoVectorial")
+                  .getDeclaredConstructor().newInstance();
+         } catch (ReflectiveOperationException | LinkageError e) {
+            escaneo = new EscaneoTablero();
+         }
+      }
+      return escaneo;
+   }
+
+   /**
+    * Indica si este escaneo usa instrucciones vectoriales.
+    * 
+    * @return true si es el escaneo vectorial.
+    */
+   public boolean esVectorial() {
+      return false;
+   }
+
+   /**
+    * Pasa los codigos de una fila a los simbolos sin colores: ' ' vacia, '#'
+    * serpiente, '@' fruta y '=' obstaculo. La cabeza y la cola se cambian despues.
+    * 
+    * @param codigos  Los codigos de las casillas.
+    * @param desde    La posicion del primer codigo.
+    * @param cantidad El numero de casillas.
+    * @param salida   El array donde se escriben los simbolos.
+    * @param posicion La posicion del primer simbolo en la salida.
+    */
+   public void mapearFila(byte[] codigos, int desde, int cantidad, byte[] salida, int posicion) {
+      for (int i = 0; i < cantidad; i++) {
+         salida[posicion + i] = SIMBOLOS[codigos[desde + i]];
+      }
+   }
+
+   /**
+    * Cuenta las casillas que tienen un codigo.
+    * 
+    * @param codigos  Los codigos de las casillas.
+    * @param desde    La posicion del primer codigo.
+    * @param cantidad El numero de casillas.
+    * @param codigo   El codigo que se cuenta.
+    * @return El numero de casillas con ese codigo.
+    */
+   public int contar(byte[] codigos, int desde, int cantidad, byte codigo) {
+      int total = 0;
+      for (int i = desde; i < desde + cantidad; i++) {
+         if (codigos[i] == codigo)
+            total++;
+      }
+      return total;
+   }
+
+   /**
+    * Busca la primera casilla vacia.
+    * 
+    * @param codigos  Los codigos de las casillas.
+    * @param desde    La posicion desde la que se busca.
+    * @param cantidad El numero de casillas en las que se busca.
+    * @return La distancia desde la posicion inicial hasta la casilla vacia, o -1
+    *         si no hay ninguna.
+    */
+   public int siguienteLibre(byte[] codigos, int desde, int cantidad) {
+      for (int i = 0; i < cantidad; i++) {
+         if (codigos[desde + i] == Tablero.VACIA)
+            return i;
+      }
+      return -1;
+   }
+}
@@ -0,0 +1,66 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Version SIMD de los recorridos del tablero con la Vector API
+ * @see EscaneoTablero
+ */
+package dev.adsa.clases.tableros;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Version de {@link EscaneoTablero} que procesa tantas casillas a la vez como
+ * quepan en un registro vectorial de la maquina. Las casillas que sobran al
+ * final se hacen con la version escalar. Solo se carga si el modulo
+ * jdk.incubator.vector esta disponible.
+ */
+class EscaneoVectorial extends EscaneoTablero {
+   private static final VectorSpecies<Byte> ESPECIE = ByteVector.SPECIES_PREFERRED;
+
+   /** Constructor que usa {@link EscaneoTablero#obtener()} */
+   EscaneoVectorial() {
+   }
+
+   @Override
+   public boolean esVectorial() {
+      return true;
+   }
+
+   @Override
+   public void mapearFila(byte[] codigos, int desde, int cantidad, byte[] salida, int posicion) {
+      int i = 0;
+      for (int limite = ESPECIE.loopBound(cantidad); i < limite; i += ESPECIE.length()) {
+         ByteVector casillas = ByteVector.fromArray(ESPECIE, codigos, desde + i);
+         ByteVector.broadcast(ESPECIE, SIMBOLOS[Tablero.VACIA])
+               .blend(SIMBOLOS[Tablero.SERPIENTE], casillas.eq(Tablero.SERPIENTE))
+               .blend(SIMBOLOS[Tablero.FRUTA], casillas.eq(Tablero.FRUTA))
+               .blend(SIMBOLOS[Tablero.OBSTACULO], casillas.eq(Tablero.OBSTACULO))
+               .intoArray(salida, posicion + i);
+      }
+      super.mapearFila(codigos, desde + i, cantidad - i, salida, posicion + i);
+   }
+
+   @Override
+   public int contar(byte[] codigos, int desde, int cantidad, byte codigo) {
+      int total = 0;
+      int i = 0;
+      for (int limite = ESPECIE.loopBound(cantidad); i < limite; i += ESPECIE.length()) {
+         total += ByteVector.fromArray(ESPECIE, codigos, desde + i).eq(codigo).trueCount();
+      }
+      return total + super.contar(codigos, desde + i, cantidad - i, codigo);
+   }
+
+   @Override
+   public int siguienteLibre(byte[] codigos, int desde, int cantidad) {
+      int i = 0;
+      for (int limite = ESPECIE.loopBound(cantidad); i < limite; i += ESPECIE.length()) {
+         VectorMask<Byte> libres = ByteVector.fromArray(ESPECIE, codigos, desde + i).eq(Tablero.VACIA);
+         if (libres.anyTrue())
+            return i + libres.firstTrue();
+      }
+      int resto = super.siguienteLibre(codigos, desde + i, cantidad - i);
+      return resto == -1 ? -1 : i + resto;
+   }
+}
@@ -0,0 +1,96 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Indice de las casillas libres de un tablero para colocar frutas
+ * @see Tablero
+ */
+package dev.adsa.clases.tableros;
+
+import dev.adsa.clases.Aleatorio;
+
+/**
+ * Indice de las casillas libres de un tablero. Las casillas libres estan
+ * seguidas en un array y otro array guarda la posicion de cada una, asi
+ * ocupar, liberar y elegir una libre al azar cuestan lo mismo con cualquier
+ * tamaño de tablero.
+ */
+public class IndiceLibres {
+   /** Posicion de una casilla ocupada */
+   private static final int OCUPADA = -1;
+
+   private final int[] libres;
+   private final int[] posiciones;
+   private int cantidad;
+
+   /**
+    * Constructor con todas las casillas libres
+    *
+    * @param casillas El numero de casillas del tablero.
+    */
+   public IndiceLibres(int casillas) {
+      libres = new int[casillas];
+      posiciones = new int[casillas];
+      for (int i = 0; i < casillas; i++) {
+         libres[i] = i;
+         posiciones[i] = i;
+      }
+      cantidad = casillas;
+   }
+
+   /**
+    * Marca una casilla como ocupada, si ya lo estaba no hace nada.
+    *
+    * @param casilla La casilla (fila * columnas + columna).
+    */
+   public void ocupar(int casilla) {
+      int posicion = posiciones[casilla];
+      if (posicion == OCUPADA)
+         return;
+      // La ultima libre pasa al hueco de la que se ocupa
+      int ultima = libres[--cantidad];
+      libres[posicion] = ultima;
+      posiciones[ultima] = posicion;
+      posiciones[casilla] = OCUPADA;
+   }
+
+   /**
+    * Marca una casilla como libre, si ya lo estaba no hace nada.
+    *
+    * @param casilla La casilla (fila * columnas + columna).
+    */
+   public void liberar(int casilla) {
+      if (posiciones[casilla] != OCUPADA)
+         return;
+      libres[cantidad] = casilla;
+      posiciones[casilla] = cantidad++;
+   }
+
+   /**
+    * Indica si una casilla esta libre.
+    *
+    * @param casilla La casilla.
+    * @return true si esta libre.
+    */
+   public boolean estaLibre(int casilla) {
+      return posiciones[casilla] != OCUPADA;
+   }
+
+   /**
+    * Elige una casilla libre al azar.
+    *
+    * @param aleatorio El generador de la partida.
+    * @return La casilla o -1 si no queda ninguna libre.
+    */
+   public int aleatoria(Aleatorio aleatorio) {
+      return cantidad == 0 ? -1 : libres[aleatorio.siguienteEntero(cantidad)];
+   }
+
+   /**
+    * Devuelve el numero de casillas libres.
+    *
+    * @return Las casillas libres.
+    */
+   public int getCantidad() {
+      return cantidad;
+   }
+}
@@ -0,0 +1,84 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Interfaz de los tableros alternativos al array de StringBuilder de JuegoBase
+ * @see TableroDisperso
+ */
+package dev.adsa.clases.tableros;
+
+/**
+ * Interfaz de los tableros que guardan cada casilla como un byte con los
+ * mismos codigos que el tablero de JuegoBase ('0', '1' y '2')
+ */
+public interface Tablero extends AutoCloseable {
+   /** Codigo de una casilla vacia */
+   byte VACIA = 0;
+   /** Codigo de una casilla con la serpiente */
+   byte SERPIENTE = 1;
+   /** Codigo de una casilla con fruta */
+   byte FRUTA = 2;
+   /** Codigo de una casilla con un obstaculo del nivel */
+   byte OBSTACULO = 3;
+
+   /**
+    * Devuelve el numero de filas del tablero.
+    * 
+    * @return El numero de filas.
+    */
+   int getFilas();
+
+   /**
+    * Devuelve el numero de columnas del tablero.
+    * 
+    * @return El numero de columnas.
+    */
+   int getColumnas();
+
+   /**
+    * Devuelve el codigo de una casilla.
+    * 
+    * @param fila    La fila de la casilla.
+    * @param columna La columna de la casilla.
+    * @return {@link #VACIA}, {@link #SERPIENTE}, {@link #FRUTA} o
+    *         {@link #OBSTACULO}.
+    */
+   byte getCasilla(int fila, int columna);
+
+   /**
+    * Cambia el codigo de una casilla.
+    * 
+    * @param fila    La fila de la casilla.
+    * @param columna La columna de la casilla.
+    * @param valor   {@link #VACIA}, {@link #SERPIENTE} o {@link #FRUTA}.
+    */
+   void setCasilla(int fila, int columna, byte valor);
+
+   /**
+    * Copia los codigos de una parte de una fila en un array. Los tableros que
+    * guardan las casillas seguidas lo hacen de una vez.
+    * 
+    * @param fila         La fila que se va a leer.
+    * @param desdeColumna La primera columna que se copia.
+    * @param cantidad     El numero de casillas que se copian.
+    * @param destino      El array donde se copian los codigos.
+    * @param posicion     La posicion del array donde se copia la primera casilla.
+    */
+   default void leerFila(int fila, int desdeColumna, int cantidad, byte[] destino, int posicion) {
+      for (int i = 0; i < cantidad; i++) {
+         destino[posicion + i] = getCasilla(fila, desdeColumna + i);
+      }
+   }
+
+   /**
+    * Deja todas las casillas vacias.
+    */
+   void limpiar();
+
+   /**
+    * Libera la memoria del tablero. Por defecto no hace nada, solo los tableros
+    * fuera del heap tienen algo que liberar.
+    */
+   @Override
+   default void close() {
+   }
+}
@@ -0,0 +1,73 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Tablero en un unico array de bytes, una casilla por byte
+ * @see EscaneoTablero
+ */
+package dev.adsa.clases.tableros;
+
+import java.util.Arrays;
+
+/**
+ * Tablero guardado en un unico array de bytes fila a fila. Al estar las
+ * casillas seguidas se pueden recorrer filas enteras con
+ * {@link EscaneoTablero}, que usa instrucciones vectoriales si estan
+ * disponibles. Es el tablero por defecto.
+ */
+public class TableroBytes implements Tablero {
+   private final byte[] casillas;
+   private final int filas;
+   private final int columnas;
+
+   /**
+    * Constructor que crea el tablero vacio
+    * 
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    */
+   public TableroBytes(int filas, int columnas) {
+      this.casillas = new byte[filas * columnas];
+      this.filas = filas;
+      this.columnas = columnas;
+   }
+
+   /**
+    * Devuelve el array con todas las casillas, la casilla (fila, columna) esta
+    * en la posicion fila * columnas + columna.
+    * 
+    * @return El array de las casillas.
+    */
+   public byte[] getCasillas() {
+      return casillas;
+   }
+
+   @Override
+   public int getFilas() {
+      return filas;
+   }
+
+   @Override
+   public int getColumnas() {
+      return columnas;
+   }
+
+   @Override
+   public byte getCasilla(int fila, int columna) {
+      return casillas[fila * columnas + columna];
+   }
+
+   @Override
+   public void setCasilla(int fila, int columna, byte valor) {
+      casillas[fila * columnas + columna] = valor;
+   }
+
+   @Override
+   public void leerFila(int fila, int desdeColumna, int cantidad, byte[] destino, int posicion) {
+      System.arraycopy(casillas, fila * columnas + desdeColumna, destino, posicion, cantidad);
+   }
+
+   @Override
+   public void limpiar() {
+      Arrays.fill(casillas, VACIA);
+   }
+}
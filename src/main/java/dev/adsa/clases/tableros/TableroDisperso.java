@@ -0,0 +1,258 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Tablero dividido en bloques que solo se crean cuando tienen algo
+ * @see dev.adsa.clases.modos.ModoTableroGigante
+ */
+package dev.adsa.clases.tableros;
+
+import java.util.Arrays;
+
+/**
+ * Tablero para tableros gigantes (hasta 10.000 x 10.000). Se divide en bloques
+ * de {@value #LADO} x {@value #LADO} casillas que solo se crean cuando se
+ * escribe algo en ellos y se borran cuando se vacian, asi la memoria depende
+ * de las casillas ocupadas y no del tamaño del tablero.
+ */
+public class TableroDisperso implements Tablero {
+   /** Lado de cada bloque en casillas, tiene que ser potencia de 2 */
+   public static final int LADO = 64;
+   private static final int DESPLAZAMIENTO = 6;
+
+   /** Bloque de casillas con el numero de casillas no vacias */
+   private static final class Bloque {
+      private final byte[] casillas = new byte[LADO * LADO];
+      private int ocupadas;
+   }
+
+   /**
+    * Mapa de claves long a bloques con direccionamiento abierto y sondeo
+    * lineal, como {@link dev.adsa.clases.ConjuntoLongs}, para no crear un Long
+    * en cada consulta como un HashMap. Al quitar un bloque se mueven hacia
+    * atras los que venian detras, asi no hacen falta marcas de borrado.
+    */
+   private static final class MapaBloques {
+      /** Las claves son siempre positivas, -1 marca los huecos vacios */
+      private static final long VACIO = -1;
+
+      private long[] claves;
+      private Bloque[] valores;
+      private int desplazamiento;
+      private int cantidad;
+
+      MapaBloques() {
+         reservar(16);
+      }
+
+      Bloque get(long clave) {
+         int mascara = claves.length - 1;
+         for (int i = posicion(clave); claves[i] != VACIO; i = (i + 1) & mascara) {
+            if (claves[i] == clave)
+               return valores[i];
+         }
+         return null;
+      }
+
+      /** Añade un bloque, la clave no puede estar ya */
+      void put(long clave, Bloque bloque) {
+         int mascara = claves.length - 1;
+         int i = posicion(clave);
+         while (claves[i] != VACIO)
+            i = (i + 1) & mascara;
+         claves[i] = clave;
+         valores[i] = bloque;
+         if (++cantidad > claves.length / 2)
+            crecer();
+      }
+
+      void remove(long clave) {
+         int mascara = claves.length - 1;
+         int i = posicion(clave);
+         while (claves[i] != clave) {
+            if (claves[i] == VACIO)
+               return;
+            i = (i + 1) & mascara;
+         }
+         cantidad--;
+         // Se mueven atras los siguientes que no estan en su sitio ideal
+         for (int j = (i + 1) & mascara; claves[j] != VACIO; j = (j + 1) & mascara) {
+            if (((j - posicion(claves[j])) & mascara) >= ((j - i) & mascara)) {
+               claves[i] = claves[j];
+               valores[i] = valores[j];
+               i = j;
+            }
+         }
+         claves[i] = VACIO;
+         valores[i] = null;
+      }
+
+      void clear() {
+         Arrays.fill(claves, VACIO);
+         Arrays.fill(valores, null);
+         cantidad = 0;
+      }
+
+      int size() {
+         return cantidad;
+      }
+
+      private int posicion(long clave) {
+         return (int) ((clave * 0x9E3779B97F4A7C15L) >>> desplazamiento);
+      }
+
+      private void reservar(int capacidad) {
+         claves = new long[capacidad];
+         Arrays.fill(claves, VACIO);
+         valores = new Bloque[capacidad];
+         desplazamiento = Long.numberOfLeadingZeros(capacidad) + 1;
+      }
+
+      private void crecer() {
+         long[] clavesAnteriores = claves;
+         Bloque[] valoresAnteriores = valores;
+         reservar(claves.length * 2);
+         int mascara = claves.length - 1;
+         for (int k = 0; k < clavesAnteriores.length; k++) {
+            if (clavesAnteriores[k] != VACIO) {
+               int i = posicion(clavesAnteriores[k]);
+               while (claves[i] != VACIO)
+                  i = (i + 1) & mascara;
+               claves[i] = clavesAnteriores[k];
+               valores[i] = valoresAnteriores[k];
+            }
+         }
+      }
+   }
+
+   private final int filas;
+   private final int columnas;
+   /** Bloques creados, la clave es la fila del bloque << 32 | columna del bloque */
+   private final MapaBloques bloques = new MapaBloques();
+
+   /** Ultimo bloque consultado, al dibujar casi siempre se repite */
+   private long claveUltimo = -1;
+   private Bloque ultimo;
+
+   /**
+    * Constructor del tablero, no reserva memoria para las casillas
+    * 
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    */
+   public TableroDisperso(int filas, int columnas) {
+      this.filas = filas;
+      this.columnas = columnas;
+   }
+
+   @Override
+   public int getFilas() {
+      return filas;
+   }
+
+   @Override
+   public int getColumnas() {
+      return columnas;
+   }
+
+   @Override
+   public byte getCasilla(int fila, int columna) {
+      Bloque bloque = buscarBloque(clave(fila, columna));
+      return bloque == null ? VACIA : bloque.casillas[posicion(fila, columna)];
+   }
+
+   @Override
+   public void setCasilla(int fila, int columna, byte valor) {
+      long clave = clave(fila, columna);
+      Bloque bloque = buscarBloque(clave);
+      if (bloque == null) {
+         // Los bloques vacios no existen, no hace falta crearlos para vaciar
+         if (valor == VACIA)
+            return;
+         bloque = new Bloque();
+         bloques.put(clave, bloque);
+         claveUltimo = clave;
+         ultimo = bloque;
+      }
+
+      int posicion = posicion(fila, columna);
+      byte anterior = bloque.casillas[posicion];
+      bloque.casillas[posicion] = valor;
+      if (anterior == VACIA && valor != VACIA) {
+         bloque.ocupadas++;
+      } else if (anterior != VACIA && valor == VACIA && --bloque.ocupadas == 0) {
+         bloques.remove(clave);
+         claveUltimo = -1;
+         ultimo = null;
+      }
+   }
+
+   @Override
+   public void leerFila(int fila, int desdeColumna, int cantidad, byte[] destino, int posicion) {
+      // Se copia bloque a bloque, los que no existen son casillas vacias
+      int columna = desdeColumna;
+      int fin = desdeColumna + cantidad;
+      while (columna < fin) {
+         int trozo = Math.min(LADO - (columna & (LADO - 1)), fin - columna);
+         Bloque bloque = buscarBloque(clave(fila, columna));
+         int destinoTrozo = posicion + columna - desdeColumna;
+         if (bloque == null)
+            Arrays.fill(destino, destinoTrozo, destinoTrozo + trozo, VACIA);
+         else
+            System.arraycopy(bloque.casillas, posicion(fila, columna), destino, destinoTrozo, trozo);
+         columna += trozo;
+      }
+   }
+
+   @Override
+   public void limpiar() {
+      bloques.clear();
+      claveUltimo = -1;
+      ultimo = null;
+   }
+
+   /**
+    * Devuelve el numero de bloques creados, sirve para ver cuanta memoria se esta
+    * usando.
+    * 
+    * @return El numero de bloques en memoria.
+    */
+   public int getBloquesCreados() {
+      return bloques.size();
+   }
+
+   /**
+    * Busca un bloque por su clave usando el ultimo bloque consultado.
+    * 
+    * @param clave La clave del bloque.
+    * @return El bloque o null si no existe.
+    */
+   private Bloque buscarBloque(long clave) {
+      if (clave != claveUltimo) {
+         ultimo = bloques.get(clave);
+         claveUltimo = ultimo == null ? -1 : clave;
+      }
+      return ultimo;
+   }
+
+   /**
+    * Calcula la clave del bloque que contiene una casilla.
+    * 
+    * @param fila    La fila de la casilla.
+    * @param columna La columna de la casilla.
+    * @return La clave del bloque.
+    */
+   private static long clave(int fila, int columna) {
+      return ((long) (fila >>> DESPLAZAMIENTO) << 32) | (columna >>> DESPLAZAMIENTO);
+   }
+
+   /**
+    * Calcula la posicion de una casilla dentro de su bloque.
+    * 
+    * @param fila    La fila de la casilla.
+    * @param columna La columna de la casilla.
+    * @return La posicion dentro del array del bloque.
+    */
+   private static int posicion(int fila, int columna) {
+      return ((fila & (LADO - 1)) << DESPLAZAMIENTO) | (columna & (LADO - 1));
+   }
+}
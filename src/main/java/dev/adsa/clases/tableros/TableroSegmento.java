@@ -0,0 +1,200 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Tablero fuera del heap sobre un MemorySegment, en memoria o mapeado a un archivo
+ * @see TipoTablero
+ */
+package dev.adsa.clases.tableros;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tablero guardado fuera del heap en un MemorySegment, asi el recolector de
+ * basura no tiene que recorrerlo. Se reserva de una vez y se limpia con fill.
+ *
+ * Si se mapea a un archivo, otro proceso (un visor o una prueba) puede mapear
+ * el mismo archivo y leer el tablero en vivo sin copiarlo. El archivo empieza
+ * con una cabecera de {@value #CABECERA} bytes: el numero magico, la version,
+ * las filas y las columnas (enteros en el orden de bytes de la maquina), y
+ * despues una casilla por byte fila a fila.
+ *
+ * En Java 21 esta API es preview, hay que ejecutar con --enable-preview.
+ */
+public final class TableroSegmento implements Tablero {
+   /** Numero magico de la cabecera, "SNK1" */
+   public static final int MAGIA = 0x534E4B31;
+   /** Tamaño de la cabecera en bytes */
+   public static final int CABECERA = 16;
+   private static final int VERSION = 1;
+
+   private final Arena arena;
+   private final MemorySegment segmento;
+   private final MemorySegment casillas;
+   private final int filas;
+   private final int columnas;
+   private boolean cerrado;
+
+   /**
+    * Constructor privado, se crean con {@link #confinado(int, int)},
+    * {@link #mapeado(Path, int, int)} o {@link #abrirLectura(Path)}
+    *
+    * @param arena    La arena que libera el segmento al cerrar.
+    * @param segmento El segmento con la cabecera y las casillas.
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    */
+   private TableroSegmento(Arena arena, MemorySegment segmento, int filas, int columnas) {
+      this.arena = arena;
+      this.segmento = segmento;
+      this.casillas = segmento.asSlice(CABECERA, (long) filas * columnas);
+      this.filas = filas;
+      this.columnas = columnas;
+   }
+
+   /**
+    * Crea un tablero en memoria fuera del heap que solo puede usar el hilo que lo
+    * crea. Se libera al cerrarlo, normalmente al terminar la partida.
+    *
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    * @return El tablero vacio.
+    */
+   public static TableroSegmento confinado(int filas, int columnas) {
+      Arena arena = Arena.ofConfined();
+      MemorySegment segmento = arena.allocate(CABECERA + (long) filas * columnas, 64);
+      return inicializar(arena, segmento, filas, columnas);
+   }
+
+   /**
+    * Crea un tablero mapeado a un archivo para que otros procesos lo puedan leer
+    * mientras se juega. Si el archivo existe se reutiliza sin truncarlo: si es
+    * mas pequeño se alarga hasta el tamaño del tablero y si es mas grande se deja
+    * como esta. Asi un visor que lo tenga mapeado de una partida anterior nunca
+    * lee fuera del archivo (lo que tiraria la maquina virtual con SIGBUS), solo
+    * ve el tablero nuevo.
+    *
+    * @param archivo  El archivo al que se mapea el tablero.
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    * @return El tablero vacio.
+    * @throws IOException Si no se puede crear o mapear el archivo.
+    */
+   public static TableroSegmento mapeado(Path archivo, int filas, int columnas) throws IOException {
+      Arena arena = Arena.ofShared();
+      try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+         // map alarga el archivo si hace falta, nunca lo acorta
+         MemorySegment segmento = canal.map(FileChannel.MapMode.READ_WRITE, 0, CABECERA + (long) filas * columnas,
+               arena);
+         return inicializar(arena, segmento, filas, columnas);
+      } catch (IOException | RuntimeException e) {
+         arena.close();
+         throw e;
+      }
+   }
+
+   /**
+    * Abre en solo lectura un tablero que esta escribiendo otro proceso. Las
+    * dimensiones se leen de la cabecera.
+    *
+    * @param archivo El archivo del tablero.
+    * @return El tablero, que ve los cambios del otro proceso sin copiarlos.
+    * @throws IOException Si no se puede abrir el archivo o no es un tablero.
+    */
+   public static TableroSegmento abrirLectura(Path archivo) throws IOException {
+      Arena arena = Arena.ofShared();
+      try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+         MemorySegment segmento = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size(), arena);
+         if (segmento.byteSize() < CABECERA || segmento.get(ValueLayout.JAVA_INT, 0) != MAGIA)
+            throw new IOException("El archivo " + archivo + " no es un tablero");
+
+         int filas = segmento.get(ValueLayout.JAVA_INT, 8);
+         int columnas = segmento.get(ValueLayout.JAVA_INT, 12);
+         if (segmento.byteSize() < CABECERA + (long) filas * columnas)
+            throw new IOException("El archivo " + archivo + " esta incompleto");
+         return new TableroSegmento(arena, segmento, filas, columnas);
+      } catch (IOException | RuntimeException e) {
+         arena.close();
+         throw e;
+      }
+   }
+
+   /**
+    * Escribe la cabecera y deja las casillas vacias.
+    *
+    * @param arena    La arena del segmento.
+    * @param segmento El segmento completo.
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    * @return El tablero creado.
+    */
+   private static TableroSegmento inicializar(Arena arena, MemorySegment segmento, int filas, int columnas) {
+      segmento.set(ValueLayout.JAVA_INT, 0, MAGIA);
+      segmento.set(ValueLayout.JAVA_INT, 4, VERSION);
+      segmento.set(ValueLayout.JAVA_INT, 8, filas);
+      segmento.set(ValueLayout.JAVA_INT, 12, columnas);
+      TableroSegmento tablero = new TableroSegmento(arena, segmento, filas, columnas);
+      tablero.limpiar();
+      return tablero;
+   }
+
+   /**
+    * Devuelve las casillas del tablero sin la cabecera, una por byte.
+    *
+    * @return El segmento de las casillas.
+    */
+   public MemorySegment getCasillas() {
+      return casillas;
+   }
+
+   @Override
+   public int getFilas() {
+      return filas;
+   }
+
+   @Override
+   public int getColumnas() {
+      return columnas;
+   }
+
+   @Override
+   public byte getCasilla(int fila, int columna) {
+      return casillas.get(ValueLayout.JAVA_BYTE, (long) fila * columnas + columna);
+   }
+
+   @Override
+   public void setCasilla(int fila, int columna, byte valor) {
+      casillas.set(ValueLayout.JAVA_BYTE, (long) fila * columnas + columna, valor);
+   }
+
+   @Override
+   public void leerFila(int fila, int desdeColumna, int cantidad, byte[] destino, int posicion) {
+      MemorySegment.copy(casillas, ValueLayout.JAVA_BYTE, (long) fila * columnas + desdeColumna, destino, posicion,
+            cantidad);
+   }
+
+   @Override
+   public void limpiar() {
+      casillas.fill(VACIA);
+   }
+
+   /**
+    * Libera el segmento. Si estaba mapeado el archivo se queda con el ultimo
+    * estado del tablero. Se puede llamar mas de una vez.
+    */
+   @Override
+   public void close() {
+      if (!cerrado) {
+         cerrado = true;
+         if (segmento.isMapped() && !segmento.isReadOnly())
+            segmento.force();
+         arena.close();
+      }
+   }
+}
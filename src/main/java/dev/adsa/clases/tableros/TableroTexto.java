@@ -0,0 +1,70 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Tablero de siempre, un StringBuilder por fila con los caracteres '0', '1' y '2'
+ * @see dev.adsa.clases.JuegoBase
+ */
+package dev.adsa.clases.tableros;
+
+/**
+ * Tablero guardado como un array de StringBuilder, cada StringBuilder es una
+ * fila y cada caracter una casilla ('0' vacia, '1' serpiente y '2' fruta). Es
+ * el tablero que usa JuegoBase por defecto.
+ */
+public class TableroTexto implements Tablero {
+   private final StringBuilder[] coordenadas;
+
+   /**
+    * Constructor que crea todas las filas llenas de '0'
+    * 
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    */
+   public TableroTexto(int filas, int columnas) {
+      coordenadas = new StringBuilder[filas];
+      for (int fila = 0; fila < filas; fila++) {
+         coordenadas[fila] = new StringBuilder(columnas);
+         for (int columna = 0; columna < columnas; columna++) {
+            coordenadas[fila].append('0');
+         }
+      }
+   }
+
+   /**
+    * Devuelve las filas del tablero.
+    * 
+    * @return Un array de StringBuilder, cada uno es una fila del tablero.
+    */
+   public StringBuilder[] getCoordenadas() {
+      return coordenadas;
+   }
+
+   @Override
+   public int getFilas() {
+      return coordenadas.length;
+   }
+
+   @Override
+   public int getColumnas() {
+      return coordenadas[0].length();
+   }
+
+   @Override
+   public byte getCasilla(int fila, int columna) {
+      return (byte) (coordenadas[fila].charAt(columna) - '0');
+   }
+
+   @Override
+   public void setCasilla(int fila, int columna, byte valor) {
+      coordenadas[fila].setCharAt(columna, (char) ('0' + valor));
+   }
+
+   @Override
+   public void limpiar() {
+      for (StringBuilder fila : coordenadas) {
+         for (int columna = 0; columna < fila.length(); columna++) {
+            fila.setCharAt(columna, '0');
+         }
+      }
+   }
+}
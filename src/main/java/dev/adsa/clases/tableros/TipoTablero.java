@@ -0,0 +1,77 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Tipos de tablero que puede usar JuegoBase
+ * @see Tablero
+ */
+package dev.adsa.clases.tableros;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Tipos de tablero que puede usar JuegoBase. Se elige con la propiedad
+ * {@value #PROPIEDAD} al ejecutar, por ejemplo
+ * -Dsnake.tablero=ARCHIVO -Dsnake.tablero.archivo=./tablero.bin
+ */
+public enum TipoTablero {
+   /** Un unico array de bytes, se recorre por filas enteras con EscaneoTablero */
+   BYTES,
+   /** Un StringBuilder por fila, guarda lo mismo que el tablero de la primera version */
+   TEXTO,
+   /** Un MemorySegment fuera del heap que se libera al terminar la partida */
+   MEMORIA,
+   /** Un MemorySegment mapeado a un archivo que pueden leer otros procesos */
+   ARCHIVO;
+
+   /** Propiedad del sistema con el tipo de tablero */
+   public static final String PROPIEDAD = "snake.tablero";
+   /** Propiedad del sistema con el archivo del tablero de tipo ARCHIVO */
+   public static final String PROPIEDAD_ARCHIVO = "snake.tablero.archivo";
+
+   /**
+    * Devuelve el tipo de tablero indicado en la propiedad {@value #PROPIEDAD}.
+    *
+    * @return El tipo de tablero, BYTES si no se ha indicado o no es valido.
+    */
+   public static TipoTablero porDefecto() {
+      TipoTablero tipo = BYTES;
+      try {
+         tipo = valueOf(System.getProperty(PROPIEDAD, "BYTES").toUpperCase());
+      } catch (IllegalArgumentException e) {
+         System.out.println("Tipo de tablero no valido, se usa BYTES");
+      }
+      return tipo;
+   }
+
+   /**
+    * Crea un tablero vacio de este tipo. Si el tablero fuera del heap no se puede
+    * crear (por ejemplo en Java 21 sin --enable-preview) se crea uno de bytes.
+    *
+    * @param filas    El numero de filas del tablero.
+    * @param columnas El numero de columnas del tablero.
+    * @return El tablero vacio.
+    */
+   public Tablero crear(int filas, int columnas) {
+      Tablero tablero = null;
+      try {
+         switch (this) {
+            case MEMORIA:
+               tablero = TableroSegmento.confinado(filas, columnas);
+               break;
+            case ARCHIVO:
+               tablero = TableroSegmento.mapeado(Path.of(System.getProperty(PROPIEDAD_ARCHIVO, "./tablero.bin")),
+                     filas, columnas);
+               break;
+            case TEXTO:
+               tablero = new TableroTexto(filas, columnas);
+               break;
+            default:
+               break;
+         }
+      } catch (IOException | LinkageError e) {
+         System.out.println("No se ha podido crear el tablero " + this + ", se usa BYTES: " + e);
+      }
+      return tablero != null ? tablero : new TableroBytes(filas, columnas);
+   }
+}
@@ -0,0 +1,255 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo es una prueba de regresion de la memoria que reserva cada tick del juego
+ *
+ */
+package dev.adsa.pruebas;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.management.JMException;
+import javax.management.JMX;
+import javax.management.ObjectName;
+
+import dev.adsa.clases.Aleatorio;
+import dev.adsa.clases.JuegoBase;
+import dev.adsa.clases.Partida;
+import dev.adsa.clases.entrada.EntradaArchivo;
+import dev.adsa.clases.entrada.FuenteDirecciones;
+import dev.adsa.clases.guardado.EstadoPartida;
+import dev.adsa.clases.guardado.HiloGuardado;
+import dev.adsa.clases.ia.PilotoHamiltoniano;
+import dev.adsa.clases.metricas.MonitorJuego;
+import dev.adsa.clases.metricas.MonitorJuegoMBean;
+import dev.adsa.clases.modos.ModoAtravesarParedes;
+import dev.adsa.clases.modos.ModoNormal;
+import dev.adsa.clases.salida.DibujoTablero;
+import dev.adsa.clases.salida.SalidaFotograma;
+
+/**
+ * Juega partidas con semilla fija en el modo normal y en el modo atravesar
+ * paredes con el piloto hamiltoniano y mide con
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}
+ * cuantos bytes reserva el hilo del juego en cada tick. Se juega con la
+ * configuracion por defecto: el tablero lo dibuja el hilo de dibujo, con
+ * colores, en una salida que lo descarta todo, y la partida se guarda sola
+ * cada {@link HiloGuardado#ticksPorDefecto()} ticks en un archivo temporal.
+ * Mientras tanto otro hilo escribe lineas en un archivo de comandos que se lee
+ * en cada tick como el content.txt del juego.
+ *
+ * El hilo de dibujo es virtual y la JVM no cuenta lo que reservan los hilos
+ * virtuales, asi que cada modo se juega dos veces: con el hilo de dibujo, que
+ * mide el bucle del juego y la copia de cada fotograma, y dibujando en el hilo
+ * del juego, que mide la longitud y el tablero que escribe el hilo de dibujo en
+ * cada fotograma (los dos usan {@link DibujoTablero}). Las dos tienen que
+ * quedar dentro del limite.
+ *
+ * Los primeros {@value #TICKS_CALENTAMIENTO} ticks de cada partida no se
+ * miden, y la primera partida de cada modo y forma de dibujar solo sirve para
+ * que se compile el bucle. Si en alguna de las demas se pasa del limite de
+ * bytes por tick la prueba falla.
+ *
+ * Cada vez que el hilo del juego despierta al hilo de dibujo o al de guardado
+ * la JVM reserva unos {@value #BYTES_POR_DESPERTAR} bytes para volver a poner
+ * el hilo virtual en su planificador. Eso no depende del juego, asi que se
+ * permite aparte: el limite de cada partida es el presupuesto por tick mas
+ * {@value #BYTES_POR_DESPERTAR} bytes por cada fotograma publicado (los
+ * dibujados y descartados que cuenta el {@link MonitorJuego}) y por cada
+ * guardado, mas {@value #BYTES_SUELTOS} bytes por partida para reservas que no
+ * se repiten, como el nodo que crea el cerrojo del dibujo si el hilo del juego
+ * tiene que esperarlo. Reservar algo en todos los ticks se pasa de eso.
+ *
+ * Se ejecuta con:
+ * mvn exec:java -Dexec.mainClass="dev.adsa.pruebas.PruebaAsignaciones" -Dexec.args="10 20 0 3"
+ */
+public class PruebaAsignaciones {
+    /** Ticks del principio de cada partida que no se miden */
+    private static final int TICKS_CALENTAMIENTO = 1000;
+    /** Linea que se escribe en el archivo de comandos, no es ninguna direccion */
+    private static final String LINEA = "x" + System.lineSeparator();
+    /** Bytes que reserva la JVM al despertar un hilo virtual que esta esperando */
+    private static final int BYTES_POR_DESPERTAR = 24;
+    /** Bytes que se permiten una vez en cada partida */
+    private static final int BYTES_SUELTOS = 1024;
+
+    /**
+     * Piloto hamiltoniano que apunta los bytes reservados por el hilo del juego
+     * en cada tick y lee el archivo de comandos.
+     */
+    private static class PilotoMedido implements FuenteDirecciones {
+        private final PilotoHamiltoniano piloto;
+        private final EntradaArchivo archivo;
+        private final MonitorJuegoMBean monitor;
+        private final com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        private int ticks;
+        private long bytesInicio;
+        private long bytesFin;
+        private long fotogramasInicio;
+        private long fotogramasFin;
+
+        PilotoMedido(int filas, int columnas, Path comandos, MonitorJuegoMBean monitor) throws IOException {
+            this.piloto = new PilotoHamiltoniano(filas, columnas);
+            this.archivo = new EntradaArchivo(comandos.toString());
+            this.monitor = monitor;
+        }
+
+        @Override
+        public String siguienteDireccion(JuegoBase juego, String direccionActual) throws IOException {
+            // La consulta JMX reserva memoria, se hace antes de empezar a medir
+            if (ticks + 1 == TICKS_CALENTAMIENTO)
+                fotogramasInicio = fotogramasPublicados();
+            long bytes = hilos.getCurrentThreadAllocatedBytes();
+            ticks++;
+            if (ticks == TICKS_CALENTAMIENTO)
+                bytesInicio = bytes;
+            else if (ticks > TICKS_CALENTAMIENTO)
+                bytesFin = bytes;
+            // Se lee el archivo igual que en el juego pero manda el piloto
+            archivo.siguienteDireccion(juego, direccionActual);
+            return piloto.siguienteDireccion(juego, direccionActual);
+        }
+
+        /**
+         * Devuelve los bytes reservados de media en los ticks medidos.
+         *
+         * @return Los bytes por tick, 0 si la partida no ha llegado a medirse.
+         */
+        double bytesPorTick() {
+            int medidos = ticks - TICKS_CALENTAMIENTO;
+            return medidos <= 0 ? 0 : (double) (bytesFin - bytesInicio) / medidos;
+        }
+
+        /**
+         * Apunta los fotogramas publicados al terminar la partida. Incluye los
+         * del ultimo tick, que ya no se mide, asi que sobra algun despertar.
+         */
+        void terminar() {
+            fotogramasFin = fotogramasPublicados();
+        }
+
+        /**
+         * Devuelve las veces que se ha despertado a otro hilo en los ticks
+         * medidos: un fotograma publicado o un guardado.
+         *
+         * @return Los despertares, 0 si la partida no ha llegado a medirse.
+         */
+        long despertares() {
+            int medidos = ticks - TICKS_CALENTAMIENTO;
+            if (medidos <= 0)
+                return 0;
+            long guardados = medidos / HiloGuardado.ticksPorDefecto() + 1;
+            return fotogramasFin - fotogramasInicio + guardados;
+        }
+
+        /**
+         * Devuelve los bytes por tick permitidos en esta partida.
+         *
+         * @param presupuesto Los bytes por tick permitidos al juego.
+         * @return El presupuesto mas los despertares y las reservas sueltas
+         *         repartidos entre los ticks medidos.
+         */
+        double limite(double presupuesto) {
+            int medidos = ticks - TICKS_CALENTAMIENTO;
+            return medidos <= 0 ? presupuesto
+                    : presupuesto + (double) (BYTES_POR_DESPERTAR * despertares() + BYTES_SUELTOS) / medidos;
+        }
+
+        private long fotogramasPublicados() {
+            return monitor.getFotogramasDibujados() + monitor.getFotogramasDescartados();
+        }
+
+        @Override
+        public void close() throws IOException {
+            archivo.close();
+        }
+    }
+
+    /**
+     * Juega las partidas y termina con codigo 0 si ninguna medida se ha pasado
+     * del presupuesto o 1 si alguna si.
+     *
+     * @param args filas, columnas, bytes por tick permitidos y partidas de cada
+     *             modo y forma de dibujar (por defecto 10 20 0 3)
+     * @throws IOException          si no se puede crear el archivo de comandos
+     * @throws JMException          si no se encuentra el monitor JMX
+     * @throws InterruptedException si se interrumpe el thread principal
+     */
+    public static void main(String[] args) throws IOException, InterruptedException, JMException {
+        int filas = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int columnas = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        double presupuesto = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+        int partidas = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+        // Antes de cambiar System.out, para que los fotogramas vayan a la salida nula
+        PrintStream consola = SalidaFotograma.getConsola();
+        Path comandos = Files.createTempFile("comandos", ".txt");
+        Path guardada = Files.createTempFile("partida", EstadoPartida.EXTENSION);
+        // El proxy busca el monitor en cada consulta, cuando el juego ya lo ha registrado
+        MonitorJuegoMBean monitor = JMX.newMBeanProxy(ManagementFactory.getPlatformMBeanServer(),
+                new ObjectName(MonitorJuego.NOMBRE), MonitorJuegoMBean.class);
+        Thread escritor = Thread.ofPlatform().daemon().start(() -> escribirComandos(comandos));
+        boolean correcto = true;
+        try {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            for (String modo : new String[] { "normal", "atravesar paredes" }) {
+                for (boolean enHilo : new boolean[] { true, false }) {
+                    String dibujo = enHilo ? "hilo de dibujo" : "dibujo directo";
+                    for (int i = 0; i < partidas; i++) {
+                        JuegoBase juego = modo.equals("normal") ? new ModoNormal() : new ModoAtravesarParedes();
+                        PilotoMedido piloto = new PilotoMedido(filas, columnas, comandos, monitor);
+                        juego.setFuenteDirecciones(piloto);
+                        juego.setArchivoGuardado(guardada);
+                        juego.setDibujoEnHilo(enHilo);
+                        juego.setAleatorio(new Aleatorio(i));
+                        juego.iniciarJuego(new int[] { filas, columnas, 1, 1 }, new Partida());
+                        piloto.terminar();
+
+                        boolean medida = i > 0;
+                        double limite = piloto.limite(presupuesto);
+                        boolean dentro = !medida || piloto.bytesPorTick() <= limite;
+                        correcto &= dentro;
+                        consola.printf("Modo %s, %s, partida %d: %d ticks, %d despertares, "
+                                + "%.2f bytes por tick (limite %.2f)%s%n", modo, dibujo, i + 1, piloto.ticks,
+                                piloto.despertares(), piloto.bytesPorTick(), limite,
+                                !medida ? " (calentamiento)" : dentro ? "" : " FALLA");
+                    }
+                }
+            }
+        } finally {
+            System.setOut(consola);
+            escritor.interrupt();
+            escritor.join();
+            Files.deleteIfExists(comandos);
+            Files.deleteIfExists(guardada);
+        }
+        System.exit(correcto ? 0 : 1);
+    }
+
+    /**
+     * Escribe una linea en el archivo de comandos cada milisegundo hasta que se
+     * interrumpa el hilo.
+     *
+     * @param comandos El archivo de comandos.
+     */
+    private static void escribirComandos(Path comandos) {
+        try (Writer escritor = Files.newBufferedWriter(comandos)) {
+            while (!Thread.currentThread().isInterrupted()) {
+                escritor.write(LINEA);
+                escritor.flush();
+                Thread.sleep(1);
+            }
+        } catch (IOException e) {
+            System.err.println("No se ha podido escribir el archivo de comandos: " + e.getMessage());
+        } catch (InterruptedException e) {
+            // Se ha terminado la prueba
+        }
+    }
+}
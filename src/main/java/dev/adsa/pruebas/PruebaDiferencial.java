@@ -0,0 +1,773 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo es una prueba diferencial que compara el juego con las reglas de la primera version con partidas aleatorias
+ *
+ */
+package dev.adsa.pruebas;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import dev.adsa.clases.Aleatorio;
+import dev.adsa.clases.JuegoBase;
+import dev.adsa.clases.Partida;
+import dev.adsa.clases.entrada.FuenteDirecciones;
+import dev.adsa.clases.modos.ModoAtravesarParedes;
+import dev.adsa.clases.modos.ModoNormal;
+import dev.adsa.clases.salida.SalidaFotograma;
+import dev.adsa.clases.tableros.Tablero;
+import dev.adsa.clases.tableros.TableroBytes;
+import dev.adsa.clases.tableros.TipoTablero;
+
+/**
+ * Prueba diferencial del juego contra las reglas de la primera version.
+ * {@link MotorInicial} es una copia del bucle de JuegoBase, ModoNormal y
+ * ModoAtravesarParedes del commit 4ba1c22: el tablero es un StringBuilder por
+ * fila, la fruta, la cabeza y la cola se miran con charAt y replace segun la
+ * direccion como String, y en el modo normal la serpiente se choca con la pared
+ * cuando salta la excepcion de salirse del tablero. Solo cambia en lo que se
+ * decidio cambiar al pasar a las tablas de vecinos: al atravesar una pared se
+ * comprueba el choque en la casilla de la cabeza nueva (la primera version
+ * miraba la de al lado) y un movimiento que no es W, A, S o D sigue en la
+ * direccion que llevaba. La fruta sale del mismo {@link Aleatorio} que en el
+ * juego en lugar de Math.random.
+ *
+ * Genera casos al azar (modo, filas de 3 a 40, columnas de 3 a 80 como en la
+ * configuracion, semilla de la fruta y una secuencia de movimientos) y juega
+ * cada uno con el juego actual y cada tipo de tablero mientras el motor de
+ * referencia juega la misma partida a la vez. En cada tick, antes de mover, se
+ * comparan el tablero entero, la cabeza, la cola, la longitud y si la serpiente
+ * sigue viva; al terminar, el tablero, la cabeza y la cola como han quedado,
+ * como ha terminado y la longitud final.
+ *
+ * Los casos se reparten entre un hilo por nucleo y los ticks no esperan
+ * (0 milisegundos por tick). Al primer caso distinto se paran todos los hilos
+ * y el caso se reduce: se quitan movimientos, se achica el tablero y se
+ * simplifica la semilla mientras siga fallando, y se muestra el caso minimo
+ * con los dos tableros del tick en el que se separan. El caso se puede
+ * repetir pasando "caso" y sus datos como argumentos.
+ *
+ * La idea es probar millones de casos. Cada tick lee el tablero entero y lo
+ * compara casilla a casilla con el de referencia, que ademas crea Strings como
+ * la primera version, y cada caso se juega una vez por tipo de tablero. Con
+ * los tres tableros (BYTES, TEXTO y MEMORIA, ejecutando con --enable-preview)
+ * salen unos 2400 casos por segundo y nucleo (medido con "200000 400 1 1"; en
+ * maquinas mas lentas se han visto unos 1600), asi que el millon de casos por
+ * defecto son entre 7 y 10 minutos por nucleo. Sin --enable-preview solo se
+ * juegan BYTES y TEXTO y salen unos 3500 casos por segundo, unos 5 minutos por
+ * nucleo. La mayoria de las partidas al azar se chocan pronto y se quedan en
+ * unos 36 ticks de media.
+ *
+ * El tablero {@link TipoTablero#ARCHIVO} no se prueba porque todas las
+ * partidas mapearian el mismo archivo, como en el servidor, y
+ * {@link TipoTablero#MEMORIA} solo si se ha ejecutado con --enable-preview.
+ *
+ * Se ejecuta con:
+ * MAVEN_OPTS="--enable-preview" mvn exec:java -Dexec.mainClass="dev.adsa.pruebas.PruebaDiferencial" -Dexec.args="1000000 400 1"
+ */
+public class PruebaDiferencial {
+    /** Movimientos de los casos, con '-' la serpiente sigue recta */
+    private static final String LETRAS = "WASD-";
+    /** Cada letra como String, para no crear uno en cada tick */
+    private static final String[] DIRECCIONES = { "W", "A", "S", "D", "-" };
+    /** Caracter de cada casilla al mostrar un tablero, por su codigo */
+    private static final String DIBUJO = ".#*X";
+
+    /**
+     * Un caso de la prueba, con todo lo necesario para repetir la partida.
+     *
+     * @param atraviesaParedes true en el modo atravesar paredes.
+     * @param filas            Las filas del tablero.
+     * @param columnas         Las columnas del tablero.
+     * @param semilla          La semilla del generador de la fruta.
+     * @param movimientos      Un movimiento por tick, de {@value #LETRAS}.
+     */
+    private record Caso(boolean atraviesaParedes, int filas, int columnas, long semilla, String movimientos) {
+
+        /**
+         * Genera el caso numero n de una semilla, siempre el mismo. Los
+         * movimientos siguen recto la mayoria de las veces para que las
+         * partidas no acaben en los primeros ticks.
+         */
+        static Caso aleatorio(long semillaBase, long numero, int maximoMovimientos) {
+            SplittableRandom azar = new SplittableRandom(semillaBase * 0x9E3779B97F4A7C15L + numero);
+            boolean atraviesa = azar.nextBoolean();
+            int filas = azar.nextInt(3, 41);
+            int columnas = azar.nextInt(3, 81);
+            long semilla = azar.nextLong();
+            char[] movimientos = new char[azar.nextInt(1, maximoMovimientos + 1)];
+            for (int i = 0; i < movimientos.length; i++)
+                movimientos[i] = azar.nextInt(20) < 17 ? '-' : LETRAS.charAt(azar.nextInt(4));
+            return new Caso(atraviesa, filas, columnas, semilla, new String(movimientos));
+        }
+
+        Caso conMovimientos(String nuevos) {
+            return new Caso(atraviesaParedes, filas, columnas, semilla, nuevos);
+        }
+
+        Caso conTablero(int nuevasFilas, int nuevasColumnas) {
+            return new Caso(atraviesaParedes, nuevasFilas, nuevasColumnas, semilla, movimientos);
+        }
+
+        Caso conSemilla(long nuevaSemilla) {
+            return new Caso(atraviesaParedes, filas, columnas, nuevaSemilla, movimientos);
+        }
+
+        /** Los argumentos para repetir el caso */
+        @Override
+        public String toString() {
+            return "caso " + (atraviesaParedes ? "atravesar" : "normal") + " " + filas + " " + columnas + " "
+                    + semilla + " " + (movimientos.isEmpty() ? "-" : movimientos);
+        }
+    }
+
+    /**
+     * Las reglas de la primera version del juego. Los metodos son los de
+     * JuegoBase, ModoNormal y ModoAtravesarParedes de entonces, con el bucle de
+     * iniciarJuego partido en {@link #empezarTick()} y {@link #mover(char)} para
+     * jugar a la vez que el juego. Las coordenadas son {columna + 1, fila}, como
+     * eran.
+     */
+    private static final class MotorInicial {
+        private final boolean atraviesaParedes;
+        private final Aleatorio aleatorio;
+        private final StringBuilder[] coordenadas;
+        private final int[] coordsCabeza = { 3, 0 };
+        private final int[] coordsCola = { 1, 0 };
+        private String direcion = "D";
+        private String movs = "DD";
+        private int snakeLongitud = 3;
+        private boolean haComido = true;
+        private boolean alive = true;
+        private boolean win;
+
+        MotorInicial(Caso caso) {
+            this.atraviesaParedes = caso.atraviesaParedes();
+            this.aleatorio = new Aleatorio(caso.semilla());
+            coordenadas = new StringBuilder[caso.filas()];
+            for (int filas = 0; filas < caso.filas(); filas++) {
+                coordenadas[filas] = new StringBuilder("");
+                for (int columnas = 0; columnas < caso.columnas(); columnas++)
+                    coordenadas[filas].append("0");
+            }
+            coordenadas[0].replace(0, 3, "111");
+        }
+
+        /** El principio del tick, antes de leer la direccion */
+        void empezarTick() {
+            if (haComido) {
+                generarFruta();
+                haComido = false;
+            }
+        }
+
+        /**
+         * El resto del tick con el movimiento leido. Salirse del tablero en el
+         * modo normal da una excepcion de indice, del String por los lados o
+         * del array por arriba y por abajo, y la serpiente muere.
+         *
+         * @param movimiento El movimiento, con '-' sigue en la misma direccion.
+         */
+        void mover(char movimiento) {
+            if (movimiento != '-')
+                direcion = String.valueOf(movimiento);
+            try {
+                if (atraviesaParedes && comprobarColision(direcion)) {
+                    if (detectarFrutaDetras(direcion)) {
+                        snakeLongitud++;
+                        haComido = true;
+                    }
+                } else if (detectarFruta(direcion)) {
+                    haComido = true;
+                    snakeLongitud++;
+                }
+
+                movs = movs.concat(direcion);
+                if (!haComido) {
+                    eliminarCola(movs);
+                    movs = movs.substring(1);
+                }
+
+                if (atraviesaParedes && comprobarColision(direcion))
+                    alive = crearCabezaDetras(alive, direcion);
+                else
+                    alive = crearCabeza(alive, direcion);
+            } catch (IndexOutOfBoundsException e) {
+                alive = false;
+            }
+
+            if (snakeLongitud == coordenadas.length * coordenadas[0].length())
+                win = true;
+        }
+
+        void generarFruta() {
+            int[] cordsComida = { 0, 0 };
+
+            cordsComida[0] = (int) (aleatorio.siguienteDouble() * (coordenadas.length - 1));
+            cordsComida[1] = (int) (aleatorio.siguienteDouble() * (coordenadas[0].length() - 1));
+
+            char comprobarPosicionTablero = coordenadas[cordsComida[0]].charAt(cordsComida[1]);
+            while (comprobarPosicionTablero == '1') {
+                if (cordsComida[1] == coordenadas[0].length() - 1) {
+                    cordsComida[1] = 0;
+                    if (cordsComida[0] == coordenadas.length - 1)
+                        cordsComida[0] = 0;
+                    else
+                        cordsComida[0] += 1;
+                } else {
+                    cordsComida[1] += 1;
+                }
+                comprobarPosicionTablero = coordenadas[cordsComida[0]].charAt(cordsComida[1]);
+            }
+            coordenadas[cordsComida[0]].replace(cordsComida[1], cordsComida[1] + 1, "2");
+        }
+
+        boolean detectarFruta(String direccion) {
+            switch (direccion) {
+                case "W":
+                    return '2' == coordenadas[coordsCabeza[1] - 1].charAt(coordsCabeza[0] - 1);
+                case "A":
+                    return '2' == coordenadas[coordsCabeza[1]].charAt(coordsCabeza[0] - 2);
+                case "S":
+                    return '2' == coordenadas[coordsCabeza[1] + 1].charAt(coordsCabeza[0] - 1);
+                case "D":
+                    return '2' == coordenadas[coordsCabeza[1]].charAt(coordsCabeza[0]);
+                default:
+                    return false;
+            }
+        }
+
+        boolean crearCabeza(boolean vivo, String direccion) {
+            switch (direccion) {
+                case "W":
+                    if ('1' == coordenadas[coordsCabeza[1] - 1].charAt(coordsCabeza[0] - 1))
+                        vivo = false;
+                    coordenadas[coordsCabeza[1] - 1].replace(coordsCabeza[0] - 1, coordsCabeza[0], "1");
+                    coordsCabeza[1] -= 1;
+                    break;
+                case "A":
+                    if ('1' == coordenadas[coordsCabeza[1]].charAt(coordsCabeza[0] - 2))
+                        vivo = false;
+                    coordenadas[coordsCabeza[1]].replace(coordsCabeza[0] - 2, coordsCabeza[0] - 1, "1");
+                    coordsCabeza[0] -= 1;
+                    break;
+                case "S":
+                    if ('1' == coordenadas[coordsCabeza[1] + 1].charAt(coordsCabeza[0] - 1))
+                        vivo = false;
+                    coordenadas[coordsCabeza[1] + 1].replace(coordsCabeza[0] - 1, coordsCabeza[0], "1");
+                    coordsCabeza[1] += 1;
+                    break;
+                case "D":
+                    if ('1' == coordenadas[coordsCabeza[1]].charAt(coordsCabeza[0]))
+                        vivo = false;
+                    coordenadas[coordsCabeza[1]].replace(coordsCabeza[0], coordsCabeza[0] + 1, "1");
+                    coordsCabeza[0] += 1;
+                    break;
+                default:
+                    break;
+            }
+            return vivo;
+        }
+
+        /** ModoNormal y ModoAtravesarParedes tenian cada uno el suyo */
+        void eliminarCola(String movimientos) {
+            coordenadas[coordsCola[1]].replace(coordsCola[0] - 1, coordsCola[0], "0");
+            int filas = coordenadas.length;
+            int columnas = coordenadas[0].length();
+            switch (movimientos.charAt(0)) {
+                case 'W':
+                    coordsCola[1] = atraviesaParedes && coordsCola[1] == 0 ? filas - 1 : coordsCola[1] - 1;
+                    break;
+                case 'A':
+                    coordsCola[0] = atraviesaParedes && coordsCola[0] == 1 ? columnas : coordsCola[0] - 1;
+                    break;
+                case 'S':
+                    coordsCola[1] = atraviesaParedes && coordsCola[1] == filas - 1 ? 0 : coordsCola[1] + 1;
+                    break;
+                case 'D':
+                    coordsCola[0] = atraviesaParedes && coordsCola[0] == columnas ? 1 : coordsCola[0] + 1;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        boolean comprobarColision(String direccion) {
+            return coordsCabeza[1] == 0 && direccion.equals("W")
+                    || coordsCabeza[1] == coordenadas.length - 1 && direccion.equals("S")
+                    || coordsCabeza[0] == 1 && direccion.equals("A")
+                    || coordsCabeza[0] == coordenadas[0].length() && direccion.equals("D");
+        }
+
+        /**
+         * Crea la cabeza en la pared de enfrente. La primera version comprobaba
+         * el choque en la casilla de al lado de la cabeza nueva; aqui se
+         * comprueba la de la cabeza, como hace el juego.
+         */
+        boolean crearCabezaDetras(boolean vivo, String direccion) {
+            int filas = coordenadas.length;
+            int columnas = coordenadas[0].length();
+            switch (direccion) {
+                case "W":
+                    coordsCabeza[1] = filas - 1;
+                    break;
+                case "A":
+                    coordsCabeza[0] = columnas;
+                    break;
+                case "S":
+                    coordsCabeza[1] = 0;
+                    break;
+                case "D":
+                    coordsCabeza[0] = 1;
+                    break;
+                default:
+                    return vivo;
+            }
+            if ('1' == coordenadas[coordsCabeza[1]].charAt(coordsCabeza[0] - 1))
+                vivo = false;
+            coordenadas[coordsCabeza[1]].replace(coordsCabeza[0] - 1, coordsCabeza[0], "1");
+            return vivo;
+        }
+
+        boolean detectarFrutaDetras(String direccion) {
+            switch (direccion) {
+                case "W":
+                    return '2' == coordenadas[coordenadas.length - 1].charAt(coordsCabeza[0] - 1);
+                case "A":
+                    return '2' == coordenadas[coordsCabeza[1]].charAt(coordenadas[coordsCabeza[1]].length() - 1);
+                case "S":
+                    return '2' == coordenadas[0].charAt(coordsCabeza[0] - 1);
+                case "D":
+                    return '2' == coordenadas[coordsCabeza[1]].charAt(0);
+                default:
+                    return false;
+            }
+        }
+
+        /** El codigo de una casilla como en {@link Tablero} */
+        byte getCasilla(int fila, int columna) {
+            return (byte) (coordenadas[fila].charAt(columna) - '0');
+        }
+
+        int getCasillaCabeza() {
+            return coordsCabeza[1] * coordenadas[0].length() + coordsCabeza[0] - 1;
+        }
+
+        int getCasillaCola() {
+            return coordsCola[1] * coordenadas[0].length() + coordsCola[0] - 1;
+        }
+
+        String describirFinal() {
+            return win ? "ganada" : alive ? "viva" : "perdida";
+        }
+
+        /** El tablero con un caracter por casilla */
+        String dibujar() {
+            StringBuilder dibujo = new StringBuilder();
+            for (StringBuilder fila : coordenadas) {
+                dibujo.append("  ");
+                for (int i = 0; i < fila.length(); i++)
+                    dibujo.append(DIBUJO.charAt(fila.charAt(i) - '0'));
+                dibujo.append(System.lineSeparator());
+            }
+            return dibujo.toString();
+        }
+    }
+
+    /**
+     * Primera diferencia entre la partida de referencia y la del juego.
+     *
+     * @param tipo               El tablero con el que jugaba el juego.
+     * @param tick               Los movimientos hechos cuando se separan, -1 si
+     *                           es en el resultado.
+     * @param campo              Lo que es distinto.
+     * @param esperado           El valor en la partida de referencia.
+     * @param obtenido           El valor en el juego.
+     * @param tableroReferencia  El tablero de referencia en ese tick, o null.
+     * @param tablero            El tablero del juego en ese tick, o null.
+     */
+    private record Diferencia(TipoTablero tipo, int tick, String campo, String esperado, String obtenido,
+            String tableroReferencia, String tablero) {
+    }
+
+    /**
+     * Fuente que mueve la serpiente con los movimientos del caso y a la vez la
+     * partida de referencia. En cada tick compara las dos antes de mover;
+     * cuando se acaban los movimientos o son distintas corta la partida.
+     */
+    private static final class FuenteCaso implements FuenteDirecciones {
+        private final Caso caso;
+        private final TipoTablero tipo;
+        private final JuegoBase juego;
+        private final MotorInicial referencia;
+        private final byte[] fila;
+        private int ticks;
+        private Diferencia diferencia;
+
+        FuenteCaso(Caso caso, TipoTablero tipo, JuegoBase juego) {
+            this.caso = caso;
+            this.tipo = tipo;
+            this.juego = juego;
+            this.referencia = new MotorInicial(caso);
+            this.fila = new byte[caso.columnas()];
+        }
+
+        @Override
+        public String siguienteDireccion(JuegoBase actual, String direccionActual) throws IOException {
+            referencia.empezarTick();
+            if (referencia.win || !referencia.alive)
+                diferencia = diferencia(ticks, "la partida", referencia.describirFinal(), "viva");
+            else
+                comparar(true);
+            if (diferencia != null)
+                throw new EOFException("La partida es distinta");
+            if (ticks == caso.movimientos().length())
+                throw new EOFException("Se han acabado los movimientos");
+
+            char movimiento = caso.movimientos().charAt(ticks);
+            ticks++;
+            referencia.mover(movimiento);
+            return DIRECCIONES[LETRAS.indexOf(movimiento)];
+        }
+
+        /**
+         * El juego cierra la fuente al terminar la partida, antes de liberar el
+         * tablero, asi se compara como ha quedado. Al chocarse la cabeza pisa
+         * el cuerpo y ya no se puede contar la longitud en el tablero.
+         */
+        @Override
+        public void close() {
+            if (diferencia == null)
+                comparar(false);
+        }
+
+        /**
+         * Compara el resultado de la partida despues de que termine.
+         *
+         * @param partida La partida del juego.
+         */
+        void terminar(Partida partida) {
+            String obtenido = partida.hasGanado() ? "ganada" : "perdida";
+            if (diferencia != null)
+                return;
+            if (!referencia.describirFinal().equals(obtenido))
+                diferencia = diferencia(-1, "el final", referencia.describirFinal(), obtenido);
+            else if (referencia.snakeLongitud != partida.getLongitudSerpiente())
+                diferencia = diferencia(-1, "la longitud final", String.valueOf(referencia.snakeLongitud),
+                        String.valueOf(partida.getLongitudSerpiente()));
+        }
+
+        /**
+         * Apunta una excepcion del juego, la primera version no las dejaba
+         * salir.
+         */
+        void fallar(Exception e) {
+            if (diferencia == null)
+                diferencia = diferencia(-1, "la excepcion", "ninguna", e.toString());
+        }
+
+        private void comparar(boolean contarLongitud) {
+            Tablero tablero = juego.getTablero();
+            int columnas = caso.columnas();
+            for (int f = 0; f < caso.filas(); f++) {
+                tablero.leerFila(f, 0, columnas, fila, 0);
+                for (int c = 0; c < columnas; c++) {
+                    if (fila[c] != referencia.getCasilla(f, c)) {
+                        diferencia = diferencia(ticks, "la casilla " + (f * columnas + c),
+                                String.valueOf(referencia.getCasilla(f, c)), String.valueOf(fila[c]));
+                        return;
+                    }
+                }
+            }
+            if (juego.getCasillaCabeza() != referencia.getCasillaCabeza())
+                diferencia = diferencia(ticks, "la cabeza", String.valueOf(referencia.getCasillaCabeza()),
+                        String.valueOf(juego.getCasillaCabeza()));
+            else if (juego.getCasillaCola() != referencia.getCasillaCola())
+                diferencia = diferencia(ticks, "la cola", String.valueOf(referencia.getCasillaCola()),
+                        String.valueOf(juego.getCasillaCola()));
+            else if (contarLongitud && juego.contarCasillasSerpiente() != referencia.snakeLongitud)
+                diferencia = diferencia(ticks, "la longitud", String.valueOf(referencia.snakeLongitud),
+                        String.valueOf(juego.contarCasillasSerpiente()));
+        }
+
+        /** En el resultado el juego ya ha liberado el tablero y no se muestran */
+        private Diferencia diferencia(int tick, String campo, String esperado, String obtenido) {
+            return tick < 0 ? new Diferencia(tipo, tick, campo, esperado, obtenido, null, null)
+                    : new Diferencia(tipo, tick, campo, esperado, obtenido, referencia.dibujar(), dibujarJuego());
+        }
+
+        /** El tablero del juego con un caracter por casilla */
+        private String dibujarJuego() {
+            Tablero tablero = juego.getTablero();
+            StringBuilder dibujo = new StringBuilder();
+            for (int f = 0; f < caso.filas(); f++) {
+                tablero.leerFila(f, 0, caso.columnas(), fila, 0);
+                dibujo.append("  ");
+                for (byte casilla : fila)
+                    dibujo.append(DIBUJO.charAt(casilla));
+                dibujo.append(System.lineSeparator());
+            }
+            return dibujo.toString();
+        }
+    }
+
+    /**
+     * Juega los casos en paralelo hasta terminarlos o encontrar una diferencia,
+     * y termina con codigo 0 si no ha habido ninguna o 1 si si.
+     *
+     * @param args casos, movimientos maximos por caso, semilla e hilos (por
+     *             defecto 1000000 400 1 y un hilo por nucleo), o "caso" y los
+     *             datos de un caso para repetirlo: modo (normal o atravesar),
+     *             filas, columnas, semilla y movimientos
+     * @throws InterruptedException si se interrumpe el thread principal
+     */
+    public static void main(String[] args) throws InterruptedException {
+        // Antes de cambiar System.out, los mensajes de las partidas se descartan
+        PrintStream consola = SalidaFotograma.getConsola();
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        List<TipoTablero> tipos = tiposDisponibles(consola);
+        boolean correcto;
+        try {
+            if (args.length == 6 && args[0].equals("caso")) {
+                Caso caso = new Caso(args[1].equals("atravesar"), Integer.parseInt(args[2]),
+                        Integer.parseInt(args[3]), Long.parseLong(args[4]), args[5]);
+                correcto = repetir(caso, tipos, consola);
+            } else {
+                long casos = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+                int maximoMovimientos = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+                long semilla = args.length > 2 ? Long.parseLong(args[2]) : 1;
+                int hilos = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+                correcto = buscar(casos, maximoMovimientos, semilla, hilos, tipos, consola);
+            }
+        } finally {
+            System.setOut(consola);
+        }
+        System.exit(correcto ? 0 : 1);
+    }
+
+    /**
+     * Devuelve los tableros con los que se juega contra la referencia.
+     *
+     * @param consola Donde se avisa de los que no se prueban.
+     * @return Los tipos de tablero.
+     */
+    private static List<TipoTablero> tiposDisponibles(PrintStream consola) {
+        List<TipoTablero> tipos = new ArrayList<>();
+        for (TipoTablero tipo : TipoTablero.values()) {
+            if (tipo == TipoTablero.ARCHIVO)
+                continue;
+            // Si no se puede crear se crea uno de bytes, que ya se prueba
+            try (Tablero prueba = tipo.crear(3, 3)) {
+                if (tipo != TipoTablero.BYTES && prueba instanceof TableroBytes)
+                    consola.println("El tablero " + tipo + " no esta disponible, no se prueba");
+                else
+                    tipos.add(tipo);
+            }
+        }
+        return tipos;
+    }
+
+    /**
+     * Reparte los casos entre los hilos y, si alguno es distinto, lo reduce y
+     * lo muestra.
+     *
+     * @return true si no ha habido ninguna diferencia.
+     */
+    private static boolean buscar(long casos, int maximoMovimientos, long semilla, int hilos,
+            List<TipoTablero> tipos, PrintStream consola) throws InterruptedException {
+        consola.println("Comparando el juego con los tableros " + tipos + " con la primera version en " + casos
+                + " casos con " + hilos + " hilos");
+        AtomicLong siguiente = new AtomicLong();
+        AtomicReference<Caso> fallido = new AtomicReference<>();
+        LongAdder terminados = new LongAdder();
+        LongAdder ticks = new LongAdder();
+        long inicio = System.nanoTime();
+
+        List<Thread> trabajadores = new ArrayList<>();
+        for (int i = 0; i < hilos; i++) {
+            trabajadores.add(Thread.ofPlatform().name("diferencial-" + i).start(() -> {
+                long numero;
+                try {
+                    while (fallido.get() == null && (numero = siguiente.getAndIncrement()) < casos) {
+                        Caso caso = Caso.aleatorio(semilla, numero, maximoMovimientos);
+                        if (probar(caso, tipos, ticks) != null)
+                            fallido.compareAndSet(null, caso);
+                        terminados.increment();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Thread trabajador : trabajadores)
+            trabajador.join();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        consola.printf("%d casos y %d ticks en %.1f segundos (%.0f casos por segundo, %.0f por hilo)%n",
+                terminados.sum(), ticks.sum(), segundos, terminados.sum() / segundos,
+                terminados.sum() / segundos / hilos);
+
+        Caso caso = fallido.get();
+        if (caso == null) {
+            consola.println("Sin diferencias");
+            return true;
+        }
+        consola.println("Caso con diferencias: " + caso + ", se reduce");
+        return repetir(reducir(caso, tipos), tipos, consola);
+    }
+
+    /**
+     * Juega un caso con todos los tableros y muestra la primera diferencia.
+     *
+     * @return true si todos han jugado como la referencia.
+     */
+    private static boolean repetir(Caso caso, List<TipoTablero> tipos, PrintStream consola)
+            throws InterruptedException {
+        Diferencia diferencia = probar(caso, tipos, new LongAdder());
+        if (diferencia == null) {
+            consola.println("Sin diferencias en " + caso);
+            return true;
+        }
+        consola.println("Caso: " + caso);
+        consola.println("Se repite con -Dexec.args=\"" + caso + "\"");
+        if (diferencia.tick() >= 0) {
+            consola.println("Despues de " + diferencia.tick() + " movimientos " + diferencia.campo() + " es "
+                    + diferencia.esperado() + " en la primera version y " + diferencia.obtenido()
+                    + " en el juego con el tablero " + diferencia.tipo());
+            consola.println("Primera version:");
+            consola.print(diferencia.tableroReferencia());
+            consola.println("Juego con " + diferencia.tipo() + ":");
+            consola.print(diferencia.tablero());
+        } else {
+            consola.println("Al final " + diferencia.campo() + " es " + diferencia.esperado()
+                    + " en la primera version y " + diferencia.obtenido() + " en el juego con el tablero "
+                    + diferencia.tipo());
+        }
+        return false;
+    }
+
+    /**
+     * Juega un caso con cada tipo de tablero contra la referencia hasta que
+     * alguno sea distinto.
+     *
+     * @param ticks Donde se suman los ticks jugados.
+     * @return La primera diferencia, o null si todos juegan igual.
+     */
+    private static Diferencia probar(Caso caso, List<TipoTablero> tipos, LongAdder ticks)
+            throws InterruptedException {
+        for (TipoTablero tipo : tipos) {
+            FuenteCaso fuente = jugar(caso, tipo);
+            ticks.add(fuente.ticks);
+            if (fuente.diferencia != null)
+                return fuente.diferencia;
+        }
+        return null;
+    }
+
+    /**
+     * Juega un caso con un tipo de tablero a la vez que la referencia.
+     *
+     * @return La fuente, con la diferencia si la ha habido.
+     */
+    private static FuenteCaso jugar(Caso caso, TipoTablero tipo) throws InterruptedException {
+        JuegoBase juego = caso.atraviesaParedes() ? new ModoAtravesarParedes() : new ModoNormal();
+        FuenteCaso fuente = new FuenteCaso(caso, tipo, juego);
+        juego.setTipoTablero(tipo);
+        juego.setDibujoEnHilo(false);
+        juego.setAleatorio(new Aleatorio(caso.semilla()));
+        juego.setFuenteDirecciones(fuente);
+        Partida partida = new Partida();
+        boolean terminada = false;
+        try {
+            // Con 0 milisegundos por tick no se espera entre ticks
+            juego.iniciarJuego(new int[] { caso.filas(), caso.columnas(), 0, 0 }, partida);
+            terminada = true;
+            fuente.terminar(partida);
+        } catch (EOFException e) {
+            // Se han acabado los movimientos o ya es distinta
+        } catch (IOException | RuntimeException e) {
+            fuente.fallar(e);
+        } finally {
+            // Si la partida no termina no se libera el tablero
+            if (!terminada && juego.getTablero() != null)
+                juego.getTablero().close();
+        }
+        return fuente;
+    }
+
+    /**
+     * Reduce un caso que falla mientras siga fallando: quita los movimientos
+     * de despues de la diferencia, quita trozos de movimientos cada vez mas
+     * pequeños, cambia movimientos por '-', achica el tablero y prueba la
+     * semilla 0. Se repite hasta que no se pueda reducir mas.
+     *
+     * @return El caso reducido.
+     */
+    private static Caso reducir(Caso caso, List<TipoTablero> tipos) throws InterruptedException {
+        LongAdder ticks = new LongAdder();
+        boolean reducido = true;
+        while (reducido) {
+            reducido = false;
+            Diferencia diferencia = probar(caso, tipos, ticks);
+            // Los movimientos de despues de la diferencia no hacen falta
+            if (diferencia.tick() >= 0 && diferencia.tick() < caso.movimientos().length()) {
+                caso = caso.conMovimientos(caso.movimientos().substring(0, diferencia.tick()));
+                reducido = true;
+            }
+
+            for (int trozo = caso.movimientos().length() / 2; trozo >= 1; trozo /= 2) {
+                for (int desde = 0; desde + trozo <= caso.movimientos().length();) {
+                    String movimientos = caso.movimientos();
+                    Caso menor = caso
+                            .conMovimientos(movimientos.substring(0, desde) + movimientos.substring(desde + trozo));
+                    if (probar(menor, tipos, ticks) != null) {
+                        caso = menor;
+                        reducido = true;
+                    } else {
+                        desde += trozo;
+                    }
+                }
+            }
+
+            for (int i = 0; i < caso.movimientos().length(); i++) {
+                char[] movimientos = caso.movimientos().toCharArray();
+                if (movimientos[i] == '-')
+                    continue;
+                movimientos[i] = '-';
+                Caso menor = caso.conMovimientos(new String(movimientos));
+                if (probar(menor, tipos, ticks) != null) {
+                    caso = menor;
+                    reducido = true;
+                }
+            }
+
+            for (int filas = 3; filas < caso.filas(); filas++) {
+                Caso menor = caso.conTablero(filas, caso.columnas());
+                if (probar(menor, tipos, ticks) != null) {
+                    caso = menor;
+                    reducido = true;
+                }
+            }
+            for (int columnas = 3; columnas < caso.columnas(); columnas++) {
+                Caso menor = caso.conTablero(caso.filas(), columnas);
+                if (probar(menor, tipos, ticks) != null) {
+                    caso = menor;
+                    reducido = true;
+                }
+            }
+            if (caso.semilla() != 0 && probar(caso.conSemilla(0), tipos, ticks) != null) {
+                caso = caso.conSemilla(0);
+                reducido = true;
+            }
+        }
+        return caso;
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo es una prueba de estres que genera muchos niveles aleatorios en paralelo
+ *
+ */
+package dev.adsa.pruebas;
+
+import java.util.List;
+
+import dev.adsa.clases.niveles.GeneradorNiveles;
+import dev.adsa.clases.niveles.Nivel;
+
+/**
+ * Prueba de estres que genera y comprueba muchos niveles aleatorios en
+ * paralelo y mide cuanto tarda, para ver que un nivel nuevo al empezar la
+ * partida no se nota. La primera vuelta calienta la JVM y no se cuenta.
+ *
+ * Se ejecuta con:
+ * mvn exec:java -Dexec.mainClass="dev.adsa.pruebas.PruebaGeneradorNiveles" -Dexec.args="40 80 0.12 500"
+ */
+public class PruebaGeneradorNiveles {
+
+    /**
+     * Genera los niveles y termina con codigo 0 si se han generado todos o 1
+     * si no.
+     *
+     * @param args filas, columnas, densidad y numero de niveles (por defecto
+     *             40 80 0.12 500)
+     */
+    public static void main(String[] args) {
+        int filas = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        int columnas = args.length > 1 ? Integer.parseInt(args[1]) : 80;
+        double densidad = args.length > 2 ? Double.parseDouble(args[2]) : GeneradorNiveles.DENSIDAD_POR_DEFECTO;
+        int cantidad = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+
+        // Calentamiento con otras semillas, para no medir la compilacion
+        GeneradorNiveles.generarVarios(filas, columnas, densidad, -cantidad, cantidad);
+
+        long inicio = System.nanoTime();
+        List<Nivel> niveles = GeneradorNiveles.generarVarios(filas, columnas, densidad, 0, cantidad);
+        long generados = System.nanoTime();
+        // Un nivel nuevo al empezar la partida y la misma semilla otra vez desde la cache
+        GeneradorNiveles.obtener(filas, columnas, densidad, Long.MAX_VALUE);
+        long nuevo = System.nanoTime();
+        GeneradorNiveles.obtener(filas, columnas, densidad, Long.MAX_VALUE);
+        long guardado = System.nanoTime();
+
+        // Los niveles generados a la vez tienen que salir igual generados de uno en uno
+        boolean repetible = true;
+        for (Nivel nivel : niveles.subList(0, Math.min(10, niveles.size()))) {
+            long semilla = Long.parseLong(nivel.getNombre().substring("aleatorio_".length()));
+            Nivel otro = GeneradorNiveles.generar(filas, columnas, densidad, semilla);
+            for (int casilla = 0; casilla < filas * columnas && repetible; casilla++)
+                repetible = otro.esObstaculo(casilla / columnas, casilla % columnas) == nivel
+                        .esObstaculo(casilla / columnas, casilla % columnas);
+        }
+
+        System.out.println("Niveles de " + filas + "x" + columnas + " con densidad " + densidad + ": "
+                + niveles.size() + " de " + cantidad);
+        System.out.println("Generados en " + (generados - inicio) / 1_000_000 + " ms con "
+                + Runtime.getRuntime().availableProcessors() + " nucleos");
+        System.out.println("Un nivel nuevo en " + (nuevo - generados) / 1_000 + " us, el mismo desde la cache en "
+                + (guardado - nuevo) / 1_000 + " us");
+        System.out.println("La misma semilla da el mismo nivel: " + (repetible ? "si" : "no"));
+        System.exit(niveles.size() == cantidad && repetible ? 0 : 1);
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo es una demostracion y prueba de carga con muchas partidas automaticas en un mosaico
+ *
+ */
+package dev.adsa.pruebas;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.adsa.clases.JuegoBase;
+import dev.adsa.clases.Partida;
+import dev.adsa.clases.entrada.DetectorBucles;
+import dev.adsa.clases.entrada.FuenteDirecciones;
+import dev.adsa.clases.ia.PilotoHamiltoniano;
+import dev.adsa.clases.modos.ModoNormal;
+import dev.adsa.clases.salida.Mosaico;
+
+/**
+ * Juega muchas partidas con el piloto automatico a la vez, cada una en su hilo
+ * virtual, y las dibuja en un mosaico en la misma consola. Cuando una partida
+ * termina empieza otra en su hueco. Al acabar el tiempo se cortan todas y se
+ * muestra cuantos fotogramas por segundo ha dibujado el mosaico y lo que ha
+ * tardado cada uno. Si la serpiente de una partida da vueltas sin comer
+ * ({@link DetectorBucles}) la partida cuenta como con error.
+ *
+ * Se ejecuta con:
+ * mvn exec:java -Dexec.mainClass="dev.adsa.pruebas.PruebaMosaico" -Dexec.args="16 20 20 50 10 1 160"
+ */
+public class PruebaMosaico {
+
+    /**
+     * Piloto automatico que corta la partida cuando se acaba la prueba, como
+     * un cliente del servidor que se desconecta.
+     */
+    private static class PilotoConFin implements FuenteDirecciones {
+        private final PilotoHamiltoniano piloto;
+        private final long fin;
+
+        PilotoConFin(int filas, int columnas, long fin) {
+            this.piloto = new PilotoHamiltoniano(filas, columnas);
+            this.fin = fin;
+        }
+
+        @Override
+        public String siguienteDireccion(JuegoBase juego, String direccionActual) throws IOException {
+            if (System.nanoTime() - fin >= 0)
+                throw new EOFException("Se ha acabado la prueba");
+            return piloto.siguienteDireccion(juego, direccionActual);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Juega las partidas y termina con codigo 0 si el mosaico ha llegado al
+     * 95% de los fotogramas por segundo y ninguno ha tardado mas de un
+     * periodo, o 1 si no.
+     *
+     * @param args partidas, filas, columnas, milisegundos por tick, segundos,
+     *             colores (1 o 0) y ancho de la consola (por defecto
+     *             16 20 20 50 10 1 160)
+     * @throws InterruptedException Si se interrumpe la espera a las partidas.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int filas = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int columnas = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int tiempo = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+        int segundos = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+        int colores = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+        int ancho = args.length > 6 ? Integer.parseInt(args[6]) : 160;
+
+        Mosaico mosaico = Mosaico.iniciar(cantidad, filas, columnas, Mosaico.tablerosPorFila(ancho, columnas), colores);
+        long fin = System.nanoTime() + segundos * 1_000_000_000L;
+        AtomicLong terminadas = new AtomicLong();
+        AtomicLong fallidas = new AtomicLong();
+        long inicio = System.nanoTime();
+
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            int hueco = i;
+            hilos.add(Thread.ofVirtual().name("partida-" + i).start(() -> {
+                boolean seguir = true;
+                while (seguir) {
+                    ModoNormal juego = new ModoNormal();
+                    juego.setDibujoEnHilo(false);
+                    juego.setFuenteDirecciones(new DetectorBucles(new PilotoConFin(filas, columnas, fin)));
+                    juego.setMosaico(mosaico, hueco);
+                    try {
+                        juego.iniciarJuego(new int[] { filas, columnas, tiempo, colores }, new Partida());
+                        terminadas.incrementAndGet();
+                    } catch (EOFException e) {
+                        seguir = false;
+                    } catch (IOException | InterruptedException e) {
+                        fallidas.incrementAndGet();
+                        seguir = false;
+                    }
+                }
+            }));
+        }
+        for (Thread hilo : hilos)
+            hilo.join();
+        mosaico.close();
+        double transcurrido = (System.nanoTime() - inicio) / 1e9;
+
+        double porSegundo = mosaico.getRefrescos() / transcurrido;
+        boolean fluido = porSegundo >= Mosaico.REFRESCOS_POR_SEGUNDO * 0.95
+                && mosaico.getNanosMaximo() < 1_000_000_000L / Mosaico.REFRESCOS_POR_SEGUNDO;
+        System.out.println(cantidad + " partidas de " + filas + "x" + columnas + " durante " + segundos
+                + " segundos, " + terminadas.get() + " terminadas y " + fallidas.get() + " con error");
+        System.out.printf("Fotogramas: %d (%.1f por segundo) de %d bytes%n", mosaico.getRefrescos(), porSegundo,
+                mosaico.getBytesFotograma());
+        System.out.println("Componer y escribir: media " + mosaico.getNanosMedia() / 1_000 + " us, maximo "
+                + mosaico.getNanosMaximo() / 1_000 + " us");
+        System.exit(fluido && fallidas.get() == 0 ? 0 : 1);
+    }
+}
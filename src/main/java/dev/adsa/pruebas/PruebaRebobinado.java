@@ -0,0 +1,207 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo es una prueba que comprueba que rebobinar deja la partida y la retransmision como estaban
+ *
+ */
+package dev.adsa.pruebas;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.adsa.clases.Aleatorio;
+import dev.adsa.clases.JuegoBase;
+import dev.adsa.clases.Partida;
+import dev.adsa.clases.entrada.FuenteDirecciones;
+import dev.adsa.clases.ia.PilotoHamiltoniano;
+import dev.adsa.clases.modos.ModoAtravesarParedes;
+import dev.adsa.clases.modos.ModoNormal;
+import dev.adsa.clases.salida.Retransmision;
+import dev.adsa.clases.salida.SalidaFotograma;
+import dev.adsa.clases.tableros.Tablero;
+
+/**
+ * Prueba del modo practica. Juega una partida con el piloto hamiltoniano y una
+ * semilla fija sin rebobinar, y despues la misma partida pidiendo rebobinar en
+ * un tick. Despues de rebobinar la partida tiene que seguir exactamente igual
+ * que la de referencia desde el tick al que ha vuelto: el tablero, la cabeza,
+ * la cola, la fruta y el estado del generador aleatorio (para que salgan las
+ * mismas frutas).
+ *
+ * Las partidas se retransmiten y un espectador lee cada tick con un
+ * {@link Retransmision.Lector}. Su tablero tiene que ser igual que el del juego
+ * en todos los ticks, tambien justo despues de rebobinar, cuando el juego
+ * fuerza una copia del tablero entero.
+ *
+ * Se prueba en el modo normal y en el de atravesar paredes, rebobinando antes
+ * de llenar el historial (vuelve al principio) y despues (vuelve tantos ticks
+ * como caben en el historial).
+ *
+ * Se ejecuta con:
+ * mvn exec:java -Dexec.mainClass="dev.adsa.pruebas.PruebaRebobinado" -Dexec.args="10 20 300 1500"
+ */
+public class PruebaRebobinado {
+    /** Milisegundos por tick, con 1 segundo de rebobinado caben 1000 ticks */
+    private static final int TIEMPO = 1;
+    private static final int SEGUNDOS = 1;
+
+    /**
+     * Piloto que apunta el estado del juego en cada tick, comprueba el tablero
+     * del espectador y pide rebobinar en un tick.
+     */
+    private static class PilotoApuntador implements FuenteDirecciones {
+        private final PilotoHamiltoniano piloto;
+        private final int tickRebobinado;
+        private final List<String> estados = new ArrayList<>();
+        private Retransmision.Lector espectador;
+        private int ticks;
+        private int fallosEspectador = -1;
+
+        PilotoApuntador(int filas, int columnas, int tickRebobinado) {
+            this.piloto = new PilotoHamiltoniano(filas, columnas);
+            this.tickRebobinado = tickRebobinado;
+        }
+
+        @Override
+        public String siguienteDireccion(JuegoBase juego, String direccionActual) throws IOException {
+            ticks++;
+            Tablero tablero = juego.getTablero();
+            StringBuilder estado = new StringBuilder();
+            for (int f = 0; f < tablero.getFilas(); f++)
+                for (int c = 0; c < tablero.getColumnas(); c++)
+                    estado.append(tablero.getCasilla(f, c));
+            estado.append('|').append(juego.getCasillaCabeza()).append(',').append(juego.getCasillaCola())
+                    .append(',').append(juego.getCasillaFruta()).append(',')
+                    .append(juego.getAleatorio().getEstado()).append(',').append(direccionActual);
+            estados.add(estado.toString());
+            comprobarEspectador(tablero);
+
+            if (ticks == tickRebobinado)
+                juego.pedirRebobinado();
+            return piloto.siguienteDireccion(juego, direccionActual);
+        }
+
+        /**
+         * Lee los ticks publicados y compara el tablero del espectador con el
+         * del juego. El juego publica el tick antes de pedir la direccion.
+         */
+        private void comprobarEspectador(Tablero tablero) {
+            if (espectador == null) {
+                // Solo se juega una partida a la vez, es la unica en directo
+                espectador = Retransmision.enDirecto().iterator().next().lector();
+                fallosEspectador = 0;
+            }
+            espectador.leer();
+            Tablero visto = espectador.getTablero();
+            for (int f = 0; f < tablero.getFilas(); f++) {
+                for (int c = 0; c < tablero.getColumnas(); c++) {
+                    if (visto.getCasilla(f, c) != tablero.getCasilla(f, c)) {
+                        fallosEspectador++;
+                        return;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Juega las partidas y termina con codigo 0 si todas siguen como la de
+     * referencia y el espectador ve lo mismo que el juego, o 1 si no.
+     *
+     * @param args filas, columnas y los ticks en los que se rebobina (por
+     *             defecto 10 20 300 1500)
+     * @throws IOException          si falla una partida
+     * @throws InterruptedException si se interrumpe el thread principal
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int filas = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int columnas = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int[] ticksRebobinado = { 300, 1500 };
+        if (args.length > 2) {
+            ticksRebobinado = new int[args.length - 2];
+            for (int i = 2; i < args.length; i++)
+                ticksRebobinado[i - 2] = Integer.parseInt(args[i]);
+        }
+        int capacidad = SEGUNDOS * 1000 / TIEMPO;
+
+        // Antes de cambiar System.out, para que los fotogramas vayan a la salida nula
+        PrintStream consola = SalidaFotograma.getConsola();
+        Retransmision.activar();
+        boolean correcto = true;
+        try {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            for (boolean atraviesa : new boolean[] { false, true }) {
+                String modo = atraviesa ? "atravesar paredes" : "normal";
+                PilotoApuntador referencia = jugar(atraviesa, filas, columnas, -1);
+                correcto &= referencia.fallosEspectador == 0;
+                consola.printf("Modo %s, sin rebobinar: %d ticks, %d ticks distintos en el espectador%n", modo,
+                        referencia.ticks, referencia.fallosEspectador);
+
+                for (int tickRebobinado : ticksRebobinado) {
+                    PilotoApuntador rebobinada = jugar(atraviesa, filas, columnas, tickRebobinado);
+                    int deshechos = Math.min(tickRebobinado, capacidad);
+                    int distinto = primerTickDistinto(referencia.estados, rebobinada.estados, tickRebobinado,
+                            deshechos);
+                    boolean igual = distinto == -1 && rebobinada.fallosEspectador == 0;
+                    correcto &= igual;
+                    consola.printf("Modo %s, rebobinando en el tick %d: %d ticks deshechos, %s, "
+                            + "%d ticks distintos en el espectador%n", modo, tickRebobinado, deshechos,
+                            distinto == -1 ? "sigue igual" : "distinta en el tick " + (distinto + 1),
+                            rebobinada.fallosEspectador);
+                }
+            }
+        } finally {
+            System.setOut(consola);
+        }
+        System.exit(correcto ? 0 : 1);
+    }
+
+    /**
+     * Juega una partida con la semilla fija.
+     *
+     * @param atraviesa      true para el modo de atravesar paredes.
+     * @param filas          Las filas del tablero.
+     * @param columnas       Las columnas del tablero.
+     * @param tickRebobinado El tick en el que se pide rebobinar, -1 para no
+     *                       rebobinar.
+     * @return El piloto con los estados de cada tick.
+     */
+    private static PilotoApuntador jugar(boolean atraviesa, int filas, int columnas, int tickRebobinado)
+            throws IOException, InterruptedException {
+        JuegoBase juego = atraviesa ? new ModoAtravesarParedes() : new ModoNormal();
+        PilotoApuntador piloto = new PilotoApuntador(filas, columnas, tickRebobinado);
+        juego.setFuenteDirecciones(piloto);
+        juego.setDibujoEnHilo(false);
+        juego.setAleatorio(new Aleatorio(5));
+        juego.setSegundosRebobinado(tickRebobinado > 0 ? SEGUNDOS : 0);
+        juego.iniciarJuego(new int[] { filas, columnas, TIEMPO, 0 }, new Partida());
+        return piloto;
+    }
+
+    /**
+     * Compara la partida rebobinada con la de referencia. Hasta el tick en el
+     * que se rebobina son iguales, y despues la rebobinada va los ticks
+     * deshechos por detras.
+     *
+     * @return El indice del primer tick distinto de la rebobinada, o -1 si
+     *         todos son iguales.
+     */
+    private static int primerTickDistinto(List<String> referencia, List<String> rebobinada, int tickRebobinado,
+            int deshechos) {
+        if (rebobinada.size() != referencia.size() + deshechos)
+            return Math.min(rebobinada.size(), referencia.size() + deshechos);
+        for (int i = 0; i < rebobinada.size(); i++) {
+            int original = i < tickRebobinado ? i : i - deshechos;
+            if (!rebobinada.get(i).equals(referencia.get(original)))
+                return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo es una prueba de estres que juega una partida entera con el piloto hamiltoniano
+ *
+ */
+package dev.adsa.pruebas;
+
+import java.io.IOException;
+
+import dev.adsa.clases.Partida;
+import dev.adsa.clases.entrada.DetectorBucles;
+import dev.adsa.clases.ia.PilotoHamiltoniano;
+import dev.adsa.clases.modos.ModoNormal;
+import dev.adsa.clases.tableros.TipoTablero;
+
+/**
+ * Prueba de estres que juega una partida en modo normal con el piloto
+ * hamiltoniano hasta llenar el tablero, para probar la parte final del juego
+ * (generarFruta con el tablero casi lleno y el puntaje con la longitud maxima).
+ * Si la serpiente da vueltas sin comer la partida se corta con
+ * {@link DetectorBucles} en vez de quedarse colgada.
+ *
+ * Se ejecuta con:
+ * mvn exec:java -Dexec.mainClass="dev.adsa.pruebas.PruebaVictoria" -Dexec.args="10 20 1"
+ */
+public class PruebaVictoria {
+
+    /**
+     * Juega la partida y termina con codigo 0 si se ha ganado o 1 si no o si
+     * la serpiente ha entrado en un bucle.
+     *
+     * @param args filas, columnas y milisegundos entre actualizaciones (por
+     *             defecto 10 20 1)
+     * @throws InterruptedException si se interrumpe el thread principal
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int filas = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int columnas = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int tiempo = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        ModoNormal juego = new ModoNormal();
+        juego.setFuenteDirecciones(new DetectorBucles(new PilotoHamiltoniano(filas, columnas)));
+        juego.setTipoTablero(TipoTablero.porDefecto());
+
+        Partida partida = new Partida();
+        partida.setModoDeJuego(1);
+        partida.actualizarFechaInicio();
+        double puntaje;
+        try {
+            puntaje = juego.iniciarJuego(new int[] { filas, columnas, tiempo, 0 }, partida);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+        partida.anadirPartidaTerminada(puntaje, tiempo, filas, columnas);
+
+        System.out.println(partida.mostrarInfo(false));
+        System.exit(partida.hasGanado() ? 0 : 1);
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo es un visor que lee en vivo el tablero mapeado de otra partida
+ *
+ */
+package dev.adsa.pruebas;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import dev.adsa.clases.tableros.Tablero;
+import dev.adsa.clases.tableros.TableroSegmento;
+
+/**
+ * Visor que mapea en solo lectura el archivo del tablero de una partida que se
+ * esta jugando con -Dsnake.tablero=ARCHIVO y lo dibuja cada cierto tiempo, sin
+ * copiar ni deserializar nada.
+ *
+ * Se ejecuta con:
+ * java --enable-preview -cp target/classes dev.adsa.pruebas.VisorTablero ./tablero.bin 200
+ */
+public class VisorTablero {
+
+    /**
+     * Dibuja el tablero hasta que se cierra el programa.
+     *
+     * @param args el archivo del tablero y los milisegundos entre dibujos (por
+     *             defecto ./tablero.bin 200)
+     * @throws IOException          si no se puede abrir el archivo
+     * @throws InterruptedException si se interrumpe el thread principal
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path archivo = Path.of(args.length > 0 ? args[0] : "./tablero.bin");
+        int tiempo = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        final char[] SIMBOLOS = { ' ', '#', '@', '=' };
+
+        try (TableroSegmento tablero = TableroSegmento.abrirLectura(archivo)) {
+            StringBuilder fila = new StringBuilder();
+            while (true) {
+                System.out.println("Tablero de " + tablero.getFilas() + "x" + tablero.getColumnas());
+                for (int f = 0; f < tablero.getFilas(); f++) {
+                    fila.setLength(0);
+                    fila.append('=');
+                    for (int c = 0; c < tablero.getColumnas(); c++) {
+                        byte casilla = tablero.getCasilla(f, c);
+                        fila.append(casilla >= Tablero.VACIA && casilla <= Tablero.OBSTACULO ? SIMBOLOS[casilla] : '?');
+                    }
+                    fila.append('=');
+                    System.out.println(fila);
+                }
+                Thread.sleep(tiempo);
+            }
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo cambia System.out y System.in por unos que usan la consola de la sesion de cada hilo
+ *
+ */
+package dev.adsa.servidor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Locale;
+
+import dev.adsa.clases.salida.SalidaFotograma;
+
+/**
+ * Consola de las sesiones del servidor. System.out y System.in se cambian una
+ * sola vez por unos que reenvian cada llamada a la consola de la sesion del
+ * hilo que los usa, asi el menu, la configuracion y el juego, que escriben con
+ * System.out y leen de System.in, hablan con su cliente sin cambiarlos. Los
+ * hilos que no son de ninguna sesion usan la consola de verdad.
+ */
+final class ConsolaSesiones {
+    /**
+     * System.out de verdad, donde escribe el servidor. Se saca de
+     * SalidaFotograma para que esa clase lo guarde antes de cambiarlo.
+     */
+    static final PrintStream CONSOLA = SalidaFotograma.getConsola();
+    /** System.in de verdad */
+    private static final InputStream TECLADO = System.in;
+    /** Sesion del hilo, los hilos que crea (el de dibujo) la heredan */
+    private static final InheritableThreadLocal<SesionCliente> ACTUAL = new InheritableThreadLocal<>();
+
+    private static boolean instalada;
+
+    /** Constructor privado, todos los metodos son estaticos */
+    private ConsolaSesiones() {
+    }
+
+    /**
+     * Cambia System.out y System.in, solo la primera vez que se llama.
+     */
+    static synchronized void instalar() {
+        if (!instalada) {
+            System.setOut(new SalidaSesiones());
+            System.setIn(new EntradaSesiones());
+            instalada = true;
+        }
+    }
+
+    /**
+     * Asocia una sesion al hilo actual y a los que cree a partir de ahora.
+     *
+     * @param sesion La sesion.
+     */
+    static void vincular(SesionCliente sesion) {
+        ACTUAL.set(sesion);
+    }
+
+    /**
+     * Quita la sesion del hilo actual.
+     */
+    static void desvincular() {
+        ACTUAL.remove();
+    }
+
+    /**
+     * Devuelve la salida de la sesion del hilo o la consola de verdad.
+     *
+     * @return La salida.
+     */
+    private static PrintStream salida() {
+        SesionCliente sesion = ACTUAL.get();
+        return sesion != null ? sesion.getSalida() : CONSOLA;
+    }
+
+    /**
+     * Devuelve la entrada de la sesion del hilo o el teclado de verdad.
+     *
+     * @return La entrada.
+     */
+    private static InputStream entrada() {
+        SesionCliente sesion = ACTUAL.get();
+        return sesion != null ? sesion.getEntrada().flujoMenu() : TECLADO;
+    }
+
+    /**
+     * System.out de las sesiones. Cada metodo se reenvia entero a la salida de
+     * la sesion, asi dos sesiones no comparten el bloqueo ni el buffer del
+     * PrintStream y un cliente lento solo frena su propia sesion.
+     */
+    private static final class SalidaSesiones extends PrintStream {
+        /** Constructor, el flujo del padre no se usa */
+        SalidaSesiones() {
+            super(CONSOLA, true);
+        }
+
+        @Override
+        public void write(int b) {
+            salida().write(b);
+        }
+
+        @Override
+        public void write(byte[] buf, int off, int len) {
+            salida().write(buf, off, len);
+        }
+
+        @Override
+        public void write(byte[] buf) throws IOException {
+            salida().write(buf);
+        }
+
+        @Override
+        public void flush() {
+            salida().flush();
+        }
+
+        @Override
+        public void close() {
+            // La salida de cada sesion la cierra su sesion
+        }
+
+        @Override
+        public boolean checkError() {
+            return salida().checkError();
+        }
+
+        @Override
+        public void print(boolean b) {
+            salida().print(b);
+        }
+
+        @Override
+        public void print(char c) {
+            salida().print(c);
+        }
+
+        @Override
+        public void print(int i) {
+            salida().print(i);
+        }
+
+        @Override
+        public void print(long l) {
+            salida().print(l);
+        }
+
+        @Override
+        public void print(float f) {
+            salida().print(f);
+        }
+
+        @Override
+        public void print(double d) {
+            salida().print(d);
+        }
+
+        @Override
+        public void print(char[] s) {
+            salida().print(s);
+        }
+
+        @Override
+        public void print(String s) {
+            salida().print(s);
+        }
+
+        @Override
+        public void print(Object obj) {
+            salida().print(obj);
+        }
+
+        @Override
+        public void println() {
+            salida().println();
+        }
+
+        @Override
+        public void println(boolean x) {
+            salida().println(x);
+        }
+
+        @Override
+        public void println(char x) {
+            salida().println(x);
+        }
+
+        @Override
+        public void println(int x) {
+            salida().println(x);
+        }
+
+        @Override
+        public void println(long x) {
+            salida().println(x);
+        }
+
+        @Override
+        public void println(float x) {
+            salida().println(x);
+        }
+
+        @Override
+        public void println(double x) {
+            salida().println(x);
+        }
+
+        @Override
+        public void println(char[] x) {
+            salida().println(x);
+        }
+
+        @Override
+        public void println(String x) {
+            salida().println(x);
+        }
+
+        @Override
+        public void println(Object x) {
+            salida().println(x);
+        }
+
+        @Override
+        public PrintStream format(String format, Object... args) {
+            salida().format(format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream format(Locale l, String format, Object... args) {
+            salida().format(l, format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream append(CharSequence csq) {
+            salida().append(csq);
+            return this;
+        }
+
+        @Override
+        public PrintStream append(CharSequence csq, int start, int end) {
+            salida().append(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public PrintStream append(char c) {
+            salida().append(c);
+            return this;
+        }
+    }
+
+    /**
+     * System.in de las sesiones, se reenvia a la entrada de la sesion.
+     */
+    private static final class EntradaSesiones extends InputStream {
+        @Override
+        public int read() throws IOException {
+            return entrada().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return entrada().read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return entrada().available();
+        }
+
+        @Override
+        public void close() {
+            // La entrada de cada sesion la cierra su sesion
+        }
+    }
+}
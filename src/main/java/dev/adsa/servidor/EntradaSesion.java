@@ -0,0 +1,201 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo tiene la entrada de una sesion del servidor, la usan el menu y el juego
+ *
+ */
+package dev.adsa.servidor;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import dev.adsa.clases.JuegoBase;
+import dev.adsa.clases.entrada.BufferEntrada;
+import dev.adsa.clases.entrada.EntradaArchivo;
+import dev.adsa.clases.entrada.FuenteDirecciones;
+
+/**
+ * Entrada de una sesion del servidor. Un hilo virtual lee las lineas del
+ * socket y las deja en una cola acotada. El menu las lee de una en una con
+ * {@link #flujoMenu()} y el juego, como fuente de direcciones, se lleva todas
+ * las nuevas en cada tick igual que {@link dev.adsa.clases.entrada.EntradaArchivo}.
+ */
+public class EntradaSesion implements FuenteDirecciones {
+    /** Maximo de lineas sin leer, las que llegan con la cola llena se descartan */
+    public static final int MAXIMO_LINEAS = 64;
+    /** Maximo de bytes de una linea, el resto se ignora */
+    public static final int MAXIMO_LINEA = 256;
+    /** Marca que se deja en la cola cuando el cliente se desconecta */
+    private static final String FIN = new String("FIN");
+
+    private final BlockingQueue<String> lineas = new ArrayBlockingQueue<>(MAXIMO_LINEAS);
+    private final Thread lector;
+    private final InputStream menu = new LineaALinea();
+    private BufferEntrada buffer = BufferEntrada.porDefecto();
+    /** true cuando ya se ha sacado la marca de fin de la cola */
+    private boolean terminada;
+    private volatile long descartadas;
+
+    /**
+     * Constructor que arranca el hilo que lee el socket
+     *
+     * @param entrada La entrada del socket del cliente.
+     */
+    public EntradaSesion(InputStream entrada) {
+        this.lector = Thread.ofVirtual().name("entrada").start(() -> leer(entrada));
+    }
+
+    /**
+     * Lee las lineas del socket hasta que se cierra y deja la marca de fin.
+     *
+     * @param entrada La entrada del socket del cliente.
+     */
+    private void leer(InputStream entrada) {
+        byte[] linea = new byte[MAXIMO_LINEA];
+        int longitud = 0;
+        try (InputStream in = new BufferedInputStream(entrada)) {
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\n') {
+                    if (longitud > 0 && linea[longitud - 1] == '\r')
+                        longitud--;
+                    if (!lineas.offer(new String(linea, 0, longitud, StandardCharsets.UTF_8)))
+                        descartadas++;
+                    longitud = 0;
+                } else if (longitud < linea.length) {
+                    linea[longitud++] = (byte) b;
+                }
+            }
+        } catch (IOException e) {
+            // Se ha cerrado el socket, es lo mismo que el fin de la entrada
+        }
+        try {
+            lineas.put(FIN);
+        } catch (InterruptedException e) {
+            // La sesion ya ha terminado y nadie va a leer la marca
+        }
+    }
+
+    /**
+     * Devuelve la entrada que usa el menu de la sesion como System.in.
+     *
+     * @return La entrada, cada lectura devuelve como mucho una linea.
+     */
+    public InputStream flujoMenu() {
+        return menu;
+    }
+
+    /**
+     * Lleva todas las lineas nuevas al buffer de direcciones y devuelve la que
+     * toca en este tick. Las lineas que no tienen un solo caracter se ignoran.
+     *
+     * @param juego           El juego que esta pidiendo la direccion.
+     * @param direccionActual La direccion en la que se esta moviendo la serpiente.
+     * @return La direccion leida en mayusculas o la direccion actual.
+     * @throws IOException Si el cliente se ha desconectado, asi la partida se
+     *                     corta en vez de seguir sin nadie.
+     */
+    @Override
+    public String siguienteDireccion(JuegoBase juego, String direccionActual) throws IOException {
+        String rumbo = direccionActual.toUpperCase();
+        String linea;
+        while (!terminada && (linea = lineas.poll()) != null) {
+            if (linea == FIN)
+                terminada = true;
+            else if (linea.equalsIgnoreCase(EntradaArchivo.GUARDAR))
+                juego.pedirGuardado();
+            else if (linea.equalsIgnoreCase(EntradaArchivo.REBOBINAR))
+                juego.pedirRebobinado();
+            else if (linea.length() == 1)
+                buffer.ofrecer(Character.toUpperCase(linea.charAt(0)), rumbo.charAt(0));
+        }
+        if (terminada)
+            throw new EOFException("El cliente se ha desconectado");
+        return buffer.siguiente(rumbo);
+    }
+
+    /**
+     * Termina la partida: las lineas que quedan eran direcciones de la partida,
+     * asi que se descartan para que no las lea el menu, y la siguiente partida
+     * empieza con el buffer vacio.
+     */
+    @Override
+    public void close() {
+        String linea;
+        while (!terminada && (linea = lineas.poll()) != null) {
+            if (linea == FIN)
+                terminada = true;
+        }
+        buffer = BufferEntrada.porDefecto();
+    }
+
+    /**
+     * Para el hilo que lee el socket, se llama al terminar la sesion.
+     */
+    public void detener() {
+        lector.interrupt();
+    }
+
+    /**
+     * Devuelve cuantas lineas se han descartado por llegar con la cola llena.
+     *
+     * @return Las lineas descartadas.
+     */
+    public long getDescartadas() {
+        return descartadas;
+    }
+
+    /**
+     * Entrada del menu. Cada lectura devuelve una sola linea con su salto y
+     * available() siempre es 0, asi los BufferedReader que crea Utilidades en
+     * cada pregunta no se llevan lineas de la siguiente.
+     */
+    private final class LineaALinea extends InputStream {
+        private byte[] pendiente = new byte[0];
+        private int posicion;
+
+        @Override
+        public int read() throws IOException {
+            byte[] uno = new byte[1];
+            return read(uno, 0, 1) == -1 ? -1 : uno[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+            if (posicion == pendiente.length) {
+                if (terminada)
+                    return -1;
+                String linea;
+                try {
+                    linea = lineas.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Se ha interrumpido la sesion");
+                }
+                if (linea == FIN) {
+                    terminada = true;
+                    return -1;
+                }
+                pendiente = (linea + "\n").getBytes(StandardCharsets.UTF_8);
+                posicion = 0;
+            }
+            int cantidad = Math.min(len, pendiente.length - posicion);
+            System.arraycopy(pendiente, posicion, b, off, cantidad);
+            posicion += cantidad;
+            return cantidad;
+        }
+
+        @Override
+        public int available() {
+            return 0;
+        }
+    }
+}
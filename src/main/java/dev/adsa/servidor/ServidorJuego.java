@@ -0,0 +1,90 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo arranca el servidor que atiende a muchos jugadores a la vez en un mismo proceso
+ *
+ */
+package dev.adsa.servidor;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import dev.adsa.bbdd.GestionDB;
+import dev.adsa.clases.salida.Retransmision;
+import dev.adsa.clases.tableros.TipoTablero;
+
+/**
+ * Servidor de partidas. Escucha en la interfaz local y cada cliente que se
+ * conecta tiene su sesion en un hilo virtual, asi miles de jugadores comparten
+ * un proceso, el pool de conexiones de la base de datos y la cache de
+ * jugadores. El protocolo es de lineas de texto: el cliente escribe lo mismo
+ * que escribiria en la consola y en las partidas cada linea con W, A, S o D
+ * mueve la serpiente. Sirve cualquier cliente de texto, por ejemplo
+ * nc localhost 5050
+ *
+ * En el puerto siguiente (5051) se atiende a los espectadores, que eligen una
+ * de las partidas en directo y la ven a su ritmo con una
+ * {@link Retransmision}.
+ *
+ * Se ejecuta con:
+ * mvn exec:java -Dexec.mainClass="dev.adsa.servidor.ServidorJuego" -Dexec.args="5050"
+ */
+public class ServidorJuego {
+    /** Puerto por defecto del servidor */
+    public static final int PUERTO = 5050;
+
+    /**
+     * Arranca el servidor y acepta clientes hasta que se para el proceso.
+     *
+     * @param args el puerto en el que escucha (por defecto {@value #PUERTO})
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public static void main(String[] args) throws IOException {
+        int puerto = args.length > 0 ? Integer.parseInt(args[0]) : PUERTO;
+
+        // Todas las sesiones mapearian el mismo archivo
+        if (TipoTablero.porDefecto() == TipoTablero.ARCHIVO) {
+            System.out.println("El tablero de tipo ARCHIVO no se puede compartir entre sesiones, se usa BYTES");
+            System.setProperty(TipoTablero.PROPIEDAD, TipoTablero.BYTES.name());
+        }
+
+        GestionDB.creacionTablas();
+        ConsolaSesiones.instalar();
+        Retransmision.activar();
+
+        int numero = 0;
+        try (ServerSocket servidor = new ServerSocket(puerto, 1024, InetAddress.getLoopbackAddress());
+                ServerSocket espectadores = new ServerSocket(puerto + 1, 1024, InetAddress.getLoopbackAddress());
+                ExecutorService sesiones = Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("sesion-", 1).factory())) {
+            System.out.println("Servidor escuchando en " + servidor.getLocalSocketAddress()
+                    + ", espectadores en " + espectadores.getLocalSocketAddress());
+            Thread.ofVirtual().name("espectadores").start(() -> aceptarEspectadores(espectadores));
+            while (!servidor.isClosed()) {
+                Socket socket = servidor.accept();
+                sesiones.execute(new SesionCliente(socket, ++numero));
+            }
+        }
+    }
+
+    /**
+     * Acepta espectadores, cada uno en su hilo virtual, hasta que se cierra el
+     * puerto.
+     *
+     * @param espectadores El puerto de los espectadores.
+     */
+    private static void aceptarEspectadores(ServerSocket espectadores) {
+        try {
+            while (!espectadores.isClosed()) {
+                Socket socket = espectadores.accept();
+                Thread.ofVirtual().name("espectador").start(new SesionEspectador(socket));
+            }
+        } catch (IOException e) {
+            System.out.println("No se aceptan mas espectadores: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo tiene la sesion de un cliente del servidor, con su menu y sus partidas
+ *
+ */
+package dev.adsa.servidor;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.adsa.Main;
+
+/**
+ * Sesion de un cliente del servidor. Se ejecuta en su propio hilo virtual y
+ * hace lo mismo que el Main: iniciar sesion, el menu y las partidas. Cada
+ * partida tiene su tablero y su generador de frutas, y las direcciones salen
+ * de la {@link EntradaSesion} del cliente en vez del content.txt.
+ */
+class SesionCliente implements Runnable {
+    /** Sesiones abiertas ahora mismo */
+    private static final AtomicInteger ACTIVAS = new AtomicInteger();
+
+    private final Socket socket;
+    private final int numero;
+    private PrintStream salida;
+    private EntradaSesion entrada;
+
+    /**
+     * Constructor de la sesion
+     *
+     * @param socket El socket del cliente.
+     * @param numero El numero de la sesion, para los mensajes del servidor.
+     */
+    SesionCliente(Socket socket, int numero) {
+        this.socket = socket;
+        this.numero = numero;
+    }
+
+    /**
+     * Atiende al cliente hasta que sale del menu o se desconecta.
+     */
+    @Override
+    public void run() {
+        ConsolaSesiones.CONSOLA.println("Sesion " + numero + " conectada, activas: " + ACTIVAS.incrementAndGet());
+        String motivo = "ha salido";
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            salida = new PrintStream(new BufferedOutputStream(socket.getOutputStream()), true,
+                    StandardCharsets.UTF_8);
+            entrada = new EntradaSesion(socket.getInputStream());
+            ConsolaSesiones.vincular(this);
+            Main.sesion(entrada);
+        } catch (IOException | UncheckedIOException e) {
+            motivo = "se ha desconectado (" + e.getMessage() + ")";
+        } catch (InterruptedException e) {
+            motivo = "se ha interrumpido";
+            Thread.currentThread().interrupt();
+        } finally {
+            ConsolaSesiones.desvincular();
+            if (entrada != null)
+                entrada.detener();
+        }
+        ConsolaSesiones.CONSOLA.println("Sesion " + numero + " " + motivo + ", activas: " + ACTIVAS.decrementAndGet());
+    }
+
+    /**
+     * Devuelve la salida del cliente.
+     *
+     * @return La salida.
+     */
+    PrintStream getSalida() {
+        return salida;
+    }
+
+    /**
+     * Devuelve la entrada del cliente.
+     *
+     * @return La entrada.
+     */
+    EntradaSesion getEntrada() {
+        return entrada;
+    }
+
+    /**
+     * Devuelve cuantas sesiones hay abiertas.
+     *
+     * @return Las sesiones abiertas.
+     */
+    static int getActivas() {
+        return ACTIVAS.get();
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * @author Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Este archivo tiene la sesion de un espectador que ve una partida en directo
+ *
+ */
+package dev.adsa.servidor;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import dev.adsa.clases.salida.DibujoTablero;
+import dev.adsa.clases.salida.Retransmision;
+import dev.adsa.clases.salida.SalidaFotograma;
+
+/**
+ * Sesion de un espectador. Muestra las partidas en directo, el espectador
+ * elige una y se le dibuja cada tick nuevo hasta que termina. Cada espectador
+ * lee la retransmision a su ritmo: si su conexion va lenta se salta ticks, y
+ * el juego nunca le espera.
+ */
+class SesionEspectador implements Runnable {
+    /** Milisegundos entre cada comprobacion de si hay ticks nuevos */
+    private static final int INTERVALO = 20;
+
+    private final Socket socket;
+
+    /**
+     * Constructor de la sesion
+     *
+     * @param socket El socket del espectador.
+     */
+    SesionEspectador(Socket socket) {
+        this.socket = socket;
+    }
+
+    /**
+     * Atiende al espectador hasta que termina la partida o se desconecta.
+     */
+    @Override
+    public void run() {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            BufferedReader entrada = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintStream salida = new PrintStream(new BufferedOutputStream(socket.getOutputStream()), true,
+                    StandardCharsets.UTF_8);
+
+            Retransmision partida = elegirPartida(entrada, salida);
+            if (partida != null) {
+                salida.println("¿Quieres ver los colores? (S o N)");
+                String colores = entrada.readLine();
+                ver(partida, colores != null && colores.equalsIgnoreCase("S") ? 1 : 0);
+                salida.println("La partida ha terminado");
+            }
+        } catch (IOException e) {
+            // El espectador se ha desconectado
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Muestra la lista de partidas en directo y pide una hasta que la elige o
+     * se desconecta.
+     *
+     * @param entrada La entrada del espectador.
+     * @param salida  La salida del espectador.
+     * @return La partida elegida o null si ha escrito "Salir" o se ha
+     *         desconectado.
+     * @throws IOException Si falla la lectura.
+     */
+    private static Retransmision elegirPartida(BufferedReader entrada, PrintStream salida) throws IOException {
+        Retransmision partida = null;
+        String linea = "";
+        while (partida == null && linea != null && !linea.equalsIgnoreCase("Salir")) {
+            salida.println("Partidas en directo:");
+            for (Retransmision retransmision : Retransmision.enDirecto())
+                salida.println(retransmision.getNumero() + ". " + retransmision.getTitulo() + " ("
+                        + retransmision.getFilas() + "x" + retransmision.getColumnas() + ", "
+                        + retransmision.getTicks() + " ticks)");
+            salida.println("Escribe el numero de la partida, enter para actualizar la lista o \"Salir\"");
+            linea = entrada.readLine();
+            try {
+                if (linea != null && !linea.isBlank())
+                    partida = Retransmision.buscar(Integer.parseInt(linea.trim()));
+                if (partida == null && linea != null && !linea.isBlank())
+                    salida.println("Esa partida no esta en directo");
+            } catch (NumberFormatException e) {
+                if (!linea.equalsIgnoreCase("Salir"))
+                    salida.println("Entrada no valida, Introduce un numero entero");
+            }
+        }
+        return partida;
+    }
+
+    /**
+     * Dibuja los ticks nuevos de la partida hasta que termina. Si mientras se
+     * escribia un fotograma han llegado varios ticks solo se dibuja el ultimo.
+     *
+     * @param partida       La partida que se ve.
+     * @param admiteColores 1 si el espectador quiere colores, 0 si no.
+     * @throws IOException          Si el espectador se desconecta.
+     * @throws InterruptedException Si se interrumpe el hilo.
+     */
+    private void ver(Retransmision partida, int admiteColores) throws IOException, InterruptedException {
+        Retransmision.Lector lector = partida.lector();
+        SalidaFotograma fotograma = new SalidaFotograma(Channels.newChannel(socket.getOutputStream()));
+        DibujoTablero dibujo = new DibujoTablero();
+        int[] cabeza = new int[2];
+        int[] cola = new int[2];
+
+        while (!lector.haTerminado()) {
+            if (lector.leer()) {
+                lector.getCabeza(cabeza);
+                lector.getCola(cola);
+                fotograma.anadir(DibujoTablero.SEPARACION);
+                fotograma.anadir(partida.getTitulo()).anadir(" | Longitud de la serpiente: ")
+                        .anadirLinea(Integer.toString(lector.getLongitud()));
+                dibujo.anadirTablero(lector.getTablero(), cabeza, cola, admiteColores, fotograma);
+                fotograma.escribir();
+            } else {
+                Thread.sleep(INTERVALO);
+            }
+        }
+    }
+}
@@ -6,6 +6,8 @@
  */
 package dev.adsa.utils;
 
+import dev.adsa.clases.RitmoJuego;
+
 /**
  * Esta clase se encarga de gestionar la configuración del juego, permitiendo al
  * usuario modificar parámetros como las dimensiones del tablero, la velocidad
@@ -119,10 +121,43 @@ public class Configuracion {
         return nuevasDimensiones;
     }
 
+    /**
+     * Pide las dimensiones del tablero para el modo tablero gigante. Este modo
+     * solo guarda las casillas ocupadas y dibuja una ventana alrededor de la
+     * cabeza, por eso admite tableros mucho mas grandes que el limite de 40x80.
+     * 
+     * @param valoresAnteriores Array que contiene las dimensiones de la
+     *                          configuracion: [numero de filas, numero de
+     *                          columnas].
+     * @return Array con las dimensiones del tablero gigante: [numero de filas,
+     *         numero de columnas].
+     */
+    public static int[] cambioDimensionesGigante(int[] valoresAnteriores) {
+        /* ----- Parte declarativa ----- */
+        int[] nuevasDimensiones = { valoresAnteriores[0], valoresAnteriores[1] };
+
+        /* ----- Parte principal ----- */
+        System.out.println("\n\n\n");
+        System.out.println("Escribe el numero de filas del tablero gigante: ");
+        System.out.println("Escriba un numero entre 3 y 10000");
+        nuevasDimensiones[0] = Utilidades.pedirNumeroEntero("Escribe el numero de filas entre: ", 3, 10000);
+
+        System.out.println("Escribe el numero de columnas del tablero gigante: ");
+        System.out.println("Escriba un numero entre 3 y 10000");
+        nuevasDimensiones[1] = Utilidades.pedirNumeroEntero("Escribe el numero de columnas entre: ", 3, 10000);
+
+        System.out.println("El tablero gigante tendra " + nuevasDimensiones[0] + " filas y " + nuevasDimensiones[1]
+                + " columnas");
+        /* ----- Envio de datos ----- */
+        return nuevasDimensiones;
+    }
+
     /**
      * Cambia el tiempo de actualización del tablero de juego.
      * Permite al usuario ajustar la velocidad del juego especificando
-     * un nuevo tiempo de espera en milisegundos.
+     * un nuevo tiempo de espera en milisegundos. Por debajo de 375 milisegundos
+     * la consola no llega a dibujar todas las actualizaciones y se saltan
+     * fotogramas, el juego sigue a la velocidad elegida.
      *
      * @param valorAnteriores El tiempo de espera actual en milisegundos.
      * @return El nuevo tiempo de espera en milisegundos, ajustado por el usuario.
@@ -148,14 +183,18 @@ public class Configuracion {
         if (opcion.equalsIgnoreCase("S")) {
 
             System.out.println("Escribe el nuevo valor: ");
-            System.out.println("Escriba un numero entre 375 y 5000 milisegundos");
+            System.out.println("Escriba un numero entre " + RitmoJuego.TIEMPO_MINIMO + " y "
+                    + RitmoJuego.TIEMPO_MAXIMO + " milisegundos");
 
+            System.out.println("Menos de " + RitmoJuego.TIEMPO_ALTA_VELOCIDAD
+                    + " milisegundos es la alta velocidad, no se dibujan todas las actualizaciones");
             System.out.println("375 milisegundos es la dificultad extrema");
             System.out.println("500 milisegundos es la dificultad dificil");
             System.out.println("750 milisegundos es la dificultad normal");
             System.out.println("1000 milisegundos es la dificultad facil");
             System.out.println("5000 milisegundos es el tiempo maximo");
-            nivelDificultad = Utilidades.pedirNumeroEntero("Escribe el nuevo valor entre: ", 375, 5000);
+            nivelDificultad = Utilidades.pedirNumeroEntero("Escribe el nuevo valor entre: ", RitmoJuego.TIEMPO_MINIMO,
+                    RitmoJuego.TIEMPO_MAXIMO);
 
             System.out.println("El nuevo valor es: " + nivelDificultad + " milisegundos");
         }
@@ -6,12 +6,25 @@
 package dev.adsa.utils;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 import dev.adsa.clases.JuegoBase;
 import dev.adsa.clases.Partida;
 import dev.adsa.clases.Player;
+import dev.adsa.clases.entrada.FuenteDirecciones;
+import dev.adsa.clases.guardado.EstadoPartida;
 import dev.adsa.clases.modos.ModoAtravesarParedes;
+import dev.adsa.clases.modos.ModoMultiserpiente;
+import dev.adsa.clases.modos.ModoNiveles;
 import dev.adsa.clases.modos.ModoNormal;
+import dev.adsa.clases.modos.ModoTableroGigante;
+import dev.adsa.clases.niveles.CacheNiveles;
+import dev.adsa.clases.niveles.GeneradorNiveles;
+import dev.adsa.clases.niveles.Nivel;
+import dev.adsa.clases.repeticion.Repeticiones;
+import dev.adsa.clases.tableros.TipoTablero;
 
 /**
  * Clase que contiene las funciones para iniciar el juego
@@ -30,13 +43,37 @@ public class ControladorJuego {
     *                              durante el tiempo de espera.
     */
    public static double iniciarJuego(Player player, Partida partida) throws IOException, InterruptedException {
+      return iniciarJuego(player, partida, null);
+   }
+
+   /**
+    * Inicia el juego de Snake leyendo las direcciones de una fuente concreta, la
+    * usan las sesiones del servidor para que cada cliente mueva su serpiente.
+    * 
+    * @param partida La partida que se va a jugar.
+    * @param player  El jugador que va a jugar.
+    * @param fuente  La fuente de las direcciones, si es null se lee el
+    *                content.txt que escribe el ControladorPrincipal.
+    * @return El puntaje final
+    *         calculado al final del juego.
+    * @throws IOException          Si ocurre un error durante la lectura de las
+    *                              direcciones.
+    * @throws InterruptedException Si el hilo de ejecuci n es interrumpido
+    *                              durante el tiempo de espera.
+    */
+   public static double iniciarJuego(Player player, Partida partida, FuenteDirecciones fuente)
+         throws IOException, InterruptedException {
 
       /* ----- Parte declarativa ----- */
       int opcionModoJuego = 0;
       JuegoBase nuevoJuego;
+      int[] configuracion = player.getCongiguration().clone();
       String[] explicacionModos = {
             "1. Modo Normal: es el modo clasico del juego de Snake",
             "2. Modo Atrabesar Paredes: es el modo en el cual el jugador puede atrabesar las paredes",
+            "3. Modo Tablero Gigante: es el modo normal en tableros de hasta 10000x10000 con una camara que sigue a la cabeza",
+            "4. Modo Multiserpiente: es el modo normal con varias serpientes de la maquina en el mismo tablero, gana la ultima que quede",
+            "5. Modo Niveles: es el modo normal en los niveles con obstaculos de la carpeta Niveles o en uno aleatorio",
 
       };
       String[][] explicacionJuego = {
@@ -69,11 +106,21 @@ public class ControladorJuego {
       };
 
       /* ----- Parte principal ----- */
-      for (String frases : explicacionModos) {
-         System.out.println(frases);
-      }
+      // Si el jugador dejo una partida a medias puede seguirla con sus dimensiones y velocidad
+      Path archivoGuardado = EstadoPartida.archivoJugador(player.getName());
+      EstadoPartida guardada = elegirPartidaGuardada(archivoGuardado);
+      if (guardada != null) {
+         opcionModoJuego = guardada.isAtraviesaParedes() ? 2 : 1;
+         configuracion[0] = guardada.getFilas();
+         configuracion[1] = guardada.getColumnas();
+         configuracion[2] = guardada.getTiempo();
+      } else {
+         for (String frases : explicacionModos) {
+            System.out.println(frases);
+         }
 
-      opcionModoJuego = Utilidades.pedirNumeroEntero("Elige el modo: ", 1, 2);
+         opcionModoJuego = Utilidades.pedirNumeroEntero("Elige el modo: ", 1, 5);
+      }
 
       partida.setModoDeJuego(opcionModoJuego);
       switch (opcionModoJuego) {
@@ -83,17 +130,148 @@ public class ControladorJuego {
          case 2:
             nuevoJuego = new ModoAtravesarParedes();
             break;
+         case 3:
+            nuevoJuego = new ModoTableroGigante();
+            int[] dimensionesGigante = Configuracion.cambioDimensionesGigante(configuracion);
+            configuracion[0] = dimensionesGigante[0];
+            configuracion[1] = dimensionesGigante[1];
+            break;
+         case 4:
+            // Cada serpiente empieza en una fila distinta
+            nuevoJuego = new ModoMultiserpiente(Utilidades.pedirNumeroEntero("Elige el numero de serpientes entre: ",
+                  2, Math.min(ModoMultiserpiente.MAXIMO_SERPIENTES, configuracion[0])));
+            break;
+         case 5:
+            Nivel nivel = elegirNivel(configuracion);
+            if (nivel == null) {
+               // Si no hay nivel se juega el modo normal y la partida se guarda como tal
+               partida.setModoDeJuego(1);
+               nuevoJuego = new ModoNormal();
+            } else {
+               nuevoJuego = new ModoNiveles(nivel);
+               configuracion[0] = nivel.getFilas();
+               configuracion[1] = nivel.getColumnas();
+            }
+            break;
          default:
             nuevoJuego = new ModoNormal();
             break;
       }
 
+      // El tablero fuera del heap se elige al ejecutar con -Dsnake.tablero
+      nuevoJuego.setTipoTablero(TipoTablero.porDefecto());
+      nuevoJuego.setFuenteDirecciones(fuente);
+      nuevoJuego.setReanudacion(guardada);
+      nuevoJuego.setArchivoGuardado(archivoGuardado);
+
+      // La partida guarda las dimensiones y la velocidad con las que se ha jugado
+      partida.setDimensionesTablero(configuracion[0], configuracion[1]);
+      partida.setVelocidad(configuracion[2]);
+
+      // Las partidas sin obstaculos se graban y se pueden jugar contra la mejor
+      Path archivoRepeticion = null;
+      if ((nuevoJuego instanceof ModoNormal || nuevoJuego instanceof ModoAtravesarParedes)
+            && partida.getFechaInicio() != null) {
+         archivoRepeticion = Repeticiones.archivo(player.getName(), partida.getFechaInicio());
+         nuevoJuego.setArchivoRepeticion(archivoRepeticion);
+         if (guardada == null)
+            nuevoJuego.setArchivoFantasma(elegirFantasma(player, partida));
+      }
+
       // Elegir tipo de juego
-      for (String frases : explicacionJuego[player.getCongiguration()[3]]) {
+      for (String frases : explicacionJuego[configuracion[3]]) {
          System.out.println(frases);
       }
       // Esto hace q no continue el programa sin que presione el enter
       Utilidades.presionarEnter();
-      return nuevoJuego.iniciarJuego(player.getCongiguration(), partida);
+      double puntaje = nuevoJuego.iniciarJuego(configuracion, partida);
+      if (archivoRepeticion != null)
+         Repeticiones.conservarMejor(player, partida, puntaje, archivoRepeticion);
+      return puntaje;
+   }
+
+   /**
+    * Pregunta al jugador si quiere jugar contra el fantasma de su mejor partida
+    * con el mismo modo y tablero, si tiene su repeticion.
+    *
+    * @param player  El jugador.
+    * @param partida La partida que se va a jugar, con el modo y las dimensiones.
+    * @return La repeticion de la mejor partida o null si no hay o no la quiere.
+    */
+   private static Path elegirFantasma(Player player, Partida partida) {
+      Path repeticion = Repeticiones.mejor(player, partida.getModoDeJuego(), partida.getFilasTablero(),
+            partida.getColumnasTablero());
+      if (repeticion == null)
+         return null;
+      System.out.println("Tienes la repeticion de tu mejor partida en este tablero");
+      int opcion = Utilidades.pedirNumeroEntero(
+            "¿Quieres jugar contra su fantasma? (1 para jugar contra el, 2 para jugar solo) entre: ", 1, 2);
+      return opcion == 1 ? repeticion : null;
+   }
+
+   /**
+    * Muestra los niveles de la carpeta de niveles y lee el que elija el
+    * jugador, o genera uno aleatorio con las dimensiones de su configuracion.
+    *
+    * @param configuracion La configuracion del jugador.
+    * @return El nivel elegido o null si no se puede leer o generar.
+    */
+   private static Nivel elegirNivel(int[] configuracion) {
+      List<Path> niveles;
+      try {
+         niveles = CacheNiveles.listar();
+      } catch (IOException e) {
+         System.out.println("No se ha podido leer la carpeta de niveles: " + e.getMessage());
+         niveles = List.of();
+      }
+
+      System.out.println("0. Nivel aleatorio de " + configuracion[0] + "x" + configuracion[1]);
+      for (int i = 0; i < niveles.size(); i++) {
+         System.out.println((i + 1) + ". " + Nivel.nombreArchivo(niveles.get(i)));
+      }
+      int opcion = Utilidades.pedirNumeroEntero("Elige el nivel entre: ", 0, niveles.size());
+
+      if (opcion == 0) {
+         // La misma semilla da siempre el mismo nivel, asi se puede repetir
+         int semilla = Utilidades.pedirNumeroEntero("Escribe la semilla del nivel entre: ", 0, Integer.MAX_VALUE);
+         Nivel nivel = GeneradorNiveles.obtener(configuracion[0], configuracion[1],
+               GeneradorNiveles.DENSIDAD_POR_DEFECTO, semilla);
+         if (nivel == null)
+            System.out.println("No se ha podido generar el nivel, se juega el modo normal");
+         return nivel;
+      }
+      try {
+         return CacheNiveles.obtener(niveles.get(opcion - 1));
+      } catch (IOException e) {
+         System.out.println(e.getMessage() + ", se juega el modo normal");
+         return null;
+      }
+   }
+
+   /**
+    * Pregunta al jugador si quiere seguir su partida guardada, si tiene una.
+    * Si no la quiere seguir se borra.
+    *
+    * @param archivo El archivo de la partida guardada del jugador.
+    * @return La partida guardada o null si no hay o no la quiere seguir.
+    */
+   private static EstadoPartida elegirPartidaGuardada(Path archivo) {
+      if (!Files.exists(archivo))
+         return null;
+      try {
+         EstadoPartida guardada = EstadoPartida.leer(archivo);
+         System.out.println("Tienes una partida guardada de " + guardada.getFilas() + "x" + guardada.getColumnas()
+               + " con la serpiente de longitud " + guardada.getLongitud());
+         if (Utilidades.pedirNumeroEntero("¿Quieres seguirla? (1 para seguirla, 2 para borrarla) entre: ", 1, 2) == 1)
+            return guardada;
+      } catch (IOException e) {
+         System.out.println(e.getMessage() + ", se borra");
+      }
+      try {
+         Files.deleteIfExists(archivo);
+      } catch (IOException e) {
+         System.out.println("No se ha podido borrar la partida guardada: " + e.getMessage());
+      }
+      return null;
    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+/**
+ * @author: Aitor de Santos Amoros
+ * Fecha: 18/10/2026
+ * Descripcion: Lectura de teclas sueltas sin pulsar Enter en terminales de Linux
+ * @see dev.adsa.ControladorPrincipal
+ */
+
+package dev.adsa.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Pone la terminal en modo no canonico con stty para leer cada tecla en cuanto
+ * se pulsa, sin esperar al Enter y sin que se vea por pantalla. Las flechas
+ * llegan como secuencias de escape (ESC [ A) y se traducen a W, A, S y D.
+ *
+ * Al cerrarlo, o si el programa termina antes, se deja la terminal como
+ * estaba. Solo funciona si hay una terminal en /dev/tty, en Windows o con la
+ * entrada redirigida no se puede activar.
+ */
+public class TecladoCrudo implements AutoCloseable {
+    /** Valor que devuelve {@link #leerTecla()} si se ha cerrado la entrada */
+    public static final char FIN = 0;
+    /** Codigo de la tecla Escape */
+    private static final int ESCAPE = 27;
+
+    private final InputStream entrada;
+    /** Configuracion de la terminal antes de activar el modo, en formato stty -g */
+    private final String configuracionAnterior;
+    private final Thread restaurarAlSalir;
+    private boolean cerrado;
+
+    /**
+     * Constructor privado, se crea con {@link #activar()}
+     * 
+     * @param configuracionAnterior La configuracion que hay que restaurar.
+     */
+    private TecladoCrudo(String configuracionAnterior) {
+        this.entrada = System.in;
+        this.configuracionAnterior = configuracionAnterior;
+        // Si se sale con Control+C la terminal tambien tiene que quedar bien
+        this.restaurarAlSalir = new Thread(this::restaurar);
+        Runtime.getRuntime().addShutdownHook(restaurarAlSalir);
+    }
+
+    /**
+     * Pone la terminal en modo no canonico y sin eco.
+     * 
+     * @return El teclado listo para leer teclas.
+     * @throws IOException Si no hay terminal o no se puede ejecutar stty.
+     */
+    public static TecladoCrudo activar() throws IOException {
+        String anterior = stty("-g").trim();
+        stty("-icanon", "-echo", "min", "1");
+        return new TecladoCrudo(anterior);
+    }
+
+    /**
+     * Espera a que se pulse una tecla y la devuelve. Las flechas se devuelven
+     * como la letra de su direccion y las letras en mayusculas.
+     * 
+     * @return La tecla pulsada, ESC si se ha pulsado Escape o {@link #FIN} si se
+     *         ha cerrado la entrada.
+     * @throws IOException Si no se puede leer la entrada.
+     */
+    public char leerTecla() throws IOException {
+        int tecla = entrada.read();
+        if (tecla == -1)
+            return FIN;
+
+        // Las flechas llegan de golpe en la misma lectura: ESC [ letra
+        if (tecla == ESCAPE && entrada.available() > 0) {
+            int segunda = entrada.read();
+            if ((segunda == '[' || segunda == 'O') && entrada.available() > 0) {
+                switch (entrada.read()) {
+                    case 'A':
+                        return 'W';
+                    case 'B':
+                        return 'S';
+                    case 'C':
+                        return 'D';
+                    case 'D':
+                        return 'A';
+                    default:
+                        return (char) ESCAPE;
+                }
+            }
+            return (char) ESCAPE;
+        }
+        return Character.toUpperCase((char) tecla);
+    }
+
+    /**
+     * Deja la terminal como estaba.
+     */
+    @Override
+    public void close() {
+        restaurar();
+        try {
+            Runtime.getRuntime().removeShutdownHook(restaurarAlSalir);
+        } catch (IllegalStateException e) {
+            // Ya se esta cerrando el programa y el hook se ejecuta solo
+        }
+    }
+
+    /**
+     * Restaura la configuracion de la terminal una sola vez.
+     */
+    private synchronized void restaurar() {
+        if (!cerrado) {
+            cerrado = true;
+            try {
+                stty(configuracionAnterior);
+            } catch (IOException e) {
+                System.out.println("No se ha podido restaurar la terminal, ejecuta \"stty sane\": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Ejecuta stty sobre la terminal del proceso.
+     * 
+     * @param argumentos Los argumentos de stty.
+     * @return Lo que escribe stty por su salida.
+     * @throws IOException Si stty falla o no hay terminal.
+     */
+    private static String stty(String... argumentos) throws IOException {
+        String[] comando = new String[argumentos.length + 1];
+        comando[0] = "stty";
+        System.arraycopy(argumentos, 0, comando, 1, argumentos.length);
+
+        Process proceso = new ProcessBuilder(comando)
+                .redirectInput(ProcessBuilder.Redirect.from(new File("/dev/tty")))
+                .redirectErrorStream(true)
+                .start();
+        String salida = new String(proceso.getInputStream().readAllBytes());
+        try {
+            if (proceso.waitFor() != 0)
+                throw new IOException("stty ha fallado: " + salida.trim());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Se ha interrumpido stty", e);
+        }
+        return salida;
+    }
+}
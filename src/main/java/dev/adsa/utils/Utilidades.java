@@ -7,15 +7,21 @@
 package dev.adsa.utils;
 
 import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 
 import dev.adsa.bbdd.GestionDB;
+import dev.adsa.clases.CacheJugadores;
 import dev.adsa.clases.Player;
+import dev.adsa.clases.guardado.EstadoPartida;
+import dev.adsa.clases.repeticion.Repeticiones;
 
 /**
  * Clase que contiene las funciones de utilidad
@@ -39,10 +45,10 @@ public class Utilidades {
         do {
             System.out.println(frase + " " + min + " y " + max);
             try {
-                opcion = Integer.parseInt(br.readLine());
+                opcion = Integer.parseInt(leerLinea(br));
                 if (opcion > max || opcion < min)
                     System.out.println("Numero fuera de rango");
-            } catch (Exception e) {
+            } catch (NumberFormatException e) {
                 System.out.println("Entrada no valida, Introduce un numero entero");
                 opcion = -1;
             }
@@ -59,14 +65,9 @@ public class Utilidades {
         BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
         String opcion = "";
         do {
-            try {
-                opcion = br.readLine();
-                if (opcion.equals(""))
-                    System.out.println("Introduzca algo");
-            } catch (Exception e) {
-                System.out.println("Entrada no valida");
-                opcion = "";
-            }
+            opcion = leerLinea(br);
+            if (opcion.equals(""))
+                System.out.println("Introduzca algo");
         } while (opcion.equals(""));
         return opcion;
     }
@@ -78,9 +79,26 @@ public class Utilidades {
      */
     public static void presionarEnter() {
         BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
-        try { // Utilizao un try/catch para evitar excepciones de lectura
-            br.readLine();
-        } catch (Exception e) {
+        leerLinea(br);
+    }
+
+    /**
+     * Lee una linea de la entrada. Si la entrada se ha cerrado (el fin del
+     * archivo o el cliente del servidor se ha desconectado) no tiene sentido
+     * volver a preguntar, asi que se lanza una excepcion que termina la sesion.
+     * 
+     * @param br El lector de la entrada.
+     * @return La linea leida.
+     * @throws UncheckedIOException si la entrada se ha cerrado o falla la lectura
+     */
+    private static String leerLinea(BufferedReader br) {
+        try {
+            String linea = br.readLine();
+            if (linea == null)
+                throw new EOFException("Se ha cerrado la entrada");
+            return linea;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -101,6 +119,8 @@ public class Utilidades {
      * Inicia al jugador con una cuenta guardada o sin ella.
      * Pide al usuario si tiene una cuenta guardada, si es así la carga
      * si no es así, pide el nombre del jugador y lo guarda.
+     * El nombre se reserva en {@link CacheJugadores}, asi un jugador no puede
+     * tener dos sesiones abiertas en el servidor.
      * 
      * @return El jugador que se ha iniciado o creado.
      */
@@ -115,14 +135,24 @@ public class Utilidades {
             if (optionCuentaGuardada.equals("S")) {
                 System.out.println("Escriba el nombre de la cuenta");
                 String nombre = Utilidades.pedirString();
-                // Voy a suponer que si existe localmente existe en la base de datos
-                File file = new File("./Players", nombre + ".dat");
-                if (file.exists())
-                    player = Player.cargarJugador(nombre);
-                else if (GestionDB.detectarJugadorExistente(nombre))
-                    player = GestionDB.leerDatos(nombre);
-                else
-                    System.out.println("El jugador no existe");
+                if (CacheJugadores.reservar(nombre)) {
+                    // Si ha jugado en otra sesion del servidor ya esta cargado
+                    player = CacheJugadores.obtener(nombre);
+                    // Voy a suponer que si existe localmente existe en la base de datos
+                    File file = new File("./Players", nombre + ".dat");
+                    if (player != null)
+                        System.out.println("Jugador cargado correctamente");
+                    else if (file.exists())
+                        player = Player.cargarJugador(nombre);
+                    else if (GestionDB.detectarJugadorExistente(nombre))
+                        player = GestionDB.leerDatos(nombre);
+                    else
+                        System.out.println("El jugador no existe");
+                    if (player == null)
+                        CacheJugadores.liberar(nombre);
+                } else {
+                    System.out.println("El jugador ya tiene una sesion abierta");
+                }
                 playerExists = player != null;
             } else if (optionCuentaGuardada.equals("N")) {
                 // Comprueba si existe o no existe la carpeta para saber si de verdad es nuevo
@@ -135,7 +165,9 @@ public class Utilidades {
                 }
 
                 File file = new File("./Players", nombre + ".dat");
-                if (!file.exists() && !GestionDB.detectarJugadorExistente(nombre)) {
+                if (!CacheJugadores.reservar(nombre)) {
+                    System.out.println("¡Jugador existente!");
+                } else if (!file.exists() && !GestionDB.detectarJugadorExistente(nombre)) {
                     // Creacion de una cuenta nueva
                     player = new Player();
                     player.setName(nombre);
@@ -144,6 +176,7 @@ public class Utilidades {
                     GestionDB.guardarJugadorDB(player);
                 } else {
                     System.out.println("¡Jugador existente!");
+                    CacheJugadores.liberar(nombre);
                 }
             }
         } while (!playerExists);
@@ -152,33 +185,26 @@ public class Utilidades {
     }
 
     /**
-     * Cierra la sesión del jugador actual, guarda su progreso y permite iniciar
-     * sesión
-     * con otro jugador o el mismo jugador nuevamente.
+     * Cierra la sesión del jugador actual y guarda su progreso. Despues se puede
+     * iniciar sesión con otro jugador o el mismo jugador nuevamente con
+     * {@link #iniciarJugador()}.
      *
      * @param player El jugador cuya sesión se desea cerrar.
-     * @return El nuevo jugador que inicia sesión después de cerrar la sesión
-     *         actual.
      */
-    public static Player cerrarSesion(Player player) {
+    public static void cerrarSesion(Player player) {
         Player.guardarJugador(player);
+        CacheJugadores.liberar(player);
         System.out.println("Sesion cerrada");
-        player = null;
-        return iniciarJugador();
     }
 
     /**
      * Elimina el perfil del jugador actual tanto localmente como en la base de
-     * datos.
-     * Si el perfil se elimina correctamente, permite iniciar sesión con otro
-     * jugador
-     * o crear un nuevo perfil.
+     * datos. Despues se puede iniciar sesión con otro jugador o crear un nuevo
+     * perfil con {@link #iniciarJugador()}.
      *
      * @param player El jugador cuyo perfil se desea eliminar.
-     * @return El nuevo jugador que inicia sesión después de eliminar el perfil
-     *         actual.
      */
-    public static Player eliminarPerfil(Player player) {
+    public static void eliminarPerfil(Player player) {
         File file = new File("./Players", player.getName() + ".dat");
         if (file.exists())
             if (file.delete())
@@ -187,9 +213,11 @@ public class Utilidades {
                 System.out.println("Error al eliminar la cuenta localmente");
         else
             System.out.println("Cuenta no encontrada");
+        // La partida guardada no se podria seguir sin el jugador
+        EstadoPartida.archivoJugador(player.getName()).toFile().delete();
+        Repeticiones.borrar(player.getName());
         GestionDB.eliminarPerfil(player);
-        player = null;
-        return iniciarJugador();
+        CacheJugadores.eliminar(player.getName());
     }
 
     /**